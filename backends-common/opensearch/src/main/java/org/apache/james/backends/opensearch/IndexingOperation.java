@@ -0,0 +1,118 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.opensearch;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+/**
+ * A single operation of a bulk request that can mix index, partial update and delete operations,
+ * each one with its own routing.
+ */
+public class IndexingOperation {
+    public enum Type {
+        INDEX,
+        UPDATE,
+        DELETE
+    }
+
+    private static final int ESTIMATED_METADATA_SIZE = 128;
+
+    public static IndexingOperation index(DocumentId id, String content, RoutingKey routingKey) {
+        Preconditions.checkArgument(content != null, "content should be provided");
+        return new IndexingOperation(Type.INDEX, id, Optional.of(content), routingKey);
+    }
+
+    public static IndexingOperation update(DocumentId id, String updatedDocumentPart, RoutingKey routingKey) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(updatedDocumentPart), "Updated document must be specified");
+        return new IndexingOperation(Type.UPDATE, id, Optional.of(updatedDocumentPart), routingKey);
+    }
+
+    public static IndexingOperation delete(DocumentId id, RoutingKey routingKey) {
+        return new IndexingOperation(Type.DELETE, id, Optional.empty(), routingKey);
+    }
+
+    private final Type type;
+    private final DocumentId id;
+    private final Optional<String> content;
+    private final RoutingKey routingKey;
+
+    private IndexingOperation(Type type, DocumentId id, Optional<String> content, RoutingKey routingKey) {
+        Preconditions.checkNotNull(id);
+        Preconditions.checkNotNull(routingKey);
+        this.type = type;
+        this.id = id;
+        this.content = content;
+        this.routingKey = routingKey;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public DocumentId getId() {
+        return id;
+    }
+
+    public Optional<String> getContent() {
+        return content;
+    }
+
+    public RoutingKey getRoutingKey() {
+        return routingKey;
+    }
+
+    /**
+     * Rough size of this operation once serialized in a bulk request body.
+     */
+    public long estimatedSizeInBytes() {
+        return ESTIMATED_METADATA_SIZE + id.asString().length() + content.map(String::length).orElse(0);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof IndexingOperation) {
+            IndexingOperation other = (IndexingOperation) o;
+            return Objects.equals(type, other.type)
+                && Objects.equals(id, other.id)
+                && Objects.equals(content, other.content)
+                && Objects.equals(routingKey, other.routingKey);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(type, id, content, routingKey);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("type", type)
+            .add("id", id)
+            .add("routingKey", routingKey)
+            .toString();
+    }
+}
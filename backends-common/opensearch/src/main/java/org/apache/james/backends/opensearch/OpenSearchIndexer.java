@@ -20,8 +20,10 @@ package org.apache.james.backends.opensearch;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 
 import org.apache.commons.lang3.StringUtils;
+import org.opensearch.client.opensearch._types.ErrorCause;
 import org.opensearch.client.opensearch._types.query_dsl.Query;
 import org.opensearch.client.opensearch.core.BulkRequest;
 import org.opensearch.client.opensearch.core.BulkResponse;
@@ -29,6 +31,8 @@ import org.opensearch.client.opensearch.core.GetRequest;
 import org.opensearch.client.opensearch.core.GetResponse;
 import org.opensearch.client.opensearch.core.IndexRequest;
 import org.opensearch.client.opensearch.core.IndexResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +74,107 @@ public class OpenSearchIndexer {
         }
     }
 
+    /**
+     * Indexes all the documents with a single bulk request. Fails if any of the documents could not be indexed.
+     */
+    public Mono<BulkResponse> index(List<IndexedRepresentation> documents, RoutingKey routingKey) {
+        Preconditions.checkNotNull(documents);
+        Preconditions.checkNotNull(routingKey);
+
+        if (documents.isEmpty()) {
+            return Mono.empty();
+        }
+
+        BulkRequest.Builder bulkBuilder = new BulkRequest.Builder();
+        documents.forEach(document -> {
+            logContent(document.getId(), document.getContent());
+            bulkBuilder.operations(
+                op -> op.index(idx -> idx
+                    .index(aliasName.getValue())
+                    .id(document.getId().asString())
+                    .document(new RawValue(document.getContent()))
+                    .routing(routingKey.asString())
+                ));
+        });
+
+        try {
+            return client.bulk(bulkBuilder.build())
+                .flatMap(response -> {
+                    if (response.errors()) {
+                        return Mono.error(new IllegalStateException("Failed to index " + failedItemCount(response) + " out of "
+                            + documents.size() + " documents: " + firstFailureReason(response)));
+                    }
+                    return Mono.just(response);
+                });
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Executes the given operations, in order, with a single bulk request. Items of the response are in the
+     * same order as the operations, and failed items are not turned into an error: callers inspect the response.
+     */
+    public Mono<BulkResponse> bulk(List<IndexingOperation> operations) {
+        Preconditions.checkNotNull(operations);
+
+        if (operations.isEmpty()) {
+            return Mono.empty();
+        }
+
+        BulkRequest.Builder bulkBuilder = new BulkRequest.Builder();
+        operations.forEach(operation -> bulkBuilder.operations(asBulkOperation(operation)));
+
+        try {
+            return client.bulk(bulkBuilder.build());
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private BulkOperation asBulkOperation(IndexingOperation operation) {
+        String id = operation.getId().asString();
+        String routing = operation.getRoutingKey().asString();
+        switch (operation.getType()) {
+            case INDEX:
+                logContent(operation.getId(), operation.getContent().orElseThrow());
+                return BulkOperation.of(op -> op.index(idx -> idx
+                    .index(aliasName.getValue())
+                    .id(id)
+                    .document(new RawValue(operation.getContent().orElseThrow()))
+                    .routing(routing)));
+            case UPDATE:
+                return BulkOperation.of(op -> op.update(upd -> upd
+                    .index(aliasName.getValue())
+                    .id(id)
+                    .document(new RawValue(operation.getContent().orElseThrow()))
+                    .routing(routing)));
+            case DELETE:
+                return BulkOperation.of(op -> op.delete(del -> del
+                    .index(aliasName.getValue())
+                    .id(id)
+                    .routing(routing)));
+            default:
+                throw new IllegalArgumentException("Unsupported operation type " + operation.getType());
+        }
+    }
+
+    private long failedItemCount(BulkResponse response) {
+        return response.items().stream()
+            .filter(item -> item.error() != null)
+            .count();
+    }
+
+    private String firstFailureReason(BulkResponse response) {
+        return response.items().stream()
+            .map(BulkResponseItem::error)
+            .filter(Objects::nonNull)
+            .map(ErrorCause::reason)
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse("unknown reason");
+    }
+
     private void logContent(DocumentId id, String content) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Indexing {}: {}", id.asString(), StringUtils.left(content, DEBUG_MAX_LENGTH_CONTENT));
@@ -92,6 +92,77 @@ class OpenSearchIndexerTest {
             .toQuery(), 1L);
     }
     
+    @Test
+    void bulkIndexShouldIndexAllDocuments() {
+        testee.index(ImmutableList.of(
+                new IndexedRepresentation(DocumentId.fromString("1"), "{\"message\": \"trying out OpenSearch\"}"),
+                new IndexedRepresentation(DocumentId.fromString("2"), "{\"message\": \"trying out bulks\"}")),
+                ROUTING)
+            .block();
+
+        awaitForOpenSearch(new MatchQuery.Builder()
+            .field("message")
+            .query(new FieldValue.Builder().stringValue("trying").build())
+            .build()
+            .toQuery(), 2L);
+    }
+
+    @Test
+    void bulkIndexShouldFailWhenADocumentIsRejected() {
+        assertThatThrownBy(() -> testee.index(ImmutableList.of(
+                new IndexedRepresentation(DocumentId.fromString("1"), "{\"message\": \"trying out OpenSearch\"}"),
+                new IndexedRepresentation(DocumentId.fromString("2"), "{\"message\": {\"invalid\": \"object where text is expected\"}}")),
+                ROUTING)
+            .block())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void bulkIndexShouldNotFailWhenEmpty() {
+        assertThatCode(() -> testee.index(ImmutableList.of(), ROUTING).block())
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void bulkShouldApplyOperationsInOrder() {
+        testee.index(DocumentId.fromString("3"), "{\"message\": \"trying out OpenSearch\"}", ROUTING).block();
+
+        testee.bulk(ImmutableList.of(
+                IndexingOperation.index(DocumentId.fromString("1"), "{\"message\": \"trying out OpenSearch\"}", ROUTING),
+                IndexingOperation.index(DocumentId.fromString("2"), "{\"message\": \"trying out OpenSearch\"}", ROUTING),
+                IndexingOperation.update(DocumentId.fromString("2"), "{\"message\": \"mastering OpenSearch\"}", ROUTING),
+                IndexingOperation.delete(DocumentId.fromString("3"), ROUTING)))
+            .block();
+
+        awaitForOpenSearch(new MatchQuery.Builder()
+            .field("message")
+            .query(new FieldValue.Builder().stringValue("trying").build())
+            .build()
+            .toQuery(), 1L);
+        awaitForOpenSearch(new MatchQuery.Builder()
+            .field("message")
+            .query(new FieldValue.Builder().stringValue("mastering").build())
+            .build()
+            .toQuery(), 1L);
+    }
+
+    @Test
+    void bulkShouldReportFailedItemsWithoutFailing() {
+        assertThat(testee.bulk(ImmutableList.of(
+                IndexingOperation.index(DocumentId.fromString("1"), "{\"message\": \"trying out OpenSearch\"}", ROUTING),
+                IndexingOperation.update(DocumentId.fromString("2"), "{\"message\": \"missing document\"}", ROUTING)))
+            .block()
+            .items())
+            .extracting(item -> item.error() == null)
+            .containsExactly(true, false);
+    }
+
+    @Test
+    void bulkShouldNotFailWhenEmpty() {
+        assertThatCode(() -> testee.bulk(ImmutableList.of()).block())
+            .doesNotThrowAnyException();
+    }
+
     @Test
     void indexMessageShouldThrowWhenJsonIsNull() {
         assertThatThrownBy(() -> testee.index(DOCUMENT_ID, null, ROUTING).block())
@@ -312,6 +312,7 @@ public class RabbitMQConfiguration {
     private static final String EVENT_BUS_NOTIFICATION_DURABILITY_ENABLED = "event.bus.notification.durability.enabled";
     private static final String EVENT_BUS_PUBLISH_CONFIRM_ENABLED = "event.bus.publish.confirm.enabled";
     private static final String EVENT_BUS_PROPAGATE_DISPATCH_ERROR = "event.bus.propagate.dispatch.error";
+    private static final String EVENT_BUS_BINARY_SERIALIZATION_ENABLED = "event.bus.binary.serialization.enabled";
     private static final String TASK_QUEUE_CONSUMER_TIMEOUT = "task.queue.consumer.timeout";
     private static final String VHOST = "vhost";
 
@@ -413,6 +414,7 @@ public class RabbitMQConfiguration {
         private Optional<Boolean> eventBusPublishConfirmEnabled;
         private Optional<Boolean> eventBusNotificationDurabilityEnabled;
         private Optional<Boolean> eventBusPropagateDispatchError;
+        private Optional<Boolean> eventBusBinarySerializationEnabled;
         private Optional<String> vhost;
         private Optional<Duration> taskQueueConsumerTimeout;
 
@@ -440,6 +442,7 @@ public class RabbitMQConfiguration {
             this.vhost = Optional.empty();
             this.taskQueueConsumerTimeout = Optional.empty();
             this.eventBusPropagateDispatchError = Optional.empty();
+            this.eventBusBinarySerializationEnabled = Optional.empty();
         }
 
         public Builder maxRetries(int maxRetries) {
@@ -532,6 +535,11 @@ public class RabbitMQConfiguration {
             return this;
         }
 
+        public Builder eventBusBinarySerializationEnabled(Boolean eventBusBinarySerializationEnabled) {
+            this.eventBusBinarySerializationEnabled = Optional.ofNullable(eventBusBinarySerializationEnabled);
+            return this;
+        }
+
         public Builder useSslManagement(Boolean useSslForManagement) {
             this.useSslManagement = Optional.of(useSslForManagement);
             return this;
@@ -589,7 +597,8 @@ public class RabbitMQConfiguration {
                     eventBusNotificationDurabilityEnabled.orElse(true),
                     vhost,
                     taskQueueConsumerTimeout.orElse(DEFAULT_TASK_QUEUE_CONSUMER_TIMEOUT),
-                    eventBusPropagateDispatchError.orElse(true));
+                    eventBusPropagateDispatchError.orElse(true),
+                    eventBusBinarySerializationEnabled.orElse(false));
         }
 
         private List<Host> hostsDefaultingToUri() {
@@ -665,6 +674,7 @@ public class RabbitMQConfiguration {
             .eventBusNotificationDurabilityEnabled(configuration.getBoolean(EVENT_BUS_NOTIFICATION_DURABILITY_ENABLED, null))
             .eventBusPublishConfirmEnabled(configuration.getBoolean(EVENT_BUS_PUBLISH_CONFIRM_ENABLED, null))
             .eventBusPropagateDispatchError(configuration.getBoolean(EVENT_BUS_PROPAGATE_DISPATCH_ERROR, null))
+            .eventBusBinarySerializationEnabled(configuration.getBoolean(EVENT_BUS_BINARY_SERIALIZATION_ENABLED, null))
             .vhost(vhost)
             .taskQueueConsumerTimeout(taskQueueConsumerTimeout)
             .build();
@@ -741,13 +751,15 @@ public class RabbitMQConfiguration {
     private final Optional<String> vhost;
     private final Duration taskQueueConsumerTimeout;
     private final boolean eventBusPropagateDispatchError;
+    private final boolean eventBusBinarySerializationEnabled;
 
     private RabbitMQConfiguration(URI uri, URI managementUri, ManagementCredentials managementCredentials, int maxRetries, int minDelayInMs,
                                   int connectionTimeoutInMs, int channelRpcTimeoutInMs, int handshakeTimeoutInMs, int shutdownTimeoutInMs,
                                   int networkRecoveryIntervalInMs, Boolean useSsl, Boolean useSslManagement, SSLConfiguration sslConfiguration,
                                   boolean useQuorumQueues, Optional<Integer> quorumQueueDeliveryLimit, int quorumQueueReplicationFactor, List<Host> hosts, Optional<Long> queueTTL,
                                   boolean eventBusPublishConfirmEnabled, boolean eventBusNotificationDurabilityEnabled,
-                                  Optional<String> vhost, Duration taskQueueConsumerTimeout, boolean eventBusPropagateDispatchError) {
+                                  Optional<String> vhost, Duration taskQueueConsumerTimeout, boolean eventBusPropagateDispatchError,
+                                  boolean eventBusBinarySerializationEnabled) {
         this.uri = uri;
         this.managementUri = managementUri;
         this.managementCredentials = managementCredentials;
@@ -771,6 +783,7 @@ public class RabbitMQConfiguration {
         this.vhost = vhost;
         this.taskQueueConsumerTimeout = taskQueueConsumerTimeout;
         this.eventBusPropagateDispatchError = eventBusPropagateDispatchError;
+        this.eventBusBinarySerializationEnabled = eventBusBinarySerializationEnabled;
     }
 
     public URI getUri() {
@@ -891,6 +904,10 @@ public class RabbitMQConfiguration {
         return eventBusPropagateDispatchError;
     }
 
+    public boolean isEventBusBinarySerializationEnabled() {
+        return eventBusBinarySerializationEnabled;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof RabbitMQConfiguration) {
@@ -918,7 +935,8 @@ public class RabbitMQConfiguration {
                 && Objects.equals(this.eventBusNotificationDurabilityEnabled, that.eventBusNotificationDurabilityEnabled)
                 && Objects.equals(this.vhost, that.vhost)
                 && Objects.equals(this.taskQueueConsumerTimeout, that.taskQueueConsumerTimeout)
-                && Objects.equals(this.eventBusPropagateDispatchError, that.eventBusPropagateDispatchError);
+                && Objects.equals(this.eventBusPropagateDispatchError, that.eventBusPropagateDispatchError)
+                && Objects.equals(this.eventBusBinarySerializationEnabled, that.eventBusBinarySerializationEnabled);
         }
         return false;
     }
@@ -927,6 +945,7 @@ public class RabbitMQConfiguration {
     public final int hashCode() {
         return Objects.hash(uri, managementUri, maxRetries, minDelayInMs, connectionTimeoutInMs, quorumQueueReplicationFactor, quorumQueueDeliveryLimit, useQuorumQueues, hosts,
             channelRpcTimeoutInMs, handshakeTimeoutInMs, shutdownTimeoutInMs, networkRecoveryIntervalInMs, managementCredentials, useSsl, useSslManagement,
-            sslConfiguration, queueTTL, eventBusPublishConfirmEnabled, eventBusNotificationDurabilityEnabled, vhost, taskQueueConsumerTimeout, eventBusPropagateDispatchError);
+            sslConfiguration, queueTTL, eventBusPublishConfirmEnabled, eventBusNotificationDurabilityEnabled, vhost, taskQueueConsumerTimeout, eventBusPropagateDispatchError,
+            eventBusBinarySerializationEnabled);
     }
 }
@@ -0,0 +1,171 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Primitives of the compact binary representation of events, see {@link EventSerializer#toBinary(java.util.Collection)}.
+ *
+ * Integers are written as LEB128 variable length integers, strings as their UTF-8 length followed by their UTF-8 bytes.
+ */
+public final class EventBinaryFormat {
+    public static class Writer {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream(128);
+
+        public Writer writeByte(int value) {
+            output.write(value);
+            return this;
+        }
+
+        public Writer writeBoolean(boolean value) {
+            return writeByte(value ? 1 : 0);
+        }
+
+        public Writer writeVarLong(long value) {
+            Preconditions.checkArgument(value >= 0, "Variable length integers can not be negative");
+            return writeUnsignedVarLong(value);
+        }
+
+        public Writer writeZigZagLong(long value) {
+            return writeUnsignedVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private Writer writeUnsignedVarLong(long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                output.write((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            output.write((int) remaining);
+            return this;
+        }
+
+        public Writer writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                output.write((int) (value >>> shift));
+            }
+            return this;
+        }
+
+        public Writer writeUuid(UUID uuid) {
+            return writeLong(uuid.getMostSignificantBits())
+                .writeLong(uuid.getLeastSignificantBits());
+        }
+
+        public Writer writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            output.writeBytes(bytes);
+            return this;
+        }
+
+        public Writer writeOptionalString(Optional<String> value) {
+            writeBoolean(value.isPresent());
+            value.ifPresent(this::writeString);
+            return this;
+        }
+
+        public byte[] toByteArray() {
+            return output.toByteArray();
+        }
+    }
+
+    public static class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        public Reader(byte[] bytes) {
+            this.bytes = bytes;
+            this.position = 0;
+        }
+
+        public int readByte() {
+            Preconditions.checkArgument(position < bytes.length, "Unexpected end of binary event");
+            return bytes[position++] & 0xFF;
+        }
+
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        public long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int value = readByte();
+                result |= (long) (value & 0x7F) << shift;
+                if ((value & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length integer");
+        }
+
+        public int readVarInt() {
+            long value = readVarLong();
+            Preconditions.checkArgument(value >= 0 && value <= Integer.MAX_VALUE, "Variable length integer out of range");
+            return (int) value;
+        }
+
+        public long readZigZagLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        public long readLong() {
+            long result = 0;
+            for (int i = 0; i < 8; i++) {
+                result = (result << 8) | readByte();
+            }
+            return result;
+        }
+
+        public UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        public String readString() {
+            int length = readVarInt();
+            Preconditions.checkArgument(length <= bytes.length - position, "Unexpected end of binary event");
+            String result = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return result;
+        }
+
+        public Optional<String> readOptionalString() {
+            if (readBoolean()) {
+                return Optional.of(readString());
+            }
+            return Optional.empty();
+        }
+
+        public void checkFullyRead() {
+            Preconditions.checkArgument(position == bytes.length, "Trailing bytes after binary event");
+        }
+    }
+
+    private EventBinaryFormat() {
+    }
+}
@@ -47,4 +47,19 @@ public interface EventSerializer {
     default List<Event> asEventsFromBytes(byte[] serialized) {
         return asEvents(new String(serialized, StandardCharsets.UTF_8));
     }
+
+    /**
+     * Whether this event can be serialized with {@link #toBinary(Collection)}, a compact alternative to JSON.
+     */
+    default boolean supportsBinary(Event event) {
+        return false;
+    }
+
+    default byte[] toBinary(Collection<Event> events) {
+        throw new UnsupportedOperationException("Binary serialization is not supported by " + getClass().getName());
+    }
+
+    default List<Event> fromBinary(byte[] serialized) {
+        throw new UnsupportedOperationException("Binary serialization is not supported by " + getClass().getName());
+    }
 }
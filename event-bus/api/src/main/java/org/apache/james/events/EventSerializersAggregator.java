@@ -72,6 +72,30 @@ public class EventSerializersAggregator implements EventSerializer {
             .orElseThrow(() -> new RuntimeException("Could not deserialize event: " + serialized));
     }
 
+    @Override
+    public boolean supportsBinary(Event event) {
+        return allEventSerializers.stream()
+            .anyMatch(eventSerializer -> eventSerializer.supportsBinary(event));
+    }
+
+    @Override
+    public byte[] toBinary(Collection<Event> events) {
+        return allEventSerializers.stream()
+            .filter(eventSerializer -> events.stream().allMatch(eventSerializer::supportsBinary))
+            .findFirst()
+            .map(eventSerializer -> eventSerializer.toBinary(events))
+            .orElseThrow(() -> new RuntimeException("Could not serialize events to binary: " + events));
+    }
+
+    @Override
+    public List<Event> fromBinary(byte[] serialized) {
+        return allEventSerializers.stream()
+            .map(eventSerializer -> deserializeBinary(serialized, eventSerializer))
+            .flatMap(Optional::stream)
+            .findFirst()
+            .orElseThrow(() -> new RuntimeException("Could not deserialize binary events"));
+    }
+
     private Optional<String> serialize(Event event, EventSerializer eventSerializer) {
         try {
             return Optional.of(eventSerializer.toJson(event));
@@ -96,6 +120,14 @@ public class EventSerializersAggregator implements EventSerializer {
         }
     }
 
+    private Optional<List<Event>> deserializeBinary(byte[] serialized, EventSerializer eventSerializer) {
+        try {
+            return Optional.of(eventSerializer.fromBinary(serialized));
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+    }
+
     private Optional<List<Event>> deserializeEvents(String json, EventSerializer eventSerializer) {
         try {
             return Optional.of(eventSerializer.asEvents(json));
@@ -0,0 +1,104 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EventBinaryFormatTest {
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE})
+    void varLongShouldRoundTrip(long value) {
+        byte[] bytes = new EventBinaryFormat.Writer().writeVarLong(value).toByteArray();
+
+        EventBinaryFormat.Reader reader = new EventBinaryFormat.Reader(bytes);
+        assertThat(reader.readVarLong()).isEqualTo(value);
+        reader.checkFullyRead();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, -1, 63, -64, Long.MIN_VALUE, Long.MAX_VALUE})
+    void zigZagLongShouldRoundTrip(long value) {
+        byte[] bytes = new EventBinaryFormat.Writer().writeZigZagLong(value).toByteArray();
+
+        assertThat(new EventBinaryFormat.Reader(bytes).readZigZagLong()).isEqualTo(value);
+    }
+
+    @Test
+    void smallVarLongShouldBeWrittenOnASingleByte() {
+        assertThat(new EventBinaryFormat.Writer().writeVarLong(127).toByteArray()).hasSize(1);
+    }
+
+    @Test
+    void writeVarLongShouldRejectNegativeValues() {
+        assertThatThrownBy(() -> new EventBinaryFormat.Writer().writeVarLong(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void valuesShouldRoundTrip() {
+        UUID uuid = UUID.fromString("6e0dd59d-660e-4d9b-b22f-0354479f47b4");
+        byte[] bytes = new EventBinaryFormat.Writer()
+            .writeByte(0xE1)
+            .writeBoolean(true)
+            .writeLong(-42L)
+            .writeUuid(uuid)
+            .writeString("bob@domain.tld é")
+            .writeOptionalString(Optional.empty())
+            .writeOptionalString(Optional.of("INBOX"))
+            .toByteArray();
+
+        EventBinaryFormat.Reader reader = new EventBinaryFormat.Reader(bytes);
+        assertThat(reader.readByte()).isEqualTo(0xE1);
+        assertThat(reader.readBoolean()).isTrue();
+        assertThat(reader.readLong()).isEqualTo(-42L);
+        assertThat(reader.readUuid()).isEqualTo(uuid);
+        assertThat(reader.readString()).isEqualTo("bob@domain.tld é");
+        assertThat(reader.readOptionalString()).isEmpty();
+        assertThat(reader.readOptionalString()).contains("INBOX");
+        reader.checkFullyRead();
+    }
+
+    @Test
+    void readShouldFailOnTruncatedInput() {
+        byte[] bytes = new EventBinaryFormat.Writer().writeString("INBOX").toByteArray();
+        byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThatThrownBy(() -> new EventBinaryFormat.Reader(truncated).readString())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void checkFullyReadShouldFailOnTrailingBytes() {
+        EventBinaryFormat.Reader reader = new EventBinaryFormat.Reader(new byte[] {1, 2});
+        reader.readByte();
+
+        assertThatThrownBy(reader::checkFullyRead)
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -19,7 +19,6 @@
 
 package org.apache.james.events;
 
-import static com.rabbitmq.client.MessageProperties.PERSISTENT_TEXT_PLAIN;
 import static org.apache.james.backends.rabbitmq.Constants.AUTO_DELETE;
 import static org.apache.james.backends.rabbitmq.Constants.DIRECT_EXCHANGE;
 import static org.apache.james.backends.rabbitmq.Constants.DURABLE;
@@ -66,6 +65,7 @@ public class EventDispatcher {
     private final Sender sender;
     private final LocalListenerRegistry localListenerRegistry;
     private final AMQP.BasicProperties basicProperties;
+    private final AMQP.BasicProperties binaryProperties;
     private final ListenerExecutor listenerExecutor;
     private final EventDeadLetters deadLetters;
     private final RabbitMQConfiguration configuration;
@@ -80,11 +80,11 @@ public class EventDispatcher {
         this.eventSerializer = eventSerializer;
         this.sender = sender;
         this.localListenerRegistry = localListenerRegistry;
-        this.basicProperties = new AMQP.BasicProperties.Builder()
+        this.basicProperties = EventPayload.propertiesBuilder(false)
+            .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString()))
+            .build();
+        this.binaryProperties = EventPayload.propertiesBuilder(true)
             .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString()))
-            .deliveryMode(PERSISTENT_TEXT_PLAIN.getDeliveryMode())
-            .priority(PERSISTENT_TEXT_PLAIN.getPriority())
-            .contentType(PERSISTENT_TEXT_PLAIN.getContentType())
             .build();
         this.listenerExecutor = listenerExecutor;
         this.deadLetters = deadLetters;
@@ -180,14 +180,14 @@ public class EventDispatcher {
             .flatMap(event -> event.keys().stream())
             .collect(ImmutableSet.toImmutableSet());
 
-        return Mono.fromCallable(() -> eventSerializer.toJsonBytes(underlyingEvents))
+        return Mono.fromCallable(() -> EventPayload.serialize(eventSerializer, underlyingEvents, configuration.isEventBusBinarySerializationEnabled()))
             .flatMap(serializedEvent -> Mono.zipDelayError(
                 remoteGroupsDispatch(serializedEvent, underlyingEvents),
                 remoteKeysDispatch(serializedEvent, keys)))
             .then();
     }
 
-    private Mono<Void> remoteGroupsDispatch(byte[] serializedEvent, Event event) {
+    private Mono<Void> remoteGroupsDispatch(EventPayload serializedEvent, Event event) {
         return remoteDispatchWithAcks(serializedEvent)
             .doOnError(ex -> LOGGER.error(
                 "cannot dispatch event of type '{}' belonging '{}' with id '{}' to remote groups, store it into dead letter",
@@ -199,7 +199,7 @@ public class EventDispatcher {
                 .then(propagateErrorIfNeeded(ex)));
     }
 
-    private Mono<Void> remoteGroupsDispatch(byte[] serializedEvent, List<Event> events) {
+    private Mono<Void> remoteGroupsDispatch(EventPayload serializedEvent, List<Event> events) {
         return remoteDispatchWithAcks(serializedEvent)
             .onErrorResume(ex -> Flux.fromIterable(events)
                 .map(event -> {
@@ -221,21 +221,21 @@ public class EventDispatcher {
         return Mono.empty();
     }
 
-    private Mono<Void> remoteKeysDispatch(byte[] serializedEvent, Set<RegistrationKey> keys) {
+    private Mono<Void> remoteKeysDispatch(EventPayload serializedEvent, Set<RegistrationKey> keys) {
         return remoteDispatch(serializedEvent,
             keys.stream()
                 .map(RoutingKey::of)
                 .collect(ImmutableList.toImmutableList()));
     }
 
-    private Mono<Void> remoteDispatch(byte[] serializedEvent, Collection<RoutingKey> routingKeys) {
+    private Mono<Void> remoteDispatch(EventPayload serializedEvent, Collection<RoutingKey> routingKeys) {
         if (routingKeys.isEmpty()) {
             return Mono.empty();
         }
         return sender.send(toMessages(serializedEvent, routingKeys));
     }
 
-    private Mono<Void> remoteDispatchWithAcks(byte[] serializedEvent) {
+    private Mono<Void> remoteDispatchWithAcks(EventPayload serializedEvent) {
         if (configuration.isEventBusPublishConfirmEnabled()) {
             return Mono.from(sender.sendWithPublishConfirms(Mono.just(toMessage(serializedEvent, RoutingKey.empty())))
                 .subscribeOn(Schedulers.boundedElastic())) // channel.confirmSelect is synchronous
@@ -248,16 +248,17 @@ public class EventDispatcher {
         }
     }
 
-    private Flux<OutboundMessage> toMessages(byte[] serializedEvent, Collection<RoutingKey> routingKeys) {
+    private Flux<OutboundMessage> toMessages(EventPayload serializedEvent, Collection<RoutingKey> routingKeys) {
         return Flux.fromIterable(routingKeys)
                 .map(routingKey -> toMessage(serializedEvent, routingKey));
     }
 
-    private OutboundMessage toMessage(byte[] serializedEvent, RoutingKey routingKey) {
-        return new OutboundMessage(namingStrategy.exchange(), routingKey.asString(), basicProperties, serializedEvent);
+    private OutboundMessage toMessage(EventPayload serializedEvent, RoutingKey routingKey) {
+        AMQP.BasicProperties properties = serializedEvent.isBinary() ? binaryProperties : basicProperties;
+        return new OutboundMessage(namingStrategy.exchange(), routingKey.asString(), properties, serializedEvent.bytes());
     }
 
-    private byte[] serializeEvent(Event event) {
-        return eventSerializer.toJsonBytes(event);
+    private EventPayload serializeEvent(Event event) {
+        return EventPayload.serialize(eventSerializer, event, configuration.isEventBusBinarySerializationEnabled());
     }
 }
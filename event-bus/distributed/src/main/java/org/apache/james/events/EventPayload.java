@@ -0,0 +1,83 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static com.rabbitmq.client.MessageProperties.PERSISTENT_TEXT_PLAIN;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.rabbitmq.client.AMQP;
+
+/**
+ * Serialized events as published on RabbitMQ.
+ *
+ * Events are serialized as JSON unless binary serialization is enabled and supported by all of them, in which case the
+ * message content type is {@link #BINARY_CONTENT_TYPE}. Both formats are always read.
+ */
+final class EventPayload {
+    static final String BINARY_CONTENT_TYPE = "application/vnd.james.events+binary";
+
+    static EventPayload serialize(EventSerializer eventSerializer, Event event, boolean binaryEnabled) {
+        if (binaryEnabled && eventSerializer.supportsBinary(event)) {
+            return new EventPayload(eventSerializer.toBinary(ImmutableList.of(event)), true);
+        }
+        return new EventPayload(eventSerializer.toJsonBytes(event), false);
+    }
+
+    static EventPayload serialize(EventSerializer eventSerializer, Collection<Event> events, boolean binaryEnabled) {
+        if (binaryEnabled && events.stream().allMatch(eventSerializer::supportsBinary)) {
+            return new EventPayload(eventSerializer.toBinary(events), true);
+        }
+        return new EventPayload(eventSerializer.toJsonBytes(events), false);
+    }
+
+    static Optional<List<Event>> deserializeBinary(EventSerializer eventSerializer, AMQP.BasicProperties properties, byte[] body) {
+        if (properties != null && BINARY_CONTENT_TYPE.equals(properties.getContentType())) {
+            return Optional.of(eventSerializer.fromBinary(body));
+        }
+        return Optional.empty();
+    }
+
+    static AMQP.BasicProperties.Builder propertiesBuilder(boolean binary) {
+        return new AMQP.BasicProperties.Builder()
+            .deliveryMode(PERSISTENT_TEXT_PLAIN.getDeliveryMode())
+            .priority(PERSISTENT_TEXT_PLAIN.getPriority())
+            .contentType(binary ? BINARY_CONTENT_TYPE : PERSISTENT_TEXT_PLAIN.getContentType());
+    }
+
+    private final byte[] bytes;
+    private final boolean binary;
+
+    private EventPayload(byte[] bytes, boolean binary) {
+        this.bytes = bytes;
+        this.binary = binary;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    boolean isBinary() {
+        return binary;
+    }
+}
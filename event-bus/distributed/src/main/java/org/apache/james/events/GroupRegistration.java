@@ -41,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
@@ -154,10 +155,9 @@ class GroupRegistration implements Registration {
     }
 
     private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
-        byte[] eventAsBytes = acknowledgableDelivery.getBody();
         int currentRetryCount = getRetryCount(acknowledgableDelivery);
 
-        return deserializeEvent(eventAsBytes)
+        return deserializeEvent(acknowledgableDelivery)
             .flatMap(event -> delayGenerator.delayIfHaveTo(currentRetryCount)
                 .flatMap(any -> runListenerReliably(currentRetryCount, event))
                 .then(Mono.<Void>fromRunnable(acknowledgableDelivery::ack).subscribeOn(Schedulers.boundedElastic())))
@@ -181,8 +181,11 @@ class GroupRegistration implements Registration {
                 .then());
     }
 
-    private Mono<Event> deserializeEvent(byte[] eventAsBytes) {
-        return Mono.fromCallable(() -> eventSerializer.fromBytes(eventAsBytes))
+    private Mono<Event> deserializeEvent(AcknowledgableDelivery acknowledgableDelivery) {
+        byte[] eventAsBytes = acknowledgableDelivery.getBody();
+        return Mono.fromCallable(() -> EventPayload.deserializeBinary(eventSerializer, acknowledgableDelivery.getProperties(), eventAsBytes)
+                .map(Iterables::getOnlyElement)
+                .orElseGet(() -> eventSerializer.fromBytes(eventAsBytes)))
             .subscribeOn(Schedulers.parallel());
     }
 
@@ -137,9 +137,7 @@ public class GroupRegistrationHandler {
     }
 
     private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
-        byte[] eventAsBytes = acknowledgableDelivery.getBody();
-
-        return deserializeEvents(eventAsBytes)
+        return deserializeEvents(acknowledgableDelivery)
             .flatMapIterable(events -> groupRegistrations.values()
                 .stream()
                 .map(group -> Pair.of(group, events))
@@ -155,8 +153,10 @@ public class GroupRegistrationHandler {
             });
     }
 
-    private Mono<List<Event>> deserializeEvents(byte[] eventAsBytes) {
-        return Mono.fromCallable(() -> eventSerializer.asEventsFromBytes(eventAsBytes));
+    private Mono<List<Event>> deserializeEvents(AcknowledgableDelivery acknowledgableDelivery) {
+        byte[] eventAsBytes = acknowledgableDelivery.getBody();
+        return Mono.fromCallable(() -> EventPayload.deserializeBinary(eventSerializer, acknowledgableDelivery.getProperties(), eventAsBytes)
+            .orElseGet(() -> eventSerializer.asEventsFromBytes(eventAsBytes)));
     }
 
     void stop() {
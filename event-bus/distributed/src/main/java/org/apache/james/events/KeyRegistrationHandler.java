@@ -221,6 +221,10 @@ class KeyRegistrationHandler {
 
     private List<Event> toEvent(Delivery deliver) {
         byte[] bodyAsBytes = deliver.getBody();
+        Optional<List<Event>> binaryEvents = EventPayload.deserializeBinary(eventSerializer, deliver.getProperties(), bodyAsBytes);
+        if (binaryEvents.isPresent()) {
+            return binaryEvents.get();
+        }
         // if the json is an array, we have multiple events
         if (bodyAsBytes != null && bodyAsBytes.length > 0 && bodyAsBytes[0] == '[') {
             return eventSerializer.asEventsFromBytes(bodyAsBytes);
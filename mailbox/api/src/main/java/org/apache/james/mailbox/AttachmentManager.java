@@ -44,6 +44,11 @@ public interface AttachmentManager extends AttachmentContentLoader {
 
     Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, MailboxSession mailboxSession);
 
+    /**
+     * Loads at most {@code length} bytes of the attachment content, starting at {@code offset}.
+     */
+    Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, long offset, long length, MailboxSession mailboxSession);
+
     @Override
     default InputStream load(AttachmentMetadata attachment, MailboxSession mailboxSession) throws IOException, AttachmentNotFoundException {
         return loadAttachmentContent(attachment.getAttachmentId(), mailboxSession);
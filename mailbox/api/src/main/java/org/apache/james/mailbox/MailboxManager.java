@@ -87,7 +87,9 @@ public interface MailboxManager extends RequestAware, RightManager, MailboxAnnot
         Namespace,
         UserFlag,
         ACL,
-        Quota
+        Quota,
+        // Mappers cached in a MailboxSession can be used by concurrent operations of that session
+        ConcurrentSessionAccess
     }
 
     EnumSet<MailboxCapabilities> getSupportedMailboxCapabilities();
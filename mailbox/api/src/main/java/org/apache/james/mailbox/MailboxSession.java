@@ -19,12 +19,12 @@
 
 package org.apache.james.mailbox;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.james.core.Username;
 
@@ -112,7 +112,7 @@ public class MailboxSession {
         this.type = type;
 
         this.localePreferences = localePreferences;
-        this.attributes = new HashMap<>();
+        this.attributes = new ConcurrentHashMap<>();
         this.pathSeparator = pathSeparator;
         this.loggedInUser = loggedInUser;
     }
@@ -157,6 +157,8 @@ public class MailboxSession {
 
     /**
      * Return the stored attributes for this {@link MailboxSession}.
+     *
+     * The returned map is thread safe, as a session can be shared by concurrent operations.
      */
     public Map<Object, Object> getAttributes() {
         return attributes;
@@ -19,7 +19,9 @@
 
 package org.apache.james.mailbox.indexer;
 
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.james.core.Username;
@@ -29,16 +31,26 @@ import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.task.Task;
 
+import com.google.common.base.Preconditions;
+
 public interface ReIndexer {
 
     class RunningOptions {
         public static class Builder {
             private Optional<Integer> messagesPerSecond;
             private Optional<Mode> mode;
+            private Optional<Partition> partition;
+            private Optional<Integer> bulkSizeInBytes;
+            private Optional<Integer> mailboxConcurrency;
+            private Optional<Integer> partitionConcurrency;
 
             public Builder() {
                 this.messagesPerSecond = Optional.empty();
                 this.mode = Optional.empty();
+                this.partition = Optional.empty();
+                this.bulkSizeInBytes = Optional.empty();
+                this.mailboxConcurrency = Optional.empty();
+                this.partitionConcurrency = Optional.empty();
             }
 
             public Builder messagesPerSeconds(Optional<Integer> messagesPerSecond) {
@@ -55,14 +67,119 @@ public interface ReIndexer {
                 return mode(Optional.of(mode));
             }
 
+            public Builder partition(Optional<Partition> partition) {
+                this.partition = partition;
+                return this;
+            }
+
+            public Builder partition(Partition partition) {
+                return partition(Optional.of(partition));
+            }
+
+            public Builder bulkSizeInBytes(Optional<Integer> bulkSizeInBytes) {
+                this.bulkSizeInBytes = bulkSizeInBytes;
+                return this;
+            }
+
+            public Builder bulkSizeInBytes(int bulkSizeInBytes) {
+                return bulkSizeInBytes(Optional.of(bulkSizeInBytes));
+            }
+
+            public Builder mailboxConcurrency(Optional<Integer> mailboxConcurrency) {
+                this.mailboxConcurrency = mailboxConcurrency;
+                return this;
+            }
+
+            public Builder mailboxConcurrency(int mailboxConcurrency) {
+                return mailboxConcurrency(Optional.of(mailboxConcurrency));
+            }
+
+            public Builder partitionConcurrency(Optional<Integer> partitionConcurrency) {
+                this.partitionConcurrency = partitionConcurrency;
+                return this;
+            }
+
+            public Builder partitionConcurrency(int partitionConcurrency) {
+                return partitionConcurrency(Optional.of(partitionConcurrency));
+            }
+
             public RunningOptions build() {
+                bulkSizeInBytes.ifPresent(size -> Preconditions.checkArgument(size > 0, "'bulkSizeInBytes' needs to be strictly positive"));
+                mailboxConcurrency.ifPresent(concurrency -> Preconditions.checkArgument(concurrency > 0, "'mailboxConcurrency' needs to be strictly positive"));
+                partitionConcurrency.ifPresent(concurrency -> Preconditions.checkArgument(concurrency > 0, "'partitionConcurrency' needs to be strictly positive"));
+
                 return new RunningOptions(
                     messagesPerSecond.orElse(DEFAULT_MESSAGES_PER_SECONDS),
-                    mode.orElse(DEFAULT_MODE)
+                    mode.orElse(DEFAULT_MODE),
+                    partition,
+                    bulkSizeInBytes,
+                    mailboxConcurrency,
+                    partitionConcurrency
                 );
             }
         }
 
+        /**
+         * Restricts a re-indexing to the mailboxes whose id hashes to {@code index} modulo {@code count}.
+         *
+         * Submitting one task per partition splits a full re-indexing into independent tasks that the task manager
+         * can run concurrently, on several James nodes when it is distributed.
+         *
+         * A full re-indexing also splits its own mailboxes into {@link #split(int) sub-partitions}, that it re-indexes
+         * concurrently and records once completed.
+         */
+        public static class Partition {
+            public static Partition of(int index, int count) {
+                Preconditions.checkArgument(count > 0, "'partitionCount' needs to be strictly positive");
+                Preconditions.checkArgument(index >= 0 && index < count, "'partition' needs to be positive and lower than 'partitionCount'");
+                return new Partition(index, count);
+            }
+
+            private final int index;
+            private final int count;
+
+            private Partition(int index, int count) {
+                this.index = index;
+                this.count = count;
+            }
+
+            public int getIndex() {
+                return index;
+            }
+
+            public int getCount() {
+                return count;
+            }
+
+            public boolean includes(MailboxId mailboxId) {
+                return Math.floorMod(mailboxId.serialize().hashCode(), count) == index;
+            }
+
+            /**
+             * @return the {@code subPartitionCount} partitions whose mailboxes are exactly the ones of this partition
+             */
+            public Stream<Partition> split(int subPartitionCount) {
+                Preconditions.checkArgument(subPartitionCount > 0, "'subPartitionCount' needs to be strictly positive");
+                return IntStream.range(0, subPartitionCount)
+                    .mapToObj(subPartition -> new Partition(index + subPartition * count, count * subPartitionCount));
+            }
+
+            @Override
+            public final boolean equals(Object o) {
+                if (o instanceof Partition) {
+                    Partition other = (Partition) o;
+                    return index == other.index
+                        && count == other.count;
+                }
+                return false;
+            }
+
+            @Override
+            public final int hashCode() {
+                return Objects.hash(index, count);
+            }
+        }
+
         public static Builder builder() {
             return new Builder();
         }
@@ -96,15 +213,26 @@ public interface ReIndexer {
 
         private static final Mode DEFAULT_MODE = Mode.REBUILD_ALL;
         private static final int DEFAULT_MESSAGES_PER_SECONDS = 50;
+        public static final int DEFAULT_MAILBOX_CONCURRENCY = 4;
+        public static final int DEFAULT_PARTITION_CONCURRENCY = 2;
 
         public static final RunningOptions DEFAULT = builder().build();
 
         private final int messagesPerSecond;
         private final Mode mode;
+        private final Optional<Partition> partition;
+        private final Optional<Integer> bulkSizeInBytes;
+        private final Optional<Integer> mailboxConcurrency;
+        private final Optional<Integer> partitionConcurrency;
 
-        private RunningOptions(int messagesPerSecond, Mode mode) {
+        private RunningOptions(int messagesPerSecond, Mode mode, Optional<Partition> partition, Optional<Integer> bulkSizeInBytes,
+                               Optional<Integer> mailboxConcurrency, Optional<Integer> partitionConcurrency) {
             this.messagesPerSecond = messagesPerSecond;
             this.mode = mode;
+            this.partition = partition;
+            this.bulkSizeInBytes = bulkSizeInBytes;
+            this.mailboxConcurrency = mailboxConcurrency;
+            this.partitionConcurrency = partitionConcurrency;
         }
 
         public int getMessagesPerSecond() {
@@ -114,6 +242,33 @@ public interface ReIndexer {
         public Mode getMode() {
             return mode;
         }
+
+        public Optional<Partition> getPartition() {
+            return partition;
+        }
+
+        /**
+         * When present, re-indexed messages are sent to the index in bulks of at most this size, measured on the
+         * message content. Messages are otherwise indexed one by one.
+         */
+        public Optional<Integer> getBulkSizeInBytes() {
+            return bulkSizeInBytes;
+        }
+
+        /**
+         * Count of mailboxes re-indexed concurrently, {@link #DEFAULT_MAILBOX_CONCURRENCY} when absent.
+         */
+        public Optional<Integer> getMailboxConcurrency() {
+            return mailboxConcurrency;
+        }
+
+        /**
+         * Count of partitions a full re-indexing processes concurrently, {@link #DEFAULT_PARTITION_CONCURRENCY} when
+         * absent. {@link #getMessagesPerSecond()} is shared amongst them.
+         */
+        public Optional<Integer> getPartitionConcurrency() {
+            return partitionConcurrency;
+        }
     }
 
     Task reIndex(Username username, RunningOptions runningOptions) throws MailboxException;
@@ -124,6 +279,11 @@ public interface ReIndexer {
 
     Task reIndex(RunningOptions runningOptions) throws MailboxException;
 
+    /**
+     * Resumes a full re-indexing, skipping the partitions the checkpoint records as completed.
+     */
+    Task reIndex(RunningOptions runningOptions, ReIndexingCheckpoint checkpoint) throws MailboxException;
+
     Task reIndex(MailboxPath path, MessageUid uid) throws MailboxException;
 
     Task reIndex(MailboxId mailboxId, MessageUid uid) throws MailboxException;
@@ -0,0 +1,76 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.indexer;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions.Partition;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Progress of a full re-indexing: the partitions whose mailboxes were all re-indexed without failures.
+ */
+public class ReIndexingCheckpoint {
+    public static final ReIndexingCheckpoint NONE = new ReIndexingCheckpoint(ImmutableSet.of());
+
+    public static ReIndexingCheckpoint of(Collection<Partition> completedPartitions) {
+        return new ReIndexingCheckpoint(ImmutableSet.copyOf(completedPartitions));
+    }
+
+    private final ImmutableSet<Partition> completedPartitions;
+
+    private ReIndexingCheckpoint(ImmutableSet<Partition> completedPartitions) {
+        this.completedPartitions = completedPartitions;
+    }
+
+    public Set<Partition> completedPartitions() {
+        return completedPartitions;
+    }
+
+    public boolean isCompleted(Partition partition) {
+        return completedPartitions.contains(partition);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof ReIndexingCheckpoint) {
+            ReIndexingCheckpoint that = (ReIndexingCheckpoint) o;
+
+            return Objects.equals(this.completedPartitions, that.completedPartitions);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(completedPartitions);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("completedPartitions", completedPartitions)
+            .toString();
+    }
+}
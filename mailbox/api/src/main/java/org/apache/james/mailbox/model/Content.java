@@ -24,6 +24,8 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.util.ReactorUtils;
 import org.reactivestreams.Publisher;
@@ -43,6 +45,18 @@ public interface Content {
      */
     InputStream getInputStream() throws IOException;
 
+    /**
+     * Return at most {@code length} octets of the content, starting at {@code offset}, as {@link InputStream}.
+     *
+     * The default implementation skips the leading octets of the full content. Implementations able to
+     * retrieve a range of the content from their storage should override it.
+     */
+    default InputStream getInputStream(long offset, long length) throws IOException {
+        InputStream inputStream = getInputStream();
+        IOUtils.skip(inputStream, offset);
+        return new BoundedInputStream(inputStream, length);
+    }
+
     default Optional<byte[][]> asBytesSequence() {
         return Optional.empty();
     }
@@ -23,6 +23,7 @@ import static org.apache.james.blob.api.BlobStore.StoragePolicy.LOW_COST;
 import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 import static org.apache.james.util.ReactorUtils.LOW_CONCURRENCY;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
@@ -31,6 +32,7 @@ import java.util.List;
 import jakarta.inject.Inject;
 
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.mailbox.cassandra.mail.CassandraAttachmentDAOV2.DAOAttachment;
 import org.apache.james.mailbox.exception.AttachmentNotFoundException;
 import org.apache.james.mailbox.model.AttachmentId;
@@ -104,6 +106,14 @@ public class CassandraAttachmentMapper implements AttachmentMapper {
             .switchIfEmpty(Mono.error(() -> new AttachmentNotFoundException(attachmentId.toString())));
     }
 
+    @Override
+    public Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, long offset, long length) {
+        return attachmentDAOV2.getAttachment(attachmentId)
+            .flatMap(daoAttachment -> Mono.from(blobStore.readRange(blobStore.getDefaultBucketName(), daoAttachment.getBlobId(), ByteRange.of(offset, length), LOW_COST)))
+            .<InputStream>map(ByteArrayInputStream::new)
+            .switchIfEmpty(Mono.error(() -> new AttachmentNotFoundException(attachmentId.toString())));
+    }
+
 
     public Mono<AttachmentMetadata> getAttachmentsAsMono(AttachmentId attachmentId) {
         return getAttachmentInternal(attachmentId)
@@ -63,6 +63,7 @@ import org.apache.james.mailbox.model.UpdatedFlags;
 import org.apache.james.mailbox.store.BatchSizes;
 import org.apache.james.mailbox.store.FlagsUpdateCalculator;
 import org.apache.james.mailbox.store.MailboxReactorUtils;
+import org.apache.james.mailbox.store.mail.AllocationCombiner;
 import org.apache.james.mailbox.store.mail.MessageMapper;
 import org.apache.james.mailbox.store.mail.ModSeqProvider;
 import org.apache.james.mailbox.store.mail.UidProvider;
@@ -110,6 +111,7 @@ public class CassandraMessageMapper implements MessageMapper {
     private final SecureRandom secureRandom;
     private final int reactorConcurrency;
     private final Clock clock;
+    private final AllocationCombiner<Pair<MessageUid, ModSeq>> uidAndModSeqAllocator;
 
     public CassandraMessageMapper(UidProvider uidProvider, ModSeqProvider modSeqProvider,
                                   CassandraAttachmentMapper attachmentMapper,
@@ -138,6 +140,7 @@ public class CassandraMessageMapper implements MessageMapper {
         this.secureRandom = new SecureRandom();
         this.reactorConcurrency = evaluateReactorConcurrency();
         this.clock = clock;
+        this.uidAndModSeqAllocator = new AllocationCombiner<>();
     }
 
     @Override
@@ -404,20 +407,26 @@ public class CassandraMessageMapper implements MessageMapper {
     }
 
     private Mono<MailboxMessage> addUidAndModseqAndSaveDate(MailboxMessage message, CassandraId mailboxId) {
-        Mono<MessageUid> messageUidMono = uidProvider
-            .nextUidReactive(mailboxId)
+        return uidAndModSeqAllocator.allocate(mailboxId, count -> reserveUidsAndModSeqs(message, mailboxId, count))
+                .doOnNext(uidAndModSeq -> {
+                    message.setUid(uidAndModSeq.getLeft());
+                    message.setModSeq(uidAndModSeq.getRight());
+                    message.setSaveDate(Date.from(clock.instant()));
+                })
+                .thenReturn(message);
+    }
+
+    private Mono<List<Pair<MessageUid, ModSeq>>> reserveUidsAndModSeqs(MailboxMessage message, CassandraId mailboxId, int count) {
+        Mono<List<MessageUid>> messageUidsMono = uidProvider
+            .nextUids(mailboxId, count)
             .switchIfEmpty(Mono.error(() -> new MailboxException("Can not find a UID to save " + message.getMessageId() + " in " + mailboxId)));
 
-        Mono<ModSeq> nextModSeqMono = modSeqProvider.nextModSeqReactive(mailboxId)
+        Mono<List<ModSeq>> nextModSeqsMono = modSeqProvider.nextModSeqs(mailboxId, count)
             .switchIfEmpty(Mono.error(() -> new MailboxException("Can not find a MODSEQ to save " + message.getMessageId() + " in " + mailboxId)));
 
-        return Mono.zip(messageUidMono, nextModSeqMono)
-                .doOnNext(tuple -> {
-                    message.setUid(tuple.getT1());
-                    message.setModSeq(tuple.getT2());
-                    message.setSaveDate(Date.from(clock.instant()));
-                })
-                .thenReturn(message);
+        return Mono.zip(messageUidsMono, nextModSeqsMono)
+            .map(tuple -> Streams.zip(tuple.getT1().stream(), tuple.getT2().stream(), Pair::of)
+                .collect(ImmutableList.toImmutableList()));
     }
 
     private <T> T block(Mono<T> mono) throws MailboxException {
@@ -30,9 +30,11 @@ import static org.apache.james.mailbox.cassandra.table.CassandraMessageModseqTab
 import static org.apache.james.util.ReactorUtils.publishIfPresent;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import jakarta.inject.Inject;
 
@@ -51,6 +53,8 @@ import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -166,7 +170,11 @@ public class CassandraModSeqProvider implements ModSeqProvider {
     }
 
     private Mono<ModSeq> tryInsertModSeq(CassandraId mailboxId, ModSeq modSeq) {
-        ModSeq nextModSeq = modSeq.next();
+        return tryInsertModSeq(mailboxId, modSeq, 1);
+    }
+
+    private Mono<ModSeq> tryInsertModSeq(CassandraId mailboxId, ModSeq modSeq, int count) {
+        ModSeq nextModSeq = modSeq.add(count);
         return cassandraAsyncExecutor.executeReturnApplied(
                 insert.bind()
                     .set(MAILBOX_ID, mailboxId.asUuid(), TypeCodecs.TIMEUUID)
@@ -176,7 +184,11 @@ public class CassandraModSeqProvider implements ModSeqProvider {
     }
 
     private Mono<ModSeq> tryUpdateModSeq(CassandraId mailboxId, ModSeq modSeq) {
-        ModSeq nextModSeq = modSeq.next();
+        return tryUpdateModSeq(mailboxId, modSeq, 1);
+    }
+
+    private Mono<ModSeq> tryUpdateModSeq(CassandraId mailboxId, ModSeq modSeq, int count) {
+        ModSeq nextModSeq = modSeq.add(count);
         return cassandraAsyncExecutor.executeReturnApplied(
                 update.bind()
                     .set(MAILBOX_ID, mailboxId.asUuid(), TypeCodecs.TIMEUUID)
@@ -205,6 +217,22 @@ public class CassandraModSeqProvider implements ModSeqProvider {
             .map(modSeq -> modSeq.add(cassandraConfiguration.getUidModseqIncrement()));
     }
 
+    @Override
+    public Mono<List<ModSeq>> nextModSeqs(MailboxId mailboxId, int count) {
+        Preconditions.checkArgument(count > 0, "Count need to be positive");
+        CassandraId cassandraId = (CassandraId) mailboxId;
+        return findHighestModSeq(cassandraId, Optional.of(lwtProfile))
+            .flatMap(maybeHighestModSeq -> maybeHighestModSeq
+                .map(highestModSeq -> tryUpdateModSeq(cassandraId, highestModSeq, count))
+                .orElseGet(() -> tryInsertModSeq(cassandraId, ModSeq.first(), count)))
+            .single()
+            .retryWhen(retrySpec)
+            .map(highestModSeq -> LongStream.range(highestModSeq.asLong() - count + 1, highestModSeq.asLong() + 1)
+                .mapToObj(ModSeq::of)
+                .map(modSeq -> modSeq.add(cassandraConfiguration.getUidModseqIncrement()))
+                .collect(ImmutableList.toImmutableList()));
+    }
+
     @Override
     public Mono<ModSeq> highestModSeqReactive(Mailbox mailbox) {
         return findHighestModSeq((CassandraId) mailbox.getMailboxId(), Optional.empty())
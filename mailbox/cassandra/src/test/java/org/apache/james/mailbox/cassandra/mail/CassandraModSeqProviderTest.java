@@ -98,6 +98,21 @@ class CassandraModSeqProviderTest {
             }));
     }
 
+    @Test
+    void nextModSeqsShouldReturnConsecutiveValues() throws Exception {
+        modSeqProvider.nextModSeq(mailbox);
+
+        assertThat(modSeqProvider.nextModSeqs(CASSANDRA_ID, 3).block())
+            .containsExactly(ModSeq.of(2), ModSeq.of(3), ModSeq.of(4));
+        assertThat(modSeqProvider.highestModSeq(mailbox)).isEqualTo(ModSeq.of(4));
+    }
+
+    @Test
+    void nextModSeqsShouldWorkOnFirstCall() {
+        assertThat(modSeqProvider.nextModSeqs(CASSANDRA_ID, 3).block())
+            .containsExactly(ModSeq.of(1), ModSeq.of(2), ModSeq.of(3));
+    }
+
     @Test
     void failedInsertsShouldBeRetried(CassandraCluster cassandra) throws Exception {
         Barrier insertBarrier = new Barrier(2);
@@ -0,0 +1,258 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.event.json;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.Event;
+import org.apache.james.events.EventBinaryFormat;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxEvent;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Binary representation of the most frequent mailbox events: {@link Added}, {@link Expunged} and {@link FlagsUpdated}.
+ *
+ * Other mailbox events are only serialized as JSON.
+ */
+public class MailboxEventBinarySerializer {
+    private static final int MAGIC = 0xE1;
+    private static final int VERSION = 1;
+
+    private static final int ADDED = 1;
+    private static final int EXPUNGED = 2;
+    private static final int FLAGS_UPDATED = 3;
+
+    private static final Map<Flags.Flag, Integer> SYSTEM_FLAG_BITS = ImmutableMap.of(
+        Flags.Flag.ANSWERED, 1,
+        Flags.Flag.DELETED, 1 << 1,
+        Flags.Flag.DRAFT, 1 << 2,
+        Flags.Flag.FLAGGED, 1 << 3,
+        Flags.Flag.RECENT, 1 << 4,
+        Flags.Flag.SEEN, 1 << 5);
+    private static final Collection<Class<? extends Event>> SUPPORTED_EVENTS = ImmutableSet.of(Added.class, Expunged.class, FlagsUpdated.class);
+
+    private final MailboxId.Factory mailboxIdFactory;
+    private final MessageId.Factory messageIdFactory;
+
+    public MailboxEventBinarySerializer(MailboxId.Factory mailboxIdFactory, MessageId.Factory messageIdFactory) {
+        this.mailboxIdFactory = mailboxIdFactory;
+        this.messageIdFactory = messageIdFactory;
+    }
+
+    public boolean supports(Event event) {
+        return SUPPORTED_EVENTS.contains(event.getClass());
+    }
+
+    public byte[] toBinary(Collection<Event> events) {
+        EventBinaryFormat.Writer writer = new EventBinaryFormat.Writer()
+            .writeByte(MAGIC)
+            .writeByte(VERSION)
+            .writeVarLong(events.size());
+        events.forEach(event -> write(writer, event));
+        return writer.toByteArray();
+    }
+
+    public List<Event> fromBinary(byte[] serialized) {
+        EventBinaryFormat.Reader reader = new EventBinaryFormat.Reader(serialized);
+        Preconditions.checkArgument(reader.readByte() == MAGIC, "Not a binary mailbox event");
+        int version = reader.readByte();
+        Preconditions.checkArgument(version == VERSION, "Unsupported binary mailbox event version %s", version);
+
+        int count = reader.readVarInt();
+        ImmutableList.Builder<Event> events = ImmutableList.builderWithExpectedSize(count);
+        for (int i = 0; i < count; i++) {
+            events.add(read(reader));
+        }
+        reader.checkFullyRead();
+        return events.build();
+    }
+
+    private void write(EventBinaryFormat.Writer writer, Event event) {
+        if (event instanceof Added added && supports(event)) {
+            writeCommon(writer.writeByte(ADDED), added);
+            writer.writeBoolean(added.isDelivery())
+                .writeBoolean(added.isAppended())
+                .writeOptionalString(added.movedFromMailboxId().map(MailboxId::serialize));
+            writeMetaData(writer, added.getAdded());
+        } else if (event instanceof Expunged expunged && supports(event)) {
+            writeCommon(writer.writeByte(EXPUNGED), expunged);
+            writer.writeOptionalString(expunged.movedToMailboxId().map(MailboxId::serialize));
+            writeMetaData(writer, expunged.getExpunged());
+        } else if (event instanceof FlagsUpdated flagsUpdated && supports(event)) {
+            writeCommon(writer.writeByte(FLAGS_UPDATED), flagsUpdated);
+            writer.writeVarLong(flagsUpdated.getUpdatedFlags().size());
+            flagsUpdated.getUpdatedFlags().forEach(updatedFlags -> writeUpdatedFlags(writer, updatedFlags));
+        } else {
+            throw new IllegalArgumentException("Binary serialization is not supported for " + event.getClass().getName());
+        }
+    }
+
+    private Event read(EventBinaryFormat.Reader reader) {
+        int type = reader.readByte();
+        Event.EventId eventId = Event.EventId.of(reader.readUuid());
+        MailboxSession.SessionId sessionId = MailboxSession.SessionId.of(reader.readLong());
+        Username username = Username.of(reader.readString());
+        MailboxPath path = new MailboxPath(reader.readOptionalString().orElse(null),
+            reader.readOptionalString().map(Username::of).orElse(null),
+            reader.readString());
+        MailboxId mailboxId = mailboxIdFactory.fromString(reader.readString());
+
+        switch (type) {
+            case ADDED: {
+                boolean isDelivery = reader.readBoolean();
+                boolean isAppended = reader.readBoolean();
+                Optional<MailboxId> movedFrom = reader.readOptionalString().map(mailboxIdFactory::fromString);
+                return new Added(sessionId, username, path, mailboxId, readMetaData(reader), eventId, isDelivery, isAppended, movedFrom);
+            }
+            case EXPUNGED: {
+                Optional<MailboxId> movedTo = reader.readOptionalString().map(mailboxIdFactory::fromString);
+                return new Expunged(sessionId, username, path, mailboxId, readMetaData(reader), eventId, movedTo);
+            }
+            case FLAGS_UPDATED: {
+                int count = reader.readVarInt();
+                ImmutableList.Builder<UpdatedFlags> updatedFlags = ImmutableList.builderWithExpectedSize(count);
+                for (int i = 0; i < count; i++) {
+                    updatedFlags.add(readUpdatedFlags(reader));
+                }
+                return new FlagsUpdated(sessionId, username, path, mailboxId, updatedFlags.build(), eventId);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown binary mailbox event type " + type);
+        }
+    }
+
+    private void writeCommon(EventBinaryFormat.Writer writer, MailboxEvent event) {
+        writer.writeUuid(event.getEventId().getId())
+            .writeLong(event.getSessionId().getValue())
+            .writeString(event.getUsername().asString())
+            .writeOptionalString(Optional.ofNullable(event.getMailboxPath().getNamespace()))
+            .writeOptionalString(Optional.ofNullable(event.getMailboxPath().getUser()).map(Username::asString))
+            .writeString(event.getMailboxPath().getName())
+            .writeString(event.getMailboxId().serialize());
+    }
+
+    private void writeMetaData(EventBinaryFormat.Writer writer, Map<MessageUid, MessageMetaData> metaData) {
+        writer.writeVarLong(metaData.size());
+        metaData.values().forEach(messageMetaData -> {
+            writer.writeVarLong(messageMetaData.getUid().asLong())
+                .writeVarLong(messageMetaData.getModSeq().asLong())
+                .writeVarLong(messageMetaData.getSize())
+                .writeZigZagLong(messageMetaData.getInternalDate().getTime())
+                .writeBoolean(messageMetaData.getSaveDate().isPresent());
+            messageMetaData.getSaveDate().ifPresent(saveDate -> writer.writeZigZagLong(saveDate.getTime()));
+            writer.writeString(messageMetaData.getMessageId().serialize())
+                .writeOptionalString(Optional.ofNullable(messageMetaData.getThreadId()).map(ThreadId::serialize));
+            writeFlags(writer, messageMetaData.getFlags());
+        });
+    }
+
+    private SortedMap<MessageUid, MessageMetaData> readMetaData(EventBinaryFormat.Reader reader) {
+        int count = reader.readVarInt();
+        SortedMap<MessageUid, MessageMetaData> result = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            MessageUid uid = MessageUid.of(reader.readVarLong());
+            ModSeq modSeq = ModSeq.of(reader.readVarLong());
+            long size = reader.readVarLong();
+            Date internalDate = new Date(reader.readZigZagLong());
+            Optional<Date> saveDate = Optional.of(reader.readBoolean())
+                .filter(present -> present)
+                .map(present -> new Date(reader.readZigZagLong()));
+            MessageId messageId = messageIdFactory.fromString(reader.readString());
+            ThreadId threadId = reader.readOptionalString()
+                .map(serializedThreadId -> ThreadId.fromBaseMessageId(messageIdFactory.fromString(serializedThreadId)))
+                .orElseGet(() -> ThreadId.fromBaseMessageId(messageId));
+            Flags flags = readFlags(reader);
+            result.put(uid, new MessageMetaData(uid, modSeq, flags, size, internalDate, saveDate, messageId, threadId));
+        }
+        return result;
+    }
+
+    private void writeUpdatedFlags(EventBinaryFormat.Writer writer, UpdatedFlags updatedFlags) {
+        writer.writeVarLong(updatedFlags.getUid().asLong())
+            .writeOptionalString(updatedFlags.getMessageId().map(MessageId::serialize))
+            .writeVarLong(updatedFlags.getModSeq().asLong());
+        writeFlags(writer, updatedFlags.getOldFlags());
+        writeFlags(writer, updatedFlags.getNewFlags());
+    }
+
+    private UpdatedFlags readUpdatedFlags(EventBinaryFormat.Reader reader) {
+        return UpdatedFlags.builder()
+            .uid(MessageUid.of(reader.readVarLong()))
+            .messageId(reader.readOptionalString().map(messageIdFactory::fromString))
+            .modSeq(ModSeq.of(reader.readVarLong()))
+            .oldFlags(readFlags(reader))
+            .newFlags(readFlags(reader))
+            .build();
+    }
+
+    private void writeFlags(EventBinaryFormat.Writer writer, Flags flags) {
+        int systemFlags = 0;
+        for (Flags.Flag flag : flags.getSystemFlags()) {
+            systemFlags |= SYSTEM_FLAG_BITS.getOrDefault(flag, 0);
+        }
+        String[] userFlags = flags.getUserFlags();
+        writer.writeByte(systemFlags)
+            .writeVarLong(userFlags.length);
+        for (String userFlag : userFlags) {
+            writer.writeString(userFlag);
+        }
+    }
+
+    private Flags readFlags(EventBinaryFormat.Reader reader) {
+        int systemFlags = reader.readByte();
+        FlagsBuilder builder = FlagsBuilder.builder();
+        SYSTEM_FLAG_BITS.forEach((flag, bit) -> {
+            if ((systemFlags & bit) != 0) {
+                builder.add(flag);
+            }
+        });
+        int userFlagCount = reader.readVarInt();
+        for (int i = 0; i < userFlagCount; i++) {
+            builder.add(reader.readString());
+        }
+        return builder.build();
+    }
+}
@@ -423,6 +423,7 @@ class JsonSerialize(mailboxIdFactory: MailboxId.Factory, messageIdFactory: Messa
 
 class MailboxEventSerializer @Inject()(mailboxIdFactory: MailboxId.Factory, messageIdFactory: MessageId.Factory, quotaRootDeserializer: QuotaRootDeserializer) extends EventSerializer {
   private val jsonSerialize = new JsonSerialize(mailboxIdFactory, messageIdFactory, quotaRootDeserializer)
+  private val binarySerialize = new MailboxEventBinarySerializer(mailboxIdFactory, messageIdFactory)
 
   override def toJson(event: JavaEvent): String = jsonSerialize.toJson(event)
 
@@ -437,5 +438,11 @@ class MailboxEventSerializer @Inject()(mailboxIdFactory: MailboxId.Factory, mess
   override def asEvents(serialized: String): util.List[JavaEvent] = jsonSerialize.fromJsonAsEvents(serialized).get.asJava
 
   override def asEvent(serialized: String): JavaEvent = fromJson(serialized).get
+
+  override def supportsBinary(event: JavaEvent): Boolean = binarySerialize.supports(event)
+
+  override def toBinary(events: util.Collection[JavaEvent]): Array[Byte] = binarySerialize.toBinary(events)
+
+  override def fromBinary(serialized: Array[Byte]): util.List[JavaEvent] = binarySerialize.fromBinary(serialized)
 }
 
@@ -0,0 +1,177 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.event.json;
+
+import static org.apache.james.event.json.SerializerFixture.EVENT_ID;
+import static org.apache.james.event.json.SerializerFixture.EVENT_SERIALIZER;
+import static org.apache.james.mailbox.events.MailboxEvents.Added.IS_APPENDED;
+import static org.apache.james.mailbox.events.MailboxEvents.Added.IS_DELIVERY;
+import static org.apache.james.mailbox.store.mail.model.MailboxMessage.EMPTY_SAVE_DATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.Event;
+import org.apache.james.mailbox.FlagsBuilder;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxAdded;
+import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+class BinarySerializationTest {
+    private static final Username USERNAME = Username.of("user");
+    private static final MailboxSession.SessionId SESSION_ID = MailboxSession.SessionId.of(42);
+    private static final MailboxId MAILBOX_ID = TestId.of(18);
+    private static final MailboxId OTHER_MAILBOX_ID = TestId.of(28);
+    private static final MailboxPath MAILBOX_PATH = new MailboxPath(MailboxConstants.USER_NAMESPACE, USERNAME, "mailboxName");
+    private static final MessageUid MESSAGE_UID = MessageUid.of(123456);
+    private static final Instant INSTANT = Instant.parse("2018-12-14T09:41:51.541Z");
+    private static final TestMessageId MESSAGE_ID = TestMessageId.of(42);
+    private static final ModSeq MOD_SEQ = ModSeq.of(35);
+    private static final Flags FLAGS = FlagsBuilder.builder()
+        .add(Flags.Flag.ANSWERED, Flags.Flag.DRAFT)
+        .add("User Custom Flag")
+        .build();
+    private static final SortedMap<MessageUid, MessageMetaData> METADATA = ImmutableSortedMap.of(
+        MESSAGE_UID, new MessageMetaData(MESSAGE_UID, MOD_SEQ, FLAGS, 45, Date.from(INSTANT), Optional.of(Date.from(INSTANT)), MESSAGE_ID, ThreadId.fromBaseMessageId(TestMessageId.of(100))));
+    private static final SortedMap<MessageUid, MessageMetaData> METADATA_WITHOUT_SAVE_DATE = ImmutableSortedMap.of(
+        MESSAGE_UID, new MessageMetaData(MESSAGE_UID, MOD_SEQ, FLAGS, 45, Date.from(INSTANT), EMPTY_SAVE_DATE, MESSAGE_ID, ThreadId.fromBaseMessageId(MESSAGE_ID)));
+
+    private static final Added ADDED = new Added(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, METADATA, EVENT_ID, IS_DELIVERY, !IS_APPENDED, Optional.of(OTHER_MAILBOX_ID));
+    private static final Expunged EXPUNGED = new Expunged(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, METADATA_WITHOUT_SAVE_DATE, EVENT_ID, Optional.of(OTHER_MAILBOX_ID));
+    private static final FlagsUpdated FLAGS_UPDATED = new FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID,
+        ImmutableList.of(UpdatedFlags.builder()
+            .uid(MESSAGE_UID)
+            .messageId(Optional.of(MESSAGE_ID))
+            .modSeq(MOD_SEQ)
+            .oldFlags(new Flags())
+            .newFlags(FLAGS)
+            .build()),
+        EVENT_ID);
+
+    @Test
+    void addedShouldRoundTrip() {
+        assertThat(EVENT_SERIALIZER.fromBinary(EVENT_SERIALIZER.toBinary(ImmutableList.of(ADDED))))
+            .containsExactly(ADDED);
+    }
+
+    @Test
+    void addedWithoutSaveDateNorMovedFromShouldRoundTrip() {
+        Added added = new Added(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, METADATA_WITHOUT_SAVE_DATE, EVENT_ID, !IS_DELIVERY, IS_APPENDED, Optional.empty());
+
+        assertThat(EVENT_SERIALIZER.fromBinary(EVENT_SERIALIZER.toBinary(ImmutableList.of(added))))
+            .containsExactly(added);
+    }
+
+    @Test
+    void addedShouldPreserveMessageMetaData() {
+        Added deserialized = (Added) EVENT_SERIALIZER.fromBinary(EVENT_SERIALIZER.toBinary(ImmutableList.of(ADDED))).get(0);
+
+        assertThat(deserialized.getAdded()).isEqualTo(METADATA);
+        assertThat(deserialized.movedFromMailboxId()).contains(OTHER_MAILBOX_ID);
+        assertThat(deserialized.isDelivery()).isTrue();
+        assertThat(deserialized.isAppended()).isFalse();
+    }
+
+    @Test
+    void expungedShouldRoundTrip() {
+        assertThat(EVENT_SERIALIZER.fromBinary(EVENT_SERIALIZER.toBinary(ImmutableList.of(EXPUNGED))))
+            .containsExactly(EXPUNGED);
+    }
+
+    @Test
+    void flagsUpdatedShouldRoundTrip() {
+        assertThat(EVENT_SERIALIZER.fromBinary(EVENT_SERIALIZER.toBinary(ImmutableList.of(FLAGS_UPDATED))))
+            .containsExactly(FLAGS_UPDATED);
+    }
+
+    @Test
+    void batchesShouldRoundTrip() {
+        assertThat(EVENT_SERIALIZER.fromBinary(EVENT_SERIALIZER.toBinary(ImmutableList.of(ADDED, EXPUNGED, FLAGS_UPDATED))))
+            .containsExactly(ADDED, EXPUNGED, FLAGS_UPDATED);
+    }
+
+    @Test
+    void pathWithoutNamespaceNorUserShouldRoundTrip() {
+        MailboxPath path = new MailboxPath(null, null, "shared");
+        Expunged expunged = new Expunged(SESSION_ID, USERNAME, path, MAILBOX_ID, METADATA, EVENT_ID, Optional.empty());
+
+        assertThat(EVENT_SERIALIZER.fromBinary(EVENT_SERIALIZER.toBinary(ImmutableList.of(expunged))))
+            .containsExactly(expunged);
+    }
+
+    @Test
+    void binaryShouldBeSmallerThanJson() {
+        SortedMap<MessageUid, MessageMetaData> metaData = IntStream.range(0, 100)
+            .mapToObj(i -> new MessageMetaData(MessageUid.of(i + 1), ModSeq.of(i + 1), FLAGS, 45, Date.from(INSTANT), Optional.of(Date.from(INSTANT)), TestMessageId.of(i), ThreadId.fromBaseMessageId(TestMessageId.of(i))))
+            .collect(ImmutableSortedMap.toImmutableSortedMap(MessageUid::compareTo, MessageMetaData::getUid, any -> any));
+        List<Event> events = ImmutableList.of(new Expunged(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, metaData, EVENT_ID, Optional.empty()));
+
+        assertThat(EVENT_SERIALIZER.toBinary(events).length)
+            .isLessThan(EVENT_SERIALIZER.toJsonBytes(events).length / 4);
+    }
+
+    @Test
+    void supportsBinaryShouldBeLimitedToMessageEvents() {
+        assertThat(EVENT_SERIALIZER.supportsBinary(ADDED)).isTrue();
+        assertThat(EVENT_SERIALIZER.supportsBinary(EXPUNGED)).isTrue();
+        assertThat(EVENT_SERIALIZER.supportsBinary(FLAGS_UPDATED)).isTrue();
+        assertThat(EVENT_SERIALIZER.supportsBinary(new MailboxAdded(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, EVENT_ID))).isFalse();
+    }
+
+    @Test
+    void toBinaryShouldRejectUnsupportedEvents() {
+        assertThatThrownBy(() -> EVENT_SERIALIZER.toBinary(ImmutableList.of(new MailboxAdded(SESSION_ID, USERNAME, MAILBOX_PATH, MAILBOX_ID, EVENT_ID))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromBinaryShouldRejectJson() {
+        byte[] json = EVENT_SERIALIZER.toJson(ADDED).getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> EVENT_SERIALIZER.fromBinary(json))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,127 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+
+/**
+ * A Lucene index along with its near-real-time searchers.
+ *
+ * Searchers are shared and only reopened when the index changed. Searches always see the writes that completed before
+ * them. Writes are committed by batches.
+ */
+class LuceneIndex implements Closeable {
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final int commitBatchSize;
+    private final AtomicLong writeGeneration;
+    private final AtomicLong searcherGeneration;
+    private final AtomicInteger uncommittedWrites;
+
+    LuceneIndex(Directory directory, IndexWriterConfig config, int commitBatchSize) throws IOException {
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.commitBatchSize = commitBatchSize;
+        this.writeGeneration = new AtomicLong();
+        this.searcherGeneration = new AtomicLong();
+        this.uncommittedWrites = new AtomicInteger();
+    }
+
+    IndexWriter writer() {
+        return writer;
+    }
+
+    /**
+     * The returned searcher needs to be given back with {@link #release(IndexSearcher)}
+     */
+    IndexSearcher acquire() throws IOException {
+        long generation = writeGeneration.get();
+        if (generation > searcherGeneration.get()) {
+            searcherManager.maybeRefreshBlocking();
+            searcherGeneration.accumulateAndGet(generation, Math::max);
+        }
+        return searcherManager.acquire();
+    }
+
+    void release(IndexSearcher searcher) throws IOException {
+        searcherManager.release(searcher);
+    }
+
+    void addDocuments(Document... documents) throws IOException {
+        for (Document document : documents) {
+            writer.addDocument(document);
+        }
+        onWrite();
+    }
+
+    void updateDocument(Term term, Document document) throws IOException {
+        writer.updateDocument(term, document);
+        onWrite();
+    }
+
+    void deleteDocuments(Query query) throws IOException {
+        writer.deleteDocuments(query);
+        onWrite();
+    }
+
+    private void onWrite() throws IOException {
+        writeGeneration.incrementAndGet();
+        if (uncommittedWrites.incrementAndGet() >= commitBatchSize) {
+            commit();
+        }
+    }
+
+    void refresh() throws IOException {
+        long generation = writeGeneration.get();
+        if (generation > searcherGeneration.get() && searcherManager.maybeRefresh()) {
+            searcherGeneration.accumulateAndGet(generation, Math::max);
+        }
+    }
+
+    void commit() throws IOException {
+        uncommittedWrites.set(0);
+        writer.commit();
+    }
+
+    void commitIfNeeded() throws IOException {
+        if (uncommittedWrites.get() > 0) {
+            commit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.commit();
+        writer.close();
+    }
+}
@@ -69,6 +69,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import jakarta.annotation.PreDestroy;
@@ -110,12 +114,11 @@ import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.DateTools;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.LongPoint;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexFormatTooOldException;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.MultiReader;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
@@ -131,6 +134,7 @@ import org.apache.lucene.search.TermRangeQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.IOConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -139,6 +143,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -203,15 +208,13 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     private final MessageId.Factory messageIdFactory;
     private final LuceneIndexableDocument indexableDocument;
 
-    @VisibleForTesting
-    final IndexWriter writer;
-    private final Directory directory;
+    private final LuceneShards shards;
+    private final Optional<ScheduledExecutorService> maintenanceExecutor;
 
     private int maxQueryResults = DEFAULT_MAX_QUERY_RESULTS;
 
     private boolean suffixMatch = false;
 
-    @Inject
     public LuceneMessageSearchIndex(
         MailboxSessionMapperFactory factory,
         MailboxId.Factory mailboxIdFactory,
@@ -230,23 +233,96 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
             MessageId.Factory messageIdFactory,
             SessionProvider sessionProvider,
             TextExtractor textExtractor) throws IOException {
+        this(factory, mailboxIdFactory, directory, dropIndexOnStart, messageIdFactory, sessionProvider, textExtractor,
+            LuceneSearchConfiguration.DEFAULT, any -> directory);
+    }
+
+    @Inject
+    public LuceneMessageSearchIndex(
+        MailboxSessionMapperFactory factory,
+        MailboxId.Factory mailboxIdFactory,
+        Directory directory,
+        MessageId.Factory messageIdFactory,
+        SessionProvider sessionProvider,
+        TextExtractor textExtractor,
+        LuceneSearchConfiguration configuration,
+        LuceneShardDirectoryFactory shardDirectoryFactory) throws IOException {
+        this(factory, mailboxIdFactory, directory, false, messageIdFactory, sessionProvider, textExtractor, configuration, shardDirectoryFactory);
+    }
+
+    /**
+     * @param directory holds the index when it is not sharded
+     * @param shardDirectoryFactory provides the directory of each shard when the index is sharded
+     */
+    public LuceneMessageSearchIndex(
+            MailboxSessionMapperFactory factory,
+            MailboxId.Factory mailboxIdFactory,
+            Directory directory,
+            boolean dropIndexOnStart,
+            MessageId.Factory messageIdFactory,
+            SessionProvider sessionProvider,
+            TextExtractor textExtractor,
+            LuceneSearchConfiguration configuration,
+            LuceneShardDirectoryFactory shardDirectoryFactory) throws IOException {
         super(factory, ImmutableSet.of(), sessionProvider);
         this.mailboxIdFactory = mailboxIdFactory;
         this.messageIdFactory = messageIdFactory;
         this.indexableDocument = new LuceneIndexableDocument(textExtractor);
-        this.directory = directory;
-        try {
-            this.writer = new IndexWriter(this.directory, createConfig(LenientImapSearchAnalyzer.INSTANCE, dropIndexOnStart));
-        } catch (IndexFormatTooOldException e) {
-            throw new RuntimeException("Old lucene index version detected, automatic migration is not supported. See https://github.com/apache/james-project/blob/master/upgrade-instructions.md#james-4046-refactor-and-update-apache-james-mailbox-lucene for details", e);
+        this.shards = new LuceneShards(
+            configuration.isSharded() ? shardDirectoryFactory : any -> directory,
+            dropIndex -> createConfig(LenientImapSearchAnalyzer.INSTANCE, dropIndex),
+            configuration,
+            dropIndexOnStart);
+        if (!configuration.isSharded()) {
+            // Open the single index right away so that errors are reported upon start
+            shards.release(shards.lease(0));
+        }
+        this.maintenanceExecutor = scheduleMaintenance(configuration);
+    }
+
+    private Optional<ScheduledExecutorService> scheduleMaintenance(LuceneSearchConfiguration configuration) {
+        if (configuration.getRefreshInterval().isZero() && configuration.getCommitInterval().isZero()) {
+            return Optional.empty();
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("lucene-index-maintenance-%d")
+            .setDaemon(true)
+            .build());
+        if (!configuration.getRefreshInterval().isZero()) {
+            long refreshMillis = configuration.getRefreshInterval().toMillis();
+            executor.scheduleWithFixedDelay(() -> forEachOpenIndex(LuceneIndex::refresh), refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        }
+        if (!configuration.getCommitInterval().isZero()) {
+            long commitMillis = configuration.getCommitInterval().toMillis();
+            executor.scheduleWithFixedDelay(() -> forEachOpenIndex(LuceneIndex::commitIfNeeded), commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+        }
+        return Optional.of(executor);
+    }
+
+    private void forEachOpenIndex(IOConsumer<LuceneIndex> operation) {
+        for (LuceneShards.Shard shard : shards.leaseOpenShards()) {
+            try {
+                operation.accept(shard.index());
+            } catch (Exception e) {
+                log.warn("Lucene index maintenance failed", e);
+            } finally {
+                shards.release(shard);
+            }
         }
     }
 
     @PreDestroy
     public void close() throws IOException {
         log.trace("Closing Lucene index");
-        writer.commit();
-        writer.close();
+        maintenanceExecutor.ifPresent(ExecutorService::shutdownNow);
+        shards.close();
+    }
+
+    @VisibleForTesting
+    IndexWriter writer() throws IOException {
+        LuceneShards.Shard shard = shards.lease(0);
+        shards.release(shard);
+        return shard.index().writer();
     }
 
     @Override
@@ -334,26 +410,77 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     public List<Document> searchDocument(Collection<MailboxId> mailboxIds, SearchQuery searchQuery, int maxQueryResults) throws MailboxException {
         Query inMailboxes = buildQueryFromMailboxes(mailboxIds);
 
-        try (IndexReader reader = DirectoryReader.open(writer)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
-            BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
-            queryBuilder.add(inMailboxes, BooleanClause.Occur.MUST);
-            // Not return flags documents
-            queryBuilder.add(new PrefixQuery(new Term(FLAGS_FIELD, "")), BooleanClause.Occur.MUST_NOT);
+        try {
+            return withSearcher(mailboxIds, searcher -> searchDocument(searcher, inMailboxes, searchQuery, maxQueryResults));
+        } catch (IOException e) {
+            throw new MailboxException("Unable to search the mailbox", e);
+        }
+    }
 
-            List<Criterion> crits = searchQuery.getCriteria();
-            for (Criterion crit : crits) {
-                queryBuilder.add(createQuery(crit, inMailboxes, searchQuery.getRecentMessageUids()), BooleanClause.Occur.MUST);
-            }
+    private List<Document> searchDocument(IndexSearcher searcher, Query inMailboxes, SearchQuery searchQuery, int maxQueryResults) throws IOException, MailboxException {
+        BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
+        queryBuilder.add(inMailboxes, BooleanClause.Occur.MUST);
+        // Not return flags documents
+        queryBuilder.add(new PrefixQuery(new Term(FLAGS_FIELD, "")), BooleanClause.Occur.MUST_NOT);
 
-            // query for all the documents sorted as specified in the SearchQuery
-            TopDocs docs = searcher.search(queryBuilder.build(), maxQueryResults, createSort(searchQuery.getSorts()));
+        List<Criterion> crits = searchQuery.getCriteria();
+        for (Criterion crit : crits) {
+            queryBuilder.add(createQuery(crit, inMailboxes, searchQuery.getRecentMessageUids(), searcher), BooleanClause.Occur.MUST);
+        }
 
-            return Stream.of(docs.scoreDocs)
-                .map(Throwing.function(sDoc -> searcher.storedFields().document(sDoc.doc)))
-                .toList();
-        } catch (IOException e) {
-            throw new MailboxException("Unable to search the mailbox", e);
+        // query for all the documents sorted as specified in the SearchQuery
+        TopDocs docs = searcher.search(queryBuilder.build(), maxQueryResults, createSort(searchQuery.getSorts()));
+
+        return Stream.of(docs.scoreDocs)
+            .map(Throwing.function(sDoc -> searcher.storedFields().document(sDoc.doc)))
+            .toList();
+    }
+
+    @FunctionalInterface
+    private interface SearcherFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException, MailboxException;
+    }
+
+    /**
+     * Runs the function against a searcher covering the shards of the given mailboxes
+     */
+    private <T> T withSearcher(Collection<MailboxId> mailboxIds, SearcherFunction<T> function) throws IOException, MailboxException {
+        List<Integer> shardIds = mailboxIds.stream()
+            .map(shards::shardOf)
+            .distinct()
+            .sorted()
+            .toList();
+        List<LuceneShards.Shard> leasedShards = new ArrayList<>();
+        List<IndexSearcher> searchers = new ArrayList<>();
+        try {
+            for (int shardId : shardIds) {
+                LuceneShards.Shard shard = shards.lease(shardId);
+                leasedShards.add(shard);
+                searchers.add(shard.index().acquire());
+            }
+            if (searchers.size() == 1) {
+                return function.apply(searchers.getFirst());
+            }
+            IndexReader[] readers = searchers.stream()
+                .map(IndexSearcher::getIndexReader)
+                .toArray(IndexReader[]::new);
+            try (MultiReader reader = new MultiReader(readers, false)) {
+                return function.apply(new IndexSearcher(reader));
+            }
+        } finally {
+            for (int i = 0; i < searchers.size(); i++) {
+                leasedShards.get(i).index().release(searchers.get(i));
+            }
+            leasedShards.forEach(shards::release);
+        }
+    }
+
+    private void withIndex(MailboxId mailboxId, IOConsumer<LuceneIndex> operation) throws IOException {
+        LuceneShards.Shard shard = shards.lease(shards.shardOf(mailboxId));
+        try {
+            operation.accept(shard.index());
+        } finally {
+            shards.release(shard);
         }
     }
 
@@ -523,7 +650,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
      * Return a {@link Query} which is build based on the given {@link SearchQuery.FlagCriterion}. This is kind of a hack
      * as it will do a search for the flags in this method and
      */
-    private Query createFlagQuery(String flag, boolean isSet, Query inMailboxes, Collection<MessageUid> recentUids) throws MailboxException {
+    private Query createFlagQuery(String flag, boolean isSet, Query inMailboxes, Collection<MessageUid> recentUids, IndexSearcher searcher) throws IOException, MailboxException {
         BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
 
         if (isSet) {
@@ -538,37 +665,32 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         }
         queryBuilder.add(inMailboxes, BooleanClause.Occur.MUST);
 
-        try (IndexReader reader = DirectoryReader.open(writer)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
-            Set<MessageUid> uids = new HashSet<>();
+        Set<MessageUid> uids = new HashSet<>();
 
-            // queryBuilder for all the documents sorted by uid
-            TopDocs docs = searcher.search(queryBuilder.build(), maxQueryResults, new Sort(UID_SORT));
-            ScoreDoc[] sDocs = docs.scoreDocs;
-            for (ScoreDoc sDoc : sDocs) {
-                MessageUid uid = MessageUid.of(searcher.storedFields().document(sDoc.doc).getField(UID_FIELD).numericValue().longValue());
-                uids.add(uid);
-            }
+        // queryBuilder for all the documents sorted by uid
+        TopDocs docs = searcher.search(queryBuilder.build(), maxQueryResults, new Sort(UID_SORT));
+        ScoreDoc[] sDocs = docs.scoreDocs;
+        for (ScoreDoc sDoc : sDocs) {
+            MessageUid uid = MessageUid.of(searcher.storedFields().document(sDoc.doc).getField(UID_FIELD).numericValue().longValue());
+            uids.add(uid);
+        }
 
-            // add or remove recent uids
-            if (flag.equalsIgnoreCase("\\RECENT")) {
-                if (isSet) {
-                    uids.addAll(recentUids);
-                } else {
-                    uids.removeAll(recentUids);
-                }
+        // add or remove recent uids
+        if (flag.equalsIgnoreCase("\\RECENT")) {
+            if (isSet) {
+                uids.addAll(recentUids);
+            } else {
+                uids.removeAll(recentUids);
             }
+        }
 
-            List<MessageRange> ranges = MessageRange.toRanges(new ArrayList<>(uids));
-            UidRange[] nRanges = new UidRange[ranges.size()];
-            for (int i = 0; i < ranges.size(); i++) {
-                MessageRange range = ranges.get(i);
-                nRanges[i] = new UidRange(range.getUidFrom(), range.getUidTo());
-            }
-            return createUidQuery((UidCriterion) SearchQuery.uid(nRanges));
-        } catch (IOException e) {
-            throw new MailboxException("Unable to search mailbox " + inMailboxes, e);
+        List<MessageRange> ranges = MessageRange.toRanges(new ArrayList<>(uids));
+        UidRange[] nRanges = new UidRange[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            MessageRange range = ranges.get(i);
+            nRanges[i] = new UidRange(range.getUidFrom(), range.getUidTo());
         }
+        return createUidQuery((UidCriterion) SearchQuery.uid(nRanges));
     }
 
     private Sort createSort(List<SearchQuery.Sort> sorts) {
@@ -679,24 +801,24 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     /**
      * Return a {@link Query} which is build based on the given {@link SearchQuery.ConjunctionCriterion}
      */
-    private Query createConjunctionQuery(SearchQuery.ConjunctionCriterion crit, Query inMailboxes, Collection<MessageUid> recentUids) throws MailboxException {
+    private Query createConjunctionQuery(SearchQuery.ConjunctionCriterion crit, Query inMailboxes, Collection<MessageUid> recentUids, IndexSearcher searcher) throws IOException, MailboxException {
         List<Criterion> crits = crit.getCriteria();
         BooleanQuery.Builder conQuery = new BooleanQuery.Builder();
         switch (crit.getType()) {
         case AND:
             for (Criterion criterion : crits) {
-                conQuery.add(createQuery(criterion, inMailboxes, recentUids), BooleanClause.Occur.MUST);
+                conQuery.add(createQuery(criterion, inMailboxes, recentUids, searcher), BooleanClause.Occur.MUST);
             }
             return conQuery.build();
         case OR:
             for (Criterion criterion : crits) {
-                conQuery.add(createQuery(criterion, inMailboxes, recentUids), BooleanClause.Occur.SHOULD);
+                conQuery.add(createQuery(criterion, inMailboxes, recentUids, searcher), BooleanClause.Occur.SHOULD);
             }
             return conQuery.build();
         case NOR:
             BooleanQuery.Builder nor = new BooleanQuery.Builder();
             for (Criterion criterion : crits) {
-                conQuery.add(createQuery(criterion, inMailboxes, recentUids), BooleanClause.Occur.SHOULD);
+                conQuery.add(createQuery(criterion, inMailboxes, recentUids, searcher), BooleanClause.Occur.SHOULD);
             }
             nor.add(inMailboxes, BooleanClause.Occur.MUST);
 
@@ -710,7 +832,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     /**
      * Return a {@link Query} which is builded based on the given {@link Criterion}
      */
-    private Query createQuery(Criterion criterion, Query inMailboxes, Collection<MessageUid> recentUids) throws MailboxException {
+    private Query createQuery(Criterion criterion, Query inMailboxes, Collection<MessageUid> recentUids, IndexSearcher searcher) throws IOException, MailboxException {
         if (criterion instanceof SearchQuery.InternalDateCriterion crit) {
             return createInternalDateQuery(crit);
         } else if (criterion instanceof SearchQuery.SaveDateCriterion crit) {
@@ -724,17 +846,17 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         } else if (criterion instanceof UidCriterion crit) {
             return createUidQuery(crit);
         } else if (criterion instanceof FlagCriterion crit) {
-            return createFlagQuery(toString(crit.getFlag()), crit.getOperator().isSet(), inMailboxes, recentUids);
+            return createFlagQuery(toString(crit.getFlag()), crit.getOperator().isSet(), inMailboxes, recentUids, searcher);
         } else if (criterion instanceof AttachmentCriterion crit) {
             return createAttachmentQuery(crit.getOperator().isSet());
         } else if (criterion instanceof CustomFlagCriterion crit) {
-            return createFlagQuery(crit.getFlag().toLowerCase(Locale.US), crit.getOperator().isSet(), inMailboxes, recentUids);
+            return createFlagQuery(crit.getFlag().toLowerCase(Locale.US), crit.getOperator().isSet(), inMailboxes, recentUids, searcher);
         } else if (criterion instanceof SearchQuery.TextCriterion crit) {
             return createTextQuery(crit);
         } else if (criterion instanceof SearchQuery.AllCriterion) {
             return createAllQuery();
         } else if (criterion instanceof SearchQuery.ConjunctionCriterion crit) {
-            return createConjunctionQuery(crit, inMailboxes, recentUids);
+            return createConjunctionQuery(crit, inMailboxes, recentUids, searcher);
         } else if (criterion instanceof SearchQuery.ModSeqCriterion) {
             return createModSeqQuery((SearchQuery.ModSeqCriterion) criterion);
         } else if (criterion instanceof SearchQuery.MimeMessageIDCriterion mimeMessageIDCriterion) {
@@ -753,10 +875,8 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
             .filter(flags -> !new Flags().equals(flags))
             .flatMap(any -> Mono.fromRunnable(Throwing.runnable(() -> update(mailbox.getMailboxId(), membership.getUid(), membership.createFlags()))))
             .switchIfEmpty(Mono.defer(() -> indexableDocument.createMessageDocument(membership, session)
-                .flatMap(document -> Mono.fromRunnable(Throwing.runnable(() -> {
-                    writer.addDocument(document);
-                    writer.addDocument(indexableDocument.createFlagsDocument(membership));
-                })))))
+                .flatMap(document -> Mono.fromRunnable(Throwing.runnable(() -> withIndex(mailbox.getMailboxId(),
+                    index -> index.addDocuments(document, indexableDocument.createFlagsDocument(membership))))))))
             .then();
     }
 
@@ -775,7 +895,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         var doc = indexableDocument.createFlagsDocument(mailboxId, uid, f);
         log.trace("Updating flags document, mailboxId:{}, message uid: {}, flags:'{}', term: {}, new document: {}",
                 mailboxId, uid, f, term, doc);
-        writer.updateDocument(term, doc);
+        withIndex(mailboxId, index -> index.updateDocument(term, doc));
     }
 
     private Query createQuery(MessageRange range) {
@@ -807,11 +927,17 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         queryBuilder.add(new TermQuery(new Term(MAILBOX_ID_FIELD, mailboxId.serialize())), BooleanClause.Occur.MUST);
         queryBuilder.add(createQuery(range), BooleanClause.Occur.MUST);
 
-        writer.deleteDocuments(queryBuilder.build());
+        withIndex(mailboxId, index -> index.deleteDocuments(queryBuilder.build()));
     }
 
     public void commit() throws IOException {
-        writer.commit();
+        for (LuceneShards.Shard shard : shards.leaseOpenShards()) {
+            try {
+                shard.index().commit();
+            } finally {
+                shards.release(shard);
+            }
+        }
     }
 
     @Override
@@ -828,9 +954,8 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         return Mono.fromCallable(() -> retrieveFlags(mailbox, uid));
     }
 
-    private Flags retrieveFlags(Mailbox mailbox, MessageUid uid) throws IOException {
-        try (IndexReader reader = DirectoryReader.open(writer)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
+    private Flags retrieveFlags(Mailbox mailbox, MessageUid uid) throws IOException, MailboxException {
+        return withSearcher(ImmutableList.of(mailbox.getMailboxId()), searcher -> {
             Flags retrievedFlags = new Flags();
 
             BooleanQuery.Builder queryBuilder = new BooleanQuery.Builder();
@@ -847,7 +972,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
                     .forEach(flag -> fromString(flag).ifPresentOrElse(retrievedFlags::add, () -> retrievedFlags.add(flag)));
             }
             return retrievedFlags;
-        }
+        });
     }
 
     /**
@@ -0,0 +1,190 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.util.DurationParser;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+public class LuceneSearchConfiguration {
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofSeconds(30);
+    public static final int DEFAULT_COMMIT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_SHARD_COUNT = 1;
+    public static final int DEFAULT_MAX_OPEN_SHARDS = 64;
+
+    public static final LuceneSearchConfiguration DEFAULT = builder().build();
+
+    public static class Builder {
+        private Optional<Duration> refreshInterval = Optional.empty();
+        private Optional<Duration> commitInterval = Optional.empty();
+        private Optional<Integer> commitBatchSize = Optional.empty();
+        private Optional<Integer> shardCount = Optional.empty();
+        private Optional<Integer> maxOpenShards = Optional.empty();
+
+        public Builder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = Optional.of(refreshInterval);
+            return this;
+        }
+
+        public Builder commitInterval(Duration commitInterval) {
+            this.commitInterval = Optional.of(commitInterval);
+            return this;
+        }
+
+        public Builder commitBatchSize(int commitBatchSize) {
+            this.commitBatchSize = Optional.of(commitBatchSize);
+            return this;
+        }
+
+        public Builder shardCount(int shardCount) {
+            this.shardCount = Optional.of(shardCount);
+            return this;
+        }
+
+        public Builder maxOpenShards(int maxOpenShards) {
+            this.maxOpenShards = Optional.of(maxOpenShards);
+            return this;
+        }
+
+        public LuceneSearchConfiguration build() {
+            Duration refresh = refreshInterval.orElse(DEFAULT_REFRESH_INTERVAL);
+            Duration commit = commitInterval.orElse(DEFAULT_COMMIT_INTERVAL);
+            int batchSize = commitBatchSize.orElse(DEFAULT_COMMIT_BATCH_SIZE);
+            int shards = shardCount.orElse(DEFAULT_SHARD_COUNT);
+            int maxOpen = maxOpenShards.orElse(DEFAULT_MAX_OPEN_SHARDS);
+
+            Preconditions.checkArgument(!refresh.isNegative(), "'searcher.refresh.interval' needs to be positive");
+            Preconditions.checkArgument(!commit.isNegative(), "'commit.interval' needs to be positive");
+            Preconditions.checkArgument(batchSize > 0, "'commit.batch.size' needs to be strictly positive");
+            Preconditions.checkArgument(shards > 0, "'shards.count' needs to be strictly positive");
+            Preconditions.checkArgument(maxOpen > 0, "'shards.max.open' needs to be strictly positive");
+
+            return new LuceneSearchConfiguration(refresh, commit, batchSize, shards, maxOpen);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static LuceneSearchConfiguration from(Configuration configuration) {
+        Builder builder = builder();
+        Optional.ofNullable(configuration.getString("searcher.refresh.interval", null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.MILLIS))
+            .ifPresent(builder::refreshInterval);
+        Optional.ofNullable(configuration.getString("commit.interval", null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::commitInterval);
+        Optional.ofNullable(configuration.getInteger("commit.batch.size", null)).ifPresent(builder::commitBatchSize);
+        Optional.ofNullable(configuration.getInteger("shards.count", null)).ifPresent(builder::shardCount);
+        Optional.ofNullable(configuration.getInteger("shards.max.open", null)).ifPresent(builder::maxOpenShards);
+        return builder.build();
+    }
+
+    private final Duration refreshInterval;
+    private final Duration commitInterval;
+    private final int commitBatchSize;
+    private final int shardCount;
+    private final int maxOpenShards;
+
+    private LuceneSearchConfiguration(Duration refreshInterval, Duration commitInterval, int commitBatchSize, int shardCount, int maxOpenShards) {
+        this.refreshInterval = refreshInterval;
+        this.commitInterval = commitInterval;
+        this.commitBatchSize = commitBatchSize;
+        this.shardCount = shardCount;
+        this.maxOpenShards = maxOpenShards;
+    }
+
+    /**
+     * Interval at which searchers are refreshed in the background. Searches always see previous writes: they only
+     * refresh themselves when writes happened since the last background refresh. Zero disables background refreshes.
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Interval at which pending writes are committed. Zero disables periodic commits.
+     */
+    public Duration getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * Count of pending writes on an index triggering a commit.
+     */
+    public int getCommitBatchSize() {
+        return commitBatchSize;
+    }
+
+    /**
+     * Count of indexes mailboxes are spread on. 1 means a single index.
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Maximum count of shard indexes kept open, the least recently used ones being closed first.
+     */
+    public int getMaxOpenShards() {
+        return maxOpenShards;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof LuceneSearchConfiguration that) {
+            return Objects.equals(this.commitBatchSize, that.commitBatchSize)
+                && Objects.equals(this.shardCount, that.shardCount)
+                && Objects.equals(this.maxOpenShards, that.maxOpenShards)
+                && Objects.equals(this.refreshInterval, that.refreshInterval)
+                && Objects.equals(this.commitInterval, that.commitInterval);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(refreshInterval, commitInterval, commitBatchSize, shardCount, maxOpenShards);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("refreshInterval", refreshInterval)
+            .add("commitInterval", commitInterval)
+            .add("commitBatchSize", commitBatchSize)
+            .add("shardCount", shardCount)
+            .add("maxOpenShards", maxOpenShards)
+            .toString();
+    }
+}
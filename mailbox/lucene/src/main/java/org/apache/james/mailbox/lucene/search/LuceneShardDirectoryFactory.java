@@ -0,0 +1,52 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import com.github.fge.lambdas.Throwing;
+
+/**
+ * Provides the {@link Directory} backing each shard of a sharded Lucene index.
+ *
+ * The same shard needs to always get the same directory: shard indexes get closed and reopened on top of it.
+ */
+@FunctionalInterface
+public interface LuceneShardDirectoryFactory {
+    static LuceneShardDirectoryFactory inMemory() {
+        Map<Integer, Directory> directories = new ConcurrentHashMap<>();
+        return shard -> directories.computeIfAbsent(shard, any -> new ByteBuffersDirectory());
+    }
+
+    static LuceneShardDirectoryFactory fileSystem(Path root) {
+        Map<Integer, Directory> directories = new ConcurrentHashMap<>();
+        return shard -> directories.computeIfAbsent(shard,
+            Throwing.<Integer, Directory>function(any -> FSDirectory.open(root.resolve("shard-" + shard))).sneakyThrow());
+    }
+
+    Directory directory(int shard) throws IOException;
+}
@@ -0,0 +1,155 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.lucene.index.IndexFormatTooOldException;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Spreads mailboxes on several {@link LuceneIndex}, based on a hash of their id.
+ *
+ * At most {@link LuceneSearchConfiguration#getMaxOpenShards()} shards are kept open, the least recently used shards
+ * not in use being closed first.
+ */
+class LuceneShards implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LuceneShards.class);
+
+    class Shard {
+        private final int id;
+        private final LuceneIndex index;
+        private int users;
+
+        private Shard(int id, LuceneIndex index) {
+            this.id = id;
+            this.index = index;
+        }
+
+        LuceneIndex index() {
+            return index;
+        }
+    }
+
+    private final LuceneShardDirectoryFactory directoryFactory;
+    private final Function<Boolean, IndexWriterConfig> writerConfigFactory;
+    private final LuceneSearchConfiguration configuration;
+    private final boolean dropIndexOnStart;
+    private final Set<Integer> openedOnce;
+    private final LinkedHashMap<Integer, Shard> openShards;
+    private boolean closed;
+
+    LuceneShards(LuceneShardDirectoryFactory directoryFactory, Function<Boolean, IndexWriterConfig> writerConfigFactory,
+                 LuceneSearchConfiguration configuration, boolean dropIndexOnStart) {
+        this.directoryFactory = directoryFactory;
+        this.writerConfigFactory = writerConfigFactory;
+        this.configuration = configuration;
+        this.dropIndexOnStart = dropIndexOnStart;
+        this.openedOnce = new HashSet<>();
+        this.openShards = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    int shardOf(MailboxId mailboxId) {
+        return Math.floorMod(mailboxId.serialize().hashCode(), configuration.getShardCount());
+    }
+
+    /**
+     * The leased shard is not closed until it is given back with {@link #release(Shard)}
+     */
+    synchronized Shard lease(int id) throws IOException {
+        if (closed) {
+            throw new IOException("Lucene index is closed");
+        }
+        Shard shard = openShards.get(id);
+        if (shard == null) {
+            shard = new Shard(id, open(id));
+            openShards.put(id, shard);
+        }
+        shard.users++;
+        evictUnusedShards();
+        return shard;
+    }
+
+    synchronized void release(Shard shard) {
+        shard.users--;
+    }
+
+    private LuceneIndex open(int id) throws IOException {
+        // Only the first opening of a shard may drop it, reopening an evicted shard must not
+        boolean firstOpening = openedOnce.add(id);
+        try {
+            return new LuceneIndex(directoryFactory.directory(id), writerConfigFactory.apply(dropIndexOnStart && firstOpening),
+                configuration.getCommitBatchSize());
+        } catch (IndexFormatTooOldException e) {
+            throw new RuntimeException("Old lucene index version detected, automatic migration is not supported. See https://github.com/apache/james-project/blob/master/upgrade-instructions.md#james-4046-refactor-and-update-apache-james-mailbox-lucene for details", e);
+        }
+    }
+
+    private void evictUnusedShards() {
+        Iterator<Shard> leastRecentlyUsed = openShards.values().iterator();
+        while (openShards.size() > configuration.getMaxOpenShards() && leastRecentlyUsed.hasNext()) {
+            Shard shard = leastRecentlyUsed.next();
+            if (shard.users == 0) {
+                leastRecentlyUsed.remove();
+                try {
+                    shard.index.close();
+                } catch (IOException e) {
+                    LOGGER.error("Failed closing Lucene shard {}", shard.id, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Leases all the currently open shards
+     */
+    synchronized List<Shard> leaseOpenShards() {
+        List<Shard> shards = new ArrayList<>(openShards.values());
+        shards.forEach(shard -> shard.users++);
+        return shards;
+    }
+
+    @VisibleForTesting
+    synchronized int openShardCount() {
+        return openShards.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        List<LuceneIndex> indexes = openShards.values().stream().map(Shard::index).toList();
+        openShards.clear();
+        IOUtils.close(indexes);
+    }
+}
@@ -173,7 +173,7 @@ class LuceneMailboxMessageFlagSearchTest {
     void updateSingleDocument() throws MailboxException, IOException {
         m1 = addEmail(m1, "eml/mail1.eml", 1391295600000L);
 
-        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer)) {
+        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer())) {
             final List<Document> allDocumentsFromRepository = getAllDocumentsFromRepository(reader);
             log.trace("Lucene repository initial: {}", allDocumentsFromRepository.stream().map(documentStringFormatter).toList());
 
@@ -191,7 +191,7 @@ class LuceneMailboxMessageFlagSearchTest {
                 MessageRange.one(m1.getUid()),
                 session);
 
-        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer)) {
+        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer())) {
             final List<Document> allDocumentsFromRepository = getAllDocumentsFromRepository(reader);
             log.trace("Lucene repository state after adding SEEN flag, size: {}, docs: {}",
                     allDocumentsFromRepository.size(), allDocumentsFromRepository.stream().map(documentStringFormatter).toList());
@@ -209,7 +209,7 @@ class LuceneMailboxMessageFlagSearchTest {
                 MessageRange.one(m1.getUid()),
                 session);
 
-        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer)) {
+        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer())) {
             final List<Document> allDocumentsFromRepository = getAllDocumentsFromRepository(reader);
             log.trace("Lucene repository state after adding ANSWERED flag, size: {}, docs: {}",
                     allDocumentsFromRepository.size(), allDocumentsFromRepository.stream().map(documentStringFormatter).toList());
@@ -228,7 +228,7 @@ class LuceneMailboxMessageFlagSearchTest {
                 MessageRange.one(m1.getUid()),
                 session);
 
-        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer)) {
+        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer())) {
             final List<Document> allDocumentsFromRepository = getAllDocumentsFromRepository(reader);
             log.trace("Lucene repository state after setting SEEN as only flag, size: {}, docs: {}",
                     allDocumentsFromRepository.size(), allDocumentsFromRepository.stream().map(documentStringFormatter).toList());
@@ -246,7 +246,7 @@ class LuceneMailboxMessageFlagSearchTest {
                 MessageRange.one(m1.getUid()),
                 session);
 
-        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer)) {
+        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer())) {
             final List<Document> allDocumentsFromRepository = getAllDocumentsFromRepository(reader);
             log.trace("Lucene repository state after removing SEEN flag (no flag left), size: {}, docs: {}",
                     allDocumentsFromRepository.size(), allDocumentsFromRepository.stream().map(documentStringFormatter).toList());
@@ -341,7 +341,7 @@ class LuceneMailboxMessageFlagSearchTest {
         assertThat(messageSearchIndex.search(session, mailbox, SearchQuery.of(SearchQuery.flagIsUnSet(Flags.Flag.SEEN))).toStream()).isEmpty();
 
         // checking internal Lucene state
-        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer)) {
+        try (IndexReader reader = DirectoryReader.open(luceneMessageSearchIndex.writer())) {
             final List<Document> allDocumentsFromRepository = getAllDocumentsFromRepository(reader);
             log.trace("Lucene repository final state after updating all messages, size: {}, docs {}", allDocumentsFromRepository.size(), allDocumentsFromRepository.stream().map(documentStringFormatter).toList());
 
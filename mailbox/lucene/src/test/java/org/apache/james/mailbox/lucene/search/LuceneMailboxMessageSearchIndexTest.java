@@ -103,6 +103,10 @@ class LuceneMailboxMessageSearchIndexTest {
     protected boolean useLenient() {
         return true;
     }
+
+    protected LuceneSearchConfiguration configuration() {
+        return LuceneSearchConfiguration.DEFAULT;
+    }
     
     @BeforeEach
     void setUp() throws Exception {
@@ -113,7 +117,8 @@ class LuceneMailboxMessageSearchIndexTest {
         id3 = factory.generate();
         id4 = factory.generate();
         id5 = factory.generate();
-        index = new LuceneMessageSearchIndex(null, new TestId.Factory(), new ByteBuffersDirectory(), true, factory, null, new JsoupTextExtractor());
+        index = new LuceneMessageSearchIndex(null, new TestId.Factory(), new ByteBuffersDirectory(), true, factory, null, new JsoupTextExtractor(),
+            configuration(), LuceneShardDirectoryFactory.inMemory());
         index.setEnableSuffixMatch(true);
         Map<String, String> headersSubject = new HashMap<>();
         headersSubject.put("Subject", "test (fwd)");
@@ -0,0 +1,109 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class LuceneSearchConfigurationTest {
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(LuceneSearchConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void fromShouldReturnDefaultWhenEmpty() {
+        assertThat(LuceneSearchConfiguration.from(new PropertiesConfiguration()))
+            .isEqualTo(LuceneSearchConfiguration.DEFAULT);
+    }
+
+    @Test
+    void defaultShouldNotBeSharded() {
+        assertThat(LuceneSearchConfiguration.DEFAULT.isSharded()).isFalse();
+    }
+
+    @Test
+    void fromShouldParseAllProperties() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("searcher.refresh.interval", "500");
+        configuration.addProperty("commit.interval", "1m");
+        configuration.addProperty("commit.batch.size", "50");
+        configuration.addProperty("shards.count", "128");
+        configuration.addProperty("shards.max.open", "16");
+
+        assertThat(LuceneSearchConfiguration.from(configuration))
+            .isEqualTo(LuceneSearchConfiguration.builder()
+                .refreshInterval(Duration.ofMillis(500))
+                .commitInterval(Duration.ofMinutes(1))
+                .commitBatchSize(50)
+                .shardCount(128)
+                .maxOpenShards(16)
+                .build());
+    }
+
+    @Test
+    void commitIntervalShouldDefaultToSeconds() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("commit.interval", "10");
+
+        assertThat(LuceneSearchConfiguration.from(configuration).getCommitInterval())
+            .isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void buildShouldThrowWhenShardCountIsNotPositive() {
+        assertThatThrownBy(() -> LuceneSearchConfiguration.builder()
+                .shardCount(0)
+                .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void buildShouldThrowWhenMaxOpenShardsIsNotPositive() {
+        assertThatThrownBy(() -> LuceneSearchConfiguration.builder()
+                .maxOpenShards(0)
+                .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void buildShouldThrowWhenCommitBatchSizeIsNotPositive() {
+        assertThatThrownBy(() -> LuceneSearchConfiguration.builder()
+                .commitBatchSize(0)
+                .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void buildShouldThrowWhenRefreshIntervalIsNegative() {
+        assertThatThrownBy(() -> LuceneSearchConfiguration.builder()
+                .refreshInterval(Duration.ofSeconds(-1))
+                .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -49,7 +49,8 @@ public class InMemoryMailboxManager extends StoreMailboxManager {
         MailboxCapabilities.Namespace,
         MailboxCapabilities.Annotation,
         MailboxCapabilities.ACL,
-        MailboxCapabilities.Quota);
+        MailboxCapabilities.Quota,
+        MailboxCapabilities.ConcurrentSessionAccess);
     public static final EnumSet<MessageCapabilities> MESSAGE_CAPABILITIES = EnumSet.of(MessageCapabilities.UniqueID);
 
     @Inject
@@ -0,0 +1,118 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.opensearch;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls how the listening search index coalesces the index, flags update and delete operations generated
+ * by mailbox events into shared bulk requests.
+ */
+public class BulkIngestionConfiguration {
+    public static final int DEFAULT_MAX_OPERATIONS = 500;
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 5 * 1024 * 1024;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(100);
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1;
+
+    public static final BulkIngestionConfiguration DISABLED = new BulkIngestionConfiguration(false,
+        DEFAULT_MAX_OPERATIONS, DEFAULT_MAX_SIZE_IN_BYTES, DEFAULT_FLUSH_INTERVAL, DEFAULT_MAX_CONCURRENT_REQUESTS);
+
+    public static BulkIngestionConfiguration enabled(int maxOperations, long maxSizeInBytes, Duration flushInterval, int maxConcurrentRequests) {
+        return new BulkIngestionConfiguration(true, maxOperations, maxSizeInBytes, flushInterval, maxConcurrentRequests);
+    }
+
+    public static BulkIngestionConfiguration enabledWithDefaults() {
+        return enabled(DEFAULT_MAX_OPERATIONS, DEFAULT_MAX_SIZE_IN_BYTES, DEFAULT_FLUSH_INTERVAL, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    private final boolean enabled;
+    private final int maxOperations;
+    private final long maxSizeInBytes;
+    private final Duration flushInterval;
+    private final int maxConcurrentRequests;
+
+    private BulkIngestionConfiguration(boolean enabled, int maxOperations, long maxSizeInBytes, Duration flushInterval, int maxConcurrentRequests) {
+        Preconditions.checkArgument(maxOperations > 0, "'maxOperations' needs to be strictly positive");
+        Preconditions.checkArgument(maxSizeInBytes > 0, "'maxSizeInBytes' needs to be strictly positive");
+        Preconditions.checkNotNull(flushInterval);
+        Preconditions.checkArgument(!flushInterval.isNegative() && !flushInterval.isZero(), "'flushInterval' needs to be strictly positive");
+        Preconditions.checkArgument(maxConcurrentRequests > 0, "'maxConcurrentRequests' needs to be strictly positive");
+
+        this.enabled = enabled;
+        this.maxOperations = maxOperations;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.flushInterval = flushInterval;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxOperations() {
+        return maxOperations;
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BulkIngestionConfiguration) {
+            BulkIngestionConfiguration that = (BulkIngestionConfiguration) o;
+
+            return Objects.equals(this.enabled, that.enabled)
+                && Objects.equals(this.maxOperations, that.maxOperations)
+                && Objects.equals(this.maxSizeInBytes, that.maxSizeInBytes)
+                && Objects.equals(this.flushInterval, that.flushInterval)
+                && Objects.equals(this.maxConcurrentRequests, that.maxConcurrentRequests);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(enabled, maxOperations, maxSizeInBytes, flushInterval, maxConcurrentRequests);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("enabled", enabled)
+            .add("maxOperations", maxOperations)
+            .add("maxSizeInBytes", maxSizeInBytes)
+            .add("flushInterval", flushInterval)
+            .add("maxConcurrentRequests", maxConcurrentRequests)
+            .toString();
+    }
+}
@@ -19,6 +19,7 @@
 
 package org.apache.james.mailbox.opensearch;
 
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -27,6 +28,8 @@ import org.apache.james.backends.opensearch.IndexName;
 import org.apache.james.backends.opensearch.ReadAliasName;
 import org.apache.james.backends.opensearch.WriteAliasName;
 import org.apache.james.mailbox.opensearch.json.MessageToOpenSearchJson.IndexUser;
+import org.apache.james.util.DurationParser;
+import org.apache.james.util.Size;
 
 public class OpenSearchMailboxConfiguration {
 
@@ -41,6 +44,7 @@ public class OpenSearchMailboxConfiguration {
         private Optional<Boolean> useQueryStringQuery;
         private Optional<IndexBody> indexBody;
         private Optional<IndexUser> indexUser;
+        private Optional<BulkIngestionConfiguration> bulkIngestion;
 
         Builder() {
             indexMailboxName = Optional.empty();
@@ -53,6 +57,7 @@ public class OpenSearchMailboxConfiguration {
             useQueryStringQuery = Optional.empty();
             indexBody = Optional.empty();
             indexUser = Optional.empty();
+            bulkIngestion = Optional.empty();
         }
 
         public Builder indexMailboxName(Optional<IndexName> indexMailboxName) {
@@ -106,6 +111,11 @@ public class OpenSearchMailboxConfiguration {
             return this;
         }
 
+        public Builder bulkIngestion(BulkIngestionConfiguration bulkIngestion) {
+            this.bulkIngestion = Optional.ofNullable(bulkIngestion);
+            return this;
+        }
+
         public OpenSearchMailboxConfiguration build() {
             return new OpenSearchMailboxConfiguration(
                 indexMailboxName.orElse(MailboxOpenSearchConstants.DEFAULT_MAILBOX_INDEX),
@@ -117,7 +127,8 @@ public class OpenSearchMailboxConfiguration {
                 textFuzzinessSearch.orElse(DEFAULT_TEXT_FUZZINESS_SEARCH),
                 useQueryStringQuery.orElse(DEFAULT_USE_SIMPLE_TEXT_QUERY),
                 indexBody.orElse(IndexBody.YES),
-                indexUser.orElse(IndexUser.NO));
+                indexUser.orElse(IndexUser.NO),
+                bulkIngestion.orElse(BulkIngestionConfiguration.DISABLED));
         }
     }
 
@@ -138,6 +149,11 @@ public class OpenSearchMailboxConfiguration {
     private static final String OPENSEARCH_TEXT_STRING_QUERY = "opensearch.text.string.query";
     private static final String OPENSEARCH_INDEX_BODY = "opensearch.indexBody";
     private static final String OPENSEARCH_INDEX_USER = "opensearch.indexUser";
+    private static final String OPENSEARCH_BULK_INGESTION_ENABLED = "opensearch.index.bulk.enabled";
+    private static final String OPENSEARCH_BULK_INGESTION_MAX_OPERATIONS = "opensearch.index.bulk.max.operations";
+    private static final String OPENSEARCH_BULK_INGESTION_MAX_SIZE = "opensearch.index.bulk.max.size";
+    private static final String OPENSEARCH_BULK_INGESTION_FLUSH_INTERVAL = "opensearch.index.bulk.flush.interval";
+    private static final String OPENSEARCH_BULK_INGESTION_CONCURRENCY = "opensearch.index.bulk.concurrency";
     private static final boolean DEFAULT_INDEX_ATTACHMENTS = true;
     private static final boolean DEFAULT_INDEX_HEADERS = true;
     public static final boolean DEFAULT_OPTIMIZE_MOVES = false;
@@ -159,6 +175,7 @@ public class OpenSearchMailboxConfiguration {
             .useQueryStringQuery(configuration.getBoolean(OPENSEARCH_TEXT_STRING_QUERY, null))
             .indexBody(provideIndexBody(configuration))
             .indexUser(provideIndexUser(configuration))
+            .bulkIngestion(provideBulkIngestion(configuration))
             .build();
     }
 
@@ -211,6 +228,22 @@ public class OpenSearchMailboxConfiguration {
         return IndexUser.NO;
     }
 
+    private static BulkIngestionConfiguration provideBulkIngestion(Configuration configuration) {
+        if (!configuration.getBoolean(OPENSEARCH_BULK_INGESTION_ENABLED, false)) {
+            return BulkIngestionConfiguration.DISABLED;
+        }
+        return BulkIngestionConfiguration.enabled(
+            configuration.getInt(OPENSEARCH_BULK_INGESTION_MAX_OPERATIONS, BulkIngestionConfiguration.DEFAULT_MAX_OPERATIONS),
+            Optional.ofNullable(configuration.getString(OPENSEARCH_BULK_INGESTION_MAX_SIZE, null))
+                .map(Size::parse)
+                .map(Size::asBytes)
+                .orElse(BulkIngestionConfiguration.DEFAULT_MAX_SIZE_IN_BYTES),
+            Optional.ofNullable(configuration.getString(OPENSEARCH_BULK_INGESTION_FLUSH_INTERVAL, null))
+                .map(value -> DurationParser.parse(value, ChronoUnit.MILLIS))
+                .orElse(BulkIngestionConfiguration.DEFAULT_FLUSH_INTERVAL),
+            configuration.getInt(OPENSEARCH_BULK_INGESTION_CONCURRENCY, BulkIngestionConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS));
+    }
+
     private final IndexName indexMailboxName;
     private final ReadAliasName readAliasMailboxName;
     private final WriteAliasName writeAliasMailboxName;
@@ -221,11 +254,12 @@ public class OpenSearchMailboxConfiguration {
     private final boolean useQueryStringQuery;
     private final IndexBody indexBody;
     private final IndexUser indexUser;
+    private final BulkIngestionConfiguration bulkIngestion;
 
     private OpenSearchMailboxConfiguration(IndexName indexMailboxName, ReadAliasName readAliasMailboxName,
                                            WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment,
                                            IndexHeaders indexHeaders, boolean optimiseMoves, boolean textFuzzinessSearch, boolean useSimpleTextQuery,
-                                           IndexBody indexBody, IndexUser indexUser) {
+                                           IndexBody indexBody, IndexUser indexUser, BulkIngestionConfiguration bulkIngestion) {
         this.indexMailboxName = indexMailboxName;
         this.readAliasMailboxName = readAliasMailboxName;
         this.writeAliasMailboxName = writeAliasMailboxName;
@@ -236,6 +270,7 @@ public class OpenSearchMailboxConfiguration {
         this.useQueryStringQuery = useSimpleTextQuery;
         this.indexBody = indexBody;
         this.indexUser = indexUser;
+        this.bulkIngestion = bulkIngestion;
     }
 
     public IndexName getIndexMailboxName() {
@@ -278,6 +313,10 @@ public class OpenSearchMailboxConfiguration {
         return useQueryStringQuery;
     }
 
+    public BulkIngestionConfiguration getBulkIngestion() {
+        return bulkIngestion;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof OpenSearchMailboxConfiguration) {
@@ -292,7 +331,8 @@ public class OpenSearchMailboxConfiguration {
                 && Objects.equals(this.useQueryStringQuery, that.useQueryStringQuery)
                 && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName)
                 && Objects.equals(this.indexBody, that.indexBody)
-                && Objects.equals(this.indexUser, that.indexUser);
+                && Objects.equals(this.indexUser, that.indexUser)
+                && Objects.equals(this.bulkIngestion, that.bulkIngestion);
         }
         return false;
     }
@@ -300,6 +340,6 @@ public class OpenSearchMailboxConfiguration {
     @Override
     public final int hashCode() {
         return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, indexHeaders,
-            writeAliasMailboxName, optimiseMoves, textFuzzinessSearch, useQueryStringQuery, indexBody, indexUser);
+            writeAliasMailboxName, optimiseMoves, textFuzzinessSearch, useQueryStringQuery, indexBody, indexUser, bulkIngestion);
     }
 }
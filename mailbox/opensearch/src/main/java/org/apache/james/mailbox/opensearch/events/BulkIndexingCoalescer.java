@@ -0,0 +1,283 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.opensearch.events;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.backends.opensearch.DocumentId;
+import org.apache.james.backends.opensearch.IndexingOperation;
+import org.apache.james.backends.opensearch.OpenSearchIndexer;
+import org.apache.james.mailbox.opensearch.BulkIngestionConfiguration;
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Groups the indexing operations submitted by concurrent event deliveries into shared bulk requests.
+ *
+ * A batch is sent once it holds the configured maximum count of operations, reaches the configured size, or
+ * once the flush interval elapsed since its first operation. A flags update following a pending flags update of
+ * the same document replaces it: flags update documents carry all the flags and the mod-sequence of the message.
+ *
+ * The {@link Mono} returned on submission completes only once the bulk request holding the operation was executed,
+ * so that event deliveries are acknowledged after their changes reached OpenSearch, and slow bulk requests slow down
+ * event consumption. Failed index operations fail their submission; like for the per event bulk requests, failures
+ * of individual update and delete operations are ignored.
+ *
+ * Disposing the coalescer sends the pending operations and waits for the in flight bulk requests before releasing
+ * its subscription. Later submissions are rejected.
+ */
+class BulkIndexingCoalescer implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkIndexingCoalescer.class);
+
+    static final String OPERATIONS_METRIC_NAME = "opensearch_bulk_ingestion_operations";
+    static final String REQUESTS_METRIC_NAME = "opensearch_bulk_ingestion_requests";
+    static final String MERGED_UPDATES_METRIC_NAME = "opensearch_bulk_ingestion_merged_updates";
+    static final String BULK_TIMER_NAME = "opensearch_bulk_ingestion_request";
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private static class PendingOperation {
+        private IndexingOperation operation;
+        private final Sinks.Empty<Void> completion;
+
+        PendingOperation(IndexingOperation operation) {
+            this.operation = operation;
+            this.completion = Sinks.empty();
+        }
+    }
+
+    private static class Batch {
+        private final List<PendingOperation> operations = new ArrayList<>();
+        private final Map<DocumentId, PendingOperation> lastOperationByDocument = new HashMap<>();
+        private long sizeInBytes = 0;
+    }
+
+    private final OpenSearchIndexer indexer;
+    private final BulkIngestionConfiguration configuration;
+    private final MetricFactory metricFactory;
+    private final Scheduler scheduler;
+    private final Metric operationsMetric;
+    private final Metric requestsMetric;
+    private final Metric mergedUpdatesMetric;
+    private final Sinks.Many<Batch> sealedBatches;
+    private final Sinks.Empty<Void> drained;
+    private final Disposable subscription;
+    private Batch currentBatch;
+    private boolean closed;
+
+    BulkIndexingCoalescer(OpenSearchIndexer indexer, BulkIngestionConfiguration configuration, MetricFactory metricFactory) {
+        this(indexer, configuration, metricFactory, Schedulers.parallel());
+    }
+
+    @VisibleForTesting
+    BulkIndexingCoalescer(OpenSearchIndexer indexer, BulkIngestionConfiguration configuration, MetricFactory metricFactory, Scheduler scheduler) {
+        this.indexer = indexer;
+        this.configuration = configuration;
+        this.metricFactory = metricFactory;
+        this.scheduler = scheduler;
+        this.operationsMetric = metricFactory.generate(OPERATIONS_METRIC_NAME);
+        this.requestsMetric = metricFactory.generate(REQUESTS_METRIC_NAME);
+        this.mergedUpdatesMetric = metricFactory.generate(MERGED_UPDATES_METRIC_NAME);
+        this.sealedBatches = Sinks.many().unicast().onBackpressureBuffer();
+        this.drained = Sinks.empty();
+        this.currentBatch = new Batch();
+        this.closed = false;
+        this.subscription = sealedBatches.asFlux()
+            .flatMap(this::execute, configuration.getMaxConcurrentRequests())
+            .doFinally(any -> drained.tryEmitEmpty())
+            .subscribe();
+    }
+
+    Mono<Void> submit(IndexingOperation operation) {
+        return Mono.defer(() -> {
+            PendingOperation pendingOperation = enqueue(operation);
+            return pendingOperation.completion.asMono();
+        });
+    }
+
+    Mono<Void> submitAll(List<IndexingOperation> operations) {
+        return Flux.fromIterable(operations)
+            .flatMap(this::submit, Math.max(1, operations.size()))
+            .then();
+    }
+
+    private PendingOperation enqueue(IndexingOperation operation) {
+        Optional<Batch> sealed;
+        PendingOperation pendingOperation;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Bulk indexing coalescer is closed");
+            }
+            Batch batch = currentBatch;
+            if (batch.operations.isEmpty()) {
+                scheduleFlush(batch);
+            }
+            pendingOperation = mergeableUpdate(batch, operation)
+                .map(pendingUpdate -> merge(batch, pendingUpdate, operation))
+                .orElseGet(() -> append(batch, operation));
+            sealed = sealIfFull(batch);
+        }
+        sealed.ifPresent(this::emit);
+        return pendingOperation;
+    }
+
+    private Optional<PendingOperation> mergeableUpdate(Batch batch, IndexingOperation operation) {
+        if (operation.getType() != IndexingOperation.Type.UPDATE) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(batch.lastOperationByDocument.get(operation.getId()))
+            .filter(pending -> pending.operation.getType() == IndexingOperation.Type.UPDATE)
+            .filter(pending -> pending.operation.getRoutingKey().equals(operation.getRoutingKey()));
+    }
+
+    private PendingOperation merge(Batch batch, PendingOperation pendingUpdate, IndexingOperation operation) {
+        batch.sizeInBytes += operation.estimatedSizeInBytes() - pendingUpdate.operation.estimatedSizeInBytes();
+        pendingUpdate.operation = operation;
+        mergedUpdatesMetric.increment();
+        return pendingUpdate;
+    }
+
+    private PendingOperation append(Batch batch, IndexingOperation operation) {
+        PendingOperation pendingOperation = new PendingOperation(operation);
+        batch.operations.add(pendingOperation);
+        batch.lastOperationByDocument.put(operation.getId(), pendingOperation);
+        batch.sizeInBytes += operation.estimatedSizeInBytes();
+        return pendingOperation;
+    }
+
+    private Optional<Batch> sealIfFull(Batch batch) {
+        if (batch.operations.size() >= configuration.getMaxOperations()
+            || batch.sizeInBytes >= configuration.getMaxSizeInBytes()) {
+            return Optional.of(seal());
+        }
+        return Optional.empty();
+    }
+
+    private Batch seal() {
+        Batch sealed = currentBatch;
+        currentBatch = new Batch();
+        return sealed;
+    }
+
+    private void scheduleFlush(Batch batch) {
+        scheduler.schedule(() -> flush(batch), configuration.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void flush(Batch batch) {
+        Optional<Batch> sealed;
+        synchronized (this) {
+            if (currentBatch != batch || batch.operations.isEmpty()) {
+                // Already sent as it reached its maximum count of operations or size
+                return;
+            }
+            sealed = Optional.of(seal());
+        }
+        sealed.ifPresent(this::emit);
+    }
+
+    private void emit(Batch batch) {
+        try {
+            sealedBatches.emitNext(batch, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        } catch (Sinks.EmissionException e) {
+            // Sealed concurrently with the closing of the coalescer
+            batch.operations.forEach(pending -> pending.completion.tryEmitError(e));
+        }
+    }
+
+    private Mono<Void> execute(Batch batch) {
+        List<IndexingOperation> operations = batch.operations.stream()
+            .map(pending -> pending.operation)
+            .collect(ImmutableList.toImmutableList());
+
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric(BULK_TIMER_NAME, indexer.bulk(operations)))
+            .doOnNext(response -> complete(batch, response))
+            .doOnSuccess(any -> {
+                requestsMetric.increment();
+                operationsMetric.add(operations.size());
+            })
+            .then()
+            .onErrorResume(e -> {
+                LOGGER.error("Failed executing a bulk request of {} operations", operations.size(), e);
+                batch.operations.forEach(pending -> pending.completion.tryEmitError(e));
+                return Mono.empty();
+            });
+    }
+
+    private void complete(Batch batch, BulkResponse response) {
+        List<BulkResponseItem> items = response.items();
+        for (int i = 0; i < batch.operations.size(); i++) {
+            PendingOperation pending = batch.operations.get(i);
+            Optional<BulkResponseItem> failedItem = Optional.ofNullable(items.size() > i ? items.get(i) : null)
+                .filter(item -> item.error() != null);
+
+            if (failedItem.isPresent() && pending.operation.getType() == IndexingOperation.Type.INDEX) {
+                pending.completion.tryEmitError(new IllegalStateException("Failed to index document "
+                    + pending.operation.getId().asString() + ": " + failedItem.get().error().reason()));
+            } else {
+                pending.completion.tryEmitEmpty();
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        Optional<Batch> sealed;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            sealed = Optional.of(seal()).filter(batch -> !batch.operations.isEmpty());
+        }
+        sealed.ifPresent(this::emit);
+        sealedBatches.tryEmitComplete();
+        try {
+            drained.asMono().block(CLOSE_TIMEOUT);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Bulk requests were still in flight after {}", CLOSE_TIMEOUT, e);
+        } finally {
+            subscription.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return subscription.isDisposed();
+    }
+}
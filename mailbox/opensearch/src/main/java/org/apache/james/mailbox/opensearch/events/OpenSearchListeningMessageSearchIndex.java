@@ -36,11 +36,14 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.mail.Flags;
 
 import org.apache.james.backends.opensearch.DocumentId;
+import org.apache.james.backends.opensearch.IndexedRepresentation;
+import org.apache.james.backends.opensearch.IndexingOperation;
 import org.apache.james.backends.opensearch.OpenSearchIndexer;
 import org.apache.james.backends.opensearch.RoutingKey;
 import org.apache.james.backends.opensearch.UpdatedRepresentation;
@@ -60,6 +63,7 @@ import org.apache.james.mailbox.model.MessageId;
 import org.apache.james.mailbox.model.MessageMetaData;
 import org.apache.james.mailbox.model.SearchQuery;
 import org.apache.james.mailbox.model.UpdatedFlags;
+import org.apache.james.mailbox.opensearch.BulkIngestionConfiguration;
 import org.apache.james.mailbox.opensearch.IndexBody;
 import org.apache.james.mailbox.opensearch.MailboxOpenSearchConstants;
 import org.apache.james.mailbox.opensearch.OpenSearchMailboxConfiguration;
@@ -258,6 +262,7 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
     private final IndexingStrategy indexingStrategy;
     private final IndexBody indexBody;
     private final Set<Indexer> indexerOverrides;
+    private final Optional<BulkIndexingCoalescer> bulkIndexingCoalescer;
 
     @Inject
     public OpenSearchListeningMessageSearchIndex(MailboxSessionMapperFactory factory,
@@ -282,6 +287,9 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
         }
         this.indexBody = configuration.getIndexBody();
         this.reIndexNotFoundMetric = metricFactory.generate("opensearch_reindex_not_found");
+        this.bulkIndexingCoalescer = Optional.of(configuration.getBulkIngestion())
+            .filter(BulkIngestionConfiguration::isEnabled)
+            .map(bulkIngestion -> new BulkIndexingCoalescer(indexer, bulkIngestion, metricFactory));
 
         LOGGER.info("OpenSearchMessageSearchIndex activated with index strategy: {}", indexingStrategy.getClass().getSimpleName());
     }
@@ -308,6 +316,11 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
         // no need to explicitly commit after reindexing
     }
 
+    @PreDestroy
+    public void close() {
+        bulkIndexingCoalescer.ifPresent(BulkIndexingCoalescer::dispose);
+    }
+
     @Override
     public Mono<Void> reactiveEvent(Event event) {
         MailboxSession systemSession = sessionProvider.createSystemSession(event.getUsername());
@@ -386,9 +399,27 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
             .added(session, added, mailbox, message);
     }
 
+    @Override
+    public Mono<Void> addAll(MailboxSession session, Mailbox mailbox, List<MailboxMessage> messages) {
+        if (!indexerOverrides.isEmpty()) {
+            // Overrides index messages one by one
+            return super.addAll(session, mailbox, messages);
+        }
+
+        return Flux.fromIterable(messages)
+            .concatMap(message -> generateIndexedJson(mailbox, message, session)
+                .map(jsonContent -> new IndexedRepresentation(indexIdFor(mailbox.getMailboxId(), message.getUid()), jsonContent)))
+            .collect(toImmutableList())
+            .flatMap(documents -> openSearchIndexer.index(documents, routingKeyFactory.from(mailbox.getMailboxId())))
+            .then();
+    }
+
     private Mono<Void> add(MailboxId mailboxId, MessageUid messageUid, String jsonContent) {
         RoutingKey from = routingKeyFactory.from(mailboxId);
         DocumentId id = indexIdFor(mailboxId, messageUid);
+        if (bulkIndexingCoalescer.isPresent()) {
+            return bulkIndexingCoalescer.get().submit(IndexingOperation.index(id, jsonContent, from));
+        }
         return openSearchIndexer.index(id, jsonContent, from)
             .then();
     }
@@ -408,6 +439,12 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
 
     @Override
     public Mono<Void> delete(MailboxSession session, MailboxId mailboxId, Collection<MessageUid> expungedUids) {
+        if (bulkIndexingCoalescer.isPresent()) {
+            RoutingKey routingKey = routingKeyFactory.from(mailboxId);
+            return bulkIndexingCoalescer.get().submitAll(expungedUids.stream()
+                .map(uid -> IndexingOperation.delete(indexIdFor(mailboxId, uid), routingKey))
+                .collect(toImmutableList()));
+        }
         return openSearchIndexer
             .delete(expungedUids.stream()
                 .map(uid ->  indexIdFor(mailboxId, uid))
@@ -430,6 +467,16 @@ public class OpenSearchListeningMessageSearchIndex extends ListeningMessageSearc
     public Mono<Void> update(MailboxSession session, MailboxId mailboxId, List<UpdatedFlags> updatedFlagsList) {
         RoutingKey routingKey = routingKeyFactory.from(mailboxId);
 
+        if (bulkIndexingCoalescer.isPresent()) {
+            return Flux.fromIterable(updatedFlagsList)
+                .map(Throwing.<UpdatedFlags, UpdatedRepresentation>function(
+                    updatedFlags -> createUpdatedDocumentPartFromUpdatedFlags(mailboxId, updatedFlags))
+                    .sneakyThrow())
+                .map(update -> IndexingOperation.update(update.getId(), update.getUpdatedDocumentPart(), routingKey))
+                .collect(toImmutableList())
+                .flatMap(operations -> bulkIndexingCoalescer.get().submitAll(operations));
+        }
+
         return Flux.fromIterable(updatedFlagsList)
             .map(Throwing.<UpdatedFlags, UpdatedRepresentation>function(
                 updatedFlags -> createUpdatedDocumentPartFromUpdatedFlags(mailboxId, updatedFlags))
@@ -21,6 +21,8 @@ package org.apache.james.mailbox.opensearch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.james.backends.opensearch.IndexName;
 import org.apache.james.backends.opensearch.ReadAliasName;
@@ -284,4 +286,34 @@ class OpenSearchMailboxConfigurationTest {
         assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).textFuzzinessSearchEnable())
             .isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void bulkIngestionShouldBeDisabledByDefault() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+
+        assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).getBulkIngestion())
+            .isEqualTo(BulkIngestionConfiguration.DISABLED);
+    }
+
+    @Test
+    void bulkIngestionShouldUseDefaultsWhenOnlyEnabled() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.index.bulk.enabled", "true");
+
+        assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).getBulkIngestion())
+            .isEqualTo(BulkIngestionConfiguration.enabledWithDefaults());
+    }
+
+    @Test
+    void bulkIngestionShouldReturnConfiguredValues() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("opensearch.index.bulk.enabled", "true");
+        configuration.addProperty("opensearch.index.bulk.max.operations", "200");
+        configuration.addProperty("opensearch.index.bulk.max.size", "2M");
+        configuration.addProperty("opensearch.index.bulk.flush.interval", "250ms");
+        configuration.addProperty("opensearch.index.bulk.concurrency", "4");
+
+        assertThat(OpenSearchMailboxConfiguration.fromProperties(configuration).getBulkIngestion())
+            .isEqualTo(BulkIngestionConfiguration.enabled(200, 2 * 1024 * 1024, Duration.ofMillis(250), 4));
+    }
+}
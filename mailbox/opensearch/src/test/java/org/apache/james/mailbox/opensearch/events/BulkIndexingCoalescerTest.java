@@ -0,0 +1,256 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.opensearch.events;
+
+import static org.apache.james.mailbox.opensearch.events.BulkIndexingCoalescer.MERGED_UPDATES_METRIC_NAME;
+import static org.apache.james.mailbox.opensearch.events.BulkIndexingCoalescer.OPERATIONS_METRIC_NAME;
+import static org.apache.james.mailbox.opensearch.events.BulkIndexingCoalescer.REQUESTS_METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.james.backends.opensearch.DocumentId;
+import org.apache.james.backends.opensearch.IndexingOperation;
+import org.apache.james.backends.opensearch.OpenSearchIndexer;
+import org.apache.james.backends.opensearch.RoutingKey;
+import org.apache.james.mailbox.opensearch.BulkIngestionConfiguration;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.opensearch._types.ErrorCause;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.OperationType;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+class BulkIndexingCoalescerTest {
+    private static final RoutingKey ROUTING = RoutingKey.fromString("routing");
+    private static final DocumentId DOCUMENT_1 = DocumentId.fromString("1");
+    private static final DocumentId DOCUMENT_2 = DocumentId.fromString("2");
+    private static final String CONTENT = "{\"message\": \"content\"}";
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(100);
+
+    private OpenSearchIndexer indexer;
+    private RecordingMetricFactory metricFactory;
+    private VirtualTimeScheduler scheduler;
+    private List<List<IndexingOperation>> sentBulks;
+    private BulkIndexingCoalescer testee;
+
+    @BeforeEach
+    void setUp() {
+        indexer = mock(OpenSearchIndexer.class);
+        metricFactory = new RecordingMetricFactory();
+        scheduler = VirtualTimeScheduler.create();
+        sentBulks = new CopyOnWriteArrayList<>();
+        when(indexer.bulk(any())).thenAnswer(invocation -> {
+            List<IndexingOperation> operations = invocation.getArgument(0);
+            sentBulks.add(operations);
+            return Mono.just(successfulResponse(operations.size()));
+        });
+
+        testee = new BulkIndexingCoalescer(indexer, BulkIngestionConfiguration.enabled(3, 1024 * 1024, FLUSH_INTERVAL, 1),
+            metricFactory, scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testee.dispose();
+    }
+
+    @Test
+    void operationsShouldBeSentTogetherWhenReachingMaxOperations() {
+        testee.submitAll(ImmutableList.of(
+            IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING),
+            IndexingOperation.index(DOCUMENT_2, CONTENT, ROUTING),
+            IndexingOperation.delete(DocumentId.fromString("3"), ROUTING)))
+            .block();
+
+        assertThat(sentBulks).hasSize(1);
+        assertThat(sentBulks.get(0)).hasSize(3);
+    }
+
+    @Test
+    void operationsShouldBeSentWhenReachingMaxSize() {
+        testee = new BulkIndexingCoalescer(indexer, BulkIngestionConfiguration.enabled(100, 256, FLUSH_INTERVAL, 1),
+            metricFactory, scheduler);
+
+        testee.submitAll(ImmutableList.of(
+            IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING),
+            IndexingOperation.index(DOCUMENT_2, CONTENT, ROUTING)))
+            .block();
+
+        assertThat(sentBulks).hasSize(1);
+    }
+
+    @Test
+    void pendingOperationsShouldBeSentAfterFlushInterval() {
+        Mono<Void> submission = testee.submit(IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING)).cache();
+        submission.subscribe();
+
+        assertThat(sentBulks).isEmpty();
+
+        scheduler.advanceTimeBy(FLUSH_INTERVAL);
+        submission.block();
+
+        assertThat(sentBulks).containsExactly(ImmutableList.of(IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING)));
+    }
+
+    @Test
+    void submissionShouldNotCompleteBeforeTheBulkIsExecuted() {
+        Mono<Void> submission = testee.submit(IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING)).cache();
+        submission.subscribe();
+
+        assertThat(submission.toFuture()).isNotDone();
+        verify(indexer, never()).bulk(any());
+    }
+
+    @Test
+    void successiveUpdatesOfADocumentShouldBeMerged() {
+        Mono<Void> submission = testee.submitAll(ImmutableList.of(
+            IndexingOperation.update(DOCUMENT_1, "{\"isSeen\": true}", ROUTING),
+            IndexingOperation.update(DOCUMENT_1, "{\"isSeen\": false}", ROUTING),
+            IndexingOperation.update(DOCUMENT_2, "{\"isSeen\": true}", ROUTING)))
+            .cache();
+        submission.subscribe();
+
+        scheduler.advanceTimeBy(FLUSH_INTERVAL);
+        submission.block();
+
+        assertThat(sentBulks).containsExactly(ImmutableList.of(
+            IndexingOperation.update(DOCUMENT_1, "{\"isSeen\": false}", ROUTING),
+            IndexingOperation.update(DOCUMENT_2, "{\"isSeen\": true}", ROUTING)));
+        assertThat(metricFactory.countFor(MERGED_UPDATES_METRIC_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void updatesShouldNotBeMergedAcrossOtherOperations() {
+        testee.submitAll(ImmutableList.of(
+            IndexingOperation.update(DOCUMENT_1, "{\"isSeen\": true}", ROUTING),
+            IndexingOperation.delete(DOCUMENT_1, ROUTING),
+            IndexingOperation.update(DOCUMENT_1, "{\"isSeen\": false}", ROUTING)))
+            .block();
+
+        assertThat(sentBulks.get(0)).hasSize(3);
+        assertThat(metricFactory.countFor(MERGED_UPDATES_METRIC_NAME)).isZero();
+    }
+
+    @Test
+    void failedIndexOperationShouldFailItsSubmission() {
+        doReturn(Mono.just(responseWithFailedSecondItem())).when(indexer).bulk(any());
+
+        Mono<Void> succeeding = testee.submit(IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING)).cache();
+        succeeding.subscribe(any -> { }, any -> { });
+        Mono<Void> failing = testee.submit(IndexingOperation.index(DOCUMENT_2, CONTENT, ROUTING)).cache();
+        failing.subscribe(any -> { }, any -> { });
+
+        scheduler.advanceTimeBy(FLUSH_INTERVAL);
+
+        succeeding.block();
+        assertThatThrownBy(failing::block)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("failed to parse");
+    }
+
+    @Test
+    void failedUpdateOperationShouldNotFailItsSubmission() {
+        doReturn(Mono.just(responseWithFailedSecondItem())).when(indexer).bulk(any());
+
+        testee.submitAll(ImmutableList.of(
+            IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING),
+            IndexingOperation.update(DOCUMENT_2, "{\"isSeen\": true}", ROUTING),
+            IndexingOperation.delete(DocumentId.fromString("3"), ROUTING)))
+            .block();
+    }
+
+    @Test
+    void failedBulkRequestShouldFailAllSubmissions() {
+        doReturn(Mono.error(new RuntimeException("boom"))).when(indexer).bulk(any());
+
+        assertThatThrownBy(() -> testee.submitAll(ImmutableList.of(
+                IndexingOperation.delete(DOCUMENT_1, ROUTING),
+                IndexingOperation.delete(DOCUMENT_2, ROUTING),
+                IndexingOperation.delete(DocumentId.fromString("3"), ROUTING)))
+            .block())
+            .hasMessage("boom");
+    }
+
+    @Test
+    void disposeShouldSendPendingOperations() {
+        Mono<Void> submission = testee.submit(IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING)).cache();
+        submission.subscribe();
+
+        testee.dispose();
+
+        submission.block();
+        assertThat(sentBulks).containsExactly(ImmutableList.of(IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING)));
+        assertThat(testee.isDisposed()).isTrue();
+    }
+
+    @Test
+    void submissionsShouldBeRejectedOnceDisposed() {
+        testee.dispose();
+
+        assertThatThrownBy(() -> testee.submit(IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING)).block())
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(sentBulks).isEmpty();
+    }
+
+    @Test
+    void metricsShouldBeRecorded() {
+        testee.submitAll(ImmutableList.of(
+            IndexingOperation.index(DOCUMENT_1, CONTENT, ROUTING),
+            IndexingOperation.index(DOCUMENT_2, CONTENT, ROUTING),
+            IndexingOperation.delete(DocumentId.fromString("3"), ROUTING)))
+            .block();
+
+        assertThat(metricFactory.countFor(OPERATIONS_METRIC_NAME)).isEqualTo(3);
+        assertThat(metricFactory.countFor(REQUESTS_METRIC_NAME)).isEqualTo(1);
+        assertThat(metricFactory.executionTimesFor(BulkIndexingCoalescer.BULK_TIMER_NAME)).hasSize(1);
+    }
+
+    private static BulkResponse successfulResponse(int itemCount) {
+        ImmutableList.Builder<BulkResponseItem> items = ImmutableList.builder();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(BulkResponseItem.of(item -> item.operationType(OperationType.Index).index("index").status(200)));
+        }
+        return BulkResponse.of(response -> response.errors(false).took(1).items(items.build()));
+    }
+
+    private static BulkResponse responseWithFailedSecondItem() {
+        return BulkResponse.of(response -> response.errors(true).took(1).items(
+            BulkResponseItem.of(item -> item.operationType(OperationType.Index).index("index").status(200)),
+            BulkResponseItem.of(item -> item.operationType(OperationType.Index).index("index").status(400)
+                .error(ErrorCause.of(error -> error.type("mapper_parsing_exception").reason("failed to parse"))))));
+    }
+}
@@ -26,6 +26,10 @@ import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.MessageId;
 import org.reactivestreams.Publisher;
 
+/**
+ * Search criteria are evaluated in memory: metadata is stored as an opaque JSON payload within a (bucket, owner)
+ * partition, that Cassandra can not filter without a dedicated table per criterion.
+ */
 public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetadataVault {
     private final MetadataDAO metadataDAO;
     private final StorageInformationDAO storageInformationDAO;
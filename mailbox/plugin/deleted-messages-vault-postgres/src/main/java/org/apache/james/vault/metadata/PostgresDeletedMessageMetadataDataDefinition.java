@@ -19,9 +19,14 @@
 
 package org.apache.james.vault.metadata;
 
+import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.DELETION_DATE_INDEX;
+import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.DELIVERY_DATE_INDEX;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.OWNER_MESSAGE_ID_INDEX;
+import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.SENDER_INDEX;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.TABLE;
 
+import java.time.OffsetDateTime;
+
 import org.apache.james.backends.postgres.PostgresDataDefinition;
 import org.apache.james.backends.postgres.PostgresIndex;
 import org.apache.james.backends.postgres.PostgresTable;
@@ -41,6 +46,10 @@ public interface PostgresDeletedMessageMetadataDataDefinition {
         Field<String> MESSAGE_ID = DSL.field("messageId", SQLDataType.VARCHAR.notNull());
         Field<String> BLOB_ID = DSL.field("blob_id", SQLDataType.VARCHAR.notNull());
         Field<JSONB> METADATA = DSL.field("metadata", SQLDataType.JSONB.notNull());
+        // Copied from the metadata so that search criteria can use an index. Null for rows stored before their addition.
+        Field<OffsetDateTime> DELETION_DATE = DSL.field("deletion_date", SQLDataType.TIMESTAMPWITHTIMEZONE);
+        Field<OffsetDateTime> DELIVERY_DATE = DSL.field("delivery_date", SQLDataType.TIMESTAMPWITHTIMEZONE);
+        Field<String> SENDER = DSL.field("(metadata->'deletedMessage'->>'sender')", SQLDataType.VARCHAR);
 
         PostgresTable TABLE = PostgresTable.name(TABLE_NAME.getName())
             .createTableStep(((dsl, tableName) -> dsl.createTableIfNotExists(tableName)
@@ -49,6 +58,8 @@ public interface PostgresDeletedMessageMetadataDataDefinition {
                 .column(MESSAGE_ID)
                 .column(BLOB_ID)
                 .column(METADATA)
+                .column(DELETION_DATE)
+                .column(DELIVERY_DATE)
                 .primaryKey(BUCKET_NAME, OWNER, MESSAGE_ID)))
             .disableRowLevelSecurity()
             .build();
@@ -56,10 +67,22 @@ public interface PostgresDeletedMessageMetadataDataDefinition {
         PostgresIndex OWNER_MESSAGE_ID_INDEX = PostgresIndex.name("owner_messageId_index")
             .createIndexStep((dsl, indexName) -> dsl.createUniqueIndexIfNotExists(indexName)
                 .on(TABLE_NAME, OWNER, MESSAGE_ID));
+
+        PostgresIndex DELETION_DATE_INDEX = PostgresIndex.name("deleted_messages_metadata_deletion_date_index")
+            .createIndexStep((dsl, indexName) -> dsl.createIndexIfNotExists(indexName)
+                .on(TABLE_NAME, BUCKET_NAME, OWNER, DELETION_DATE));
+
+        PostgresIndex DELIVERY_DATE_INDEX = PostgresIndex.name("deleted_messages_metadata_delivery_date_index")
+            .createIndexStep((dsl, indexName) -> dsl.createIndexIfNotExists(indexName)
+                .on(TABLE_NAME, BUCKET_NAME, OWNER, DELIVERY_DATE));
+
+        PostgresIndex SENDER_INDEX = PostgresIndex.name("deleted_messages_metadata_sender_index")
+            .createIndexStep((dsl, indexName) -> dsl.createIndexIfNotExists(indexName)
+                .on(TABLE_NAME, BUCKET_NAME, OWNER, SENDER));
     }
 
     PostgresDataDefinition MODULE = PostgresDataDefinition.builder()
         .addTable(TABLE)
-        .addIndex(OWNER_MESSAGE_ID_INDEX)
+        .addIndex(OWNER_MESSAGE_ID_INDEX, DELETION_DATE_INDEX, DELIVERY_DATE_INDEX, SENDER_INDEX)
         .build();
 }
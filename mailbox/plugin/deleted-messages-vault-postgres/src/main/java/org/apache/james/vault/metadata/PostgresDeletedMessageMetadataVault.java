@@ -22,28 +22,59 @@ package org.apache.james.vault.metadata;
 import static org.apache.james.util.ReactorUtils.publishIfPresent;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.BLOB_ID;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.BUCKET_NAME;
+import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.DELETION_DATE;
+import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.DELIVERY_DATE;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.MESSAGE_ID;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.METADATA;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.OWNER;
+import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.SENDER;
 import static org.apache.james.vault.metadata.PostgresDeletedMessageMetadataDataDefinition.DeletedMessageMetadataTable.TABLE_NAME;
 import static org.jooq.JSONB.jsonb;
 
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import jakarta.inject.Inject;
 
 import org.apache.james.backends.postgres.utils.PostgresExecutor;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.core.MailAddress;
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.DeletedMessage;
+import org.apache.james.vault.search.Criterion;
+import org.apache.james.vault.search.FieldName;
+import org.apache.james.vault.search.Query;
+import org.jooq.Condition;
+import org.jooq.Field;
 import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 import org.reactivestreams.Publisher;
 
+import com.google.common.collect.ImmutableList;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class PostgresDeletedMessageMetadataVault implements DeletedMessageMetadataVault {
+    private static Field<String> deletedMessageProperty(FieldName fieldName) {
+        return DSL.field("{0}->'deletedMessage'->>{1}", SQLDataType.VARCHAR, METADATA, DSL.inline(fieldName.getValue()));
+    }
+
+    // Dates are serialized with their zone id, eg 2015-10-30T14:12:00Z[UTC], which timestamptz does not accept
+    private static Field<OffsetDateTime> deletedMessageDate(FieldName fieldName) {
+        return DSL.field("split_part({0}, '[', 1)::timestamptz", SQLDataType.TIMESTAMPWITHTIMEZONE, deletedMessageProperty(fieldName));
+    }
+
+    private static Field<OffsetDateTime> dateColumn(FieldName fieldName) {
+        return fieldName == FieldName.DELETION_DATE ? DELETION_DATE : DELIVERY_DATE;
+    }
+
     private final PostgresExecutor postgresExecutor;
     private final MetadataSerializer metadataSerializer;
     private final BlobId.Factory blobIdFactory;
@@ -64,7 +95,9 @@ public class PostgresDeletedMessageMetadataVault implements DeletedMessageMetada
             .set(MESSAGE_ID, deletedMessage.getDeletedMessage().getMessageId().serialize())
             .set(BUCKET_NAME, deletedMessage.getStorageInformation().getBucketName().asString())
             .set(BLOB_ID, deletedMessage.getStorageInformation().getBlobId().asString())
-            .set(METADATA, jsonb(metadataSerializer.serialize(deletedMessage)))));
+            .set(METADATA, jsonb(metadataSerializer.serialize(deletedMessage)))
+            .set(DELETION_DATE, deletedMessage.getDeletedMessage().getDeletionDate().toOffsetDateTime())
+            .set(DELIVERY_DATE, deletedMessage.getDeletedMessage().getDeliveryDate().toOffsetDateTime())));
     }
 
     @Override
@@ -106,6 +139,77 @@ public class PostgresDeletedMessageMetadataVault implements DeletedMessageMetada
             .handle(publishIfPresent());
     }
 
+    @Override
+    public Publisher<DeletedMessageWithStorageInformation> listMessages(BucketName bucketName, Username username, Query query) {
+        ImmutableList<Condition> conditions = ImmutableList.<Condition>builder()
+            .add(BUCKET_NAME.eq(bucketName.asString()))
+            .add(OWNER.eq(username.asString()))
+            .addAll(query.getCriteria().stream()
+                .flatMap(criterion -> toCondition(criterion).stream())
+                .iterator())
+            .build();
+        Predicate<DeletedMessage> predicate = query.toPredicate();
+
+        return postgresExecutor.executeRows(context -> Flux.from(context.select(METADATA)
+            .from(TABLE_NAME)
+            .where(conditions)))
+            .map(record -> metadataSerializer.deserialize(record.get(METADATA).data()))
+            .handle(publishIfPresent())
+            .filter(message -> predicate.test(message.getDeletedMessage()));
+    }
+
+    /**
+     * Translates criteria into SQL conditions. Dates and sender are indexed, along with the bucket and the owner.
+     * Attachment and subject conditions are only evaluated against the rows selected by the other ones. Remaining
+     * criteria are only evaluated once the metadata is deserialized.
+     */
+    private Optional<Condition> toCondition(Criterion<?> criterion) {
+        FieldName fieldName = criterion.getField().fieldName();
+        Object expectedValue = criterion.getValueMatcher().expectedValue();
+        switch (fieldName) {
+            case DELETION_DATE:
+            case DELIVERY_DATE:
+                return dateCondition(criterion, dateColumn(fieldName), (ZonedDateTime) expectedValue)
+                    .flatMap(columnCondition -> dateCondition(criterion, deletedMessageDate(fieldName), (ZonedDateTime) expectedValue)
+                        // Rows stored before the addition of date columns
+                        .map(metadataCondition -> columnCondition.or(dateColumn(fieldName).isNull().and(metadataCondition))));
+            case SENDER:
+                return Optional.of(SENDER.eq(((MailAddress) expectedValue).asString()));
+            case HAS_ATTACHMENT:
+                return Optional.of(deletedMessageProperty(fieldName).eq(String.valueOf(expectedValue)));
+            case SUBJECT:
+                return subjectCondition(criterion, deletedMessageProperty(fieldName), (String) expectedValue);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private Optional<Condition> dateCondition(Criterion<?> criterion, Field<OffsetDateTime> field, ZonedDateTime expectedValue) {
+        switch (criterion.getValueMatcher().operator()) {
+            case BEFORE_OR_EQUALS:
+                return Optional.of(field.le(expectedValue.toOffsetDateTime()));
+            case AFTER_OR_EQUALS:
+                return Optional.of(field.ge(expectedValue.toOffsetDateTime()));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private Optional<Condition> subjectCondition(Criterion<?> criterion, Field<String> field, String expectedValue) {
+        switch (criterion.getValueMatcher().operator()) {
+            case EQUALS:
+                return Optional.of(field.eq(expectedValue));
+            case EQUALS_IGNORE_CASE:
+                return Optional.of(field.equalIgnoreCase(expectedValue));
+            case CONTAINS:
+                return Optional.of(field.contains(expectedValue));
+            case CONTAINS_IGNORE_CASE:
+                return Optional.of(field.containsIgnoreCase(expectedValue));
+            default:
+                return Optional.empty();
+        }
+    }
+
     @Override
     public Publisher<BucketName> listRelatedBuckets() {
         return postgresExecutor.executeRows(context -> Flux.from(context.selectDistinct(BUCKET_NAME)
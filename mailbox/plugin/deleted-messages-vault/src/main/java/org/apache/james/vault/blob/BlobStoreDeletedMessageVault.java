@@ -25,7 +25,9 @@ import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 import java.io.InputStream;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import jakarta.inject.Inject;
 
@@ -44,6 +46,7 @@ import org.apache.james.vault.VaultConfiguration;
 import org.apache.james.vault.metadata.DeletedMessageMetadataVault;
 import org.apache.james.vault.metadata.DeletedMessageWithStorageInformation;
 import org.apache.james.vault.metadata.StorageInformation;
+import org.apache.james.vault.search.FieldName;
 import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -140,14 +143,27 @@ public class BlobStoreDeletedMessageVault implements DeletedMessageVault {
 
     private Flux<DeletedMessage> searchOn(Username username, Query query) {
         Flux<DeletedMessage> filterPublisher = Flux.from(messageMetadataVault.listRelatedBuckets())
-            .concatMap(bucketName -> messageMetadataVault.listMessages(bucketName, username))
-            .map(DeletedMessageWithStorageInformation::getDeletedMessage)
-            .filter(query.toPredicate());
+            .filter(bucketName -> mayContainMatches(bucketName, query))
+            .concatMap(bucketName -> messageMetadataVault.listMessages(bucketName, username, query))
+            .map(DeletedMessageWithStorageInformation::getDeletedMessage);
         return query.getLimit()
             .map(filterPublisher::take)
             .orElse(filterPublisher);
     }
 
+    /**
+     * Messages are stored in the bucket of the month they are appended to the vault, which happens after their
+     * delivery and deletion. Buckets ending before a lower bound of either date thus can not hold any match.
+     */
+    private boolean mayContainMatches(BucketName bucketName, Query query) {
+        return Stream.of(query.lowerBound(FieldName.DELETION_DATE), query.lowerBound(FieldName.DELIVERY_DATE))
+            .flatMap(Optional::stream)
+            .max(Comparator.naturalOrder())
+            .flatMap(lowerBound -> nameGenerator.bucketEndTime(bucketName)
+                .map(endTime -> endTime.isAfter(lowerBound)))
+            .orElse(true);
+    }
+
     @Override
     public Publisher<Void> delete(Username username, MessageId messageId) {
         Preconditions.checkNotNull(username);
@@ -19,11 +19,17 @@
 
 package org.apache.james.vault.metadata;
 
+import java.util.function.Predicate;
+
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.DeletedMessage;
+import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
+
 public interface DeletedMessageMetadataVault {
     Publisher<Void> store(DeletedMessageWithStorageInformation deletedMessage);
 
@@ -35,5 +41,16 @@ public interface DeletedMessageMetadataVault {
 
     Publisher<DeletedMessageWithStorageInformation> listMessages(BucketName bucketName, Username username);
 
+    /**
+     * Lists messages of a user within a bucket that match the query criteria. The query limit is not applied.
+     *
+     * Implementations able to evaluate criteria natively should override this to avoid reading unmatched metadata.
+     */
+    default Publisher<DeletedMessageWithStorageInformation> listMessages(BucketName bucketName, Username username, Query query) {
+        Predicate<DeletedMessage> predicate = query.toPredicate();
+        return Flux.from(listMessages(bucketName, username))
+            .filter(message -> predicate.test(message.getDeletedMessage()));
+    }
+
     Publisher<BucketName> listRelatedBuckets();
 }
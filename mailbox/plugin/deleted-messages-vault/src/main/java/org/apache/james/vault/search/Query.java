@@ -19,6 +19,8 @@
 
 package org.apache.james.vault.search;
 
+import java.time.ZonedDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -70,6 +72,20 @@ public class Query {
             .orElse(MATCH_ALL);
     }
 
+    /**
+     * @return the latest lower bound this query sets on the given date field, if any
+     */
+    public Optional<ZonedDateTime> lowerBound(FieldName fieldName) {
+        return criteria.stream()
+            .filter(criterion -> criterion.getField().fieldName() == fieldName)
+            .map(Criterion::getValueMatcher)
+            .filter(valueMatcher -> valueMatcher.operator() == Operator.AFTER_OR_EQUALS)
+            .map(Criterion.ValueMatcher::expectedValue)
+            .filter(ZonedDateTime.class::isInstance)
+            .map(ZonedDateTime.class::cast)
+            .max(Comparator.naturalOrder());
+    }
+
     public List<Criterion<?>> getCriteria() {
         return criteria;
     }
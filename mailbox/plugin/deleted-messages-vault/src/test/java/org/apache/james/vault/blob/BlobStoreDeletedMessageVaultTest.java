@@ -22,6 +22,7 @@ package org.apache.james.vault.blob;
 import static org.apache.james.vault.DeletedMessageFixture.CONTENT;
 import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE;
 import static org.apache.james.vault.DeletedMessageFixture.DELETED_MESSAGE_2;
+import static org.apache.james.vault.DeletedMessageFixture.DELETION_DATE;
 import static org.apache.james.vault.DeletedMessageFixture.MESSAGE_ID;
 import static org.apache.james.vault.DeletedMessageFixture.NOW;
 import static org.apache.james.vault.DeletedMessageFixture.OLD_DELETED_MESSAGE;
@@ -33,6 +34,11 @@ import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.LOAD_MIME
 import static org.apache.james.vault.blob.BlobStoreDeletedMessageVault.SEARCH_METRIC_NAME;
 import static org.apache.james.vault.search.Query.ALL;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import java.io.ByteArrayInputStream;
 import java.time.Instant;
@@ -49,14 +55,18 @@ import org.apache.james.vault.DeletedMessageVaultContract;
 import org.apache.james.vault.DeletedMessageVaultSearchContract;
 import org.apache.james.vault.VaultConfiguration;
 import org.apache.james.vault.memory.metadata.MemoryDeletedMessageMetadataVault;
+import org.apache.james.vault.search.CriterionFactory;
+import org.apache.james.vault.search.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 
 class BlobStoreDeletedMessageVaultTest implements DeletedMessageVaultContract, DeletedMessageVaultSearchContract.AllContracts {
     private BlobStoreDeletedMessageVault messageVault;
+    private MemoryDeletedMessageMetadataVault metadataVault;
     private UpdatableTickingClock clock;
     private RecordingMetricFactory metricFactory;
 
@@ -65,7 +75,8 @@ class BlobStoreDeletedMessageVaultTest implements DeletedMessageVaultContract, D
         clock = new UpdatableTickingClock(NOW.toInstant());
         metricFactory = new RecordingMetricFactory();
         MemoryBlobStoreDAO blobStoreDAO = new MemoryBlobStoreDAO();
-        messageVault = new BlobStoreDeletedMessageVault(metricFactory, new MemoryDeletedMessageMetadataVault(),
+        metadataVault = spy(new MemoryDeletedMessageMetadataVault());
+        messageVault = new BlobStoreDeletedMessageVault(metricFactory, metadataVault,
             BlobStoreFactory.builder()
                 .blobStoreDAO(blobStoreDAO)
                 .blobIdFactory(new PlainBlobId.Factory())
@@ -109,6 +120,32 @@ class BlobStoreDeletedMessageVaultTest implements DeletedMessageVaultContract, D
                 BucketName.of("deleted-messages-2008-01-01"));
     }
 
+    @Test
+    void searchShouldSkipBucketsEndingBeforeDateLowerBounds() {
+        clock.setInstant(Instant.parse("2007-12-03T10:15:30.00Z"));
+        Mono.from(getVault().append(OLD_DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+        clock.setInstant(NOW.toInstant());
+        Mono.from(getVault().append(DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+
+        Query query = Query.of(CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE.minusDays(1)));
+
+        assertThat(Flux.from(messageVault.search(USERNAME, query)).collectList().block())
+            .containsOnly(DELETED_MESSAGE);
+        verify(metadataVault, never()).listMessages(eq(BucketName.of("deleted-messages-2007-12-01")), any(), any());
+    }
+
+    @Test
+    void searchShouldNotSkipBucketsWithoutDateLowerBound() {
+        clock.setInstant(Instant.parse("2007-12-03T10:15:30.00Z"));
+        Mono.from(getVault().append(OLD_DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+        clock.setInstant(NOW.toInstant());
+        Mono.from(getVault().append(DELETED_MESSAGE, new ByteArrayInputStream(CONTENT))).block();
+
+        assertThat(Flux.from(messageVault.search(USERNAME, Query.of(CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE))))
+                .collectList().block())
+            .containsOnly(OLD_DELETED_MESSAGE, DELETED_MESSAGE);
+    }
+
     @Test
     void appendShouldPublishAppendTimerMetrics() {
         Mono.from(messageVault.append(DELETED_MESSAGE, new ByteArrayInputStream(CONTENT)))
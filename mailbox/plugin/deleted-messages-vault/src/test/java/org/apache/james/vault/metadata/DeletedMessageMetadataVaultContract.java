@@ -19,12 +19,18 @@
 
 package org.apache.james.vault.metadata;
 
+import static org.apache.james.vault.DeletedMessageFixture.DELETION_DATE;
+import static org.apache.james.vault.DeletedMessageFixture.SUBJECT;
 import static org.apache.james.vault.DeletedMessageFixture.USERNAME;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.BUCKET_NAME;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2_OTHER_BUCKET;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_WITH_SUBJECT;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OLD_DELETED_MESSAGE;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OTHER_BUCKET_NAME;
+import static org.apache.mailet.base.MailAddressFixture.SENDER;
+import static org.apache.mailet.base.MailAddressFixture.SENDER2;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
@@ -32,6 +38,8 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.vault.search.CriterionFactory;
+import org.apache.james.vault.search.Query;
 import org.junit.jupiter.api.Test;
 
 import reactor.core.publisher.Flux;
@@ -73,6 +81,87 @@ public interface DeletedMessageMetadataVaultContract {
         assertThat(messages).containsOnly(DELETED_MESSAGE);
     }
 
+    @Test
+    default void listMessagesWithQueryShouldReturnAllMessagesWhenQueryAll() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.ALL)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE, OLD_DELETED_MESSAGE);
+    }
+
+    @Test
+    default void listMessagesWithQueryShouldFilterOnDeletionDateLowerBound() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE)).block();
+
+        Query query = Query.of(CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE));
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, query)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE);
+    }
+
+    @Test
+    default void listMessagesWithQueryShouldFilterOnDeliveryDateUpperBound() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE)).block();
+
+        Query query = Query.of(CriterionFactory.deliveryDate().beforeOrEquals(DELETION_DATE.minusYears(2)));
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, query)).toStream();
+        assertThat(messages).containsOnly(OLD_DELETED_MESSAGE);
+    }
+
+    @Test
+    default void listMessagesWithQueryShouldFilterOnSender() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+
+        assertThat(Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.of(CriterionFactory.hasSender(SENDER)))).toStream())
+            .containsOnly(DELETED_MESSAGE);
+        assertThat(Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.of(CriterionFactory.hasSender(SENDER2)))).toStream())
+            .isEmpty();
+    }
+
+    @Test
+    default void listMessagesWithQueryShouldFilterOnAttachment() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+
+        assertThat(Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.of(CriterionFactory.hasNoAttachment()))).toStream())
+            .containsOnly(DELETED_MESSAGE);
+        assertThat(Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.of(CriterionFactory.hasAttachment()))).toStream())
+            .isEmpty();
+    }
+
+    @Test
+    default void listMessagesWithQueryShouldFilterOnSubject() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE_WITH_SUBJECT)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2)).block();
+
+        assertThat(Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.of(CriterionFactory.subject().equals(SUBJECT)))).toStream())
+            .containsOnly(DELETED_MESSAGE_WITH_SUBJECT);
+        assertThat(Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.of(CriterionFactory.subject().containsIgnoreCase("SUBJ")))).toStream())
+            .containsOnly(DELETED_MESSAGE_WITH_SUBJECT);
+    }
+
+    @Test
+    default void listMessagesWithQueryShouldCombineCriteria() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE_WITH_SUBJECT)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE)).block();
+
+        Query query = Query.of(
+            CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE),
+            CriterionFactory.subject().contains(SUBJECT));
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, query)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE_WITH_SUBJECT);
+    }
+
+    @Test
+    default void listMessagesWithQueryShouldNotReturnMessagesOfOtherBuckets() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().listMessages(BUCKET_NAME, USERNAME, Query.ALL)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE);
+    }
+
     @Test
     default void listBucketsShouldBeEmptyWhenNoMessageInserted() {
         Stream<BucketName> messages = Flux.from(metadataVault().listRelatedBuckets()).toStream();
@@ -41,4 +41,6 @@ public interface DeletedMessageVaultMetadataFixture {
         OTHER_STORAGE_INFORMATION);
     DeletedMessageWithStorageInformation DELETED_MESSAGE = new DeletedMessageWithStorageInformation(DeletedMessageFixture.DELETED_MESSAGE, STORAGE_INFORMATION);
     DeletedMessageWithStorageInformation DELETED_MESSAGE_2 = new DeletedMessageWithStorageInformation(DeletedMessageFixture.DELETED_MESSAGE_2, STORAGE_INFORMATION);
+    DeletedMessageWithStorageInformation DELETED_MESSAGE_WITH_SUBJECT = new DeletedMessageWithStorageInformation(DeletedMessageFixture.DELETED_MESSAGE_WITH_SUBJECT, STORAGE_INFORMATION);
+    DeletedMessageWithStorageInformation OLD_DELETED_MESSAGE = new DeletedMessageWithStorageInformation(DeletedMessageFixture.OLD_DELETED_MESSAGE, STORAGE_INFORMATION);
 }
@@ -48,7 +48,8 @@ public class PostgresMailboxManager extends StoreMailboxManager {
         MailboxCapabilities.Namespace,
         MailboxCapabilities.Move,
         MailboxCapabilities.Annotation,
-        MailboxCapabilities.ACL);
+        MailboxCapabilities.ACL,
+        MailboxCapabilities.ConcurrentSessionAccess);
 
     private final PostgresMailboxSessionMapperFactory mapperFactory;
 
@@ -22,12 +22,15 @@ import java.time.Clock;
 
 import jakarta.inject.Inject;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.backends.postgres.PostgresConfiguration;
 import org.apache.james.backends.postgres.RowLevelSecurity;
 import org.apache.james.backends.postgres.utils.PostgresExecutor;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
 import org.apache.james.mailbox.postgres.mail.PostgresAnnotationMapper;
 import org.apache.james.mailbox.postgres.mail.PostgresAttachmentMapper;
 import org.apache.james.mailbox.postgres.mail.PostgresMailboxMapper;
@@ -46,6 +49,7 @@ import org.apache.james.mailbox.postgres.mail.dao.PostgresThreadDAO;
 import org.apache.james.mailbox.postgres.user.PostgresSubscriptionDAO;
 import org.apache.james.mailbox.postgres.user.PostgresSubscriptionMapper;
 import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
+import org.apache.james.mailbox.store.mail.AllocationCombiner;
 import org.apache.james.mailbox.store.mail.AnnotationMapper;
 import org.apache.james.mailbox.store.mail.AttachmentIdAssignationStrategy;
 import org.apache.james.mailbox.store.mail.AttachmentMapperFactory;
@@ -64,6 +68,7 @@ public class PostgresMailboxSessionMapperFactory extends MailboxSessionMapperFac
     private final Clock clock;
     private final RowLevelSecurity rowLevelSecurity;
     private final AttachmentIdAssignationStrategy attachmentIdAssignationStrategy;
+    private final AllocationCombiner<Pair<MessageUid, ModSeq>> uidAndModSeqAllocator;
 
     @Inject
     public PostgresMailboxSessionMapperFactory(PostgresExecutor.Factory executorFactory,
@@ -78,6 +83,7 @@ public class PostgresMailboxSessionMapperFactory extends MailboxSessionMapperFac
         this.clock = clock;
         this.rowLevelSecurity = postgresConfiguration.getRowLevelSecurity();
         this.attachmentIdAssignationStrategy = attachmentIdAssignationStrategy;
+        this.uidAndModSeqAllocator = new AllocationCombiner<>();
     }
 
     @Override
@@ -99,7 +105,8 @@ public class PostgresMailboxSessionMapperFactory extends MailboxSessionMapperFac
             blobStore,
             clock,
             blobIdFactory,
-            attachmentIdAssignationStrategy);
+            attachmentIdAssignationStrategy,
+            uidAndModSeqAllocator);
     }
 
     @Override
@@ -21,12 +21,14 @@ package org.apache.james.mailbox.postgres.mail;
 
 import static org.apache.james.blob.api.BlobStore.StoragePolicy.LOW_COST;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.mailbox.exception.AttachmentNotFoundException;
 import org.apache.james.mailbox.model.AttachmentId;
 import org.apache.james.mailbox.model.AttachmentMetadata;
@@ -68,6 +70,14 @@ public class PostgresAttachmentMapper implements AttachmentMapper {
             .switchIfEmpty(Mono.error(() -> new AttachmentNotFoundException(attachmentId.toString())));
     }
 
+    @Override
+    public Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, long offset, long length) {
+        return postgresAttachmentDAO.getAttachment(attachmentId)
+            .flatMap(pair -> Mono.from(blobStore.readRange(blobStore.getDefaultBucketName(), pair.getRight(), ByteRange.of(offset, length), LOW_COST)))
+            .<InputStream>map(ByteArrayInputStream::new)
+            .switchIfEmpty(Mono.error(() -> new AttachmentNotFoundException(attachmentId.toString())));
+    }
+
     @Override
     public AttachmentMetadata getAttachment(AttachmentId attachmentId) throws AttachmentNotFoundException {
         Preconditions.checkArgument(attachmentId != null);
@@ -25,12 +25,14 @@ import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Clock;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.LongStream;
 
 import jakarta.mail.Flags;
 
@@ -48,6 +50,7 @@ import org.apache.james.mailbox.model.ComposedMessageId;
 import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxCounters;
+import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageMetaData;
 import org.apache.james.mailbox.model.MessageRange;
 import org.apache.james.mailbox.model.UpdatedFlags;
@@ -58,6 +61,7 @@ import org.apache.james.mailbox.postgres.mail.dao.PostgresMailboxMessageDAO;
 import org.apache.james.mailbox.postgres.mail.dao.PostgresMessageDAO;
 import org.apache.james.mailbox.store.FlagsUpdateCalculator;
 import org.apache.james.mailbox.store.MailboxReactorUtils;
+import org.apache.james.mailbox.store.mail.AllocationCombiner;
 import org.apache.james.mailbox.store.mail.AttachmentIdAssignationStrategy;
 import org.apache.james.mailbox.store.mail.MessageMapper;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
@@ -65,6 +69,7 @@ import org.apache.james.mailbox.store.mail.model.impl.SimpleMailboxMessage;
 import org.apache.james.util.streams.Limit;
 import org.jooq.Record;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Flux;
@@ -97,6 +102,7 @@ public class PostgresMessageMapper implements MessageMapper {
     private final BlobStore blobStore;
     private final Clock clock;
     private final PostgresMessageRetriever messageRetriever;
+    private final AllocationCombiner<Pair<MessageUid, ModSeq>> uidAndModSeqAllocator;
 
     public PostgresMessageMapper(PostgresExecutor postgresExecutor,
                                  PostgresModSeqProvider modSeqProvider,
@@ -105,6 +111,18 @@ public class PostgresMessageMapper implements MessageMapper {
                                  Clock clock,
                                  BlobId.Factory blobIdFactory,
                                  AttachmentIdAssignationStrategy attachmentIdAssignationStrategy) {
+        this(postgresExecutor, modSeqProvider, uidProvider, blobStore, clock, blobIdFactory, attachmentIdAssignationStrategy,
+            new AllocationCombiner<>());
+    }
+
+    public PostgresMessageMapper(PostgresExecutor postgresExecutor,
+                                 PostgresModSeqProvider modSeqProvider,
+                                 PostgresUidProvider uidProvider,
+                                 BlobStore blobStore,
+                                 Clock clock,
+                                 BlobId.Factory blobIdFactory,
+                                 AttachmentIdAssignationStrategy attachmentIdAssignationStrategy,
+                                 AllocationCombiner<Pair<MessageUid, ModSeq>> uidAndModSeqAllocator) {
         this.messageDAO = new PostgresMessageDAO(postgresExecutor, blobIdFactory);
         this.mailboxMessageDAO = new PostgresMailboxMessageDAO(postgresExecutor);
         this.mailboxDAO = new PostgresMailboxDAO(postgresExecutor);
@@ -114,6 +132,7 @@ public class PostgresMessageMapper implements MessageMapper {
         this.clock = clock;
         PostgresAttachmentMapper attachmentMapper = new PostgresAttachmentMapper(new PostgresAttachmentDAO(postgresExecutor, blobIdFactory), blobStore, attachmentIdAssignationStrategy);
         this.messageRetriever = new PostgresMessageRetriever(blobStore, blobIdFactory, attachmentMapper);
+        this.uidAndModSeqAllocator = uidAndModSeqAllocator;
     }
 
 
@@ -366,8 +385,7 @@ public class PostgresMessageMapper implements MessageMapper {
     }
 
     private Mono<Void> setNewUidAndModSeq(MailboxMessage mailboxMessage) {
-        return mailboxDAO.incrementAndGetLastUidAndModSeq(mailboxMessage.getMailboxId())
-            .defaultIfEmpty(Pair.of(MessageUid.MIN_VALUE, ModSeq.first()))
+        return uidAndModSeqAllocator.allocate(mailboxMessage.getMailboxId(), count -> reserveUidsAndModSeqs(mailboxMessage.getMailboxId(), count))
             .map(pair -> {
                 mailboxMessage.setUid(pair.getLeft());
                 mailboxMessage.setModSeq(pair.getRight());
@@ -375,6 +393,14 @@ public class PostgresMessageMapper implements MessageMapper {
             }).then();
     }
 
+    private Mono<List<Pair<MessageUid, ModSeq>>> reserveUidsAndModSeqs(MailboxId mailboxId, int count) {
+        return mailboxDAO.incrementAndGetLastUidAndModSeq(mailboxId, count)
+            .<List<Pair<MessageUid, ModSeq>>>map(highest -> LongStream.range(0, count)
+                .mapToObj(offset -> Pair.of(MessageUid.of(highest.getLeft().asLong() - count + 1 + offset),
+                    ModSeq.of(highest.getRight().asLong() - count + 1 + offset)))
+                .collect(ImmutableList.toImmutableList()))
+            .defaultIfEmpty(Collections.nCopies(count, Pair.of(MessageUid.MIN_VALUE, ModSeq.first())));
+    }
 
     @Override
     public Mono<MessageMetaData> copyReactive(Mailbox mailbox, MailboxMessage original) {
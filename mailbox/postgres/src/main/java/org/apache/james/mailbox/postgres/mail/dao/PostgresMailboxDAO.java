@@ -294,8 +294,10 @@ public class PostgresMailboxDAO {
             .map(ModSeq::of);
     }
 
-    public Mono<Pair<MessageUid, ModSeq>> incrementAndGetLastUidAndModSeq(MailboxId mailboxId) {
-        int increment = 1;
+    /**
+     * Reserves increment UIDs and mod-sequences with a single update, and returns the highest reserved ones.
+     */
+    public Mono<Pair<MessageUid, ModSeq>> incrementAndGetLastUidAndModSeq(MailboxId mailboxId, int increment) {
         return postgresExecutor.executeRow(dsl -> Mono.from(dsl.update(TABLE_NAME)
                 .set(MAILBOX_LAST_UID, coalesce(MAILBOX_LAST_UID, 0L).add(increment))
                 .set(MAILBOX_HIGHEST_MODSEQ, coalesce(MAILBOX_HIGHEST_MODSEQ, 0L).add(increment))
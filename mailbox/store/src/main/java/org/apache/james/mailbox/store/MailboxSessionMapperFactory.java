@@ -47,30 +47,15 @@ public abstract class MailboxSessionMapperFactory implements RequestAware, Mailb
     
     @Override
     public MessageMapper getMessageMapper(MailboxSession session) {
-        MessageMapper mapper = (MessageMapper) session.getAttributes().get(MESSAGEMAPPER);
-        if (mapper == null) {
-            mapper = createMessageMapper(session);
-            session.getAttributes().put(MESSAGEMAPPER, mapper);
-        }
-        return mapper;
+        return (MessageMapper) session.getAttributes().computeIfAbsent(MESSAGEMAPPER, any -> createMessageMapper(session));
     }
 
     public MessageIdMapper getMessageIdMapper(MailboxSession session) {
-        MessageIdMapper mapper = (MessageIdMapper) session.getAttributes().get(MESSAGEIDMAPPER);
-        if (mapper == null) {
-            mapper = createMessageIdMapper(session);
-            session.getAttributes().put(MESSAGEIDMAPPER, mapper);
-        }
-        return mapper;
+        return (MessageIdMapper) session.getAttributes().computeIfAbsent(MESSAGEIDMAPPER, any -> createMessageIdMapper(session));
     }
 
     public AnnotationMapper getAnnotationMapper(MailboxSession session) {
-        AnnotationMapper mapper = (AnnotationMapper)session.getAttributes().get(ANNOTATIONMAPPER);
-        if (mapper == null) {
-            mapper = createAnnotationMapper(session);
-            session.getAttributes().put(ANNOTATIONMAPPER, mapper);
-        }
-        return mapper;
+        return (AnnotationMapper) session.getAttributes().computeIfAbsent(ANNOTATIONMAPPER, any -> createAnnotationMapper(session));
     }
 
     public abstract AnnotationMapper createAnnotationMapper(MailboxSession session);
@@ -87,12 +72,7 @@ public abstract class MailboxSessionMapperFactory implements RequestAware, Mailb
 
     @Override
     public MailboxMapper getMailboxMapper(MailboxSession session) {
-        MailboxMapper mapper = (MailboxMapper) session.getAttributes().get(MAILBOXMAPPER);
-        if (mapper == null) {
-            mapper = createMailboxMapper(session);
-            session.getAttributes().put(MAILBOXMAPPER, mapper);
-        }
-        return mapper;
+        return (MailboxMapper) session.getAttributes().computeIfAbsent(MAILBOXMAPPER, any -> createMailboxMapper(session));
     }
 
     /**
@@ -109,12 +89,7 @@ public abstract class MailboxSessionMapperFactory implements RequestAware, Mailb
      */
     @Override
     public SubscriptionMapper getSubscriptionMapper(MailboxSession session) {
-        SubscriptionMapper mapper = (SubscriptionMapper) session.getAttributes().get(SUBSCRIPTIONMAPPER);
-        if (mapper == null) {
-            mapper = createSubscriptionMapper(session);
-            session.getAttributes().put(SUBSCRIPTIONMAPPER, mapper);
-        }
-        return mapper;
+        return (SubscriptionMapper) session.getAttributes().computeIfAbsent(SUBSCRIPTIONMAPPER, any -> createSubscriptionMapper(session));
     }
     
     /**
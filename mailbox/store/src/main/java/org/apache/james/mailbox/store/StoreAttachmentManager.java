@@ -126,4 +126,15 @@ public class StoreAttachmentManager implements AttachmentManager {
                     return attachmentMapperFactory.getAttachmentMapper(mailboxSession).loadAttachmentContentReactive(attachmentId);
                 });
     }
+
+    @Override
+    public Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, long offset, long length, MailboxSession mailboxSession) {
+        return existsReactive(attachmentId, mailboxSession)
+            .flatMap(exist -> {
+                if (!exist) {
+                    return Mono.error(new AttachmentNotFoundException(attachmentId.getId()));
+                }
+                return attachmentMapperFactory.getAttachmentMapper(mailboxSession).loadAttachmentContentReactive(attachmentId, offset, length);
+            });
+    }
 }
@@ -0,0 +1,156 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store.mail;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.james.mailbox.model.MailboxId;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Node-local combiner of the UID and mod-sequence allocations of a mailbox.
+ *
+ * Only one reservation per mailbox is in flight at a time on this node. Allocations requested while it is in flight
+ * are queued, then served all together by the next reservation, which asks the store for as many values as there are
+ * queued allocations. A burst of concurrent appends to the same mailbox thus results in a few multi-value
+ * reservations instead of one contended store update (LWT, row update) per message.
+ *
+ * @param <T> type of the allocated values, for instance a (UID, mod-sequence) pair
+ */
+public class AllocationCombiner<T> {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 128;
+
+    @FunctionalInterface
+    public interface Reservation<T> {
+        /**
+         * Reserves count values in the store. Values are returned in allocation order.
+         */
+        Mono<List<T>> reserve(int count);
+    }
+
+    private static class Allocation<T> {
+        private final Reservation<T> reservation;
+        private final Sinks.One<T> result;
+
+        private Allocation(Reservation<T> reservation) {
+            this.reservation = reservation;
+            this.result = Sinks.one();
+        }
+    }
+
+    private static class MailboxAllocations<T> {
+        private final Deque<Allocation<T>> pending = new ArrayDeque<>();
+        private boolean reserving = false;
+    }
+
+    private final ConcurrentHashMap<MailboxId, MailboxAllocations<T>> allocations;
+    private final int maxBatchSize;
+
+    public AllocationCombiner() {
+        this(DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public AllocationCombiner(int maxBatchSize) {
+        Preconditions.checkArgument(maxBatchSize > 0, "'maxBatchSize' needs to be strictly positive");
+        this.allocations = new ConcurrentHashMap<>();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Allocates a single value for the given mailbox. The reservation is used if this allocation is the first
+     * of the batch it belongs to, in which case it is asked for the values of the whole batch.
+     */
+    public Mono<T> allocate(MailboxId mailboxId, Reservation<T> reservation) {
+        return Mono.defer(() -> {
+            Allocation<T> allocation = new Allocation<>(reservation);
+            enqueue(mailboxId, allocation)
+                .ifPresent(batch -> reserve(mailboxId, batch));
+            return allocation.result.asMono();
+        });
+    }
+
+    private Optional<List<Allocation<T>>> enqueue(MailboxId mailboxId, Allocation<T> allocation) {
+        AtomicReference<List<Allocation<T>>> batch = new AtomicReference<>();
+        allocations.compute(mailboxId, (id, mailboxAllocations) -> {
+            MailboxAllocations<T> result = Optional.ofNullable(mailboxAllocations).orElseGet(MailboxAllocations::new);
+            result.pending.add(allocation);
+            if (!result.reserving) {
+                result.reserving = true;
+                batch.set(drain(result));
+            }
+            return result;
+        });
+        return Optional.ofNullable(batch.get());
+    }
+
+    private Optional<List<Allocation<T>>> nextBatch(MailboxId mailboxId) {
+        AtomicReference<List<Allocation<T>>> batch = new AtomicReference<>();
+        allocations.computeIfPresent(mailboxId, (id, mailboxAllocations) -> {
+            if (mailboxAllocations.pending.isEmpty()) {
+                return null;
+            }
+            batch.set(drain(mailboxAllocations));
+            return mailboxAllocations;
+        });
+        return Optional.ofNullable(batch.get());
+    }
+
+    private List<Allocation<T>> drain(MailboxAllocations<T> mailboxAllocations) {
+        ImmutableList.Builder<Allocation<T>> batch = ImmutableList.builder();
+        for (int i = 0; i < maxBatchSize && !mailboxAllocations.pending.isEmpty(); i++) {
+            batch.add(mailboxAllocations.pending.poll());
+        }
+        return batch.build();
+    }
+
+    private void reserve(MailboxId mailboxId, List<Allocation<T>> batch) {
+        Mono.defer(() -> batch.get(0).reservation.reserve(batch.size()))
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("No values were reserved for " + mailboxId.serialize())))
+            .subscribe(values -> {
+                    complete(batch, values);
+                    nextBatch(mailboxId).ifPresent(next -> reserve(mailboxId, next));
+                },
+                e -> {
+                    batch.forEach(allocation -> allocation.result.tryEmitError(e));
+                    nextBatch(mailboxId).ifPresent(next -> reserve(mailboxId, next));
+                });
+    }
+
+    private void complete(List<Allocation<T>> batch, List<T> values) {
+        for (int i = 0; i < batch.size(); i++) {
+            Allocation<T> allocation = batch.get(i);
+            if (i < values.size()) {
+                allocation.result.tryEmitValue(values.get(i));
+            } else {
+                allocation.result.tryEmitError(new IllegalStateException("Reserved " + values.size() + " values for " + batch.size() + " allocations"));
+            }
+        }
+    }
+}
@@ -23,6 +23,8 @@ import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.james.mailbox.exception.AttachmentNotFoundException;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.AttachmentId;
@@ -33,6 +35,8 @@ import org.apache.james.mailbox.model.ParsedAttachment;
 import org.apache.james.mailbox.store.transaction.Mapper;
 import org.apache.james.util.ReactorUtils;
 
+import com.github.fge.lambdas.Throwing;
+
 import reactor.core.publisher.Mono;
 
 public interface AttachmentMapper extends Mapper {
@@ -44,6 +48,20 @@ public interface AttachmentMapper extends Mapper {
             .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER);
     }
 
+    /**
+     * Loads at most {@code length} bytes of the attachment content, starting at {@code offset}.
+     *
+     * The default implementation skips the leading bytes of the full content, implementations relying on a
+     * blob store should only retrieve the requested range.
+     */
+    default Mono<InputStream> loadAttachmentContentReactive(AttachmentId attachmentId, long offset, long length) {
+        return loadAttachmentContentReactive(attachmentId)
+            .map(Throwing.function(content -> {
+                IOUtils.skip(content, offset);
+                return new BoundedInputStream(content, length);
+            }));
+    }
+
     AttachmentMetadata getAttachment(AttachmentId attachmentId) throws AttachmentNotFoundException;
 
     default Mono<AttachmentMetadata> getAttachmentReactive(AttachmentId attachmentId) {
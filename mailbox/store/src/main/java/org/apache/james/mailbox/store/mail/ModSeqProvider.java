@@ -18,11 +18,16 @@
  ****************************************************************/
 package org.apache.james.mailbox.store.mail;
 
+import java.util.List;
+
 import org.apache.james.mailbox.ModSeq;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -69,4 +74,15 @@ public interface ModSeqProvider {
         return Mono.fromCallable(() -> nextModSeq(mailboxId))
             .subscribeOn(Schedulers.boundedElastic());
     }
+
+    /**
+     * Return count mod-sequences which can be used for the {@link Mailbox}, in increasing order.
+     *
+     * Implementations should reserve them with a single store update.
+     */
+    default Mono<List<ModSeq>> nextModSeqs(MailboxId mailboxId, int count) {
+        return Flux.range(0, count)
+            .concatMap(i -> nextModSeqReactive(mailboxId))
+            .collect(ImmutableList.toImmutableList());
+    }
 }
@@ -166,6 +166,21 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
         return add(session, mailbox, message);
     }
 
+    /**
+     * Add several {@link MailboxMessage}s of the given {@link Mailbox} to the index
+     *
+     * Implementations can index them with a single request. By default, messages are added one after the other.
+     *
+     * @param session The mailbox session performing the message addition
+     * @param mailbox mailbox containing the messages
+     * @param messages The messages to add
+     */
+    public Mono<Void> addAll(MailboxSession session, Mailbox mailbox, List<MailboxMessage> messages) {
+        return Flux.fromIterable(messages)
+            .concatMap(message -> add(session, mailbox, message))
+            .then();
+    }
+
     /**
      * Delete the concerned UIDs for the given {@link Mailbox} from the index
      *
@@ -26,12 +26,16 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import jakarta.mail.Flags;
@@ -44,6 +48,7 @@ import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.exception.UnsupportedSearchException;
 import org.apache.james.mailbox.extractor.TextExtractor;
 import org.apache.james.mailbox.model.AttachmentMetadata;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
 import org.apache.james.mailbox.model.Header;
 import org.apache.james.mailbox.model.MessageAttachmentMetadata;
 import org.apache.james.mailbox.model.SearchQuery;
@@ -51,6 +56,7 @@ import org.apache.james.mailbox.model.SearchQuery.AddressType;
 import org.apache.james.mailbox.model.SearchQuery.DateResolution;
 import org.apache.james.mailbox.model.SearchQuery.UidRange;
 import org.apache.james.mailbox.store.ResultUtils;
+import org.apache.james.mailbox.store.mail.MessageMapper.FetchType;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.comparator.CombinedComparator;
 import org.apache.james.mime4j.MimeException;
@@ -66,18 +72,185 @@ import org.apache.james.mime4j.field.datetime.parser.DateTimeParser;
 import org.apache.james.mime4j.field.datetime.parser.ParseException;
 import org.apache.james.mime4j.util.MimeUtil;
 import org.apache.james.mime4j.utils.search.MessageMatcher;
+import org.apache.james.util.ReactorUtils;
+import org.apache.james.util.streams.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * Utility methods to help perform search operations.
  */
 public class MessageSearches implements Iterable<SimpleMessageSearchIndex.SearchResult> {
 
+    /**
+     * Cost of evaluating a criterion, from the cheapest to the most expensive, together with the {@link FetchType}
+     * messages need to be loaded with to evaluate it.
+     */
+    public enum Cost {
+        /**
+         * The criterion only relies on data returned by {@link org.apache.james.mailbox.store.mail.MessageMapper#listMessagesMetadata}:
+         * uid, flags, mod-sequence, message and thread ids.
+         */
+        MESSAGE_METADATA(FetchType.METADATA),
+        METADATA(FetchType.METADATA),
+        ATTACHMENTS_METADATA(FetchType.ATTACHMENTS_METADATA),
+        HEADERS(FetchType.HEADERS),
+        CONTENT(FetchType.FULL),
+        ATTACHMENTS_CONTENT(FetchType.FULL);
+
+        private final FetchType fetchType;
+
+        Cost(FetchType fetchType) {
+            this.fetchType = fetchType;
+        }
+
+        public FetchType getFetchType() {
+            return fetchType;
+        }
+
+        private Cost max(Cost other) {
+            return compareTo(other) >= 0 ? this : other;
+        }
+    }
+
     private static final Logger LOGGER = LoggerFactory.getLogger(MessageSearches.class);
+    private static final Comparator<SearchQuery.Criterion> BY_COST = Comparator.comparing(MessageSearches::cost);
+
+    public static Cost cost(SearchQuery.Criterion criterion) {
+        if (criterion instanceof SearchQuery.ConjunctionCriterion) {
+            return cost(((SearchQuery.ConjunctionCriterion) criterion).getCriteria());
+        }
+        if (criterion instanceof SearchQuery.UidCriterion
+            || criterion instanceof SearchQuery.FlagCriterion
+            || criterion instanceof SearchQuery.CustomFlagCriterion
+            || criterion instanceof SearchQuery.ModSeqCriterion
+            || criterion instanceof SearchQuery.MessageIdCriterion
+            || criterion instanceof SearchQuery.ThreadIdCriterion
+            || criterion instanceof SearchQuery.AllCriterion) {
+            return Cost.MESSAGE_METADATA;
+        }
+        if (criterion instanceof SearchQuery.SizeCriterion
+            || criterion instanceof SearchQuery.InternalDateCriterion
+            || criterion instanceof SearchQuery.SaveDateCriterion) {
+            return Cost.METADATA;
+        }
+        if (criterion instanceof SearchQuery.AttachmentCriterion) {
+            return Cost.ATTACHMENTS_METADATA;
+        }
+        if (criterion instanceof SearchQuery.HeaderCriterion
+            || criterion instanceof SearchQuery.MimeMessageIDCriterion
+            || criterion instanceof SearchQuery.SubjectCriterion) {
+            return Cost.HEADERS;
+        }
+        if (criterion instanceof SearchQuery.TextCriterion) {
+            switch (((SearchQuery.TextCriterion) criterion).getType()) {
+                case ATTACHMENT_FILE_NAME:
+                    return Cost.ATTACHMENTS_METADATA;
+                case ATTACHMENTS:
+                    return Cost.ATTACHMENTS_CONTENT;
+                default:
+                    return Cost.CONTENT;
+            }
+        }
+        return Cost.CONTENT;
+    }
+
+    public static Cost cost(List<SearchQuery.Criterion> criteria) {
+        return criteria.stream()
+            .map(MessageSearches::cost)
+            .reduce(Cost.MESSAGE_METADATA, Cost::max);
+    }
+
+    /**
+     * Reorders criteria, and the criteria of nested conjunctions, from the cheapest to the most expensive to
+     * evaluate. Conjunctions short-circuit, hence content is only read for messages matching cheaper criteria.
+     */
+    @VisibleForTesting
+    static List<SearchQuery.Criterion> plan(List<SearchQuery.Criterion> criteria) {
+        return criteria.stream()
+            .map(MessageSearches::plan)
+            .sorted(BY_COST)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private static SearchQuery.Criterion plan(SearchQuery.Criterion criterion) {
+        if (criterion instanceof SearchQuery.ConjunctionCriterion) {
+            SearchQuery.ConjunctionCriterion conjunction = (SearchQuery.ConjunctionCriterion) criterion;
+            return new SearchQuery.ConjunctionCriterion(conjunction.getType(), plan(conjunction.getCriteria()));
+        }
+        return criterion;
+    }
+
+    /**
+     * Evaluates a {@link Cost#MESSAGE_METADATA} criterion against message metadata, without loading the message.
+     */
+    public static boolean matchesMetadata(SearchQuery.Criterion criterion, ComposedMessageIdWithMetaData metadata,
+                                          Collection<MessageUid> recentMessageUids) throws UnsupportedSearchException {
+        if (criterion instanceof SearchQuery.UidCriterion) {
+            return isInRanges((SearchQuery.UidCriterion) criterion, metadata.getComposedMessageId().getUid());
+        } else if (criterion instanceof SearchQuery.FlagCriterion) {
+            SearchQuery.FlagCriterion flagCriterion = (SearchQuery.FlagCriterion) criterion;
+            MessageUid uid = metadata.getComposedMessageId().getUid();
+            return flagCriterion.getOperator().isSet() == hasFlag(flagCriterion.getFlag(), metadata.getFlags(), uid, recentMessageUids);
+        } else if (criterion instanceof SearchQuery.CustomFlagCriterion) {
+            SearchQuery.CustomFlagCriterion customFlagCriterion = (SearchQuery.CustomFlagCriterion) criterion;
+            return customFlagCriterion.getOperator().isSet() == metadata.getFlags().contains(customFlagCriterion.getFlag());
+        } else if (criterion instanceof SearchQuery.ModSeqCriterion) {
+            return matches(((SearchQuery.ModSeqCriterion) criterion).getOperator(), metadata.getModSeq().asLong());
+        } else if (criterion instanceof SearchQuery.MessageIdCriterion) {
+            return ((SearchQuery.MessageIdCriterion) criterion).getMessageId().equals(metadata.getComposedMessageId().getMessageId());
+        } else if (criterion instanceof SearchQuery.ThreadIdCriterion) {
+            return ((SearchQuery.ThreadIdCriterion) criterion).getThreadId().equals(metadata.getThreadId());
+        } else if (criterion instanceof SearchQuery.AllCriterion) {
+            return true;
+        } else if (criterion instanceof SearchQuery.ConjunctionCriterion) {
+            SearchQuery.ConjunctionCriterion conjunction = (SearchQuery.ConjunctionCriterion) criterion;
+            switch (conjunction.getType()) {
+                case AND:
+                    for (SearchQuery.Criterion child : conjunction.getCriteria()) {
+                        if (!matchesMetadata(child, metadata, recentMessageUids)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case OR:
+                    for (SearchQuery.Criterion child : conjunction.getCriteria()) {
+                        if (matchesMetadata(child, metadata, recentMessageUids)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case NOR:
+                    for (SearchQuery.Criterion child : conjunction.getCriteria()) {
+                        if (matchesMetadata(child, metadata, recentMessageUids)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        throw new UnsupportedSearchException();
+    }
+
+    private static boolean hasFlag(Flags.Flag flag, Flags flags, MessageUid uid, Collection<MessageUid> recentMessageUids) {
+        if (flag == Flags.Flag.RECENT) {
+            return recentMessageUids.contains(uid);
+        }
+        if (flag == Flags.Flag.ANSWERED || flag == Flags.Flag.SEEN || flag == Flags.Flag.DRAFT
+            || flag == Flags.Flag.FLAGGED || flag == Flags.Flag.DELETED) {
+            return flags.contains(flag);
+        }
+        return false;
+    }
 
     private final Iterator<MailboxMessage> messages;
     private final SearchQuery query;
@@ -95,43 +268,97 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
 
     @Override
     public Iterator<SimpleMessageSearchIndex.SearchResult> iterator() {
+        List<SearchQuery.Criterion> plannedCriteria = plan(query.getCriteria());
         ImmutableList.Builder<MailboxMessage> builder = ImmutableList.builder();
         while (messages.hasNext()) {
             MailboxMessage m = messages.next();
-            try {
-                if (isMatch(m)) {
-                    builder.add(m);
-                }
-            } catch (MailboxException e) {
-                LOGGER.error("Unable to search message {}", m.getUid(), e);
+            if (isMatchLoggingErrors(m, plannedCriteria)) {
+                builder.add(m);
             }
         }
         return builder.build()
             .stream()
             .sorted(CombinedComparator.create(query.getSorts()))
-            .map(mailboxMessage -> new SimpleMessageSearchIndex.SearchResult(
-                Optional.of(mailboxMessage.getMessageId()),
-                mailboxMessage.getMailboxId(),
-                mailboxMessage.getUid()))
+            .map(MessageSearches::toSearchResult)
             .iterator();
     }
 
+    /**
+     * Lazily matches messages already sorted according to the query, preserving their order.
+     *
+     * Queries reading message content are evaluated on up to <code>concurrency</code> messages at once. Evaluation
+     * stops as soon as the subscriber cancels, for instance once enough results had been taken.
+     */
+    public Flux<SimpleMessageSearchIndex.SearchResult> searchSorted(int concurrency) {
+        return searchSorted(concurrency, FetchType.FULL, Mono::just);
+    }
+
+    /**
+     * Same as {@link #searchSorted(int)} for messages loaded with <code>loadedFetchType</code>.
+     *
+     * Criteria needing more than the loaded data are only evaluated against the messages matching the other criteria,
+     * once reloaded through <code>loader</code>.
+     */
+    public Flux<SimpleMessageSearchIndex.SearchResult> searchSorted(int concurrency, FetchType loadedFetchType,
+                                                                     Function<MailboxMessage, Mono<MailboxMessage>> loader) {
+        Map<Boolean, ImmutableList<SearchQuery.Criterion>> plannedCriteria = plan(query.getCriteria()).stream()
+            .collect(Collectors.partitioningBy(criterion -> cost(criterion).getFetchType().compareTo(loadedFetchType) <= 0,
+                ImmutableList.toImmutableList()));
+        List<SearchQuery.Criterion> loadedCriteria = plannedCriteria.get(true);
+        List<SearchQuery.Criterion> remainingCriteria = plannedCriteria.get(false);
+        Flux<MailboxMessage> sortedMessages = Iterators.toFlux(messages);
+
+        if (!remainingCriteria.isEmpty()) {
+            return sortedMessages
+                .filter(message -> isMatchLoggingErrors(message, loadedCriteria))
+                .flatMapSequential(message -> loader.apply(message)
+                    .filter(loadedMessage -> isMatchLoggingErrors(loadedMessage, remainingCriteria))
+                    .map(MessageSearches::toSearchResult)
+                    .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER), concurrency);
+        }
+        if (cost(loadedCriteria).compareTo(Cost.CONTENT) < 0) {
+            return sortedMessages
+                .filter(message -> isMatchLoggingErrors(message, loadedCriteria))
+                .map(MessageSearches::toSearchResult);
+        }
+        return sortedMessages
+            .flatMapSequential(message -> Mono.fromCallable(() -> isMatchLoggingErrors(message, loadedCriteria))
+                .filter(matches -> matches)
+                .map(any -> toSearchResult(message))
+                .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER), concurrency);
+    }
+
+    private static SimpleMessageSearchIndex.SearchResult toSearchResult(MailboxMessage mailboxMessage) {
+        return new SimpleMessageSearchIndex.SearchResult(
+            Optional.of(mailboxMessage.getMessageId()),
+            mailboxMessage.getMailboxId(),
+            mailboxMessage.getUid());
+    }
+
+    private boolean isMatchLoggingErrors(MailboxMessage message, List<SearchQuery.Criterion> criteria) {
+        try {
+            return isMatch(message, criteria);
+        } catch (MailboxException e) {
+            LOGGER.error("Unable to search message {}", message.getUid(), e);
+            return false;
+        }
+    }
+
     /**
      * Does the row match the given criteria?
      *
      * @param message
      *            <code>MailboxMessage</code>, not null
+     * @param criteria
+     *            criteria of the query, ordered by evaluation cost
      * @return <code>true</code> if the row matches the given criteria,
      *         <code>false</code> otherwise
      */
-    private boolean isMatch(MailboxMessage message) throws MailboxException {
-        final List<SearchQuery.Criterion> criteria = query.getCriteria();
+    private boolean isMatch(MailboxMessage message, List<SearchQuery.Criterion> criteria) throws MailboxException {
         final Collection<MessageUid> recentMessageUids = query.getRecentMessageUids();
-        if (criteria != null) {
-            for (SearchQuery.Criterion criterion : criteria) {
-                if (!isMatch(criterion, message, recentMessageUids)) {
-                    return false;
-                }
+        for (SearchQuery.Criterion criterion : criteria) {
+            if (!isMatch(criterion, message, recentMessageUids)) {
+                return false;
             }
         }
         return true;
@@ -348,9 +575,12 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
     }
 
     private boolean matches(SearchQuery.UidCriterion criterion, MailboxMessage message) {
+        return isInRanges(criterion, message.getUid());
+    }
+
+    private static boolean isInRanges(SearchQuery.UidCriterion criterion, MessageUid uid) {
         SearchQuery.UidInOperator operator = criterion.getOperator();
         UidRange[] ranges = operator.getRange();
-        MessageUid uid = message.getUid();
         return Arrays.stream(ranges)
             .anyMatch(numericRange -> numericRange.isIn(uid));
     }
@@ -512,33 +742,24 @@ public class MessageSearches implements Iterable<SimpleMessageSearchIndex.Search
     }
 
     private boolean matches(SearchQuery.SizeCriterion criterion, MailboxMessage message) throws UnsupportedSearchException {
-        SearchQuery.NumericOperator operator = criterion.getOperator();
-        long size = message.getFullContentOctets();
-        long value = operator.getValue();
-        switch (operator.getType()) {
-        case LESS_THAN:
-            return size < value;
-        case GREATER_THAN:
-            return size > value;
-        case EQUALS:
-            return size == value;
-        default:
-            throw new UnsupportedSearchException();
-        }
+        return matches(criterion.getOperator(), message.getFullContentOctets());
     }
 
     private boolean matches(SearchQuery.ModSeqCriterion criterion, MailboxMessage message)
             throws UnsupportedSearchException {
-        SearchQuery.NumericOperator operator = criterion.getOperator();
         ModSeq modSeq = message.getModSeq();
+        return matches(criterion.getOperator(), modSeq.asLong());
+    }
+
+    private static boolean matches(SearchQuery.NumericOperator operator, long actual) throws UnsupportedSearchException {
         long value = operator.getValue();
         switch (operator.getType()) {
         case LESS_THAN:
-            return modSeq.asLong() < value;
+            return actual < value;
         case GREATER_THAN:
-            return modSeq.asLong() > value;
+            return actual > value;
         case EQUALS:
-            return modSeq.asLong() == value;
+            return actual == value;
         default:
             throw new UnsupportedSearchException();
         }
@@ -22,12 +22,10 @@ import static org.apache.james.mailbox.store.mail.AbstractMessageMapper.UNLIMITE
 
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.function.Function;
 
 import jakarta.inject.Inject;
 
@@ -37,7 +35,9 @@ import org.apache.james.mailbox.MailboxManager.SearchCapabilities;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.exception.UnsupportedSearchException;
 import org.apache.james.mailbox.extractor.TextExtractor;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageId;
@@ -55,10 +55,10 @@ import org.apache.james.mailbox.store.mail.MessageMapperFactory;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.comparator.CombinedComparator;
 import org.apache.james.util.ReactorUtils;
-import org.apache.james.util.streams.Iterators;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -68,10 +68,17 @@ import reactor.core.publisher.Mono;
  * to match them against the {@link SearchQuery}.
  * 
  * This works with every implementation but is SLOW.
- * 
  *
+ * Criteria answerable from {@link MessageMapper#listMessagesMetadata} are evaluated first, so that only the remaining
+ * candidates get loaded. Content matching is performed concurrently.
+ *
+ * Unlimited searches load the remaining candidates in bulk, content included if needed. Limited searches load and sort
+ * candidates without their content: the content of a candidate is only loaded, once sorted, if it matches the criteria
+ * not reading the content, and matching stops once the requested limit is reached.
  */
 public class SimpleMessageSearchIndex implements MessageSearchIndex {
+    private static final int MATCHING_CONCURRENCY = ReactorUtils.DEFAULT_CONCURRENCY;
+    private static final long UNLIMITED_SEARCH = Long.MAX_VALUE;
 
     private final MessageMapperFactory messageMapperFactory;
     private final MailboxMapperFactory mailboxMapperFactory;
@@ -114,32 +121,6 @@ public class SimpleMessageSearchIndex implements MessageSearchIndex {
         return null;
     }
     
-    /**
-     * Walks down the query tree's conjunctions to find the highest necessary mail fetch type.
-     * @param crits - list of Criterion to search from
-     * @return required fetch type - metadata, headers, or full
-     */
-    private static FetchType getFetchTypeForCriteria(List<Criterion> crits) {
-        return crits.stream()
-            .map(SimpleMessageSearchIndex::getFetchTypeForCriterion)
-            .reduce(SimpleMessageSearchIndex::maxFetchType)
-            .orElse(FetchType.METADATA);
-    }
-
-    private static FetchType getFetchTypeForCriterion(Criterion crit) {
-        if (crit instanceof ConjunctionCriterion) {
-            return getFetchTypeForCriteria(((ConjunctionCriterion) crit).getCriteria());
-        }
-        if (crit instanceof SearchQuery.AllCriterion || crit instanceof SearchQuery.TextCriterion) {
-            return FetchType.FULL;
-        }
-        if (crit instanceof SearchQuery.HeaderCriterion || crit instanceof SearchQuery.MimeMessageIDCriterion
-            || crit instanceof SearchQuery.SubjectCriterion) {
-            return FetchType.HEADERS;
-        }
-        return FetchType.METADATA;
-    }
-    
     /**
      * Searches a list of query sort options for the highest necessary mail fetch type.
      * @param sorts - list of Sort to search
@@ -177,38 +158,75 @@ public class SimpleMessageSearchIndex implements MessageSearchIndex {
     @Override
     public Flux<MessageUid> search(MailboxSession session, final Mailbox mailbox, SearchQuery query) {
         Preconditions.checkArgument(session != null, "'session' is mandatory");
-        return searchResults(session, Flux.just(mailbox), query)
+        return searchResults(session, Flux.just(mailbox), query, UNLIMITED_SEARCH)
             .filter(searchResult -> searchResult.getMailboxId().equals(mailbox.getMailboxId()))
             .map(SearchResult::getMessageUid);
     }
 
-    private Set<MailboxMessage> searchResults(MailboxSession session, Mailbox mailbox, SearchQuery query) throws MailboxException {
-        MessageMapper mapper = messageMapperFactory.getMessageMapper(session);
+    /**
+     * Fetch type candidates are loaded, and sorted, with. For limited searches, criteria reading the content are only
+     * evaluated once candidates got sorted, against the ones matching the other criteria.
+     */
+    private static FetchType candidatesFetchType(SearchQuery query, boolean limited) {
+        return query.getCriteria().stream()
+            .map(criterion -> MessageSearches.cost(criterion).getFetchType())
+            .filter(fetchType -> !limited || fetchType != FetchType.FULL)
+            .reduce(getFetchTypeForSorts(query.getSorts()), SimpleMessageSearchIndex::maxFetchType);
+    }
+
+    private Flux<MailboxMessage> candidates(MessageMapper mapper, Mailbox mailbox, SearchQuery query, FetchType fetchType) {
+        List<MessageRange> ranges = rangesToSearch(query);
+        List<Criterion> metadataCriteria = query.getCriteria().stream()
+            .filter(criterion -> MessageSearches.cost(criterion) == MessageSearches.Cost.MESSAGE_METADATA)
+            .collect(ImmutableList.toImmutableList());
 
-        final SortedSet<MailboxMessage> hitSet = new TreeSet<>();
+        if (fetchType == FetchType.METADATA || metadataCriteria.isEmpty()) {
+            return Flux.fromIterable(ranges)
+                .concatMap(range -> mapper.findInMailboxReactive(mailbox, range, fetchType, UNLIMITED))
+                .distinct(MailboxMessage::getUid);
+        }
+        // Discard messages not matching metadata criteria before loading headers or content of the remaining ones
+        return Flux.fromIterable(ranges)
+            .concatMap(range -> mapper.listMessagesMetadata(mailbox, range))
+            .filter(metadata -> matchesMetadata(metadataCriteria, metadata, query.getRecentMessageUids()))
+            .map(metadata -> metadata.getComposedMessageId().getUid())
+            .distinct()
+            .collectList()
+            .flatMapIterable(MessageRange::toRanges)
+            .concatMap(range -> mapper.findInMailboxReactive(mailbox, range, fetchType, UNLIMITED));
+    }
+
+    private static Mono<MailboxMessage> loadContent(MessageMapper mapper, Map<MailboxId, Mailbox> mailboxes, MailboxMessage message) {
+        return mapper.findInMailboxReactive(mailboxes.get(message.getMailboxId()), MessageRange.one(message.getUid()), FetchType.FULL, 1)
+            .next();
+    }
 
+    private static List<MessageRange> rangesToSearch(SearchQuery query) {
         UidCriterion uidCrit = findConjugatedUidCriterion(query.getCriteria());
         if (uidCrit != null) {
             // if there is a conjugated uid range criterion in the query tree we can optimize by
             // only fetching this uid range
-            FetchType fetchType = maxFetchType(FetchType.METADATA, getFetchTypeForSorts(query.getSorts()));
             UidRange[] ranges = uidCrit.getOperator().getRange();
+            ImmutableList.Builder<MessageRange> messageRanges = ImmutableList.builder();
             for (UidRange r : ranges) {
-                Iterator<MailboxMessage> it = mapper.findInMailbox(mailbox, MessageRange.range(r.getLowValue(), r.getHighValue()), fetchType, UNLIMITED);
-                while (it.hasNext()) {
-                    hitSet.add(it.next());
-                }
+                messageRanges.add(MessageRange.range(r.getLowValue(), r.getHighValue()));
             }
-        } else {
-            // we have to fetch all messages; try to limit their memory requirements
-            FetchType fetchType = maxFetchType(getFetchTypeForCriteria(query.getCriteria()), getFetchTypeForSorts(query.getSorts()));
-            Iterator<MailboxMessage> messages = mapper.findInMailbox(mailbox, MessageRange.all(), fetchType, UNLIMITED);
-            while (messages.hasNext()) {
-                MailboxMessage m = messages.next();
-                hitSet.add(m);
+            return messageRanges.build();
+        }
+        return ImmutableList.of(MessageRange.all());
+    }
+
+    private static boolean matchesMetadata(List<Criterion> criteria, ComposedMessageIdWithMetaData metadata, Collection<MessageUid> recentMessageUids) {
+        try {
+            for (Criterion criterion : criteria) {
+                if (!MessageSearches.matchesMetadata(criterion, metadata, recentMessageUids)) {
+                    return false;
+                }
             }
+            return true;
+        } catch (UnsupportedSearchException e) {
+            throw new RuntimeException(e);
         }
-        return hitSet;
     }
 
     @Override
@@ -219,26 +237,31 @@ public class SimpleMessageSearchIndex implements MessageSearchIndex {
             Flux.fromIterable(mailboxIds)
             .concatMap(mailboxMapper::findMailboxById);
 
-        return getAsMessageIds(searchResults(session, filteredMailboxes, searchQuery), limit);
+        return getAsMessageIds(searchResults(session, filteredMailboxes, searchQuery, limit), limit);
     }
 
-    private Flux<? extends SearchResult> searchResults(MailboxSession session, Flux<Mailbox> mailboxes, SearchQuery query) {
-        return mailboxes.concatMap(mailbox -> Mono.fromCallable(() -> getSearchResultStream(session, query, mailbox))
-                .flatMapMany(Flux::fromStream)
-                .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER))
-            .collectSortedList(CombinedComparator.create(query.getSorts()))
-            .flatMapMany(list -> Iterators.toFlux(new MessageSearches(list.iterator(), query, textExtractor, attachmentContentLoader, session).iterator()))
+    private Flux<? extends SearchResult> searchResults(MailboxSession session, Flux<Mailbox> mailboxes, SearchQuery query, long limit) {
+        boolean limited = limit != UNLIMITED_SEARCH;
+        FetchType fetchType = candidatesFetchType(query, limited);
+        return Mono.fromCallable(() -> messageMapperFactory.getMessageMapper(session))
+            .zipWith(mailboxes.collectMap(Mailbox::getMailboxId, Function.identity(), LinkedHashMap::new))
+            .flatMapMany(mapperAndMailboxes -> {
+                MessageMapper mapper = mapperAndMailboxes.getT1();
+                Map<MailboxId, Mailbox> mailboxesById = mapperAndMailboxes.getT2();
+                return Flux.fromIterable(mailboxesById.values())
+                    .concatMap(mailbox -> candidates(mapper, mailbox, query, fetchType))
+                    .collectSortedList(CombinedComparator.create(query.getSorts()))
+                    .flatMapMany(list -> {
+                        MessageSearches searches = new MessageSearches(list.iterator(), query, textExtractor, attachmentContentLoader, session);
+                        if (limited) {
+                            return searches.searchSorted(MATCHING_CONCURRENCY, fetchType, message -> loadContent(mapper, mailboxesById, message));
+                        }
+                        return searches.searchSorted(MATCHING_CONCURRENCY);
+                    });
+            })
             .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER);
     }
 
-    private Stream<MailboxMessage> getSearchResultStream(MailboxSession session, SearchQuery query, Mailbox mailbox) {
-        try {
-            return searchResults(session, mailbox, query).stream();
-        } catch (MailboxException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private Flux<MessageId> getAsMessageIds(Flux<? extends SearchResult> temp, long limit) {
         return temp.map(searchResult -> searchResult.getMessageId().get())
             .filter(SearchUtil.distinct())
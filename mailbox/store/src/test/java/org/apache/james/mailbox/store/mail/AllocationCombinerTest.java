@@ -0,0 +1,181 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.apache.james.mailbox.model.TestId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class AllocationCombinerTest {
+    private static final TestId MAILBOX_ID = TestId.of(1);
+    private static final TestId OTHER_MAILBOX_ID = TestId.of(2);
+
+    private AtomicLong lastValue;
+    private List<Integer> reservedCounts;
+    private AllocationCombiner<Long> testee;
+
+    @BeforeEach
+    void setUp() {
+        lastValue = new AtomicLong();
+        reservedCounts = new CopyOnWriteArrayList<>();
+        testee = new AllocationCombiner<>();
+    }
+
+    private Mono<List<Long>> reserve(int count) {
+        return Mono.fromCallable(() -> {
+            reservedCounts.add(count);
+            long highest = lastValue.addAndGet(count);
+            return LongStream.rangeClosed(highest - count + 1, highest)
+                .boxed()
+                .collect(ImmutableList.toImmutableList());
+        });
+    }
+
+    private Mono<List<Long>> slowlyReserve(int count) {
+        return reserve(count).delayElement(Duration.ofMillis(10));
+    }
+
+    @Test
+    void allocateShouldReserveASingleValueWhenNoConcurrency() {
+        assertThat(testee.allocate(MAILBOX_ID, this::reserve).block()).isEqualTo(1L);
+        assertThat(testee.allocate(MAILBOX_ID, this::reserve).block()).isEqualTo(2L);
+
+        assertThat(reservedCounts).containsExactly(1, 1);
+    }
+
+    @Test
+    void allocationsRequestedDuringAReservationShouldBeServedByASingleReservation() {
+        Sinks.One<List<Long>> firstReservation = Sinks.one();
+        Mono<Long> first = testee.allocate(MAILBOX_ID, count -> firstReservation.asMono()).cache();
+        first.subscribe();
+
+        Mono<List<Long>> others = Flux.range(0, 10)
+            .flatMap(i -> testee.allocate(MAILBOX_ID, this::reserve))
+            .collectList()
+            .cache();
+        others.subscribe();
+
+        firstReservation.tryEmitValue(ImmutableList.of(0L));
+
+        assertThat(first.block()).isEqualTo(0L);
+        assertThat(others.block()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(reservedCounts).containsExactly(10);
+    }
+
+    @Test
+    void batchesShouldNotExceedMaxBatchSize() {
+        testee = new AllocationCombiner<>(4);
+        Sinks.One<List<Long>> firstReservation = Sinks.one();
+        testee.allocate(MAILBOX_ID, count -> firstReservation.asMono()).subscribe();
+
+        Mono<List<Long>> others = Flux.range(0, 10)
+            .flatMap(i -> testee.allocate(MAILBOX_ID, this::reserve))
+            .collectList()
+            .cache();
+        others.subscribe();
+
+        firstReservation.tryEmitValue(ImmutableList.of(0L));
+
+        assertThat(others.block()).hasSize(10);
+        assertThat(reservedCounts).containsExactly(4, 4, 2);
+    }
+
+    @Test
+    void concurrentAllocationsShouldAllGetDistinctValues() {
+        List<Long> values = Flux.range(0, 1000)
+            .flatMap(i -> testee.allocate(MAILBOX_ID, this::slowlyReserve), 1000)
+            .collectList()
+            .block();
+
+        assertThat(values)
+            .hasSize(1000)
+            .doesNotHaveDuplicates();
+        assertThat(reservedCounts.size()).isLessThan(1000);
+    }
+
+    @Test
+    void allocationsOfDistinctMailboxesShouldNotBeCombined() {
+        Sinks.One<List<Long>> blockedReservation = Sinks.one();
+        testee.allocate(MAILBOX_ID, count -> blockedReservation.asMono()).subscribe();
+
+        assertThat(testee.allocate(OTHER_MAILBOX_ID, this::reserve).block()).isEqualTo(1L);
+    }
+
+    @Test
+    void reservationFailureShouldFailTheWholeBatch() {
+        Sinks.One<List<Long>> firstReservation = Sinks.one();
+        testee.allocate(MAILBOX_ID, count -> firstReservation.asMono()).subscribe(any -> { }, any -> { });
+
+        Mono<List<Long>> others = Flux.range(0, 3)
+            .flatMap(i -> testee.allocate(MAILBOX_ID, count -> Mono.error(new RuntimeException("boom"))))
+            .collectList()
+            .cache();
+        others.subscribe(any -> { }, any -> { });
+
+        firstReservation.tryEmitValue(ImmutableList.of(0L));
+
+        assertThatThrownBy(others::block).hasMessage("boom");
+    }
+
+    @Test
+    void allocationsShouldResumeAfterAFailedReservation() {
+        assertThatThrownBy(() -> testee.allocate(MAILBOX_ID, count -> Mono.error(new RuntimeException("boom"))).block())
+            .hasMessage("boom");
+
+        assertThat(testee.allocate(MAILBOX_ID, this::reserve).block()).isEqualTo(1L);
+    }
+
+    @Test
+    void allocateShouldFailWhenTheReservationReturnsTooFewValues() {
+        Sinks.One<List<Long>> firstReservation = Sinks.one();
+        testee.allocate(MAILBOX_ID, count -> firstReservation.asMono()).subscribe();
+
+        Mono<List<Long>> others = Flux.range(0, 2)
+            .flatMap(i -> testee.allocate(MAILBOX_ID, count -> Mono.just(ImmutableList.of(1L))))
+            .collectList()
+            .cache();
+        others.subscribe(any -> { }, any -> { });
+
+        firstReservation.tryEmitValue(ImmutableList.of(0L));
+
+        assertThatThrownBy(others::block).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void allocateShouldFailWhenTheReservationIsEmpty() {
+        assertThatThrownBy(() -> testee.allocate(MAILBOX_ID, count -> Mono.empty()).block())
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
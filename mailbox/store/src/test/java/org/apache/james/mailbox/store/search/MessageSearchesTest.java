@@ -0,0 +1,188 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.store.MessageBuilder;
+import org.apache.james.mailbox.store.mail.MessageMapper.FetchType;
+import org.apache.james.mailbox.store.mail.model.DefaultMessageId;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
+import org.junit.jupiter.api.Test;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Mono;
+
+class MessageSearchesTest {
+    private static final DefaultMessageId MESSAGE_ID = new DefaultMessageId();
+    private static final ComposedMessageIdWithMetaData METADATA = ComposedMessageIdWithMetaData.builder()
+        .composedMessageId(new ComposedMessageId(TestId.of(1), MESSAGE_ID, MessageUid.of(12)))
+        .flags(new Flags(Flags.Flag.SEEN))
+        .modSeq(ModSeq.of(42))
+        .threadId(ThreadId.fromBaseMessageId(MESSAGE_ID))
+        .build();
+
+    @Test
+    void costShouldReflectDataNeededByTheCriterion() {
+        assertThat(MessageSearches.cost(SearchQuery.flagIsSet(Flags.Flag.SEEN))).isEqualTo(MessageSearches.Cost.MESSAGE_METADATA);
+        assertThat(MessageSearches.cost(SearchQuery.sizeLessThan(12))).isEqualTo(MessageSearches.Cost.METADATA);
+        assertThat(MessageSearches.cost(SearchQuery.hasAttachment())).isEqualTo(MessageSearches.Cost.ATTACHMENTS_METADATA);
+        assertThat(MessageSearches.cost(SearchQuery.headerExists("Subject"))).isEqualTo(MessageSearches.Cost.HEADERS);
+        assertThat(MessageSearches.cost(SearchQuery.bodyContains("any"))).isEqualTo(MessageSearches.Cost.CONTENT);
+        assertThat(MessageSearches.cost(SearchQuery.attachmentContains("any"))).isEqualTo(MessageSearches.Cost.ATTACHMENTS_CONTENT);
+    }
+
+    @Test
+    void costOfAConjunctionShouldBeTheCostOfItsMostExpensiveCriterion() {
+        assertThat(MessageSearches.cost(SearchQuery.or(SearchQuery.flagIsSet(Flags.Flag.SEEN), SearchQuery.headerExists("Subject"))))
+            .isEqualTo(MessageSearches.Cost.HEADERS);
+    }
+
+    @Test
+    void allShouldOnlyNeedMetadata() {
+        assertThat(MessageSearches.cost(SearchQuery.all()).getFetchType()).isEqualTo(FetchType.METADATA);
+    }
+
+    @Test
+    void planShouldOrderCriteriaFromTheCheapest() {
+        SearchQuery.Criterion body = SearchQuery.bodyContains("any");
+        SearchQuery.Criterion header = SearchQuery.headerExists("Subject");
+        SearchQuery.Criterion size = SearchQuery.sizeLessThan(12);
+        SearchQuery.Criterion flag = SearchQuery.flagIsSet(Flags.Flag.SEEN);
+
+        assertThat(MessageSearches.plan(ImmutableList.of(body, header, size, flag)))
+            .containsExactly(flag, size, header, body);
+    }
+
+    @Test
+    void planShouldOrderCriteriaOfNestedConjunctions() {
+        SearchQuery.Criterion body = SearchQuery.bodyContains("any");
+        SearchQuery.Criterion flag = SearchQuery.flagIsSet(Flags.Flag.SEEN);
+
+        assertThat(MessageSearches.plan(ImmutableList.of(SearchQuery.or(body, flag))))
+            .containsExactly(SearchQuery.or(flag, body));
+    }
+
+    @Test
+    void matchesMetadataShouldEvaluateFlags() throws Exception {
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.flagIsSet(Flags.Flag.SEEN), METADATA, ImmutableList.of())).isTrue();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.flagIsSet(Flags.Flag.FLAGGED), METADATA, ImmutableList.of())).isFalse();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.flagIsSet("custom"), METADATA, ImmutableList.of())).isFalse();
+    }
+
+    @Test
+    void matchesMetadataShouldEvaluateRecentFlagAgainstRecentUids() throws Exception {
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.flagIsSet(Flags.Flag.RECENT), METADATA, ImmutableList.of(MessageUid.of(12)))).isTrue();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.flagIsSet(Flags.Flag.RECENT), METADATA, ImmutableList.of())).isFalse();
+    }
+
+    @Test
+    void matchesMetadataShouldEvaluateUidsAndModSeq() throws Exception {
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.uid(new SearchQuery.UidRange(MessageUid.of(10), MessageUid.of(15))), METADATA, ImmutableList.of())).isTrue();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.uid(new SearchQuery.UidRange(MessageUid.of(13), MessageUid.of(15))), METADATA, ImmutableList.of())).isFalse();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.modSeqGreaterThan(41), METADATA, ImmutableList.of())).isTrue();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.modSeqLessThan(41), METADATA, ImmutableList.of())).isFalse();
+    }
+
+    @Test
+    void matchesMetadataShouldEvaluateConjunctions() throws Exception {
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.not(SearchQuery.flagIsSet(Flags.Flag.SEEN)), METADATA, ImmutableList.of())).isFalse();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.or(SearchQuery.flagIsSet(Flags.Flag.FLAGGED), SearchQuery.modSeqEquals(42)), METADATA, ImmutableList.of())).isTrue();
+        assertThat(MessageSearches.matchesMetadata(SearchQuery.and(SearchQuery.flagIsSet(Flags.Flag.FLAGGED), SearchQuery.modSeqEquals(42)), METADATA, ImmutableList.of())).isFalse();
+    }
+
+    @Test
+    void searchSortedShouldPreserveMessageOrder() throws Exception {
+        List<MailboxMessage> messages = messages(10);
+
+        List<MessageUid> uids = new MessageSearches(messages.iterator(), SearchQuery.of(SearchQuery.bodyContains("fox")), null, null, null)
+            .searchSorted(4)
+            .map(SimpleMessageSearchIndex.SearchResult::getMessageUid)
+            .collectList()
+            .block();
+
+        assertThat(uids).containsExactlyElementsOf(messages.stream()
+            .map(MailboxMessage::getUid)
+            .collect(ImmutableList.toImmutableList()));
+    }
+
+    @Test
+    void searchSortedShouldStopEvaluatingMessagesOnceEnoughResultsAreTaken() throws Exception {
+        List<MailboxMessage> messages = messages(100);
+        AtomicInteger pulledMessages = new AtomicInteger();
+        Iterator<MailboxMessage> countingIterator = messages.stream()
+            .peek(any -> pulledMessages.incrementAndGet())
+            .iterator();
+
+        new MessageSearches(countingIterator, SearchQuery.of(SearchQuery.bodyContains("fox")), null, null, null)
+            .searchSorted(4)
+            .take(2)
+            .collectList()
+            .block();
+
+        assertThat(pulledMessages.get()).isLessThan(messages.size());
+    }
+
+    @Test
+    void searchSortedShouldOnlyLoadContentOfMessagesMatchingOtherCriteria() {
+        List<MailboxMessage> messages = messages(10);
+        AtomicInteger loadedMessages = new AtomicInteger();
+        SearchQuery query = SearchQuery.of(SearchQuery.bodyContains("fox"), SearchQuery.headerContains("Subject", "message 3"));
+
+        List<MessageUid> uids = new MessageSearches(messages.iterator(), query, null, null, null)
+            .searchSorted(4, FetchType.HEADERS, message -> {
+                loadedMessages.incrementAndGet();
+                return Mono.just(message);
+            })
+            .map(SimpleMessageSearchIndex.SearchResult::getMessageUid)
+            .collectList()
+            .block();
+
+        assertThat(uids).containsExactly(MessageUid.of(3));
+        assertThat(loadedMessages.get()).isEqualTo(1);
+    }
+
+    private List<MailboxMessage> messages(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(Throwing.intFunction(i -> new MessageBuilder()
+                .uid(MessageUid.of(i))
+                .header("Subject", "message " + i)
+                .body("The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII))
+                .build()))
+            .collect(ImmutableList.toImmutableList());
+    }
+}
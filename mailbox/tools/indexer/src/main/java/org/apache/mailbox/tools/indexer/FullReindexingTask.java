@@ -20,11 +20,13 @@
 package org.apache.mailbox.tools.indexer;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.util.Optional;
 
 import jakarta.inject.Inject;
 
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 import org.apache.james.task.Task;
 import org.apache.james.task.TaskExecutionDetails;
 import org.apache.james.task.TaskType;
@@ -38,16 +40,23 @@ public class FullReindexingTask implements Task {
     private final ReIndexerPerformer reIndexerPerformer;
     private final ReIndexingContext reIndexingContext;
     private final RunningOptions runningOptions;
+    private final ReIndexingCheckpoint resumedCheckpoint;
 
     @Inject
     public FullReindexingTask(ReIndexerPerformer reIndexerPerformer, RunningOptions runningOptions) {
+        this(reIndexerPerformer, runningOptions, ReIndexingCheckpoint.NONE);
+    }
+
+    public FullReindexingTask(ReIndexerPerformer reIndexerPerformer, RunningOptions runningOptions, ReIndexingCheckpoint resumedCheckpoint) {
         this.reIndexerPerformer = reIndexerPerformer;
-        this.reIndexingContext = new ReIndexingContext();
+        this.reIndexingContext = new ReIndexingContext(resumedCheckpoint);
         this.runningOptions = runningOptions;
+        this.resumedCheckpoint = resumedCheckpoint;
     }
 
     @Override
     public Result run() {
+        reIndexingContext.recordStart(Clock.systemUTC().instant());
         return reIndexerPerformer.reIndexAllMessages(reIndexingContext, runningOptions)
             .onErrorResume(e -> Mono.just(Result.PARTIAL))
             .block();
@@ -62,13 +71,24 @@ public class FullReindexingTask implements Task {
         return runningOptions;
     }
 
+    /**
+     * Checkpoint of the interrupted re-indexing this task resumes, {@link ReIndexingCheckpoint#NONE} otherwise.
+     */
+    public ReIndexingCheckpoint getResumedCheckpoint() {
+        return resumedCheckpoint;
+    }
+
     @Override
     public Optional<TaskExecutionDetails.AdditionalInformation> details() {
+        Instant now = Clock.systemUTC().instant();
         return Optional.of(new ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask(
             reIndexingContext.successfullyReprocessedMailCount(),
             reIndexingContext.failedReprocessingMailCount(),
             reIndexingContext.failures(),
-            Clock.systemUTC().instant(),
-            runningOptions));
+            now,
+            runningOptions,
+            Optional.of(reIndexingContext.processedMailboxCount()),
+            reIndexingContext.throughput(now),
+            reIndexingContext.checkpoint()));
     }
 }
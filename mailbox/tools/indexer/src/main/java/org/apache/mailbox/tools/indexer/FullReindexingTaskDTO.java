@@ -21,6 +21,7 @@ package org.apache.mailbox.tools.indexer;
 
 import static org.apache.mailbox.tools.indexer.FullReindexingTask.FULL_RE_INDEXING;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.james.json.DTOModule;
@@ -28,11 +29,13 @@ import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.server.task.json.dto.TaskDTO;
 import org.apache.james.server.task.json.dto.TaskDTOModule;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class FullReindexingTaskDTO implements TaskDTO {
     private static FullReindexingTaskDTO toDTO(FullReindexingTask task, String type) {
-        return new FullReindexingTaskDTO(type, Optional.of(RunningOptionsDTO.toDTO(task.getRunningOptions())));
+        return new FullReindexingTaskDTO(type, Optional.of(RunningOptionsDTO.toDTO(task.getRunningOptions())),
+            RunningOptionsDTO.toDTO(task.getResumedCheckpoint()));
     }
 
     public static TaskDTOModule<FullReindexingTask, FullReindexingTaskDTO> module(ReIndexerPerformer reIndexerPerformer) {
@@ -47,11 +50,14 @@ public class FullReindexingTaskDTO implements TaskDTO {
 
     private final String type;
     private final Optional<RunningOptionsDTO> runningOptions;
+    private final Optional<List<RunningOptionsDTO.PartitionDTO>> completedPartitions;
 
     public FullReindexingTaskDTO(@JsonProperty("type") String type,
-                                 @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions) {
+                                 @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions,
+                                 @JsonProperty("completedPartitions") Optional<List<RunningOptionsDTO.PartitionDTO>> completedPartitions) {
         this.type = type;
         this.runningOptions = runningOptions;
+        this.completedPartitions = completedPartitions;
     }
 
     @Override
@@ -63,10 +69,16 @@ public class FullReindexingTaskDTO implements TaskDTO {
         return runningOptions;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<List<RunningOptionsDTO.PartitionDTO>> getCompletedPartitions() {
+        return completedPartitions;
+    }
+
     private FullReindexingTask toDomainObject(ReIndexerPerformer reIndexerPerformer) {
         return new FullReindexingTask(reIndexerPerformer,
             runningOptions
                 .map(RunningOptionsDTO::toDomainObject)
-                .orElse(RunningOptions.DEFAULT));
+                .orElse(RunningOptions.DEFAULT),
+            RunningOptionsDTO.toCheckpoint(completedPartitions));
     }
 }
@@ -27,6 +27,7 @@ import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.indexer.ReIndexer;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
@@ -77,6 +78,11 @@ public class ReIndexerImpl implements ReIndexer {
         return new FullReindexingTask(reIndexerPerformer, runningOptions);
     }
 
+    @Override
+    public Task reIndex(RunningOptions runningOptions, ReIndexingCheckpoint checkpoint) {
+        return new FullReindexingTask(reIndexerPerformer, runningOptions, checkpoint);
+    }
+
     @Override
     public Task reIndex(Username username, RunningOptions runningOptions) {
         return new UserReindexingTask(reIndexerPerformer, username, runningOptions);
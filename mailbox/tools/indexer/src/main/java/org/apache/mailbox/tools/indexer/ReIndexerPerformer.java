@@ -22,6 +22,9 @@ package org.apache.mailbox.tools.indexer;
 import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 import jakarta.inject.Inject;
 import jakarta.mail.Flags;
@@ -31,6 +34,8 @@ import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions.Partition;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures.ReIndexingFailure;
 import org.apache.james.mailbox.model.Mailbox;
@@ -56,9 +61,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class ReIndexerPerformer {
-    public static final int MAILBOX_CONCURRENCY = 1;
+    /**
+     * Count of sub-partitions a full re-indexing splits its mailboxes into. Completed sub-partitions are recorded
+     * and skipped when the re-indexing is resumed.
+     */
+    public static final int CHECKPOINT_PARTITION_COUNT = 16;
     public static final int ONE = 1;
     public static final Duration INDEXING_TIMEOUT = Duration.ofMinutes(1);
+    private static final boolean CUT_BEFORE = true;
 
     private static class ReIndexingEntry {
         private final Mailbox mailbox;
@@ -84,6 +94,54 @@ public class ReIndexerPerformer {
         }
     }
 
+    private static class IndexableMessage {
+        private final ReIndexingEntry entry;
+        private final MailboxMessage message;
+
+        IndexableMessage(ReIndexingEntry entry, MailboxMessage message) {
+            this.entry = entry;
+            this.message = message;
+        }
+
+        public ReIndexingEntry getEntry() {
+            return entry;
+        }
+
+        public MailboxMessage getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Cuts a bulk before a message of another mailbox, or before a message that would get the bulk over its size.
+     */
+    private static class BulkBoundary implements Predicate<IndexableMessage> {
+        private final long bulkSizeInBytes;
+        private Optional<MailboxId> currentMailbox;
+        private long currentSize;
+
+        BulkBoundary(long bulkSizeInBytes) {
+            this.bulkSizeInBytes = bulkSizeInBytes;
+            this.currentMailbox = Optional.empty();
+            this.currentSize = 0;
+        }
+
+        @Override
+        public boolean test(IndexableMessage indexableMessage) {
+            MailboxId mailboxId = indexableMessage.getEntry().getMailbox().getMailboxId();
+            long size = indexableMessage.getMessage().getFullContentOctets();
+            boolean cut = currentMailbox.map(current -> !current.equals(mailboxId)).orElse(false)
+                || (currentSize > 0 && currentSize + size > bulkSizeInBytes);
+
+            if (cut) {
+                currentSize = 0;
+            }
+            currentMailbox = Optional.of(mailboxId);
+            currentSize += size;
+            return cut;
+        }
+    }
+
     private interface Failure {
         void recordFailure(ReIndexingContext context);
     }
@@ -133,6 +191,7 @@ public class ReIndexerPerformer {
     private static final int SINGLE_MESSAGE = 1;
     private static final String RE_INDEXING = "re-indexing";
     private static final Username RE_INDEXER_PERFORMER_USER = Username.of(RE_INDEXING);
+    private static final Partition ALL_MAILBOXES = Partition.of(0, 1);
 
     private final MailboxManager mailboxManager;
     private final ListeningMessageSearchIndex messageSearchIndex;
@@ -147,16 +206,49 @@ public class ReIndexerPerformer {
         this.mailboxSessionMapperFactory = mailboxSessionMapperFactory;
     }
 
+    /**
+     * Re-indexes the mailboxes of the requested partition, split into {@link #CHECKPOINT_PARTITION_COUNT}
+     * sub-partitions. Sub-partitions completed without failures are recorded in the context, and the ones it
+     * already records as completed are skipped.
+     */
     Mono<Result> reIndexAllMessages(ReIndexingContext reIndexingContext, RunningOptions runningOptions) {
         MailboxSession mailboxSession = mailboxManager.createSystemSession(RE_INDEXER_PERFORMER_USER);
-        LOGGER.info("Starting a full reindex");
+        ReIndexingCheckpoint checkpoint = reIndexingContext.checkpoint();
+        int partitionConcurrency = runningOptions.getPartitionConcurrency().orElse(RunningOptions.DEFAULT_PARTITION_CONCURRENCY);
+        // The rate limit is shared amongst the partitions being processed
+        int messagesPerSecond = Math.max(runningOptions.getMessagesPerSecond() / partitionConcurrency, ONE);
+        LOGGER.info("Starting a full reindex, {} partitions already completed", checkpoint.completedPartitions().size());
+
+        Flux<Result> results = Flux.fromStream(() -> runningOptions.getPartition()
+                .orElse(ALL_MAILBOXES)
+                .split(CHECKPOINT_PARTITION_COUNT))
+            .filter(partition -> !checkpoint.isCompleted(partition))
+            .flatMap(partition -> reIndexPartition(partition, mailboxSession, reIndexingContext, runningOptions, messagesPerSecond), partitionConcurrency);
+
+        return summarize(results)
+            .doFinally(any -> LOGGER.info("Full reindex finished"))
+            .doFinally(any -> mailboxManager.endProcessingRequest(mailboxSession));
+    }
 
+    private Mono<Result> reIndexPartition(Partition partition, MailboxSession mailboxSession, ReIndexingContext reIndexingContext,
+                                          RunningOptions runningOptions, int messagesPerSecond) {
         Flux<Either<Failure, ReIndexingEntry>> entriesToIndex = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession).list()
-            .flatMap(mailbox -> reIndexingEntriesForMailbox(mailbox, mailboxSession, runningOptions), MAILBOX_CONCURRENCY);
+            .filter(mailbox -> partition.includes(mailbox.getMailboxId()))
+            .flatMapSequential(mailbox -> reIndexingEntriesForMailbox(mailbox, mailboxSession, runningOptions)
+                .doOnComplete(reIndexingContext::recordProcessedMailbox), mailboxConcurrency(runningOptions));
 
-        return reIndexMessages(entriesToIndex, runningOptions, reIndexingContext)
-            .doFinally(any -> LOGGER.info("Full reindex finished"))
-            .doFinally(any -> mailboxManager.endProcessingRequest(mailboxSession));
+        return indexMessages(entriesToIndex, runningOptions, reIndexingContext, messagesPerSecond)
+            .reduce(Task::combine)
+            .switchIfEmpty(Mono.just(Result.COMPLETED))
+            .doOnNext(result -> {
+                if (result == Result.COMPLETED) {
+                    reIndexingContext.recordCompletedPartition(partition);
+                }
+            });
+    }
+
+    private int mailboxConcurrency(RunningOptions runningOptions) {
+        return runningOptions.getMailboxConcurrency().orElse(RunningOptions.DEFAULT_MAILBOX_CONCURRENCY);
     }
 
     Mono<Result> reIndexSingleMailbox(MailboxId mailboxId, ReIndexingContext reIndexingContext, RunningOptions runningOptions) {
@@ -179,7 +271,7 @@ public class ReIndexerPerformer {
 
         try {
             Flux<Either<Failure, ReIndexingEntry>> entriesToIndex = mailboxMapper.findMailboxWithPathLike(mailboxQuery.asUserBound())
-                .flatMap(mailbox -> reIndexingEntriesForMailbox(mailbox, mailboxSession, runningOptions), MAILBOX_CONCURRENCY);
+                .flatMapSequential(mailbox -> reIndexingEntriesForMailbox(mailbox, mailboxSession, runningOptions), mailboxConcurrency(runningOptions));
 
             return reIndexMessages(entriesToIndex, runningOptions, reIndexingContext)
                 .doFinally(any -> LOGGER.info("User {} reindex finished", username.asString()))
@@ -225,12 +317,12 @@ public class ReIndexerPerformer {
             Flux.fromIterable(previousReIndexingFailures.messageFailures())
                 .flatMap(this::createReindexingEntryFromFailure, ReactorUtils.DEFAULT_CONCURRENCY),
             Flux.fromIterable(previousReIndexingFailures.mailboxFailures())
-                .flatMap(mailboxId -> mapper.findMailboxById(mailboxId)
+                .flatMapSequential(mailboxId -> mapper.findMailboxById(mailboxId)
                     .flatMapMany(mailbox -> reIndexingEntriesForMailbox(mailbox, mailboxSession, runningOptions))
                     .onErrorResume(e -> {
                         LOGGER.warn("Failed to re-index {}", mailboxId, e);
                         return Mono.just(Either.left(new MailboxFailure(mailboxId)));
-                    }), MAILBOX_CONCURRENCY));
+                    }), mailboxConcurrency(runningOptions)));
 
         return reIndexMessages(entriesToIndex, runningOptions, reIndexingContext)
             .doFinally(any -> mailboxManager.endProcessingRequest(mailboxSession));
@@ -289,16 +381,106 @@ public class ReIndexerPerformer {
     }
 
     private Mono<Task.Result> reIndexMessages(Flux<Either<Failure, ReIndexingEntry>> entriesToIndex, RunningOptions runningOptions, ReIndexingContext reIndexingContext) {
-        return entriesToIndex.transform(
-            ReactorUtils.<Either<Failure, ReIndexingEntry>, Task.Result>throttle()
-                .elements(runningOptions.getMessagesPerSecond())
-                .per(Duration.ofSeconds(1))
-                .forOperation(entry -> reIndex(entry, reIndexingContext, runningOptions)))
+        return summarize(indexMessages(entriesToIndex, runningOptions, reIndexingContext, runningOptions.getMessagesPerSecond()));
+    }
+
+    private Flux<Task.Result> indexMessages(Flux<Either<Failure, ReIndexingEntry>> entriesToIndex, RunningOptions runningOptions,
+                                            ReIndexingContext reIndexingContext, int messagesPerSecond) {
+        return runningOptions.getBulkSizeInBytes()
+            .map(bulkSizeInBytes -> reIndexMessagesInBulks(entriesToIndex, runningOptions, reIndexingContext, messagesPerSecond, bulkSizeInBytes))
+            .orElseGet(() -> entriesToIndex.transform(
+                ReactorUtils.<Either<Failure, ReIndexingEntry>, Task.Result>throttle()
+                    .elements(messagesPerSecond)
+                    .per(Duration.ofSeconds(1))
+                    .forOperation(entry -> reIndex(entry, reIndexingContext, runningOptions))));
+    }
+
+    private Mono<Task.Result> summarize(Flux<Task.Result> results) {
+        return results
             .reduce(Task::combine)
-            .doFinally(signalType -> messageSearchIndex.postReindexing())
+            // Before completion, so that the index is ready once the task is over
+            .doOnTerminate(messageSearchIndex::postReindexing)
+            .doOnCancel(messageSearchIndex::postReindexing)
             .switchIfEmpty(Mono.just(Result.COMPLETED));
     }
 
+    private Flux<Task.Result> reIndexMessagesInBulks(Flux<Either<Failure, ReIndexingEntry>> entriesToIndex, RunningOptions runningOptions,
+                                                     ReIndexingContext reIndexingContext, int messagesPerSecond, int bulkSizeInBytes) {
+        // Reading messages stays throttled, only the writes to the index are grouped
+        return entriesToIndex.transform(
+                ReactorUtils.<Either<Failure, ReIndexingEntry>, Either<Task.Result, IndexableMessage>>throttle()
+                    .elements(messagesPerSecond)
+                    .per(Duration.ofSeconds(1))
+                    .forOperation(failureOrEntry -> readForIndexing(failureOrEntry, reIndexingContext, runningOptions)))
+            .publish(readEntries -> Flux.merge(
+                readEntries.filter(Either::isLeft)
+                    .map(Either::getLeft),
+                readEntries.filter(Either::isRight)
+                    .map(Either::get)
+                    .bufferUntil(new BulkBoundary(bulkSizeInBytes), CUT_BEFORE)
+                    .concatMap(bulk -> indexBulk(bulk, reIndexingContext))));
+    }
+
+    private Mono<Either<Task.Result, IndexableMessage>> readForIndexing(Either<Failure, ReIndexingEntry> failureOrEntry, ReIndexingContext reIndexingContext,
+                                                                      RunningOptions runningOptions) {
+        return failureOrEntry.fold(
+            failure -> {
+                failure.recordFailure(reIndexingContext);
+                return Mono.just(Either.left(Result.PARTIAL));
+            },
+            entry -> readForIndexing(entry, reIndexingContext, runningOptions));
+    }
+
+    private Mono<Either<Task.Result, IndexableMessage>> readForIndexing(ReIndexingEntry entry, ReIndexingContext reIndexingContext, RunningOptions runningOptions) {
+        return needsIndexing(entry, runningOptions)
+            .flatMap(needsIndexing -> {
+                if (needsIndexing) {
+                    return fullyReadMessage(entry)
+                        .map(message -> Either.<Task.Result, IndexableMessage>right(new IndexableMessage(entry, message)));
+                }
+                reIndexingContext.recordSuccess();
+                return Mono.just(Either.<Task.Result, IndexableMessage>left(Result.COMPLETED));
+            })
+            .timeout(INDEXING_TIMEOUT)
+            .onErrorResume(e -> {
+                LOGGER.warn("ReIndexing failed for {} {}", entry.getMailbox().generateAssociatedPath(), entry.getUid(), e);
+                reIndexingContext.recordFailureDetailsForMessage(entry.getMailbox().getMailboxId(), entry.getUid());
+                return Mono.just(Either.left(Result.PARTIAL));
+            });
+    }
+
+    private Mono<Boolean> needsIndexing(ReIndexingEntry entry, RunningOptions runningOptions) {
+        if (runningOptions.getMode() != RunningOptions.Mode.FIX_OUTDATED) {
+            return Mono.just(true);
+        }
+        return mailboxSessionMapperFactory.getMessageMapper(entry.getMailboxSession())
+            .findInMailboxReactive(entry.getMailbox(), MessageRange.one(entry.getUid()), MessageMapper.FetchType.METADATA, ONE)
+            .next()
+            .flatMap(message -> isIndexUpToDate(entry.getMailbox(), message))
+            .map(upToDate -> !upToDate);
+    }
+
+    private Mono<Task.Result> indexBulk(List<IndexableMessage> bulk, ReIndexingContext reIndexingContext) {
+        ReIndexingEntry first = bulk.get(0).getEntry();
+        List<MailboxMessage> messages = bulk.stream()
+            .map(IndexableMessage::getMessage)
+            .collect(ImmutableList.toImmutableList());
+
+        return messageSearchIndex.addAll(first.getMailboxSession(), first.getMailbox(), messages)
+            .timeout(INDEXING_TIMEOUT)
+            .then(Mono.fromCallable(() -> {
+                bulk.forEach(any -> reIndexingContext.recordSuccess());
+                return Result.COMPLETED;
+            }))
+            .onErrorResume(e -> {
+                LOGGER.warn("ReIndexing failed for a bulk of {} messages of {}", bulk.size(), first.getMailbox().generateAssociatedPath(), e);
+                bulk.forEach(indexableMessage -> reIndexingContext.recordFailureDetailsForMessage(
+                    indexableMessage.getEntry().getMailbox().getMailboxId(),
+                    indexableMessage.getEntry().getUid()));
+                return Mono.just(Result.PARTIAL);
+            });
+    }
+
     private Mono<Task.Result> reIndex(Either<Failure, ReIndexingEntry> failureOrEntry, ReIndexingContext reIndexingContext, RunningOptions runningOptions) {
         return toMono(failureOrEntry.map(entry -> reIndex(entry, runningOptions)))
             .map(this::flatten)
@@ -19,10 +19,15 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions.Partition;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.MailboxId;
 
@@ -33,12 +38,34 @@ class ReIndexingContext {
     private final AtomicInteger failedReprocessingMails;
     private final ConcurrentLinkedDeque<ReIndexingExecutionFailures.ReIndexingFailure> failures;
     private final ConcurrentLinkedDeque<MailboxId> mailboxFailures;
+    private final AtomicInteger processedMailboxes;
+    private final ConcurrentLinkedDeque<Partition> completedPartitions;
+    private volatile Optional<Instant> startedAt;
 
     ReIndexingContext() {
+        this(ReIndexingCheckpoint.NONE);
+    }
+
+    ReIndexingContext(ReIndexingCheckpoint checkpoint) {
         failedReprocessingMails = new AtomicInteger(0);
         successfullyReprocessedMails = new AtomicInteger(0);
         failures = new ConcurrentLinkedDeque<>();
         mailboxFailures = new ConcurrentLinkedDeque<>();
+        processedMailboxes = new AtomicInteger(0);
+        completedPartitions = new ConcurrentLinkedDeque<>(checkpoint.completedPartitions());
+        startedAt = Optional.empty();
+    }
+
+    void recordStart(Instant instant) {
+        startedAt = Optional.of(instant);
+    }
+
+    void recordProcessedMailbox() {
+        processedMailboxes.incrementAndGet();
+    }
+
+    void recordCompletedPartition(Partition partition) {
+        completedPartitions.add(partition);
     }
 
     void recordFailureDetailsForMessage(MailboxId mailboxId, MessageUid uid) {
@@ -62,6 +89,25 @@ class ReIndexingContext {
         return failedReprocessingMails.get();
     }
 
+    int processedMailboxCount() {
+        return processedMailboxes.get();
+    }
+
+    /**
+     * Messages processed per second since the start of the re-indexing, if it started.
+     */
+    Optional<Double> throughput(Instant now) {
+        return startedAt.map(start -> {
+            long elapsedMillis = Math.max(Duration.between(start, now).toMillis(), 1);
+            int processedMessages = successfullyReprocessedMails.get() + failedReprocessingMails.get();
+            return processedMessages * 1000.0 / elapsedMillis;
+        });
+    }
+
+    ReIndexingCheckpoint checkpoint() {
+        return ReIndexingCheckpoint.of(completedPartitions);
+    }
+
     ReIndexingExecutionFailures failures() {
         return new ReIndexingExecutionFailures(ImmutableList.copyOf(failures), ImmutableList.copyOf(mailboxFailures));
     }
@@ -29,11 +29,13 @@ import java.util.stream.Stream;
 import org.apache.james.json.DTOModule;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.server.task.json.dto.AdditionalInformationDTO;
 import org.apache.james.server.task.json.dto.AdditionalInformationDTOModule;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -115,6 +117,9 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
     public static class ReIndexingContextInformationForFullReindexingTask extends ReIndexingContextInformation {
 
         public static class DTO extends ReIndexingContextInformationDTO {
+            private final Optional<Integer> processedMailboxCount;
+            private final Optional<Double> throughput;
+            private final Optional<List<RunningOptionsDTO.PartitionDTO>> completedPartitions;
 
             DTO(@JsonProperty("type") String type,
                 @JsonProperty("successfullyReprocessedMailCount") int successfullyReprocessedMailCount,
@@ -123,8 +128,27 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
                 @JsonProperty("messageFailures") Optional<List<ReindexingFailureDTO>> messageFailures,
                 @JsonProperty("mailboxFailures") Optional<List<String>> mailboxFailures,
                 @JsonProperty("timestamp") Instant timestamp,
-                @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions) {
+                @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions,
+                @JsonProperty("processedMailboxCount") Optional<Integer> processedMailboxCount,
+                @JsonProperty("throughput") Optional<Double> throughput,
+                @JsonProperty("completedPartitions") Optional<List<RunningOptionsDTO.PartitionDTO>> completedPartitions) {
                 super(type, successfullyReprocessedMailCount, failedReprocessedMailCount, failures, messageFailures, mailboxFailures, timestamp, runningOptions);
+                this.processedMailboxCount = processedMailboxCount;
+                this.throughput = throughput;
+                this.completedPartitions = completedPartitions;
+            }
+
+            public Optional<Integer> getProcessedMailboxCount() {
+                return processedMailboxCount;
+            }
+
+            public Optional<Double> getThroughput() {
+                return throughput;
+            }
+
+            @JsonInclude(JsonInclude.Include.NON_ABSENT)
+            public Optional<List<RunningOptionsDTO.PartitionDTO>> getCompletedPartitions() {
+                return completedPartitions;
             }
         }
 
@@ -138,7 +162,10 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
                     dto.getTimestamp(),
                     dto.getRunningOptions()
                         .map(RunningOptionsDTO::toDomainObject)
-                        .orElse(RunningOptions.DEFAULT)))
+                        .orElse(RunningOptions.DEFAULT),
+                    dto.getProcessedMailboxCount(),
+                    dto.getThroughput(),
+                    RunningOptionsDTO.toCheckpoint(dto.getCompletedPartitions())))
                 .toDTOConverter((details, type) -> new DTO(
                     type,
                     details.getSuccessfullyReprocessedMailCount(),
@@ -147,18 +174,61 @@ public class ReIndexingContextInformationDTO implements AdditionalInformationDTO
                     Optional.of(serializeFailures(details.failures())),
                     Optional.of(details.failures().mailboxFailures().stream().map(MailboxId::serialize).collect(ImmutableList.toImmutableList())),
                     details.timestamp(),
-                    Optional.of(RunningOptionsDTO.toDTO(details.getRunningOptions()))))
+                    Optional.of(RunningOptionsDTO.toDTO(details.getRunningOptions())),
+                    details.getProcessedMailboxCount(),
+                    details.getThroughput(),
+                    RunningOptionsDTO.toDTO(details.getCheckpoint())))
                 .typeName(FullReindexingTask.FULL_RE_INDEXING.asString())
                 .withFactory(AdditionalInformationDTOModule::new);
         }
 
+        private final Optional<Integer> processedMailboxCount;
+        private final Optional<Double> throughput;
+        private final ReIndexingCheckpoint checkpoint;
+
         @VisibleForTesting
         public ReIndexingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount,
                                                                  int failedReprocessedMailCount,
                                                                  ReIndexingExecutionFailures failures,
                                                                  Instant timestamp,
                                                                  RunningOptions runningOptions) {
+            this(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp, runningOptions, Optional.empty(), Optional.empty(),
+                ReIndexingCheckpoint.NONE);
+        }
+
+        public ReIndexingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount,
+                                                                 int failedReprocessedMailCount,
+                                                                 ReIndexingExecutionFailures failures,
+                                                                 Instant timestamp,
+                                                                 RunningOptions runningOptions,
+                                                                 Optional<Integer> processedMailboxCount,
+                                                                 Optional<Double> throughput,
+                                                                 ReIndexingCheckpoint checkpoint) {
             super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp, runningOptions);
+            this.processedMailboxCount = processedMailboxCount;
+            this.throughput = throughput;
+            this.checkpoint = checkpoint;
+        }
+
+        /**
+         * Count of the mailboxes whose messages were all submitted for re-indexing.
+         */
+        public Optional<Integer> getProcessedMailboxCount() {
+            return processedMailboxCount;
+        }
+
+        /**
+         * Re-indexed messages per second, failures included.
+         */
+        public Optional<Double> getThroughput() {
+            return throughput;
+        }
+
+        /**
+         * Partitions completed so far, allowing to resume the re-indexing.
+         */
+        public ReIndexingCheckpoint getCheckpoint() {
+            return checkpoint;
         }
     }
 
@@ -19,28 +19,91 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 
 public class RunningOptionsDTO {
+    public static class PartitionDTO {
+        public static PartitionDTO toDTO(RunningOptions.Partition partition) {
+            return new PartitionDTO(partition.getIndex(), partition.getCount());
+        }
+
+        private final int index;
+        private final int count;
+
+        @JsonCreator
+        public PartitionDTO(@JsonProperty("index") int index,
+                            @JsonProperty("count") int count) {
+            this.index = index;
+            this.count = count;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public RunningOptions.Partition toDomainObject() {
+            return RunningOptions.Partition.of(index, count);
+        }
+    }
+
+    public static Optional<List<PartitionDTO>> toDTO(ReIndexingCheckpoint checkpoint) {
+        return Optional.<List<PartitionDTO>>of(checkpoint.completedPartitions().stream()
+                .map(PartitionDTO::toDTO)
+                .collect(ImmutableList.toImmutableList()))
+            .filter(partitions -> !partitions.isEmpty());
+    }
+
+    public static ReIndexingCheckpoint toCheckpoint(Optional<List<PartitionDTO>> completedPartitions) {
+        return completedPartitions
+            .map(partitions -> ReIndexingCheckpoint.of(partitions.stream()
+                .map(PartitionDTO::toDomainObject)
+                .collect(ImmutableList.toImmutableList())))
+            .orElse(ReIndexingCheckpoint.NONE);
+    }
+
     public static RunningOptionsDTO toDTO(RunningOptions runningOptions) {
         return new RunningOptionsDTO(
             Optional.of(runningOptions.getMessagesPerSecond()),
-            Optional.of(runningOptions.getMode()));
+            Optional.of(runningOptions.getMode()),
+            runningOptions.getPartition().map(PartitionDTO::toDTO),
+            runningOptions.getBulkSizeInBytes(),
+            runningOptions.getMailboxConcurrency(),
+            runningOptions.getPartitionConcurrency());
     }
 
     private final Optional<Integer> messagesPerSecond;
     private final Optional<RunningOptions.Mode> mode;
+    private final Optional<PartitionDTO> partition;
+    private final Optional<Integer> bulkSizeInBytes;
+    private final Optional<Integer> mailboxConcurrency;
+    private final Optional<Integer> partitionConcurrency;
 
     @JsonCreator
     public RunningOptionsDTO(@JsonProperty("messagesPerSecond") Optional<Integer> messagesPerSecond,
-                             @JsonProperty("mode") Optional<RunningOptions.Mode> mode) {
+                             @JsonProperty("mode") Optional<RunningOptions.Mode> mode,
+                             @JsonProperty("partition") Optional<PartitionDTO> partition,
+                             @JsonProperty("bulkSizeInBytes") Optional<Integer> bulkSizeInBytes,
+                             @JsonProperty("mailboxConcurrency") Optional<Integer> mailboxConcurrency,
+                             @JsonProperty("partitionConcurrency") Optional<Integer> partitionConcurrency) {
         this.messagesPerSecond = messagesPerSecond;
         this.mode = mode;
+        this.partition = partition;
+        this.bulkSizeInBytes = bulkSizeInBytes;
+        this.mailboxConcurrency = mailboxConcurrency;
+        this.partitionConcurrency = partitionConcurrency;
     }
 
     public Optional<Integer> getMessagesPerSecond() {
@@ -51,10 +114,34 @@ public class RunningOptionsDTO {
         return mode;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<PartitionDTO> getPartition() {
+        return partition;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<Integer> getBulkSizeInBytes() {
+        return bulkSizeInBytes;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<Integer> getMailboxConcurrency() {
+        return mailboxConcurrency;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_ABSENT)
+    public Optional<Integer> getPartitionConcurrency() {
+        return partitionConcurrency;
+    }
+
     public RunningOptions toDomainObject() {
         return RunningOptions.builder()
             .messagesPerSeconds(messagesPerSecond)
             .mode(mode)
+            .partition(partition.map(PartitionDTO::toDomainObject))
+            .bulkSizeInBytes(bulkSizeInBytes)
+            .mailboxConcurrency(mailboxConcurrency)
+            .partitionConcurrency(partitionConcurrency)
             .build();
     }
 }
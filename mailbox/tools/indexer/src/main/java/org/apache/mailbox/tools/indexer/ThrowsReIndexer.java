@@ -23,6 +23,7 @@ import org.apache.james.core.Username;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.indexer.ReIndexer;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
@@ -44,6 +45,11 @@ public class ThrowsReIndexer implements ReIndexer {
         throw new MailboxException("Not implemented");
     }
 
+    @Override
+    public Task reIndex(RunningOptions runningOptions, ReIndexingCheckpoint checkpoint) throws MailboxException {
+        throw new MailboxException("Not implemented");
+    }
+
     @Override
     public Task reIndex(Username username, RunningOptions runningOptions) throws MailboxException {
         throw new MailboxException("Not implemented");
@@ -23,11 +23,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import java.time.Instant;
+import java.util.Optional;
 
 import org.apache.james.JsonSerializationVerifier;
 import org.apache.james.json.JsonGenericSerializer;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.mailbox.tools.indexer.ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask;
@@ -38,6 +40,8 @@ import com.google.common.collect.ImmutableList;
 
 class FullReindexingTaskSerializationTest {
     private static final Instant TIMESTAMP = Instant.parse("2018-11-13T12:00:55Z");
+    private static final ReIndexingCheckpoint CHECKPOINT = ReIndexingCheckpoint.of(ImmutableList.of(
+        RunningOptions.Partition.of(1, 16), RunningOptions.Partition.of(5, 16)));
 
     private final TestId mailboxId = TestId.of(1L);
     private final MessageUid messageUid = MessageUid.of(10L);
@@ -49,9 +53,12 @@ class FullReindexingTaskSerializationTest {
     private final int failedReprocessedMailCount = 2;
 
     private final String serializedFullReindexingTask = "{\"type\":\"full-reindexing\", \"runningOptions\":{\"messagesPerSecond\":50, \"mode\":\"REBUILD_ALL\"}}";
+    private final String serializedResumedFullReindexingTask = "{\"type\":\"full-reindexing\", \"runningOptions\":{\"messagesPerSecond\":50, \"mode\":\"REBUILD_ALL\", \"mailboxConcurrency\":8, \"partitionConcurrency\":4}, \"completedPartitions\":[{\"index\":1, \"count\":16}, {\"index\":5, \"count\":16}]}";
     private final String legacySerializedFullReindexingTask = "{\"type\":\"full-reindexing\"}";
+    private final String serializedPartitionedFullReindexingTask = "{\"type\":\"full-reindexing\", \"runningOptions\":{\"messagesPerSecond\":50, \"mode\":\"FIX_OUTDATED\", \"partition\":{\"index\":2, \"count\":8}, \"bulkSizeInBytes\":5242880}}";
 
     private final String serializedAdditionalInformation = "{\"type\": \"full-reindexing\", \"runningOptions\":{\"messagesPerSecond\":50, \"mode\":\"FIX_OUTDATED\"}, \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"messageFailures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"mailboxFailures\": [\"3\"],\"timestamp\":\"2018-11-13T12:00:55Z\"}";
+    private final String serializedAdditionalInformationWithProgress = "{\"type\": \"full-reindexing\", \"runningOptions\":{\"messagesPerSecond\":50, \"mode\":\"FIX_OUTDATED\"}, \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"messageFailures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"mailboxFailures\": [\"3\"],\"timestamp\":\"2018-11-13T12:00:55Z\", \"processedMailboxCount\":12, \"throughput\":37.5, \"completedPartitions\":[{\"index\":1, \"count\":16}, {\"index\":5, \"count\":16}]}";
     private final String legacySerializedAdditionalInformation = "{\"type\": \"full-reindexing\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
 
     private ReIndexingExecutionFailures reIndexingExecutionFailures;
@@ -75,6 +82,33 @@ class FullReindexingTaskSerializationTest {
             .verify();
     }
 
+    @Test
+    void partitionedFullReindexingShouldBeSerializable() throws Exception {
+        RunningOptions runningOptions = RunningOptions.builder()
+            .mode(RunningOptions.Mode.FIX_OUTDATED)
+            .partition(RunningOptions.Partition.of(2, 8))
+            .bulkSizeInBytes(5 * 1024 * 1024)
+            .build();
+
+        JsonSerializationVerifier.dtoModule(FullReindexingTaskDTO.module(reIndexerPerformer))
+            .bean(new FullReindexingTask(reIndexerPerformer, runningOptions))
+            .json(serializedPartitionedFullReindexingTask)
+            .verify();
+    }
+
+    @Test
+    void resumedFullReindexingShouldBeSerializable() throws Exception {
+        RunningOptions runningOptions = RunningOptions.builder()
+            .mailboxConcurrency(8)
+            .partitionConcurrency(4)
+            .build();
+
+        JsonSerializationVerifier.dtoModule(FullReindexingTaskDTO.module(reIndexerPerformer))
+            .bean(new FullReindexingTask(reIndexerPerformer, runningOptions, CHECKPOINT))
+            .json(serializedResumedFullReindexingTask)
+            .verify();
+    }
+
     @Test
     void legacyTaskshouldBeDeserializable() throws Exception {
         FullReindexingTask legacyTask = JsonGenericSerializer.forModules(FullReindexingTaskDTO.module(reIndexerPerformer))
@@ -101,6 +135,20 @@ class FullReindexingTaskSerializationTest {
             .verify();
     }
 
+    @Test
+    void additionalInformationWithProgressShouldBeSerializable() throws Exception {
+        RunningOptions runningOptions = RunningOptions.builder()
+            .mode(RunningOptions.Mode.FIX_OUTDATED)
+            .build();
+        ReIndexingContextInformationForFullReindexingTask details = new ReIndexingContextInformationForFullReindexingTask(successfullyReprocessedMailCount,
+            failedReprocessedMailCount, reIndexingExecutionFailures, TIMESTAMP, runningOptions, Optional.of(12), Optional.of(37.5), CHECKPOINT);
+
+        JsonSerializationVerifier.dtoModule(ReIndexingContextInformationForFullReindexingTask.module(new TestId.Factory()))
+            .bean(details)
+            .json(serializedAdditionalInformationWithProgress)
+            .verify();
+    }
+
     @Test
     void legacyAdditionalInformationShouldBeDeserializable() throws Exception {
         ReIndexingContextInformationForFullReindexingTask legacyAdditionalInformation = JsonGenericSerializer.forModules(ReIndexingContextInformationForFullReindexingTask.module(new TestId.Factory()))
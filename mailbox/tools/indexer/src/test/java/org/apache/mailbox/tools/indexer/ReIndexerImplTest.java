@@ -22,11 +22,23 @@ package org.apache.mailbox.tools.indexer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageManager;
@@ -34,6 +46,8 @@ import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxNotFoundException;
 import org.apache.james.mailbox.indexer.ReIndexer;
 import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
+import org.apache.james.mailbox.indexer.ReIndexingCheckpoint;
+import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.inmemory.InMemoryId;
 import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
 import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
@@ -44,10 +58,13 @@ import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
+import org.apache.james.task.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import com.google.common.collect.ImmutableList;
+
 import reactor.core.publisher.Mono;
 
 public class ReIndexerImplTest {
@@ -276,6 +293,195 @@ public class ReIndexerImplTest {
         });
     }
 
+    @Test
+    void reIndexAllShouldOnlyIndexMailboxesOfItsPartition() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        ImmutableList<MailboxPath> paths = ImmutableList.of(INBOX, MailboxPath.forUser(USERNAME, "a"),
+            MailboxPath.forUser(USERNAME, "b"), MailboxPath.forUser(USERNAME, "c"));
+        ImmutableList.Builder<MailboxId> mailboxIds = ImmutableList.builder();
+        for (MailboxPath path : paths) {
+            mailboxIds.add(mailboxManager.createMailbox(path, systemSession).get());
+            mailboxManager.getMailbox(path, systemSession)
+                .appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+        }
+        RunningOptions.Partition partition = RunningOptions.Partition.of(1, 2);
+
+        reIndexer.reIndex(RunningOptions.builder().partition(partition).build()).run();
+
+        ArgumentCaptor<MailboxId> deletedMailboxesCaptor = ArgumentCaptor.forClass(MailboxId.class);
+        ArgumentCaptor<MailboxMessage> messageCaptor = ArgumentCaptor.forClass(MailboxMessage.class);
+        verify(messageSearchIndex, atLeast(0)).deleteAll(any(MailboxSession.class), deletedMailboxesCaptor.capture());
+        verify(messageSearchIndex, atLeast(0)).add(any(MailboxSession.class), any(Mailbox.class), messageCaptor.capture());
+
+        ImmutableList<MailboxId> expectedMailboxes = mailboxIds.build().stream()
+            .filter(partition::includes)
+            .collect(ImmutableList.toImmutableList());
+        assertThat(deletedMailboxesCaptor.getAllValues()).containsExactlyInAnyOrderElementsOf(expectedMailboxes);
+        assertThat(messageCaptor.getAllValues())
+            .extracting(MailboxMessage::getMailboxId)
+            .containsExactlyInAnyOrderElementsOf(expectedMailboxes);
+    }
+
+    @Test
+    void partitionsShouldCoverAllMailboxesExactlyOnce() {
+        ImmutableList<RunningOptions.Partition> partitions = ImmutableList.of(RunningOptions.Partition.of(0, 3),
+            RunningOptions.Partition.of(1, 3), RunningOptions.Partition.of(2, 3));
+
+        assertThat(IntStream.range(0, 100).mapToObj(InMemoryId::of))
+            .allSatisfy(mailboxId -> assertThat(partitions.stream().filter(partition -> partition.includes(mailboxId))).hasSize(1));
+    }
+
+    @Test
+    void splitShouldCoverTheMailboxesOfThePartitionExactlyOnce() {
+        RunningOptions.Partition partition = RunningOptions.Partition.of(1, 3);
+        ImmutableList<RunningOptions.Partition> subPartitions = partition.split(4)
+            .collect(ImmutableList.toImmutableList());
+
+        assertThat(IntStream.range(0, 100).mapToObj(InMemoryId::of))
+            .allSatisfy(mailboxId -> assertThat(subPartitions.stream().filter(subPartition -> subPartition.includes(mailboxId)))
+                .hasSize(partition.includes(mailboxId) ? 1 : 0));
+    }
+
+    @Test
+    void resumedReIndexAllShouldNotReIndexMailboxesOfCompletedPartitions() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        ImmutableList.Builder<MailboxId> mailboxIdsBuilder = ImmutableList.builder();
+        for (int i = 0; i < 40; i++) {
+            MailboxPath path = MailboxPath.forUser(USERNAME, "mailbox" + i);
+            mailboxIdsBuilder.add(mailboxManager.createMailbox(path, systemSession).get());
+            mailboxManager.getMailbox(path, systemSession)
+                .appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+        }
+        ImmutableList<MailboxId> mailboxIds = mailboxIdsBuilder.build();
+        // Partitions are re-indexed one after the other: interrupting the last one leaves the others completed
+        RunningOptions.Partition interruptedPartition = RunningOptions.Partition.of(0, 1)
+            .split(ReIndexerPerformer.CHECKPOINT_PARTITION_COUNT)
+            .filter(partition -> mailboxIds.stream().anyMatch(partition::includes))
+            .reduce((first, second) -> second)
+            .get();
+        MailboxId interruptedMailbox = mailboxIds.stream().filter(interruptedPartition::includes).findFirst().get();
+        CountDownLatch interruptedMailboxReached = new CountDownLatch(1);
+        when(messageSearchIndex.add(any(), argThat(mailbox -> mailbox != null && mailbox.getMailboxId().equals(interruptedMailbox)), any()))
+            .thenAnswer(invocation -> {
+                interruptedMailboxReached.countDown();
+                return Mono.never();
+            });
+        RunningOptions runningOptions = RunningOptions.builder()
+            .mailboxConcurrency(1)
+            .partitionConcurrency(1)
+            .build();
+
+        Task task = reIndexer.reIndex(runningOptions);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Task.Result> execution = executor.submit(task::run);
+            assertThat(interruptedMailboxReached.await(30, TimeUnit.SECONDS)).isTrue();
+            execution.cancel(true);
+        } finally {
+            executor.shutdownNow();
+        }
+        ReIndexingCheckpoint checkpoint = task.details()
+            .map(ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask.class::cast)
+            .get()
+            .getCheckpoint();
+
+        when(messageSearchIndex.add(any(), any(), any())).thenReturn(Mono.empty());
+        clearInvocations(messageSearchIndex);
+        assertThat(reIndexer.reIndex(runningOptions, checkpoint).run()).isEqualTo(Task.Result.COMPLETED);
+
+        ArgumentCaptor<MailboxId> deletedMailboxesCaptor = ArgumentCaptor.forClass(MailboxId.class);
+        verify(messageSearchIndex, atLeast(0)).deleteAll(any(MailboxSession.class), deletedMailboxesCaptor.capture());
+        assertThat(checkpoint.completedPartitions())
+            .hasSize(ReIndexerPerformer.CHECKPOINT_PARTITION_COUNT - 1)
+            .doesNotContain(interruptedPartition);
+        assertThat(deletedMailboxesCaptor.getAllValues())
+            .containsExactlyInAnyOrderElementsOf(mailboxIds.stream()
+                .filter(interruptedPartition::includes)
+                .collect(ImmutableList.toImmutableList()));
+    }
+
+    @Test
+    void reIndexAllWithBulkSizeShouldGroupMessagesOfAMailbox() throws Exception {
+        when(messageSearchIndex.addAll(any(), any(), any())).thenReturn(Mono.empty());
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        MailboxId mailboxId = mailboxManager.createMailbox(INBOX, systemSession).get();
+        MessageManager inbox = mailboxManager.getMailbox(INBOX, systemSession);
+        for (int i = 0; i < 3; i++) {
+            inbox.appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+        }
+
+        Task task = reIndexer.reIndex(RunningOptions.builder().bulkSizeInBytes(1024 * 1024).build());
+
+        assertThat(task.run()).isEqualTo(Task.Result.COMPLETED);
+        ArgumentCaptor<List<MailboxMessage>> bulkCaptor = ArgumentCaptor.forClass(List.class);
+        verify(messageSearchIndex).deleteAll(any(MailboxSession.class), any());
+        verify(messageSearchIndex).addAll(any(MailboxSession.class), any(Mailbox.class), bulkCaptor.capture());
+        verify(messageSearchIndex).postReindexing();
+        verifyNoMoreInteractions(messageSearchIndex);
+
+        assertThat(bulkCaptor.getValue())
+            .hasSize(3)
+            .allSatisfy(message -> assertThat(message.getMailboxId()).isEqualTo(mailboxId));
+        assertThat(task.details())
+            .hasValueSatisfying(details -> assertThat(((ReIndexingContextInformation) details).getSuccessfullyReprocessedMailCount()).isEqualTo(3));
+    }
+
+    @Test
+    void reIndexAllWithBulkSizeShouldCutBulksOnSize() throws Exception {
+        when(messageSearchIndex.addAll(any(), any(), any())).thenReturn(Mono.empty());
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        mailboxManager.createMailbox(INBOX, systemSession);
+        MessageManager inbox = mailboxManager.getMailbox(INBOX, systemSession);
+        for (int i = 0; i < 3; i++) {
+            inbox.appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+        }
+
+        reIndexer.reIndex(RunningOptions.builder().bulkSizeInBytes(1).build()).run();
+
+        ArgumentCaptor<List<MailboxMessage>> bulkCaptor = ArgumentCaptor.forClass(List.class);
+        verify(messageSearchIndex, times(3)).addAll(any(MailboxSession.class), any(Mailbox.class), bulkCaptor.capture());
+        assertThat(bulkCaptor.getAllValues()).allSatisfy(bulk -> assertThat(bulk).hasSize(1));
+    }
+
+    @Test
+    void reIndexAllWithBulkSizeShouldRecordFailuresForAllMessagesOfAFailedBulk() throws Exception {
+        when(messageSearchIndex.addAll(any(), any(), any())).thenReturn(Mono.error(new RuntimeException()));
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        MailboxId mailboxId = mailboxManager.createMailbox(INBOX, systemSession).get();
+        MessageManager inbox = mailboxManager.getMailbox(INBOX, systemSession);
+        ComposedMessageId message1 = inbox.appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession).getId();
+        ComposedMessageId message2 = inbox.appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession).getId();
+
+        Task task = reIndexer.reIndex(RunningOptions.builder().bulkSizeInBytes(1024 * 1024).build());
+
+        assertThat(task.run()).isEqualTo(Task.Result.PARTIAL);
+        assertThat(task.details())
+            .hasValueSatisfying(details -> assertThat(((ReIndexingContextInformation) details).failures().messageFailures())
+                .containsExactlyInAnyOrder(
+                    new ReIndexingExecutionFailures.ReIndexingFailure(mailboxId, message1.getUid()),
+                    new ReIndexingExecutionFailures.ReIndexingFailure(mailboxId, message2.getUid())));
+    }
+
+    @Test
+    void reIndexAllShouldReportProgress() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        mailboxManager.createMailbox(INBOX, systemSession);
+        mailboxManager.createMailbox(MailboxPath.forUser(USERNAME, "a"), systemSession);
+        mailboxManager.getMailbox(INBOX, systemSession)
+            .appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+
+        Task task = reIndexer.reIndex(RunningOptions.DEFAULT);
+        task.run();
+
+        assertThat(task.details())
+            .hasValueSatisfying(details -> {
+                ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask information =
+                    (ReIndexingContextInformationDTO.ReIndexingContextInformationForFullReindexingTask) details;
+                assertThat(information.getProcessedMailboxCount()).contains(2);
+                assertThat(information.getThroughput()).hasValueSatisfying(throughput -> assertThat(throughput).isPositive());
+            });
+    }
+
     @Test
     void mailboxIdReIndexShouldOnlyDropSearchIndexWhenEmptyMailbox() throws Exception {
         MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
@@ -0,0 +1,46 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.mailet;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link Mailet} able to process several mails at once.
+ * <p>
+ * When the mailet container spools mails in batches, the mails of a batch matched by the same
+ * matcher are handed over together to {@link #serviceBatch(Collection)}. This allows the mailet
+ * to share backend round trips across the batch, for instance by resolving the recipients of all
+ * the mails together, or by storing the mails concurrently.
+ * <p>
+ * Processing a mail as part of a batch must have the same outcome as processing it alone through
+ * {@link #service(Mail)}. Failures are isolated: a mail failing must not prevent the other mails
+ * of the batch from being processed, and is reported in the returned map.
+ */
+public interface BatchMailet extends Mailet {
+    /**
+     * Services several mail messages.
+     *
+     * @param mails the mails to process. Each of them could have been passed to {@link #service(Mail)}.
+     * @return the mails whose processing failed, associated with the exception that {@link #service(Mail)}
+     *          would have thrown for them. Mails absent from this map were successfully processed.
+     */
+    Map<Mail, Exception> serviceBatch(Collection<Mail> mails);
+}
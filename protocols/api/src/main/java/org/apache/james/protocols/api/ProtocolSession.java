@@ -254,6 +254,16 @@ public interface ProtocolSession extends CommandDetectionSession {
      */
     void popLineHandler();
 
+    /**
+     * Put a new line handler in the chain, fed with the next <code>size</code> received bytes as raw data: these bytes
+     * are not split into lines but handed over as they are received, possibly in several calls. Line framing resumes
+     * once <code>size</code> bytes were read. As for {@link #pushLineHandler(LineHandler)} the handler is responsible
+     * for popping itself.
+     */
+    default <T extends ProtocolSession> void pushRawDataHandler(long size, LineHandler<T> rawDataHandler) {
+        throw new UnsupportedOperationException("Raw data reads are not supported");
+    }
+
     default void schedule(Runnable runnable, Duration waitDelay) {
         throw new RuntimeException("Not supported");
     }
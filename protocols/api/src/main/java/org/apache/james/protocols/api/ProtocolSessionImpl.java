@@ -238,6 +238,11 @@ public class ProtocolSessionImpl implements ProtocolSession {
         transport.pushLineHandler(overrideCommandHandler, this);
     }
 
+    @Override
+    public <T extends ProtocolSession> void pushRawDataHandler(long size, LineHandler<T> rawDataHandler) {
+        transport.pushRawDataHandler(size, rawDataHandler, this);
+    }
+
     @Override
     public void schedule(Runnable runnable, Duration waitDelay) {
         transport.schedule(runnable, waitDelay);
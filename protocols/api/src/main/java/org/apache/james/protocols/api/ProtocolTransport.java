@@ -87,6 +87,15 @@ public interface ProtocolTransport {
      * Push a {@link LineHandler} in.
      */
     void pushLineHandler(LineHandler<? extends ProtocolSession> overrideCommandHandler, ProtocolSession session);
+
+    /**
+     * Push a {@link LineHandler} in, fed with the next <code>size</code> bytes as raw data.
+     *
+     * @see ProtocolSession#pushRawDataHandler(long, LineHandler)
+     */
+    default void pushRawDataHandler(long size, LineHandler<? extends ProtocolSession> rawDataHandler, ProtocolSession session) {
+        throw new UnsupportedOperationException("Raw data reads are not supported");
+    }
     
     
     /**
@@ -32,6 +32,8 @@ import org.apache.james.mailbox.NullableMessageSequenceNumber;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 
+import com.google.common.collect.ImmutableList;
+
 import reactor.core.publisher.Mono;
 
 /**
@@ -159,6 +161,20 @@ public interface SelectedMailbox {
      */
     NullableMessageSequenceNumber remove(MessageUid uid);
 
+    /**
+     * Removes the given UIDs.
+     *
+     * @param uids
+     *            not null
+     * @return for each given UID, in iteration order, the message sequence number
+     *         {@link #remove(MessageUid)} would have returned when removing the UIDs one after the other
+     */
+    default List<NullableMessageSequenceNumber> removeAll(Collection<MessageUid> uids) {
+        return uids.stream()
+            .map(this::remove)
+            .collect(ImmutableList.toImmutableList());
+    }
+
     /**
      * Return a Collection which holds all uids reflecting the Messages which
      * flags were updated
@@ -21,10 +21,17 @@ package org.apache.james.imap.message;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Content;
+import org.apache.james.util.ReactorUtils;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 public interface Literal {
     /**
@@ -47,6 +54,18 @@ public interface Literal {
         return Optional.empty();
     }
 
+    /**
+     * Return the Literal as a stream of chunks, read as they are requested.
+     *
+     * Allows writing large literals without holding them in memory.
+     */
+    default Publisher<ByteBuffer> reactiveBytes() {
+        return Flux.using(this::getInputStream,
+                in -> ReactorUtils.toChunks(in, Content.BUFFER_SIZE),
+                in -> IOUtils.closeQuietly(in))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
     default Content asMailboxContent() {
         Literal literal = this;
         return new Content() {
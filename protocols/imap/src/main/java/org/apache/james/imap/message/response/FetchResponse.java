@@ -18,6 +18,8 @@
  ****************************************************************/
 package org.apache.james.imap.message.response;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -315,6 +317,12 @@ public final class FetchResponse implements ImapResponseMessage {
          */
         String getName();
 
+        /**
+         * Return at most {@code length} octets of this element, starting at {@code offset}.
+         */
+        default InputStream getInputStream(long offset, long length) throws IOException {
+            return asMailboxContent().getInputStream(offset, length);
+        }
     }
 
     /**
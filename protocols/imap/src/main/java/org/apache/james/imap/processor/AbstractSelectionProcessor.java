@@ -51,6 +51,7 @@ import org.apache.james.imap.message.request.AbstractMailboxSelectionRequest;
 import org.apache.james.imap.message.request.AbstractMailboxSelectionRequest.ClientSpecifiedUidValidity;
 import org.apache.james.imap.message.response.ExistsResponse;
 import org.apache.james.imap.message.response.RecentResponse;
+import org.apache.james.imap.processor.base.MailboxSnapshotCache;
 import org.apache.james.imap.processor.base.SelectedMailboxImpl;
 import org.apache.james.mailbox.MailboxCounterCorrector;
 import org.apache.james.mailbox.MailboxManager;
@@ -91,9 +92,10 @@ abstract class AbstractSelectionProcessor<R extends AbstractMailboxSelectionRequ
     private final boolean openReadOnly;
     private final EventBus eventBus;
     private final MailboxCounterCorrector mailboxCounterCorrector;
+    private final MailboxSnapshotCache snapshotCache;
 
     public AbstractSelectionProcessor(Class<R> acceptableClass, MailboxManager mailboxManager, StatusResponseFactory statusResponseFactory, PathConverter.Factory pathConverterFactory, boolean openReadOnly,
-                                      MetricFactory metricFactory, EventBus eventBus, MailboxCounterCorrector mailboxCounterCorrector) {
+                                      MetricFactory metricFactory, EventBus eventBus, MailboxCounterCorrector mailboxCounterCorrector, MailboxSnapshotCache snapshotCache) {
         super(acceptableClass, mailboxManager, statusResponseFactory, metricFactory);
         this.statusResponseFactory = statusResponseFactory;
         this.pathConverterFactory = pathConverterFactory;
@@ -101,6 +103,7 @@ abstract class AbstractSelectionProcessor<R extends AbstractMailboxSelectionRequ
 
         this.eventBus = eventBus;
         this.mailboxCounterCorrector = mailboxCounterCorrector;
+        this.snapshotCache = snapshotCache;
     }
 
     @Override
@@ -457,7 +460,7 @@ abstract class AbstractSelectionProcessor<R extends AbstractMailboxSelectionRequ
                 responder.respond(getStatusResponseFactory()
                     .untaggedOk(HumanReadableText.QRESYNC_CLOSED, ResponseCode.closed()));
             }
-            SelectedMailboxImpl selectedMailbox = new SelectedMailboxImpl(getMailboxManager(), eventBus, session.getMailboxSession(), mailbox);
+            SelectedMailboxImpl selectedMailbox = new SelectedMailboxImpl(getMailboxManager(), eventBus, session.getMailboxSession(), mailbox, snapshotCache);
 
             return session.selected(selectedMailbox)
                 .then(selectedMailbox.finishInit())
@@ -30,6 +30,7 @@ import org.apache.james.imap.api.message.UidRange;
 import org.apache.james.imap.api.message.response.StatusResponseFactory;
 import org.apache.james.imap.main.PathConverter;
 import org.apache.james.imap.message.request.ExamineRequest;
+import org.apache.james.imap.processor.base.MailboxSnapshotCache;
 import org.apache.james.mailbox.MailboxCounterCorrector;
 import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.metrics.api.MetricFactory;
@@ -37,10 +38,16 @@ import org.apache.james.util.MDCBuilder;
 
 public class ExamineProcessor extends AbstractSelectionProcessor<ExamineRequest> {
 
-    @Inject
     public ExamineProcessor(MailboxManager mailboxManager, EventBus eventBus, StatusResponseFactory statusResponseFactory,
                             MetricFactory metricFactory, PathConverter.Factory pathConverterFactory, MailboxCounterCorrector mailboxCounterCorrector) {
-        super(ExamineRequest.class, mailboxManager, statusResponseFactory, pathConverterFactory, true, metricFactory, eventBus, mailboxCounterCorrector);
+        this(mailboxManager, eventBus, statusResponseFactory, metricFactory, pathConverterFactory, mailboxCounterCorrector, MailboxSnapshotCache.disabled(eventBus));
+    }
+
+    @Inject
+    public ExamineProcessor(MailboxManager mailboxManager, EventBus eventBus, StatusResponseFactory statusResponseFactory,
+                            MetricFactory metricFactory, PathConverter.Factory pathConverterFactory, MailboxCounterCorrector mailboxCounterCorrector,
+                            MailboxSnapshotCache snapshotCache) {
+        super(ExamineRequest.class, mailboxManager, statusResponseFactory, pathConverterFactory, true, metricFactory, eventBus, mailboxCounterCorrector, snapshotCache);
     }
 
     @Override
@@ -0,0 +1,337 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxEvents.Added;
+import org.apache.james.mailbox.events.MailboxEvents.Expunged;
+import org.apache.james.mailbox.events.MailboxEvents.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxEvent;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.UpdatedFlags;
+
+import com.google.common.collect.ImmutableList;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectSortedMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * UIDs, flags and mod-sequences of the messages of a mailbox.
+ *
+ * The snapshot is kept up to date by applying mailbox events. While a full listing of the mailbox is in progress,
+ * applied events are journaled so that they can be replayed on top of the listing once it completes.
+ *
+ * The snapshot is compared to the mailbox upon use through {@link #isInSync(ModSeq, long, MessageUid)}. As only UIDs
+ * are served from snapshots, the message count and the next UID suffice to detect a stale UID list: messages can not
+ * be added without advancing the next UID, nor expunged without lowering the message count, unless messages are
+ * added too. The highest mod-sequence is compared as well, but some backends do not advance it upon flag changes.
+ *
+ * Flags are interned in a per-snapshot dictionary as few distinct flag combinations are usually used in a mailbox.
+ * {@link #asBytes()} relies on the same dictionary and delta encodes UIDs to get a compact binary representation.
+ */
+public class MailboxSnapshot {
+    private static final byte VERSION_WITHOUT_UID_NEXT = 1;
+    private static final byte VERSION = 2;
+    private static final int NO_FLAGS = 0;
+    private static final List<Flags.Flag> SYSTEM_FLAGS = ImmutableList.of(
+        Flags.Flag.ANSWERED,
+        Flags.Flag.DELETED,
+        Flags.Flag.DRAFT,
+        Flags.Flag.FLAGGED,
+        Flags.Flag.SEEN);
+
+    record MessageState(long modSeq, int flagsId) {
+
+    }
+
+    public static MailboxSnapshot empty() {
+        return new MailboxSnapshot();
+    }
+
+    public static MailboxSnapshot fromBytes(byte[] bytes) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = input.readByte();
+            if (version != VERSION && version != VERSION_WITHOUT_UID_NEXT) {
+                throw new IllegalArgumentException("Unsupported mailbox snapshot version " + version);
+            }
+            MailboxSnapshot snapshot = new MailboxSnapshot();
+            snapshot.highestModSeq = readVarLong(input);
+            if (version == VERSION) {
+                snapshot.uidNext = readVarLong(input);
+            }
+            int flagsCount = (int) readVarLong(input);
+            for (int i = 0; i < flagsCount; i++) {
+                snapshot.intern(readFlags(input));
+            }
+            long messageCount = readVarLong(input);
+            long uid = 0;
+            for (long i = 0; i < messageCount; i++) {
+                uid += readVarLong(input);
+                long modSeq = readVarLong(input);
+                int flagsId = (int) readVarLong(input);
+                snapshot.messages.put(uid, new MessageState(modSeq, flagsId));
+                snapshot.uidNext = Math.max(snapshot.uidNext, uid + 1);
+            }
+            return snapshot;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid mailbox snapshot", e);
+        }
+    }
+
+    private final Long2ObjectSortedMap<MessageState> messages;
+    private final List<Flags> flagsDictionary;
+    private final Object2IntOpenHashMap<Flags> flagsIds;
+    private long highestModSeq;
+    private long uidNext;
+    private int loadsInProgress;
+    private List<MailboxEvent> journal;
+
+    private MailboxSnapshot() {
+        this.messages = new Long2ObjectAVLTreeMap<>();
+        this.flagsDictionary = new ArrayList<>();
+        this.flagsIds = new Object2IntOpenHashMap<>();
+        this.highestModSeq = 0;
+        this.uidNext = MessageUid.MIN_VALUE.asLong();
+        this.loadsInProgress = 0;
+        intern(new Flags());
+    }
+
+    public synchronized List<MessageUid> uids() {
+        return messages.keySet().longStream()
+            .mapToObj(MessageUid::of)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    public synchronized int size() {
+        return messages.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    public synchronized MessageUid nextUid() {
+        if (messages.isEmpty()) {
+            return MessageUid.MIN_VALUE;
+        }
+        return MessageUid.of(messages.lastLongKey()).next();
+    }
+
+    public synchronized ModSeq highestModSeq() {
+        return ModSeq.of(highestModSeq);
+    }
+
+    /**
+     * @return true if this snapshot matches the highest mod-sequence, the message count and the next UID of the mailbox
+     */
+    public synchronized boolean isInSync(ModSeq mailboxHighestModSeq, long mailboxMessageCount, MessageUid mailboxUidNext) {
+        return highestModSeq == mailboxHighestModSeq.asLong()
+            && messages.size() == mailboxMessageCount
+            && uidNext == mailboxUidNext.asLong();
+    }
+
+    public synchronized void apply(MailboxEvent event) {
+        if (journal != null) {
+            journal.add(event);
+        }
+        applyUnsynchronized(event);
+    }
+
+    private void applyUnsynchronized(MailboxEvent event) {
+        if (event instanceof Added added) {
+            added.getAdded().values().forEach(this::merge);
+        } else if (event instanceof Expunged expunged) {
+            expunged.getUids().forEach(uid -> messages.remove(uid.asLong()));
+        } else if (event instanceof FlagsUpdated flagsUpdated) {
+            flagsUpdated.getUpdatedFlags().forEach(this::update);
+        }
+    }
+
+    private void merge(MessageMetaData metaData) {
+        merge(metaData.getUid(), metaData.getModSeq(), metaData.getFlags());
+    }
+
+    private void update(UpdatedFlags updatedFlags) {
+        if (messages.containsKey(updatedFlags.getUid().asLong())) {
+            merge(updatedFlags.getUid(), updatedFlags.getModSeq(), updatedFlags.getNewFlags());
+        }
+    }
+
+    /**
+     * Adds newly listed messages, typically the ones above the UIDs known by this snapshot.
+     */
+    public synchronized void merge(Collection<ComposedMessageIdWithMetaData> listed) {
+        listed.forEach(message -> merge(message.getComposedMessageId().getUid(), message.getModSeq(), message.getFlags()));
+    }
+
+    private void merge(MessageUid uid, ModSeq modSeq, Flags flags) {
+        MessageState current = messages.get(uid.asLong());
+        if (current == null || current.modSeq() <= modSeq.asLong()) {
+            messages.put(uid.asLong(), new MessageState(modSeq.asLong(), intern(flags)));
+        }
+        highestModSeq = Math.max(highestModSeq, modSeq.asLong());
+        uidNext = Math.max(uidNext, uid.next().asLong());
+    }
+
+    /**
+     * Marks the beginning of a full listing of the mailbox: events applied from now on are journaled until
+     * {@link #completeLoad(Collection, ModSeq, MessageUid)} is called.
+     */
+    public synchronized void beginLoad() {
+        if (loadsInProgress == 0) {
+            journal = new ArrayList<>();
+        }
+        loadsInProgress++;
+    }
+
+    /**
+     * Replaces the content of this snapshot by a full listing of the mailbox and replays the events received
+     * since {@link #beginLoad()} on top of it.
+     *
+     * @param listed all the messages of the mailbox
+     * @param mailboxHighestModSeq the highest mod-sequence of the mailbox, read before the listing started
+     * @param mailboxUidNext the next UID of the mailbox, read before the listing started
+     */
+    public synchronized void completeLoad(Collection<ComposedMessageIdWithMetaData> listed, ModSeq mailboxHighestModSeq, MessageUid mailboxUidNext) {
+        messages.clear();
+        highestModSeq = mailboxHighestModSeq.asLong();
+        uidNext = mailboxUidNext.asLong();
+        merge(listed);
+        if (journal != null) {
+            journal.forEach(this::applyUnsynchronized);
+        }
+        loadsInProgress = Math.max(0, loadsInProgress - 1);
+        if (loadsInProgress == 0) {
+            journal = null;
+        }
+    }
+
+    public synchronized void abortLoad() {
+        loadsInProgress = Math.max(0, loadsInProgress - 1);
+        if (loadsInProgress == 0) {
+            journal = null;
+        }
+    }
+
+    private int intern(Flags flags) {
+        Flags interned = new Flags(flags);
+        interned.remove(Flags.Flag.RECENT);
+        if (flagsIds.containsKey(interned)) {
+            return flagsIds.getInt(interned);
+        }
+        int id = flagsDictionary.size();
+        flagsDictionary.add(interned);
+        flagsIds.put(interned, id);
+        return id;
+    }
+
+    public synchronized byte[] asBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + messages.size() * 4);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            writeVarLong(output, highestModSeq);
+            writeVarLong(output, uidNext);
+            writeVarLong(output, flagsDictionary.size());
+            for (Flags flags : flagsDictionary) {
+                writeFlags(output, flags);
+            }
+            writeVarLong(output, messages.size());
+            long previousUid = 0;
+            for (Long2ObjectMap.Entry<MessageState> entry : messages.long2ObjectEntrySet()) {
+                writeVarLong(output, entry.getLongKey() - previousUid);
+                writeVarLong(output, entry.getValue().modSeq());
+                writeVarLong(output, entry.getValue().flagsId());
+                previousUid = entry.getLongKey();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFlags(DataOutputStream output, Flags flags) throws IOException {
+        int systemFlags = NO_FLAGS;
+        for (int i = 0; i < SYSTEM_FLAGS.size(); i++) {
+            if (flags.contains(SYSTEM_FLAGS.get(i))) {
+                systemFlags |= 1 << i;
+            }
+        }
+        output.writeByte(systemFlags);
+        String[] userFlags = flags.getUserFlags();
+        writeVarLong(output, userFlags.length);
+        for (String userFlag : userFlags) {
+            output.writeUTF(userFlag);
+        }
+    }
+
+    private static Flags readFlags(DataInputStream input) throws IOException {
+        Flags flags = new Flags();
+        int systemFlags = input.readByte();
+        for (int i = 0; i < SYSTEM_FLAGS.size(); i++) {
+            if ((systemFlags & (1 << i)) != 0) {
+                flags.add(SYSTEM_FLAGS.get(i));
+            }
+        }
+        long userFlagsCount = readVarLong(input);
+        for (long i = 0; i < userFlagsCount; i++) {
+            flags.add(input.readUTF());
+        }
+        return flags;
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (shift < 64) {
+            byte b = input.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+        throw new IOException("Malformed variable length long");
+    }
+}
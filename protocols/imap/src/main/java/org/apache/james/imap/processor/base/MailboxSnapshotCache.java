@@ -0,0 +1,241 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import static org.apache.james.mailbox.MessageManager.MailboxMetaData.RecentMode.IGNORE;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Inject;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.events.Event;
+import org.apache.james.events.EventBus;
+import org.apache.james.events.EventListener;
+import org.apache.james.events.Registration;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.MessageManager.MailboxMetaData;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxDeletion;
+import org.apache.james.mailbox.events.MailboxEvents.MailboxEvent;
+import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.util.DurationParser;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps {@link MailboxSnapshot} of recently selected mailboxes in memory so that SELECT and EXAMINE do not need to
+ * list all the messages of the mailbox.
+ *
+ * Cached snapshots are kept up to date from the mailbox events. They are nevertheless checked against the highest
+ * mod-sequence, the message count and the next UID of the mailbox upon each use: when out of sync, the messages above
+ * the last known UID are listed, and the whole mailbox is listed again if that was not enough.
+ *
+ * Evicted snapshots are handed over to the {@link MailboxSnapshotStore}, which can persist them.
+ */
+public class MailboxSnapshotCache implements EventListener.ReactiveEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailboxSnapshotCache.class);
+
+    public record CacheConfiguration(boolean enabled, long maxMailboxes, Duration idleTimeout) {
+        public static final CacheConfiguration DEFAULT = new CacheConfiguration(false, 10_000, Duration.ofHours(1));
+
+        public static CacheConfiguration from(Configuration configuration) {
+            return new CacheConfiguration(
+                configuration.getBoolean("uidSnapshotCacheEnabled", DEFAULT.enabled()),
+                configuration.getLong("uidSnapshotCacheSize", DEFAULT.maxMailboxes()),
+                DurationParser.parse(configuration.getString("uidSnapshotCacheIdleTimeout", "1h"), ChronoUnit.MINUTES));
+        }
+    }
+
+    public static MailboxSnapshotCache disabled(EventBus eventBus) {
+        return new MailboxSnapshotCache(eventBus, MailboxSnapshotStore.NOOP, CacheConfiguration.DEFAULT);
+    }
+
+    private static class Entry {
+        private final AtomicReference<Registration> registration = new AtomicReference<>();
+        private final Mono<Void> initialization;
+        private volatile MailboxSnapshot snapshot = MailboxSnapshot.empty();
+        private volatile boolean loaded = false;
+        private volatile boolean deleted = false;
+
+        private Entry(MailboxId mailboxId, MailboxSnapshotCache cache) {
+            this.initialization = Mono.from(cache.store.retrieve(mailboxId))
+                .map(MailboxSnapshot::fromBytes)
+                .doOnNext(restored -> {
+                    snapshot = restored;
+                    loaded = true;
+                })
+                .onErrorResume(e -> {
+                    LOGGER.warn("Failed to restore the snapshot of mailbox {}", mailboxId.serialize(), e);
+                    return Mono.empty();
+                })
+                .then(Mono.from(cache.eventBus.register(cache, new MailboxIdRegistrationKey(mailboxId))))
+                .doOnNext(registration::set)
+                .then()
+                .cache();
+        }
+
+        private Mono<Void> unregister() {
+            return Optional.ofNullable(registration.getAndSet(null))
+                .map(Registration::unregister)
+                .map(Mono::from)
+                .orElse(Mono.empty());
+        }
+    }
+
+    private final EventBus eventBus;
+    private final MailboxSnapshotStore store;
+    private final CacheConfiguration configuration;
+    private final Cache<MailboxId, Entry> entries;
+
+    @Inject
+    public MailboxSnapshotCache(EventBus eventBus, MailboxSnapshotStore store, CacheConfiguration configuration) {
+        this.eventBus = eventBus;
+        this.store = store;
+        this.configuration = configuration;
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(configuration.maxMailboxes())
+            .expireAfterAccess(configuration.idleTimeout())
+            .removalListener(this::onRemoval)
+            .build();
+    }
+
+    /**
+     * @return the UIDs of all the messages of the mailbox, in ascending order
+     */
+    public Mono<List<MessageUid>> uids(MessageManager messageManager, MailboxSession session) throws MailboxException {
+        if (!configuration.enabled()) {
+            return Flux.from(messageManager.search(SearchQuery.of(SearchQuery.all()), session))
+                .collect(ImmutableList.toImmutableList());
+        }
+        Entry entry = entries.asMap().computeIfAbsent(messageManager.getId(), mailboxId -> new Entry(mailboxId, this));
+
+        return entry.initialization
+            .then(Mono.defer(Throwing.supplier(() -> messageManager.getMetaDataReactive(IGNORE, session,
+                EnumSet.of(MailboxMetaData.Item.HighestModSeq, MailboxMetaData.Item.MailboxCounters, MailboxMetaData.Item.NextUid))).sneakyThrow()))
+            .flatMap(metaData -> synchronize(entry, messageManager, session, metaData));
+    }
+
+    private Mono<List<MessageUid>> synchronize(Entry entry, MessageManager messageManager, MailboxSession session, MailboxMetaData metaData) {
+        MailboxSnapshot snapshot = entry.snapshot;
+        if (!entry.loaded) {
+            return load(entry, messageManager, session, metaData);
+        }
+        if (isInSync(snapshot, metaData)) {
+            return Mono.just(snapshot.uids());
+        }
+        return Flux.from(messageManager.listMessagesMetadata(MessageRange.from(snapshot.nextUid()), session))
+            .collectList()
+            .flatMap(added -> {
+                snapshot.merge(added);
+                if (isInSync(snapshot, metaData)) {
+                    return Mono.just(snapshot.uids());
+                }
+                return load(entry, messageManager, session, metaData);
+            });
+    }
+
+    private static boolean isInSync(MailboxSnapshot snapshot, MailboxMetaData metaData) {
+        return snapshot.isInSync(metaData.getHighestModSeq(), metaData.getMessageCount(), metaData.getUidNext());
+    }
+
+    private Mono<List<MessageUid>> load(Entry entry, MessageManager messageManager, MailboxSession session, MailboxMetaData metaData) {
+        MailboxSnapshot snapshot = entry.snapshot;
+        snapshot.beginLoad();
+        return Flux.from(messageManager.listMessagesMetadata(MessageRange.all(), session))
+            .collectList()
+            .doOnNext(listed -> {
+                snapshot.completeLoad(listed, metaData.getHighestModSeq(), metaData.getUidNext());
+                entry.loaded = true;
+            })
+            .doOnError(e -> snapshot.abortLoad())
+            .doOnCancel(snapshot::abortLoad)
+            .map(any -> snapshot.uids());
+    }
+
+    @Override
+    public Publisher<Void> reactiveEvent(Event event) {
+        if (event instanceof MailboxDeletion deletion) {
+            Optional.ofNullable(entries.getIfPresent(deletion.getMailboxId()))
+                .ifPresent(entry -> entry.deleted = true);
+            entries.invalidate(deletion.getMailboxId());
+            return store.delete(deletion.getMailboxId());
+        }
+        if (event instanceof MailboxEvent mailboxEvent) {
+            Optional.ofNullable(entries.getIfPresent(mailboxEvent.getMailboxId()))
+                .ifPresent(entry -> entry.snapshot.apply(mailboxEvent));
+        }
+        return Mono.empty();
+    }
+
+    private void onRemoval(RemovalNotification<MailboxId, Entry> notification) {
+        Entry entry = notification.getValue();
+        MailboxId mailboxId = notification.getKey();
+        boolean shouldPersist = entry.loaded && !entry.deleted;
+
+        entry.unregister()
+            .then(Mono.defer(() -> {
+                if (shouldPersist) {
+                    return Mono.from(store.save(mailboxId, entry.snapshot.asBytes()));
+                }
+                return Mono.empty();
+            }))
+            .onErrorResume(e -> {
+                LOGGER.warn("Failed to evict the snapshot of mailbox {}", mailboxId.serialize(), e);
+                return Mono.empty();
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe();
+    }
+
+    @VisibleForTesting
+    void evictAll() {
+        entries.invalidateAll();
+    }
+
+    @VisibleForTesting
+    Optional<MailboxSnapshot> cached(MailboxId mailboxId) {
+        return Optional.ofNullable(entries.getIfPresent(mailboxId))
+            .filter(entry -> entry.loaded)
+            .map(entry -> entry.snapshot);
+    }
+}
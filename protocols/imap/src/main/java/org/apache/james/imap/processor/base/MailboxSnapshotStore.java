@@ -0,0 +1,56 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import org.apache.james.mailbox.model.MailboxId;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Persists {@link MailboxSnapshot} binary representations so that they survive cache evictions and restarts.
+ */
+public interface MailboxSnapshotStore {
+    MailboxSnapshotStore NOOP = new MailboxSnapshotStore() {
+        @Override
+        public Publisher<byte[]> retrieve(MailboxId mailboxId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Publisher<Void> save(MailboxId mailboxId, byte[] snapshot) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Publisher<Void> delete(MailboxId mailboxId) {
+            return Mono.empty();
+        }
+    };
+
+    /**
+     * @return the stored snapshot, or an empty publisher when none was stored
+     */
+    Publisher<byte[]> retrieve(MailboxId mailboxId);
+
+    Publisher<Void> save(MailboxId mailboxId, byte[] snapshot);
+
+    Publisher<Void> delete(MailboxId mailboxId);
+}
@@ -24,13 +24,10 @@ import static io.vavr.API.Case;
 import static io.vavr.API.Match;
 import static io.vavr.Predicates.instanceOf;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.StampedLock;
@@ -59,16 +56,15 @@ import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
-import org.apache.james.mailbox.model.SearchQuery;
 import org.apache.james.mailbox.model.UpdatedFlags;
 import org.reactivestreams.Publisher;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedSet;
 
-import reactor.core.publisher.Flux;
+import it.unimi.dsi.fastutil.longs.LongAVLTreeSet;
+import it.unimi.dsi.fastutil.longs.LongSortedSet;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -127,9 +123,10 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
     private final EventBus eventBus;
     private final MailboxSession mailboxSession;
     private final UidMsnConverter uidMsnConverter;
-    private final Set<MessageUid> recentUids = new TreeSet<>();
-    private final Set<MessageUid> flagUpdateUids = new TreeSet<>();
-    private final Set<MessageUid> expungedUids = new TreeSet<>();
+    private final MailboxSnapshotCache snapshotCache;
+    private final LongSortedSet recentUids = new LongAVLTreeSet();
+    private final LongSortedSet flagUpdateUids = new LongAVLTreeSet();
+    private final LongSortedSet expungedUids = new LongAVLTreeSet();
     private final StampedLock applicableFlagsLock = new StampedLock();
     private final AtomicReference<ReactiveEventListener> idleEventListener = new AtomicReference<>();
     private final AtomicBoolean recentUidRemoved = new AtomicBoolean(false);
@@ -139,7 +136,13 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
     private ApplicableFlags applicableFlags = ApplicableFlags.from(new Flags());
 
     public SelectedMailboxImpl(MailboxManager mailboxManager, EventBus eventBus, MailboxSession session, MessageManager messageManager) {
+        this(mailboxManager, eventBus, session, messageManager, MailboxSnapshotCache.disabled(eventBus));
+    }
+
+    public SelectedMailboxImpl(MailboxManager mailboxManager, EventBus eventBus, MailboxSession session, MessageManager messageManager,
+                               MailboxSnapshotCache snapshotCache) {
         this.eventBus = eventBus;
+        this.snapshotCache = snapshotCache;
         this.mailboxManager = mailboxManager;
         this.messageManager = messageManager;
         this.mailboxSession = session;
@@ -159,8 +162,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
                     applicableFlags = applicableFlags.updateWithNewFlags(flags);
                     applicableFlagsLock.unlockWrite(stamp);
                 }))
-            .then(Flux.from(messageManager.search(SearchQuery.of(SearchQuery.all()), mailboxSession))
-                .collect(ImmutableList.toImmutableList())
+            .then(snapshotCache.uids(messageManager, mailboxSession)
                 .doOnNext(uidMsnConverter::addAll))
             .then();
     }
@@ -221,7 +223,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
 
     @Override
     public synchronized boolean removeRecent(MessageUid uid) {
-        final boolean result = recentUids.remove(uid);
+        final boolean result = recentUids.remove(uid.asLong());
         if (result) {
             recentUidRemoved.set(true);
         }
@@ -230,13 +232,13 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
 
     @Override
     public synchronized boolean addRecent(MessageUid uid) {
-        return recentUids.add(uid);
+        return recentUids.add(uid.asLong());
     }
 
     @Override
     public synchronized Collection<MessageUid> getRecent() {
         checkExpungedRecents();
-        return new ArrayList<>(recentUids);
+        return toMessageUids(recentUids);
     }
 
     @Override
@@ -257,14 +259,14 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
     }
 
     private void checkExpungedRecents() {
-        for (MessageUid uid : expungedUids) {
-            removeRecent(uid);
+        if (recentUids.removeAll(expungedUids)) {
+            recentUidRemoved.set(true);
         }
     }
 
     @Override
     public synchronized boolean isRecent(MessageUid uid) {
-        return recentUids.contains(uid);
+        return recentUids.contains(uid.asLong());
     }
 
     @Override
@@ -292,6 +294,11 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
         return uidMsnConverter.getAndRemove(uid);
     }
 
+    @Override
+    public List<NullableMessageSequenceNumber> removeAll(Collection<MessageUid> uids) {
+        return uidMsnConverter.getAndRemoveAll(uids);
+    }
+
     private boolean interestingFlags(UpdatedFlags updated) {
         boolean result;
         final Iterator<Flags.Flag> it = updated.modifiedSystemFlags().iterator();
@@ -353,18 +360,24 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
      */
     @Override
     public synchronized Collection<MessageUid> flagUpdateUids() {
-        // copy the TreeSet to fix possible
+        // copy the set to fix possible
         // java.util.ConcurrentModificationException
         // See IMAP-278
-        return ImmutableSortedSet.copyOf(flagUpdateUids);
+        return toMessageUids(flagUpdateUids);
     }
 
     @Override
     public synchronized Collection<MessageUid> expungedUids() {
-        // copy the TreeSet to fix possible
+        // copy the set to fix possible
         // java.util.ConcurrentModificationException
         // See IMAP-278
-        return ImmutableSortedSet.copyOf(expungedUids);
+        return toMessageUids(expungedUids);
+    }
+
+    private static ImmutableSortedSet<MessageUid> toMessageUids(LongSortedSet uids) {
+        return uids.longStream()
+            .mapToObj(MessageUid::of)
+            .collect(ImmutableSortedSet.toImmutableSortedSet(MessageUid::compareTo));
     }
 
     @Override
@@ -430,7 +443,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
     }
 
     private Void handleMailboxExpunge(MessageEvent messageEvent) {
-        expungedUids.addAll(messageEvent.getUids());
+        messageEvent.getUids().forEach(uid -> expungedUids.add(uid.asLong()));
         return VOID;
     }
 
@@ -440,7 +453,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
 
             for (UpdatedFlags u : uFlags) {
                 if (interestingFlags(u)) {
-                    flagUpdateUids.add(u.getUid());
+                    flagUpdateUids.add(u.getUid().asLong());
                 }
             }
         }
@@ -452,7 +465,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
         List<UpdatedFlags> uflags = updated.getUpdatedFlags();
         for (UpdatedFlags u : uflags) {
             if (u.modifiedSystemFlags().contains(Flag.RECENT)) {
-                recentUids.add(u.getUid());
+                recentUids.add(u.getUid().asLong());
             }
         }
         long stamp = applicableFlagsLock.writeLock();
@@ -464,7 +477,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, EventListener.React
     private Void handleAddition(Added added) {
         sizeChanged.set(true);
         uidMsnConverter.addAll(added.getUids());
-        recentUids.addAll(added.getUids());
+        added.getUids().forEach(uid -> recentUids.add(uid.asLong()));
         return VOID;
     }
 
@@ -23,6 +23,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.NullableMessageSequenceNumber;
@@ -30,91 +32,99 @@ import org.apache.james.mailbox.NullableMessageSequenceNumber;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 
-import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntComparators;
-import it.unimi.dsi.fastutil.longs.LongAVLTreeSet;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
-import it.unimi.dsi.fastutil.longs.LongComparators;
 
+/**
+ * Sorted index of the UIDs of a selected mailbox, the position of a UID being its message sequence number.
+ *
+ * UIDs are stored in primitive arrays (as ints while they fit, as longs otherwise). Writes, triggered by
+ * mailbox events, are serialized by a {@link StampedLock} while reads, issued by FETCH, SEARCH, STORE... are
+ * performed optimistically and only fall back to a read lock when they overlap with a write.
+ */
 public class UidMsnConverter {
     private static final int FIRST_MSN = 1;
     private static final long INTEGER_MAX_VALUE = Integer.MAX_VALUE;
 
     @VisibleForTesting final LongArrayList uids;
     @VisibleForTesting final IntArrayList uidsAsInts;
-    @VisibleForTesting boolean usesInts = true;
+    @VisibleForTesting volatile boolean usesInts = true;
+    private final StampedLock lock;
 
     public UidMsnConverter() {
         this.uids = new LongArrayList();
         this.uidsAsInts = new IntArrayList();
+        this.lock = new StampedLock();
     }
 
-    public synchronized void addAll(Collection<MessageUid> addedUids) {
-        addAllUnSynchronized(addedUids);
+    public void addAll(Collection<MessageUid> addedUids) {
+        long[] sortedUids = toSortedDistinctArray(addedUids);
+        write(() -> addAllUnSynchronized(sortedUids));
     }
 
-    private void addAllUnSynchronized(Collection<MessageUid> addedUids) {
+    private void addAllUnSynchronized(long[] sortedUids) {
+        if (sortedUids.length == 0) {
+            return;
+        }
+        if (usesInts && sortedUids[sortedUids.length - 1] > INTEGER_MAX_VALUE) {
+            switchToLongs();
+        }
         if (usesInts) {
-            if (uidsAsInts.isEmpty()) {
-                // Avoids intermediary tree structure
-                addAllToEmptyIntStructure(addedUids);
-            } else {
-                addAllToNonEmptyIntStructure(addedUids);
-            }
+            mergeIntoInts(sortedUids);
         } else {
-            if (uids.isEmpty()) {
-                // Avoids intermediary tree structure
-                addAllToEmptyLongStructure(addedUids);
-            } else {
-                addAllToNonEmptyLongStructure(addedUids);
-            }
+            mergeIntoLongs(sortedUids);
         }
     }
 
-    private void addAllToNonEmptyLongStructure(Collection<MessageUid> addedUids) {
-        LongAVLTreeSet tmp = new LongAVLTreeSet(uids);
-        for (MessageUid uid : addedUids) {
-            tmp.add(uid.asLong());
+    private void mergeIntoInts(long[] sortedUids) {
+        int existingSize = uidsAsInts.size();
+        long[] missingUids = missingUids(sortedUids);
+        if (missingUids.length == 0) {
+            return;
         }
-        uids.clear();
-        uids.addAll(tmp);
-    }
-
-    private void addAllToEmptyLongStructure(Collection<MessageUid> addedUids) {
-        uids.ensureCapacity(addedUids.size());
-        for (MessageUid uid : addedUids) {
-            uids.add(uid.asLong());
+        uidsAsInts.size(existingSize + missingUids.length);
+        int[] elements = uidsAsInts.elements();
+        // Merge from the end so that the existing UIDs are moved at most once
+        int existingIndex = existingSize - 1;
+        int addedIndex = missingUids.length - 1;
+        for (int writeIndex = existingSize + missingUids.length - 1; addedIndex >= 0; writeIndex--) {
+            if (existingIndex >= 0 && elements[existingIndex] > missingUids[addedIndex]) {
+                elements[writeIndex] = elements[existingIndex--];
+            } else {
+                elements[writeIndex] = (int) missingUids[addedIndex--];
+            }
         }
-        uids.sort(LongComparators.NATURAL_COMPARATOR);
     }
 
-    private void addAllToNonEmptyIntStructure(Collection<MessageUid> addedUids) {
-        IntAVLTreeSet tmp = new IntAVLTreeSet(uidsAsInts);
-        for (MessageUid uid : addedUids) {
-            if (uid.asLong() > INTEGER_MAX_VALUE) {
-                switchToLongs();
-                addAllUnSynchronized(addedUids);
-                return;
+    private void mergeIntoLongs(long[] sortedUids) {
+        int existingSize = uids.size();
+        long[] missingUids = missingUids(sortedUids);
+        if (missingUids.length == 0) {
+            return;
+        }
+        uids.size(existingSize + missingUids.length);
+        long[] elements = uids.elements();
+        // Merge from the end so that the existing UIDs are moved at most once
+        int existingIndex = existingSize - 1;
+        int addedIndex = missingUids.length - 1;
+        for (int writeIndex = existingSize + missingUids.length - 1; addedIndex >= 0; writeIndex--) {
+            if (existingIndex >= 0 && elements[existingIndex] > missingUids[addedIndex]) {
+                elements[writeIndex] = elements[existingIndex--];
+            } else {
+                elements[writeIndex] = missingUids[addedIndex--];
             }
-            tmp.add((int) uid.asLong());
         }
-        uidsAsInts.clear();
-        uidsAsInts.addAll(tmp);
     }
 
-    private void addAllToEmptyIntStructure(Collection<MessageUid> addedUids) {
-        uidsAsInts.ensureCapacity(addedUids.size());
-        for (MessageUid uid : addedUids) {
-            if (uid.asLong() > INTEGER_MAX_VALUE) {
-                uidsAsInts.clear();
-                switchToLongs();
-                addAllUnSynchronized(addedUids);
-                return;
-            }
-            uidsAsInts.add((int) uid.asLong());
+    private long[] missingUids(long[] sortedUids) {
+        int numMessage = getNumMessageUnsynchronized();
+        if (numMessage == 0 || sortedUids[0] > getUidUnsynchronized(numMessage)) {
+            // Appending UIDs greater than the last known UID is the common case
+            return sortedUids;
         }
-        uidsAsInts.sort(IntComparators.NATURAL_COMPARATOR);
+        return Arrays.stream(sortedUids)
+            .filter(uid -> indexOf(uid) < 0)
+            .toArray();
     }
 
     private void switchToLongs() {
@@ -127,66 +137,76 @@ public class UidMsnConverter {
         uidsAsInts.trim();
     }
 
-    public synchronized NullableMessageSequenceNumber getMsn(MessageUid uid) {
-        return getMsnUnsynchronized(uid);
+    public NullableMessageSequenceNumber getMsn(MessageUid uid) {
+        return read(() -> getMsnUnsynchronized(uid.asLong()));
     }
 
-    private NullableMessageSequenceNumber getMsnUnsynchronized(MessageUid uid) {
-        if (usesInts) {
-            if (uid.asLong() > INTEGER_MAX_VALUE) {
-                return NullableMessageSequenceNumber.noMessage();
-            }
-            int position = Arrays.binarySearch(uidsAsInts.elements(), 0, uidsAsInts.size(), (int) uid.asLong());
-            if (position < 0) {
-                return NullableMessageSequenceNumber.noMessage();
-            }
-            return NullableMessageSequenceNumber.of(position + 1);
-        } else {
-            int position =  Arrays.binarySearch(uids.elements(), 0, uids.size(), uid.asLong());
-            if (position < 0) {
-                return NullableMessageSequenceNumber.noMessage();
-            }
-            return NullableMessageSequenceNumber.of(position + 1);
+    private NullableMessageSequenceNumber getMsnUnsynchronized(long uid) {
+        int position = indexOf(uid);
+        if (position < 0) {
+            return NullableMessageSequenceNumber.noMessage();
         }
+        return NullableMessageSequenceNumber.of(position + 1);
     }
 
-    public synchronized Optional<MessageUid> getUid(int msn) {
+    private int indexOf(long uid) {
         if (usesInts) {
-            if (msn <= uidsAsInts.size() && msn > 0) {
-                return Optional.of(MessageUid.of(uidsAsInts.getInt(msn - 1)));
-            }
-        } else {
-            if (msn <= uids.size() && msn > 0) {
-                return Optional.of(MessageUid.of(uids.getLong(msn - 1)));
+            if (uid > INTEGER_MAX_VALUE) {
+                return -1;
             }
+            return Arrays.binarySearch(uidsAsInts.elements(), 0, uidsAsInts.size(), (int) uid);
+        }
+        return Arrays.binarySearch(uids.elements(), 0, uids.size(), uid);
+    }
+
+    public Optional<MessageUid> getUid(int msn) {
+        return read(() -> getUidIfAny(msn));
+    }
+
+    private Optional<MessageUid> getUidIfAny(int msn) {
+        if (msn <= getNumMessageUnsynchronized() && msn > 0) {
+            return Optional.of(MessageUid.of(getUidUnsynchronized(msn)));
         }
         return Optional.empty();
     }
 
-    public synchronized Optional<MessageUid> getLastUid() {
-        if (uidsAsInts.isEmpty() && uids.isEmpty()) {
-            return Optional.empty();
+    private long getUidUnsynchronized(int msn) {
+        if (usesInts) {
+            return uidsAsInts.getInt(msn - 1);
         }
-        return getUid(getLastMsn());
+        return uids.getLong(msn - 1);
+    }
+
+    public Optional<MessageUid> getLastUid() {
+        return read(() -> getUidIfAny(getNumMessageUnsynchronized()));
     }
 
-    public synchronized List<MessageUid> allUids() {
+    public List<MessageUid> allUids() {
+        // Copy the primitive values while reading, boxing them is done outside of the critical section
+        long[] snapshot = read(this::allUidsAsArray);
+        return Arrays.stream(snapshot)
+            .mapToObj(MessageUid::of)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private long[] allUidsAsArray() {
         if (usesInts) {
             return uidsAsInts.intStream()
-                .mapToObj(MessageUid::of)
-                .collect(ImmutableList.toImmutableList());
-        } else {
-            return uids.longStream()
-                .mapToObj(MessageUid::of)
-                .collect(ImmutableList.toImmutableList());
+                .asLongStream()
+                .toArray();
         }
+        return uids.toLongArray();
     }
 
-    public synchronized Optional<MessageUid> getFirstUid() {
+    public Optional<MessageUid> getFirstUid() {
         return getUid(FIRST_MSN);
     }
 
-    public synchronized int getNumMessage() {
+    public int getNumMessage() {
+        return read(this::getNumMessageUnsynchronized);
+    }
+
+    private int getNumMessageUnsynchronized() {
         if (usesInts) {
             return uidsAsInts.size();
         } else {
@@ -194,88 +214,184 @@ public class UidMsnConverter {
         }
     }
 
-    public synchronized void remove(MessageUid uid) {
-        removeUnsynchronized(uid);
+    public void remove(MessageUid uid) {
+        write(() -> removeUnsynchronized(uid.asLong()));
     }
 
-    private void removeUnsynchronized(MessageUid uid) {
-        if (usesInts) {
-            if (uid.asLong() > INTEGER_MAX_VALUE) {
-                return;
-            }
-            int index = Arrays.binarySearch(uidsAsInts.elements(), 0, uidsAsInts.size(), (int) uid.asLong());
-            if (index >= 0) {
+    private void removeUnsynchronized(long uid) {
+        int index = indexOf(uid);
+        if (index >= 0) {
+            if (usesInts) {
                 uidsAsInts.removeInt(index);
-            }
-        } else {
-            int index = Arrays.binarySearch(uids.elements(), 0, uids.size(), uid.asLong());
-            if (index >= 0) {
+            } else {
                 uids.removeLong(index);
             }
         }
     }
 
-    public synchronized NullableMessageSequenceNumber getAndRemove(MessageUid uid) {
-        NullableMessageSequenceNumber result = getMsnUnsynchronized(uid);
-        removeUnsynchronized(uid);
-        return result;
-    }
-
-    public synchronized boolean isEmpty() {
-        return uids.isEmpty() && uidsAsInts.isEmpty();
+    public NullableMessageSequenceNumber getAndRemove(MessageUid uid) {
+        return write(() -> {
+            NullableMessageSequenceNumber result = getMsnUnsynchronized(uid.asLong());
+            removeUnsynchronized(uid.asLong());
+            return result;
+        });
     }
 
-    public synchronized void clear() {
-        uids.clear();
-        uidsAsInts.clear();
+    /**
+     * Removes the given UIDs in a single pass.
+     *
+     * @return for each of the given UIDs, in iteration order, the message sequence number it would be
+     * given by {@link #getAndRemove(MessageUid)} if UIDs were removed one after the other.
+     */
+    public List<NullableMessageSequenceNumber> getAndRemoveAll(Collection<MessageUid> removedUids) {
+        return write(() -> {
+            if (!isStrictlyAscending(removedUids)) {
+                return removedUids.stream()
+                    .map(uid -> {
+                        NullableMessageSequenceNumber result = getMsnUnsynchronized(uid.asLong());
+                        removeUnsynchronized(uid.asLong());
+                        return result;
+                    })
+                    .collect(ImmutableList.toImmutableList());
+            }
+            ImmutableList.Builder<NullableMessageSequenceNumber> result = ImmutableList.builderWithExpectedSize(removedUids.size());
+            int[] removedIndexes = new int[removedUids.size()];
+            int removedCount = 0;
+            for (MessageUid uid : removedUids) {
+                int index = indexOf(uid.asLong());
+                if (index < 0) {
+                    result.add(NullableMessageSequenceNumber.noMessage());
+                } else {
+                    // UIDs lower than this one were removed before, shifting its position
+                    result.add(NullableMessageSequenceNumber.of(index + 1 - removedCount));
+                    removedIndexes[removedCount++] = index;
+                }
+            }
+            compact(removedIndexes, removedCount);
+            return result.build();
+        });
     }
 
-    public synchronized void addUid(MessageUid uid) {
-        addUidUnSynchronized(uid);
+    private boolean isStrictlyAscending(Collection<MessageUid> uids) {
+        MessageUid previous = null;
+        for (MessageUid uid : uids) {
+            if (previous != null && previous.compareTo(uid) >= 0) {
+                return false;
+            }
+            previous = uid;
+        }
+        return true;
     }
 
-    private void addUidUnSynchronized(MessageUid uid) {
-        if (usesInts) {
-            if (uid.asLong() > INTEGER_MAX_VALUE) {
-                switchToLongs();
-                addUidUnSynchronized(uid);
-                return;
-            }
-            if (isLastUid(uid)) {
-                uidsAsInts.add((int) uid.asLong());
-                return;
+    private void compact(int[] sortedRemovedIndexes, int removedCount) {
+        if (removedCount == 0) {
+            return;
+        }
+        int size = getNumMessageUnsynchronized();
+        int writeIndex = sortedRemovedIndexes[0];
+        int removedIndex = 0;
+        for (int readIndex = sortedRemovedIndexes[0]; readIndex < size; readIndex++) {
+            if (removedIndex < removedCount && sortedRemovedIndexes[removedIndex] == readIndex) {
+                removedIndex++;
+                continue;
             }
-            if (contains(uid)) {
-                return;
+            if (usesInts) {
+                uidsAsInts.elements()[writeIndex++] = uidsAsInts.getInt(readIndex);
             } else {
-                uidsAsInts.add((int) uid.asLong());
-                uidsAsInts.sort(IntComparators.NATURAL_COMPARATOR);
+                uids.elements()[writeIndex++] = uids.getLong(readIndex);
             }
+        }
+        if (usesInts) {
+            uidsAsInts.size(writeIndex);
         } else {
-            if (isLastUid(uid)) {
-                uids.add(uid.asLong());
-                return;
-            }
-            if (contains(uid)) {
-                return;
-            } else {
-                uids.add(uid.asLong());
-                uids.sort(LongComparators.NATURAL_COMPARATOR);
-            }
+            uids.size(writeIndex);
+        }
+    }
+
+    public boolean isEmpty() {
+        return getNumMessage() == 0;
+    }
+
+    public void clear() {
+        write(() -> {
+            uids.clear();
+            uidsAsInts.clear();
+        });
+    }
+
+    public void addUid(MessageUid uid) {
+        write(() -> addUidUnSynchronized(uid.asLong()));
+    }
+
+    private void addUidUnSynchronized(long uid) {
+        if (usesInts && uid > INTEGER_MAX_VALUE) {
+            switchToLongs();
+        }
+        int index = indexOf(uid);
+        if (index >= 0) {
+            return;
+        }
+        int insertionPoint = -(index + 1);
+        if (usesInts) {
+            uidsAsInts.add(insertionPoint, (int) uid);
+        } else {
+            uids.add(insertionPoint, uid);
         }
     }
 
-    private boolean contains(MessageUid uid) {
-        return getMsnUnsynchronized(uid).foldSilent(() -> false, any -> true);
+    private static long[] toSortedDistinctArray(Collection<MessageUid> uids) {
+        long[] result = new long[uids.size()];
+        int i = 0;
+        boolean sorted = true;
+        for (MessageUid uid : uids) {
+            result[i] = uid.asLong();
+            sorted = sorted && (i == 0 || result[i - 1] < result[i]);
+            i++;
+        }
+        if (sorted) {
+            return result;
+        }
+        return Arrays.stream(result)
+            .sorted()
+            .distinct()
+            .toArray();
     }
 
-    private boolean isLastUid(MessageUid uid) {
-        Optional<MessageUid> lastUid = getLastUid();
-        return lastUid.isEmpty() ||
-            lastUid.get().compareTo(uid) < 0;
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // A concurrent write exposed an inconsistent state, retry while holding the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
-    private int getLastMsn() {
-        return getNumMessage();
+    private <T> T write(Supplier<T> writer) {
+        long stamp = lock.writeLock();
+        try {
+            return writer.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void write(Runnable writer) {
+        long stamp = lock.writeLock();
+        try {
+            writer.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 }
@@ -24,11 +24,13 @@ package org.apache.james.imap.processor.fetch;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 import org.apache.james.imap.message.response.FetchResponse.BodyElement;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Content;
+import org.reactivestreams.Publisher;
 
 class ContentBodyElement implements BodyElement {
     private final String name;
@@ -63,6 +65,16 @@ class ContentBodyElement implements BodyElement {
         return content.getInputStream();
     }
 
+    @Override
+    public Publisher<ByteBuffer> reactiveBytes() {
+        return content.reactiveBytes();
+    }
+
+    @Override
+    public InputStream getInputStream(long offset, long length) throws IOException {
+        return content.getInputStream(offset, length);
+    }
+
     @Override
     public String toString() {
         return "ContentBodyElement{" +
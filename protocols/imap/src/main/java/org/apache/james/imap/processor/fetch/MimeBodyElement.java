@@ -26,6 +26,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.james.imap.api.ImapConstants;
 import org.apache.james.imap.message.response.FetchResponse.BodyElement;
@@ -83,18 +84,27 @@ public class MimeBodyElement implements BodyElement {
 
     @Override
     public InputStream getInputStream() throws IOException {
+        return new ByteArrayInputStream(toBytes());
+    }
+
+    @Override
+    public Optional<byte[][]> asBytesSequence() {
+        return Optional.of(new byte[][] {toBytes()});
+    }
+
+    private byte[] toBytes() {
         ExactSizeByteArrayOutputStream out = new ExactSizeByteArrayOutputStream((int) size);
 
         for (Header header : headers) {
-            out.write(header.getName().getBytes(US_ASCII));
-            out.write(NAME_DELIMITER_BYTES);
-            out.write(header.getValue().getBytes(US_ASCII));
-            out.write(LINE_END_BYTES);
+            out.writeBytes(header.getName().getBytes(US_ASCII));
+            out.writeBytes(NAME_DELIMITER_BYTES);
+            out.writeBytes(header.getValue().getBytes(US_ASCII));
+            out.writeBytes(LINE_END_BYTES);
         }
         // no empty line with CRLF for MIME headers. See IMAP-297
         if (size > 0) {
-            out.write(ImapConstants.LINE_END.getBytes());
+            out.writeBytes(ImapConstants.LINE_END.getBytes());
         }
-        return new ByteArrayInputStream(out.getUnderlyingBuffer());
+        return out.getUnderlyingBuffer();
     }
 }
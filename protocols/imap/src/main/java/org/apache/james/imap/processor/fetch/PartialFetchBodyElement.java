@@ -19,15 +19,27 @@
 
 package org.apache.james.imap.processor.fetch;
 
-import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 import org.apache.james.imap.message.response.FetchResponse.BodyElement;
+import org.reactivestreams.Publisher;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
 
 /**
  * Wraps full content to implement a partial fetch.
+ *
+ * The requested octets are asked to the wrapped element. The range is only pushed down to
+ * storage when the underlying content, for instance a BlobStore, supports ranged reads:
+ * otherwise the full content is read and the octets before the range skipped. When the
+ * wrapped element is held in memory, the requested octets are streamed as views over its
+ * byte arrays.
  */
 final class PartialFetchBodyElement implements BodyElement {
     private final BodyElement delegate;
@@ -62,121 +74,33 @@ final class PartialFetchBodyElement implements BodyElement {
 
     @Override
     public InputStream getInputStream() throws IOException {
-        return new LimitingInputStream(delegate.getInputStream(), firstOctet, size());
+        return delegate.getInputStream(firstOctet, size());
     }
 
-    private static final class LimitingInputStream extends FilterInputStream {
-        private long pos = 0;
-        private final long length;
-        private long offset;
-
-        public LimitingInputStream(InputStream in, long offset, long length) {
-            super(in);
-            this.length = length;
-            this.offset = offset;
-        }
-
-        /**
-         * Check if the offset was reached. If not move the wrapped
-         * {@link InputStream} to the needed offset
-         * 
-         * @throws IOException
-         */
-        private void checkOffset() throws IOException {
-            if (offset > -1) {
-                // first try to skip on the InputStream as it is mostly faster
-                // the calling read in a loop
-                try {
-                    offset -= in.skip(offset);
-                } catch (IOException e) {
-                    // maybe because skip is not supported
-                }
-                while (offset > 0) {
-                    // consume the stream till we reach the offset
-                    in.read();
-                    offset--;
-                }
-                offset = -1;
-            }
-        }
-
-        @Override
-        public int read() throws IOException {
-            checkOffset();
-            if (pos >= length) {
-                return -1;
-            }
-            pos++;
-            return super.read();
-        }
-
-        @Override
-        public int read(byte[] b) throws IOException {
-            return read(b, 0, b.length);
-        }
-
-        @Override
-        public int read(byte[] b, int off, int len) throws IOException {
-            checkOffset();
-
-            if (pos >= length) {
-                return -1;
-            }
-            int readLimit;
-            if (pos + len >= length) {
-                readLimit = (int) length - (int) pos;
-            } else {
-                readLimit = len;
-            }
-
-            int i = super.read(b, off, readLimit);
-            pos += i;
-            return i;
-
-        }
-
-        @Override
-        public long skip(long n) throws IOException {
-            throw new IOException("Not implemented");
-        }
+    @Override
+    public Publisher<ByteBuffer> reactiveBytes() {
+        return delegate.asBytesSequence()
+            .<Publisher<ByteBuffer>>map(Throwing.function(this::slice))
+            .orElseGet(BodyElement.super::reactiveBytes);
+    }
 
-        @Override
-        public int available() throws IOException {
-            // Correctly calculate in available bytes.
-            // See IMAP-295
-            checkOffset();
-            if (pos >= length) {
-                return 0;
+    private Flux<ByteBuffer> slice(byte[][] bytesSequence) throws IOException {
+        ImmutableList.Builder<ByteBuffer> slices = ImmutableList.builder();
+        long start = firstOctet;
+        long remaining = size();
+        for (byte[] bytes : bytesSequence) {
+            if (remaining == 0) {
+                break;
             }
-            int i = in.available();
-            if (i == -1) {
-                return 0;
-            } else {
-                if (i >= length) {
-                    return (int) length - (int) pos;
-                } else {
-                    return i;
-                }
+            if (start >= bytes.length) {
+                start -= bytes.length;
+                continue;
             }
+            int length = (int) Math.min(bytes.length - start, remaining);
+            slices.add(ByteBuffer.wrap(bytes, (int) start, length));
+            remaining -= length;
+            start = 0;
         }
-
-        @Override
-        public void mark(int readlimit) {
-            // Don't do anything.
-        }
-
-        @Override
-        public void reset() throws IOException {
-            throw new IOException("mark not supported");
-        }
-
-        /**
-         * Return false as mark is not supported
-         */
-        @Override
-        public boolean markSupported() {
-            return false;
-        }
+        return Flux.fromIterable(slices.build());
     }
-
-}
\ No newline at end of file
+}
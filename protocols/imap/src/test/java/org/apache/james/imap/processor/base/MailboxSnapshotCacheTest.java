@@ -0,0 +1,232 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.mail.Flags;
+import jakarta.mail.util.SharedByteArrayInputStream;
+
+import org.apache.james.core.Username;
+import org.apache.james.events.EventBus;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
+import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class MailboxSnapshotCacheTest {
+    private static final Username BOB = Username.of("bob");
+    private static final MailboxSnapshotCache.CacheConfiguration ENABLED = new MailboxSnapshotCache.CacheConfiguration(true, 100, Duration.ofHours(1));
+
+    static class MemoryMailboxSnapshotStore implements MailboxSnapshotStore {
+        private final Map<MailboxId, byte[]> snapshots = new ConcurrentHashMap<>();
+        private final CompletableFuture<byte[]> firstSave = new CompletableFuture<>();
+
+        @Override
+        public Publisher<byte[]> retrieve(MailboxId mailboxId) {
+            return Mono.justOrEmpty(snapshots.get(mailboxId));
+        }
+
+        @Override
+        public Publisher<Void> save(MailboxId mailboxId, byte[] snapshot) {
+            return Mono.fromRunnable(() -> {
+                snapshots.put(mailboxId, snapshot);
+                firstSave.complete(snapshot);
+            });
+        }
+
+        @Override
+        public Publisher<Void> delete(MailboxId mailboxId) {
+            return Mono.fromRunnable(() -> snapshots.remove(mailboxId));
+        }
+    }
+
+    private InMemoryMailboxManager mailboxManager;
+    private EventBus eventBus;
+    private MailboxSession session;
+    private MessageManager inbox;
+    private MemoryMailboxSnapshotStore store;
+    private MailboxSnapshotCache testee;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InMemoryIntegrationResources resources = InMemoryIntegrationResources.defaultResources();
+        mailboxManager = resources.getMailboxManager();
+        eventBus = resources.getEventBus();
+        session = mailboxManager.createSystemSession(BOB);
+        mailboxManager.createMailbox(MailboxPath.inbox(BOB), session);
+        inbox = mailboxManager.getMailbox(MailboxPath.inbox(BOB), session);
+        store = new MemoryMailboxSnapshotStore();
+        testee = new MailboxSnapshotCache(eventBus, store, ENABLED);
+    }
+
+    private MessageUid append() throws Exception {
+        return inbox.appendMessage(MessageManager.AppendCommand.builder()
+                .withFlags(new Flags(Flags.Flag.SEEN))
+                .build(new SharedByteArrayInputStream("header: value\r\n\r\nbody".getBytes())), session)
+            .getId().getUid();
+    }
+
+    @Test
+    void uidsShouldListAllMessages() throws Exception {
+        MessageUid uid1 = append();
+        MessageUid uid2 = append();
+
+        assertThat(testee.uids(inbox, session).block()).containsExactly(uid1, uid2);
+    }
+
+    @Test
+    void uidsShouldListAllMessagesWhenDisabled() throws Exception {
+        MessageUid uid1 = append();
+        MessageUid uid2 = append();
+
+        assertThat(MailboxSnapshotCache.disabled(eventBus).uids(inbox, session).block()).containsExactly(uid1, uid2);
+    }
+
+    @Test
+    void uidsShouldIncludeMessagesAddedAfterCaching() throws Exception {
+        MessageUid uid1 = append();
+        testee.uids(inbox, session).block();
+
+        MessageUid uid2 = append();
+
+        assertThat(testee.uids(inbox, session).block()).containsExactly(uid1, uid2);
+    }
+
+    @Test
+    void uidsShouldExcludeMessagesExpungedAfterCaching() throws Exception {
+        MessageUid uid1 = append();
+        MessageUid uid2 = append();
+        testee.uids(inbox, session).block();
+
+        inbox.setFlags(new Flags(Flags.Flag.DELETED), MessageManager.FlagsUpdateMode.ADD, MessageRange.one(uid1), session);
+        inbox.expunge(MessageRange.all(), session);
+
+        assertThat(testee.uids(inbox, session).block()).containsExactly(uid2);
+    }
+
+    @Test
+    void cachedSnapshotShouldBeUpdatedFromEvents() throws Exception {
+        MessageUid uid1 = append();
+        testee.uids(inbox, session).block();
+
+        MessageUid uid2 = append();
+        inbox.setFlags(new Flags(Flags.Flag.FLAGGED), MessageManager.FlagsUpdateMode.ADD, MessageRange.one(uid1), session);
+
+        MailboxSnapshot snapshot = testee.cached(inbox.getId()).orElseThrow();
+        assertThat(snapshot.uids()).containsExactly(uid1, uid2);
+        MessageManager.MailboxMetaData metaData = inbox.getMetaData(MessageManager.MailboxMetaData.RecentMode.IGNORE, session,
+            EnumSet.of(MessageManager.MailboxMetaData.Item.HighestModSeq, MessageManager.MailboxMetaData.Item.MailboxCounters, MessageManager.MailboxMetaData.Item.NextUid));
+        assertThat(snapshot.isInSync(metaData.getHighestModSeq(), metaData.getMessageCount(), metaData.getUidNext())).isTrue();
+    }
+
+    @Test
+    void evictedSnapshotsShouldBeStored() throws Exception {
+        MessageUid uid1 = append();
+        testee.uids(inbox, session).block();
+
+        testee.evictAll();
+
+        byte[] stored = store.firstSave.get(10, TimeUnit.SECONDS);
+        assertThat(MailboxSnapshot.fromBytes(stored).uids()).containsExactly(uid1);
+    }
+
+    @Test
+    void storedSnapshotsShouldBeRestoredAndCaughtUp() throws Exception {
+        MessageUid uid1 = append();
+        testee.uids(inbox, session).block();
+        testee.evictAll();
+        store.firstSave.get(10, TimeUnit.SECONDS);
+
+        MessageUid uid2 = append();
+        MailboxSnapshotCache restarted = new MailboxSnapshotCache(eventBus, store, ENABLED);
+
+        assertThat(restarted.uids(inbox, session).block()).containsExactly(uid1, uid2);
+    }
+
+    @Test
+    void staleStoredSnapshotsShouldBeReloaded() throws Exception {
+        MessageUid uid1 = append();
+        MessageUid uid2 = append();
+        testee.uids(inbox, session).block();
+        testee.evictAll();
+        store.firstSave.get(10, TimeUnit.SECONDS);
+
+        inbox.setFlags(new Flags(Flags.Flag.DELETED), MessageManager.FlagsUpdateMode.ADD, MessageRange.one(uid1), session);
+        inbox.expunge(MessageRange.all(), session);
+        MailboxSnapshotCache restarted = new MailboxSnapshotCache(eventBus, store, ENABLED);
+
+        assertThat(restarted.uids(inbox, session).block()).containsExactly(uid2);
+    }
+
+    @Test
+    void storedSnapshotsMatchingModSeqAndCountShouldBeReloadedWhenUidNextDiffers() throws Exception {
+        MessageUid uid1 = append();
+        MessageUid uid2 = append();
+        List<ComposedMessageIdWithMetaData> staleListing = Flux.from(inbox.listMessagesMetadata(MessageRange.all(), session))
+            .collectList()
+            .block();
+        inbox.setFlags(new Flags(Flags.Flag.DELETED), MessageManager.FlagsUpdateMode.ADD, MessageRange.one(uid1), session);
+        inbox.expunge(MessageRange.all(), session);
+        MessageUid uid3 = append();
+        MessageManager.MailboxMetaData metaData = inbox.getMetaData(MessageManager.MailboxMetaData.RecentMode.IGNORE, session,
+            EnumSet.of(MessageManager.MailboxMetaData.Item.HighestModSeq));
+        MailboxSnapshot stale = MailboxSnapshot.empty();
+        stale.beginLoad();
+        stale.completeLoad(staleListing, metaData.getHighestModSeq(), uid2.next());
+        Mono.from(store.save(inbox.getId(), stale.asBytes())).block();
+
+        MailboxSnapshotCache restarted = new MailboxSnapshotCache(eventBus, store, ENABLED);
+
+        assertThat(restarted.uids(inbox, session).block()).containsExactly(uid2, uid3);
+    }
+
+    @Test
+    void mailboxDeletionShouldDeleteStoredSnapshot() throws Exception {
+        append();
+        MailboxId mailboxId = inbox.getId();
+        testee.uids(inbox, session).block();
+        Mono.from(store.save(mailboxId, new byte[] {1})).block();
+
+        mailboxManager.deleteMailbox(MailboxPath.inbox(BOB), session);
+
+        assertThat(store.snapshots).doesNotContainKey(mailboxId);
+        assertThat(testee.cached(mailboxId)).isEmpty();
+    }
+}
@@ -0,0 +1,176 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.mail.Flags;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.inmemory.InMemoryId;
+import org.apache.james.mailbox.inmemory.InMemoryMessageId;
+import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
+import org.apache.james.mailbox.model.ThreadId;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class MailboxSnapshotTest {
+    private static final InMemoryId MAILBOX_ID = InMemoryId.of(42);
+
+    private static ComposedMessageIdWithMetaData message(long uid, long modSeq, Flags flags) {
+        InMemoryMessageId messageId = InMemoryMessageId.of(uid);
+        return ComposedMessageIdWithMetaData.builder()
+            .composedMessageId(new ComposedMessageId(MAILBOX_ID, messageId, MessageUid.of(uid)))
+            .flags(flags)
+            .modSeq(ModSeq.of(modSeq))
+            .threadId(ThreadId.fromBaseMessageId(messageId))
+            .build();
+    }
+
+    @Test
+    void emptySnapshotShouldBeInSyncWithEmptyMailbox() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+
+        assertThat(snapshot.isInSync(ModSeq.first(), 0, MessageUid.MIN_VALUE)).isTrue();
+    }
+
+    @Test
+    void completeLoadShouldReplaceExistingMessages() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+        snapshot.merge(ImmutableList.of(message(1, 1, new Flags()), message(2, 2, new Flags())));
+
+        snapshot.beginLoad();
+        snapshot.completeLoad(ImmutableList.of(message(2, 2, new Flags()), message(3, 3, new Flags())), ModSeq.of(4), MessageUid.of(4));
+
+        assertThat(snapshot.uids()).containsExactly(MessageUid.of(2), MessageUid.of(3));
+    }
+
+    @Test
+    void completeLoadShouldUseMailboxHighestModSeqWhenHigher() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+
+        snapshot.beginLoad();
+        snapshot.completeLoad(ImmutableList.of(message(1, 1, new Flags())), ModSeq.of(4), MessageUid.of(3));
+
+        assertThat(snapshot.isInSync(ModSeq.of(4), 1, MessageUid.of(3))).isTrue();
+    }
+
+    @Test
+    void mergeShouldAdvanceHighestModSeq() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+
+        snapshot.merge(ImmutableList.of(message(1, 1, new Flags()), message(2, 7, new Flags())));
+
+        assertThat(snapshot.highestModSeq()).isEqualTo(ModSeq.of(7));
+    }
+
+    @Test
+    void nextUidShouldFollowLastUid() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+
+        snapshot.merge(ImmutableList.of(message(3, 1, new Flags()), message(12, 2, new Flags())));
+
+        assertThat(snapshot.nextUid()).isEqualTo(MessageUid.of(13));
+    }
+
+    @Test
+    void isInSyncShouldDetectMessageCountChanges() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+
+        snapshot.merge(ImmutableList.of(message(1, 1, new Flags()), message(2, 2, new Flags())));
+
+        assertThat(snapshot.isInSync(ModSeq.of(2), 1, MessageUid.of(3))).isFalse();
+    }
+
+    @Test
+    void isInSyncShouldDetectUidNextChanges() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+
+        snapshot.merge(ImmutableList.of(message(1, 1, new Flags()), message(2, 2, new Flags())));
+
+        assertThat(snapshot.isInSync(ModSeq.of(2), 2, MessageUid.of(4))).isFalse();
+    }
+
+    @Test
+    void previousBinaryVersionShouldBeReadable() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+        snapshot.merge(ImmutableList.of(message(1, 1, new Flags()), message(5, 2, new Flags())));
+        byte[] bytes = snapshot.asBytes();
+        byte[] withoutUidNext = new byte[bytes.length - 1];
+        withoutUidNext[0] = 1;
+        withoutUidNext[1] = bytes[1];
+        System.arraycopy(bytes, 3, withoutUidNext, 2, bytes.length - 3);
+
+        MailboxSnapshot restored = MailboxSnapshot.fromBytes(withoutUidNext);
+
+        assertThat(restored.uids()).containsExactly(MessageUid.of(1), MessageUid.of(5));
+        assertThat(restored.isInSync(ModSeq.of(2), 2, MessageUid.of(6))).isTrue();
+    }
+
+    @Test
+    void binaryRepresentationShouldRoundTrip() {
+        Flags userFlags = new Flags(Flags.Flag.SEEN);
+        userFlags.add("$Forwarded");
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+        snapshot.merge(ImmutableList.of(
+            message(1, 5, new Flags(Flags.Flag.SEEN)),
+            message(300, 6, userFlags),
+            message(Integer.MAX_VALUE + 10L, 70_000, new Flags())));
+
+        MailboxSnapshot restored = MailboxSnapshot.fromBytes(snapshot.asBytes());
+
+        assertThat(restored.uids()).containsExactly(MessageUid.of(1), MessageUid.of(300), MessageUid.of(Integer.MAX_VALUE + 10L));
+        assertThat(restored.highestModSeq()).isEqualTo(ModSeq.of(70_000));
+        assertThat(restored.asBytes()).isEqualTo(snapshot.asBytes());
+    }
+
+    @Test
+    void binaryRepresentationShouldBeCompact() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+        snapshot.merge(ImmutableList.of(
+            message(1, 1, new Flags(Flags.Flag.SEEN)),
+            message(2, 2, new Flags(Flags.Flag.SEEN)),
+            message(3, 3, new Flags())));
+
+        assertThat(snapshot.asBytes()).hasSizeLessThan(20);
+    }
+
+    @Test
+    void fromBytesShouldRejectUnknownVersions() {
+        assertThatThrownBy(() -> MailboxSnapshot.fromBytes(new byte[] {42}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromBytesShouldRejectTruncatedContent() {
+        MailboxSnapshot snapshot = MailboxSnapshot.empty();
+        snapshot.merge(ImmutableList.of(message(1, 1, new Flags())));
+        byte[] bytes = snapshot.asBytes();
+        byte[] truncated = new byte[bytes.length - 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThatThrownBy(() -> MailboxSnapshot.fromBytes(truncated))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -606,6 +606,78 @@ class UidMsnConverterTest {
             .containsExactlyElementsOf(resultBuilder.build().entrySet());
     }
 
+    @Test
+    void getAndRemoveAllShouldReturnSequenceNumbersOfSuccessiveRemovals() {
+        testee.addAll(ImmutableList.of(messageUid1, messageUid2, messageUid3, messageUid4));
+
+        assertThat(testee.getAndRemoveAll(ImmutableList.of(messageUid2, messageUid3)))
+            .containsExactly(NullableMessageSequenceNumber.of(2), NullableMessageSequenceNumber.of(2));
+    }
+
+    @Test
+    void getAndRemoveAllShouldKeepAMonoticMSNToUIDConversionMapping() {
+        testee.addAll(ImmutableList.of(messageUid1, messageUid2, messageUid3, messageUid4));
+
+        testee.getAndRemoveAll(ImmutableList.of(messageUid1, messageUid3));
+
+        assertThat(mapTesteeInternalDataToMsnByUid())
+            .isEqualTo(ImmutableMap.of(
+                1, messageUid2,
+                2, messageUid4));
+    }
+
+    @Test
+    void getAndRemoveAllShouldHandleNotFound() {
+        testee.addAll(ImmutableList.of(messageUid1, messageUid3));
+
+        assertThat(testee.getAndRemoveAll(ImmutableList.of(messageUid2, messageUid3)))
+            .containsExactly(NullableMessageSequenceNumber.noMessage(), NullableMessageSequenceNumber.of(2));
+    }
+
+    @Test
+    void getAndRemoveAllShouldSupportOutOfOrderUids() {
+        testee.addAll(ImmutableList.of(messageUid1, messageUid2, messageUid3, messageUid4));
+
+        assertThat(testee.getAndRemoveAll(ImmutableList.of(messageUid3, messageUid1)))
+            .containsExactly(NullableMessageSequenceNumber.of(3), NullableMessageSequenceNumber.of(1));
+        assertThat(mapTesteeInternalDataToMsnByUid())
+            .isEqualTo(ImmutableMap.of(
+                1, messageUid2,
+                2, messageUid4));
+    }
+
+    @Test
+    void getAndRemoveAllShouldWorkForLong() {
+        MessageUid bigUid = MessageUid.of(Integer.MAX_VALUE + 2L);
+        testee.addAll(ImmutableList.of(messageUid1, messageUid2, bigUid));
+
+        assertThat(testee.getAndRemoveAll(ImmutableList.of(messageUid1, bigUid)))
+            .containsExactly(NullableMessageSequenceNumber.of(1), NullableMessageSequenceNumber.of(2));
+        assertThat(mapTesteeInternalDataToMsnByUid())
+            .isEqualTo(ImmutableMap.of(1, messageUid2));
+    }
+
+    @Test
+    void readsShouldBeConsistentWhenConcurrentWrites() throws Exception {
+        int operationCount = 1000;
+
+        ConcurrentTestRunner.builder()
+            .operation((threadNumber, step) -> {
+                if (threadNumber == 0) {
+                    testee.addUid(MessageUid.of(step + 1));
+                } else {
+                    // UIDs are added in order thus any known MSN maps to the UID of the same value
+                    testee.getUid(step + 1)
+                        .ifPresent(uid -> assertThat(uid).isEqualTo(MessageUid.of(step + 1)));
+                }
+            })
+            .threadCount(2)
+            .operationCount(operationCount)
+            .runSuccessfullyWithin(Duration.ofSeconds(10));
+
+        assertThat(testee.getNumMessage()).isEqualTo(operationCount);
+    }
+
     private Map<Integer, MessageUid> mapTesteeInternalDataToMsnByUid() {
         ImmutableMap.Builder<Integer, MessageUid> result = ImmutableMap.builder();
         if (testee.usesInts) {
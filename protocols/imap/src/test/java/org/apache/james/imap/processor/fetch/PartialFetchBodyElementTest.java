@@ -23,11 +23,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import org.apache.james.imap.message.response.FetchResponse.BodyElement;
+import org.apache.james.mailbox.model.ByteContent;
+import org.apache.james.mailbox.model.HeaderAndBodyByteContent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
 
 class PartialFetchBodyElementTest {
     private static final long NUMBER_OF_OCTETS = 100;
@@ -112,4 +120,71 @@ class PartialFetchBodyElementTest {
 
         assertThat(element.size()).describedAs("Size is less than number of octets so should be size").isEqualTo(50);
     }
+
+    @Test
+    void getInputStreamShouldReadRequestedRangeOfDelegate() throws Exception {
+        PartialFetchBodyElement element = new PartialFetchBodyElement(mockBodyElement, 10, Optional.of(NUMBER_OF_OCTETS));
+        when(mockBodyElement.size()).thenReturn(60L);
+        when(mockBodyElement.getInputStream(10L, 50L)).thenReturn(new ByteArrayInputStream("range".getBytes(StandardCharsets.US_ASCII)));
+
+        assertThat(element.getInputStream()).hasContent("range");
+    }
+
+    @Test
+    void getInputStreamShouldReturnRequestedOctetsOfContent() throws Exception {
+        ContentBodyElement content = new ContentBodyElement("Name", new ByteContent("0123456789".getBytes(StandardCharsets.US_ASCII)));
+        PartialFetchBodyElement element = new PartialFetchBodyElement(content, 2, Optional.of(5L));
+
+        assertThat(element.getInputStream()).hasContent("23456");
+    }
+
+    @Test
+    void getInputStreamShouldBeEmptyWhenStartIsMoreThanSize() throws Exception {
+        ContentBodyElement content = new ContentBodyElement("Name", new ByteContent("0123456789".getBytes(StandardCharsets.US_ASCII)));
+        PartialFetchBodyElement element = new PartialFetchBodyElement(content, 20, Optional.of(5L));
+
+        assertThat(element.getInputStream()).isEmpty();
+    }
+
+    @Test
+    void reactiveBytesShouldSliceBytesSequenceOfDelegate() {
+        BodyElement content = new ContentBodyElement("Name", new HeaderAndBodyByteContent(
+            "0123".getBytes(StandardCharsets.US_ASCII), "456789".getBytes(StandardCharsets.US_ASCII)));
+        PartialFetchBodyElement element = new PartialFetchBodyElement(content, 2, Optional.of(5L));
+
+        assertThat(asString(element.reactiveBytes())).isEqualTo("23456");
+    }
+
+    @Test
+    void reactiveBytesShouldNotCopyBytesSequenceOfDelegate() {
+        byte[] bytes = "0123456789".getBytes(StandardCharsets.US_ASCII);
+        PartialFetchBodyElement element = new PartialFetchBodyElement(new ContentBodyElement("Name", new ByteContent(bytes)), 2, Optional.of(5L));
+
+        assertThat(Flux.from(element.reactiveBytes()).collectList().block())
+            .allSatisfy(buffer -> assertThat(buffer.array()).isSameAs(bytes));
+    }
+
+    @Test
+    void reactiveBytesShouldBeEmptyWhenStartIsMoreThanSize() {
+        ContentBodyElement content = new ContentBodyElement("Name", new ByteContent("0123456789".getBytes(StandardCharsets.US_ASCII)));
+        PartialFetchBodyElement element = new PartialFetchBodyElement(content, 20, Optional.of(5L));
+
+        assertThat(asString(element.reactiveBytes())).isEmpty();
+    }
+
+    @Test
+    void reactiveBytesShouldReadRequestedRangeOfDelegateWhenNotInMemory() throws Exception {
+        PartialFetchBodyElement element = new PartialFetchBodyElement(mockBodyElement, 10, Optional.of(NUMBER_OF_OCTETS));
+        when(mockBodyElement.size()).thenReturn(60L);
+        when(mockBodyElement.getInputStream(10L, 50L)).thenReturn(new ByteArrayInputStream("range".getBytes(StandardCharsets.US_ASCII)));
+
+        assertThat(asString(element.reactiveBytes())).isEqualTo("range");
+    }
+
+    private String asString(Publisher<ByteBuffer> chunks) {
+        return Flux.from(chunks)
+            .map(buffer -> StandardCharsets.US_ASCII.decode(buffer).toString())
+            .reduce("", String::concat)
+            .block();
+    }
 }
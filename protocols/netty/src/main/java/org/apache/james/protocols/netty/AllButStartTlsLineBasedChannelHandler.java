@@ -31,11 +31,10 @@ import com.google.common.base.Splitter;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
-import io.netty.handler.codec.LineBasedFrameDecoder;
 import io.netty.util.AttributeKey;
 
 
-public class AllButStartTlsLineBasedChannelHandler extends LineBasedFrameDecoder {
+public class AllButStartTlsLineBasedChannelHandler extends RawDataAwareLineBasedFrameDecoder {
     private static final Boolean FAIL_FAST = true;
     private static final CharMatcher CRLF_MATCHER = CharMatcher.anyOf("\r\n");
     private static final Splitter CRLF_SPLITTER = Splitter.on(CRLF_MATCHER).omitEmptyStrings();
@@ -53,7 +52,7 @@ public class AllButStartTlsLineBasedChannelHandler extends LineBasedFrameDecoder
     }
 
     @Override
-    protected Object decode(ChannelHandlerContext ctx, ByteBuf buffer) throws Exception {
+    protected Object decodeLine(ChannelHandlerContext ctx, ByteBuf buffer) throws Exception {
         CommandDetectionSession session = retrieveSession(ctx);
 
         if (session == null || session.needsCommandInjectionDetection()) {
@@ -75,7 +74,7 @@ public class AllButStartTlsLineBasedChannelHandler extends LineBasedFrameDecoder
                 ctx.channel().attr(ATTRIBUTE_KEY).set(true);
             }
         }
-        return super.decode(ctx, buffer);
+        return super.decodeLine(ctx, buffer);
     }
 
     protected CommandDetectionSession retrieveSession(ChannelHandlerContext ctx) {
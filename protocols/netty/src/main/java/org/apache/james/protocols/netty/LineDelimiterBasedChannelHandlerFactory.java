@@ -20,7 +20,6 @@ package org.apache.james.protocols.netty;
 
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelPipeline;
-import io.netty.handler.codec.LineBasedFrameDecoder;
 
 public class LineDelimiterBasedChannelHandlerFactory implements ChannelHandlerFactory {
     private static final Boolean FAIL_FAST = true;
@@ -32,7 +31,7 @@ public class LineDelimiterBasedChannelHandlerFactory implements ChannelHandlerFa
 
     @Override
     public ChannelHandler create(ChannelPipeline pipeline) {
-        return new LineBasedFrameDecoder(maxLineLength, false, !FAIL_FAST);
+        return new RawDataAwareLineBasedFrameDecoder(maxLineLength, false, !FAIL_FAST);
     }
 
 }
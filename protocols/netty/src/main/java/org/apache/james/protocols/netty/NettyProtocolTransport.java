@@ -165,6 +165,15 @@ public class NettyProtocolTransport extends AbstractProtocolTransport {
             .get(HandlerConstants.CORE_HANDLER);
         channelHandler.pushLineHandler(new LineHandlerUpstreamHandler(session, overrideCommandHandler));
     }
+
+    @Override
+    public void pushRawDataHandler(long size, LineHandler<? extends ProtocolSession> rawDataHandler, ProtocolSession session) {
+        if (!(channel.pipeline().get(HandlerConstants.FRAMER) instanceof RawDataAwareLineBasedFrameDecoder)) {
+            throw new UnsupportedOperationException("The framer of this channel does not support raw data reads");
+        }
+        RawDataAwareLineBasedFrameDecoder.expectRawData(channel, size);
+        pushLineHandler(rawDataHandler, session);
+    }
     
    
     /**
@@ -0,0 +1,73 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.protocols.netty;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LineBasedFrameDecoder;
+import io.netty.util.AttributeKey;
+
+/**
+ * {@link LineBasedFrameDecoder} which can be asked to frame a given count of bytes as raw data: those bytes are
+ * emitted as they are received, in one or several frames, without looking for line delimiters.
+ */
+public class RawDataAwareLineBasedFrameDecoder extends LineBasedFrameDecoder {
+    private static final AttributeKey<AtomicLong> RAW_DATA_REMAINING = AttributeKey.valueOf("rawDataRemaining");
+
+    /**
+     * Frame the next <code>size</code> bytes received on this channel as raw data.
+     */
+    public static void expectRawData(Channel channel, long size) {
+        channel.attr(RAW_DATA_REMAINING).set(new AtomicLong(size));
+    }
+
+    public RawDataAwareLineBasedFrameDecoder(int maxLength, boolean stripDelimiter, boolean failFast) {
+        super(maxLength, stripDelimiter, failFast);
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, ByteBuf buffer) throws Exception {
+        AtomicLong rawDataRemaining = ctx.channel().attr(RAW_DATA_REMAINING).get();
+        if (rawDataRemaining != null && rawDataRemaining.get() > 0) {
+            return decodeRawData(buffer, rawDataRemaining);
+        }
+        return decodeLine(ctx, buffer);
+    }
+
+    private Object decodeRawData(ByteBuf buffer, AtomicLong rawDataRemaining) {
+        int length = (int) Math.min(rawDataRemaining.get(), buffer.readableBytes());
+        if (length == 0) {
+            return null;
+        }
+        rawDataRemaining.addAndGet(-length);
+        // No copy: the frame is a view over the received bytes
+        return buffer.readRetainedSlice(length);
+    }
+
+    /**
+     * Decodes a line, this implementation delegates to {@link LineBasedFrameDecoder}.
+     */
+    protected Object decodeLine(ChannelHandlerContext ctx, ByteBuf buffer) throws Exception {
+        return super.decode(ctx, buffer);
+    }
+}
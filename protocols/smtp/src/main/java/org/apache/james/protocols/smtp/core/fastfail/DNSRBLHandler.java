@@ -20,8 +20,10 @@ package org.apache.james.protocols.smtp.core.fastfail;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.StringTokenizer;
 
 import org.apache.james.core.MailAddress;
@@ -127,48 +129,42 @@ public class DNSRBLHandler implements MailHook, RcptHook {
         String reversedOctets = sb.toString();
 
         if (whitelist != null) {
-            String[] rblList = whitelist;
-            for (String rbl : rblList) {
-                if (resolve(reversedOctets + rbl)) {
-                    LOGGER.info("Connection from {} whitelisted by {}", ipAddress, rbl);
-                    return;
-                } else {
-                    LOGGER.debug("IpAddress {} not listed on {}",
-                        session.getRemoteAddress().getAddress(), rbl);
-                }
+            Optional<String> whitelisting = firstListing(reversedOctets, whitelist);
+            if (whitelisting.isPresent()) {
+                LOGGER.info("Connection from {} whitelisted by {}", ipAddress, whitelisting.get());
+                return;
             }
+            LOGGER.debug("IpAddress {} not listed on any whitelist", ipAddress);
         }
 
         if (blacklist != null) {
-            String[] rblList = blacklist;
-            for (String rbl : rblList) {
-                if (resolve(reversedOctets + rbl)) {
-                    LOGGER.info(
-                        "Connection from {} restricted by {} to SMTP AUTH/postmaster/abuse.",
-                        ipAddress, rbl);
-
-                    // we should try to retrieve details
-                    if (getDetail) {
-                        Collection<String> txt = resolveTXTRecords(reversedOctets + rbl);
-
-                        // Check if we found a txt record
-                        if (!txt.isEmpty()) {
-                            // Set the detail
-                            String blocklistedDetail = txt.iterator().next().toString();
-
-                            session.setAttachment(RBL_DETAIL,
-                                blocklistedDetail, State.Connection);
-                        }
+            Optional<String> blacklisting = firstListing(reversedOctets, blacklist);
+            if (blacklisting.isPresent()) {
+                String rbl = blacklisting.get();
+                LOGGER.info(
+                    "Connection from {} restricted by {} to SMTP AUTH/postmaster/abuse.",
+                    ipAddress, rbl);
+
+                // we should try to retrieve details
+                if (getDetail) {
+                    Collection<String> txt = resolveTXTRecords(reversedOctets + rbl);
+
+                    // Check if we found a txt record
+                    if (!txt.isEmpty()) {
+                        // Set the detail
+                        String blocklistedDetail = txt.iterator().next().toString();
+
+                        session.setAttachment(RBL_DETAIL,
+                            blocklistedDetail, State.Connection);
                     }
-
-                    session.setAttachment(RBL_BLOCKLISTED, true,
-                        State.Connection);
-                    return;
-                } else {
-                    // if it is unknown, it isn't blocked
-                    LOGGER.debug("unknown host exception thrown: {}", rbl);
                 }
+
+                session.setAttachment(RBL_BLOCKLISTED, true,
+                    State.Connection);
+                return;
             }
+            // if it is unknown, it isn't blocked
+            LOGGER.debug("IpAddress {} not listed on any blacklist", ipAddress);
         }
     }
 
@@ -215,6 +211,20 @@ public class DNSRBLHandler implements MailHook, RcptHook {
         return doCheck(session);
     }
 
+    /**
+     * Return the first rbl server, in the given order, listing the given reversed ip address.
+     *
+     * This implementation checks the rbl servers one after the other using {@link #resolve(String)}. Sub-classes may
+     * override this in order to query them concurrently.
+     *
+     * @return the first rbl server listing the ip address, if any
+     */
+    protected Optional<String> firstListing(String reversedOctets, String[] rblList) {
+        return Arrays.stream(rblList)
+            .filter(rbl -> resolve(reversedOctets + rbl))
+            .findFirst();
+    }
+
     /**
      * Check if the given ipaddress is resolvable. 
      * 
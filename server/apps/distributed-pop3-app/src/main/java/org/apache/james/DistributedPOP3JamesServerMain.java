@@ -58,6 +58,7 @@ import org.apache.james.modules.data.CassandraUsersRepositoryModule;
 import org.apache.james.modules.data.CassandraVacationModule;
 import org.apache.james.modules.event.JMAPEventBusModule;
 import org.apache.james.modules.event.MailboxEventBusModule;
+import org.apache.james.modules.event.RecipientRewriteTableEventBusModule;
 import org.apache.james.modules.eventstore.CassandraEventStoreModule;
 import org.apache.james.modules.mailbox.CassandraBlobStoreDependenciesModule;
 import org.apache.james.modules.mailbox.CassandraDeletedMessageVaultModule;
@@ -176,6 +177,7 @@ public class DistributedPOP3JamesServerMain implements JamesServerMain {
             new RabbitMQMailQueueModule(),
             new RabbitMailQueueRoutesModule(),
             new MailboxEventBusModule(),
+            new RecipientRewriteTableEventBusModule(),
             new DistributedTaskSerializationModule());
 
     public static void main(String[] args) throws Exception {
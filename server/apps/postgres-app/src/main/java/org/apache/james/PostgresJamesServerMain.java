@@ -50,6 +50,7 @@ import org.apache.james.modules.data.PostgresVacationModule;
 import org.apache.james.modules.data.SievePostgresRepositoryModules;
 import org.apache.james.modules.event.JMAPEventBusModule;
 import org.apache.james.modules.event.MailboxEventBusModule;
+import org.apache.james.modules.event.RecipientRewriteTableEventBusModule;
 import org.apache.james.modules.events.PostgresDeadLetterModule;
 import org.apache.james.modules.mailbox.DefaultEventModule;
 import org.apache.james.modules.mailbox.PostgresDeletedMessageVaultModule;
@@ -232,6 +233,7 @@ public class PostgresJamesServerMain implements JamesServerMain {
             case RABBITMQ:
                 return List.of(
                     Modules.override(new DefaultEventModule()).with(new MailboxEventBusModule()),
+                    new RecipientRewriteTableEventBusModule(),
                     new RabbitMQModule(),
                     new RabbitMQMailQueueModule(),
                     new FakeMailQueueViewModule(),
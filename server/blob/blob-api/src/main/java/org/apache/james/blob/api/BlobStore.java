@@ -25,6 +25,7 @@ import org.reactivestreams.Publisher;
 
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Mono;
 import reactor.util.function.Tuple2;
 
 public interface BlobStore {
@@ -67,6 +68,18 @@ public interface BlobStore {
        return readBytes(bucketName, blobId);
     }
 
+    /**
+     * @see BlobStoreDAO#readRange(BucketName, BlobId, ByteRange)
+     */
+    default Publisher<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(range::slice);
+    }
+
+    default Publisher<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range, StoragePolicy storagePolicy) {
+        return readRange(bucketName, blobId, range);
+    }
+
     default InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
         return read(bucketName, blobId);
     }
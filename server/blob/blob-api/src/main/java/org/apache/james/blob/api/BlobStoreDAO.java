@@ -28,6 +28,9 @@ import org.reactivestreams.Publisher;
 
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 public interface BlobStoreDAO {
     class ReactiveByteSource {
         private final long size;
@@ -67,6 +70,23 @@ public interface BlobStoreDAO {
      */
     Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId);
 
+    /**
+     * Reads a range of a Blob based on its BucketName and its BlobId.
+     *
+     * The range is truncated to the size of the blob: reading after the end of the blob results in an empty array.
+     *
+     * The default implementation reads the whole blob, implementations backed by a remote storage should rather
+     * only retrieve the requested bytes.
+     *
+     * @return a Mono containing the requested bytes of the blob or
+     *  an ObjectNotFoundException in its error channel when the blobId or the bucket is not found
+     *  or an IOObjectStoreException when an unexpected IO error occurs
+     */
+    default Publisher<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(range::slice);
+    }
+
 
     /**
      * Save the blob with the provided blob id, and overwrite the previous blob with the same id if it already exists
@@ -126,4 +146,15 @@ public interface BlobStoreDAO {
     Publisher<BucketName> listBuckets();
 
     Publisher<BlobId> listBlobs(BucketName bucketName);
+
+    /**
+     * Lists the blobs of a bucket whose identifier starts with the given prefix.
+     *
+     * The default implementation filters the full listing, implementations able to list a key range natively
+     * should override it.
+     */
+    default Publisher<BlobId> listBlobs(BucketName bucketName, String prefix) {
+        return Flux.from(listBlobs(bucketName))
+            .filter(blobId -> blobId.asString().startsWith(prefix));
+    }
 }
@@ -0,0 +1,112 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A contiguous range of bytes within a blob: at most {@code length} bytes starting at {@code offset}.
+ *
+ * A range may extend past the end of the blob, in which case reads are truncated to the available bytes.
+ */
+public final class ByteRange {
+    public static ByteRange of(long offset, long length) {
+        return new ByteRange(offset, length);
+    }
+
+    public static ByteRange from(long offset) {
+        return new ByteRange(offset, Long.MAX_VALUE - offset);
+    }
+
+    private final long offset;
+    private final long length;
+
+    private ByteRange(long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "'offset' must be positive");
+        Preconditions.checkArgument(length >= 0, "'length' must be positive");
+
+        this.offset = offset;
+        this.length = Math.min(length, Long.MAX_VALUE - offset);
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * @return the position following the last byte of this range
+     */
+    public long getEndExclusive() {
+        return offset + length;
+    }
+
+    /**
+     * @return true when this range covers every byte following its offset
+     */
+    public boolean isOpenEnded() {
+        return getEndExclusive() == Long.MAX_VALUE;
+    }
+
+    /**
+     * Extracts this range from an in-memory blob content.
+     */
+    public byte[] slice(byte[] bytes) {
+        if (offset >= bytes.length) {
+            return new byte[0];
+        }
+        int end = (int) Math.min(bytes.length, getEndExclusive());
+        return Arrays.copyOfRange(bytes, (int) offset, end);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof ByteRange) {
+            ByteRange that = (ByteRange) o;
+            return this.offset == that.offset
+                && this.length == that.length;
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(offset, length);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("offset", offset)
+            .add("length", length)
+            .toString();
+    }
+}
@@ -0,0 +1,91 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class ByteRangeTest {
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(ByteRange.class)
+            .verify();
+    }
+
+    @Test
+    void ofShouldThrowWhenNegativeOffset() {
+        assertThatThrownBy(() -> ByteRange.of(-1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofShouldThrowWhenNegativeLength() {
+        assertThatThrownBy(() -> ByteRange.of(0, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void lengthShouldBeBoundedToAvoidOverflow() {
+        assertThat(ByteRange.of(10, Long.MAX_VALUE).getEndExclusive())
+            .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void fromShouldBeOpenEnded() {
+        assertThat(ByteRange.from(10).isOpenEnded()).isTrue();
+    }
+
+    @Test
+    void ofShouldNotBeOpenEnded() {
+        assertThat(ByteRange.of(10, 20).isOpenEnded()).isFalse();
+    }
+
+    @Test
+    void sliceShouldReturnRequestedBytes() {
+        assertThat(ByteRange.of(2, 3).slice(CONTENT))
+            .isEqualTo("234".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void sliceShouldBeTruncatedToContentSize() {
+        assertThat(ByteRange.of(8, 10).slice(CONTENT))
+            .isEqualTo("89".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void sliceShouldReturnEmptyWhenOffsetExceedsContentSize() {
+        assertThat(ByteRange.of(10, 10).slice(CONTENT))
+            .isEmpty();
+    }
+
+    @Test
+    void sliceShouldSupportOpenEndedRanges() {
+        assertThat(ByteRange.from(7).slice(CONTENT))
+            .isEqualTo("789".getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -171,6 +171,91 @@ public interface ReadSaveBlobStoreDAOContract {
         assertThat(bytes).isEqualTo(TWELVE_MEGABYTES);
     }
 
+    @Test
+    default void readRangeShouldThrowWhenNotExisting() {
+        BlobStoreDAO store = testee();
+
+        assertThatThrownBy(() -> Mono.from(store.readRange(TEST_BUCKET_NAME, new TestBlobId("unknown"), ByteRange.of(0, 10))).block())
+            .isExactlyInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void readRangeShouldReturnRequestedBytes() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ELEVEN_KILOBYTES)).block();
+
+        byte[] bytes = Mono.from(store.readRange(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(100, 1000))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(ELEVEN_KILOBYTES, 100, 1100));
+    }
+
+    @Test
+    default void readRangeShouldReturnRequestedBytesOfBigData() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, new ByteArrayInputStream(TWELVE_MEGABYTES))).block();
+
+        byte[] bytes = Mono.from(store.readRange(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(5 * 1024 * 1024 + 3, 2 * 1024 * 1024))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(TWELVE_MEGABYTES, 5 * 1024 * 1024 + 3, 7 * 1024 * 1024 + 3));
+    }
+
+    @Test
+    default void readRangeShouldBeTruncatedWhenExceedingBlobSize() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readRange(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(2, 1000))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(SHORT_BYTEARRAY, 2, SHORT_BYTEARRAY.length));
+    }
+
+    @Test
+    default void readRangeShouldSupportOpenEndedRanges() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ELEVEN_KILOBYTES)).block();
+
+        byte[] bytes = Mono.from(store.readRange(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.from(10))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(ELEVEN_KILOBYTES, 10, ELEVEN_KILOBYTES.length));
+    }
+
+    @Test
+    default void readRangeShouldReturnEmptyWhenOffsetExceedsBlobSize() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readRange(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(100, 10))).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
+    @Test
+    default void readRangeShouldReturnEmptyWhenEmptyRange() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readRange(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(1, 0))).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
+    @Test
+    default void readRangeShouldReturnEmptyWhenEmptyBlob() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, EMPTY_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readRange(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(0, 10))).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
     @Test
     default void readStreamShouldThrowWhenNotExisting() {
         BlobStoreDAO store = testee();
@@ -327,6 +412,33 @@ public interface ReadSaveBlobStoreDAOContract {
             .containsOnly(TEST_BLOB_ID.asString(), OTHER_TEST_BLOB_ID.asString());
     }
 
+    @Test
+    default void listWithPrefixShouldReturnMatchingBlobs() {
+        BlobStoreDAO store = testee();
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+        Mono.from(store.save(TEST_BUCKET_NAME, OTHER_TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        assertThat(Flux.from(testee().listBlobs(TEST_BUCKET_NAME, "test-"))
+            .map(BlobId::asString)
+            .collectList()
+            .block())
+            .containsOnly(TEST_BLOB_ID.asString());
+    }
+
+    @Test
+    default void listWithPrefixShouldNotTreatUnderscoreAsWildcard() {
+        BlobStoreDAO store = testee();
+        Mono.from(store.save(TEST_BUCKET_NAME, new TestBlobId("1_2_blob"), SHORT_BYTEARRAY)).block();
+        Mono.from(store.save(TEST_BUCKET_NAME, new TestBlobId("1_22_blob"), SHORT_BYTEARRAY)).block();
+        Mono.from(store.save(TEST_BUCKET_NAME, new TestBlobId("1a2bblob"), SHORT_BYTEARRAY)).block();
+
+        assertThat(Flux.from(testee().listBlobs(TEST_BUCKET_NAME, "1_2_"))
+            .map(BlobId::asString)
+            .collectList()
+            .block())
+            .containsOnly("1_2_blob");
+    }
+
     static Stream<Arguments> blobs() {
         return Stream.of(new Object[]{"SHORT", SHORT_BYTEARRAY}, new Object[]{"LONG", ELEVEN_KILOBYTES}, new Object[]{"BIG", TWELVE_MEGABYTES})
             .map(Arguments::of);
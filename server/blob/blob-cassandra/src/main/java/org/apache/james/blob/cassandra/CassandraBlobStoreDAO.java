@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -37,6 +38,7 @@ import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.metrics.api.Metric;
@@ -113,6 +115,35 @@ public class CassandraBlobStoreDAO implements BlobStoreDAO {
             .map(this::byteBuffersToBytesArray);
     }
 
+    /**
+     * Parts do not have a fixed size, as blobs saved from a stream are chunked on the fly. Hence parts are read
+     * sequentially: the content of parts preceding the range is discarded and parts following it are never read.
+     */
+    @Override
+    public Mono<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range) {
+        AtomicLong position = new AtomicLong(0);
+
+        return readBlobParts(bucketName, blobId)
+            .map(part -> {
+                long partStart = position.getAndAdd(part.remaining());
+                return slicePart(part, partStart, range);
+            })
+            .takeUntil(any -> position.get() >= range.getEndExclusive())
+            .filter(ByteBuffer::hasRemaining)
+            .collectList()
+            .map(this::byteBuffersToBytesArray);
+    }
+
+    private ByteBuffer slicePart(ByteBuffer part, long partStart, ByteRange range) {
+        long partEnd = partStart + part.remaining();
+        long sliceStart = Math.max(partStart, range.getOffset());
+        long sliceEnd = Math.min(partEnd, range.getEndExclusive());
+        if (sliceStart >= sliceEnd) {
+            return ByteBuffer.allocate(0);
+        }
+        return part.slice(part.position() + (int) (sliceStart - partStart), (int) (sliceEnd - sliceStart));
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
@@ -34,6 +34,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.metrics.api.Metric;
@@ -187,6 +188,22 @@ public class CachedBlobStore implements BlobStore {
         return readBytes(bucketName, blobId, LOW_COST);
     }
 
+    @Override
+    public Mono<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range, StoragePolicy storagePolicy) {
+        if (storagePolicy == LOW_COST || !getDefaultBucketName().equals(bucketName)) {
+            return readRangeFromBackend(bucketName, blobId, range);
+        }
+        // Partial reads do not populate the cache as they do not retrieve the full content
+        return readFromCache(blobId)
+            .map(range::slice)
+            .switchIfEmpty(readRangeFromBackend(bucketName, blobId, range));
+    }
+
+    @Override
+    public Publisher<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return readRange(bucketName, blobId, range, LOW_COST);
+    }
+
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId) {
         return read(bucketName, blobId, LOW_COST);
@@ -391,6 +408,11 @@ public class CachedBlobStore implements BlobStore {
             Mono.from(backend.readReactive(bucketName, blobId))));
     }
 
+    private Mono<byte[]> readRangeFromBackend(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric(BLOBSTORE_BACKEND_LATENCY_METRIC_NAME,
+            backend.readRange(bucketName, blobId, range)));
+    }
+
     private Mono<byte[]> readBytesFromBackend(BucketName bucketName, BlobId blobId) {
         return Mono.from(metricFactory.decoratePublisherWithTimerMetric(BLOBSTORE_BACKEND_LATENCY_METRIC_NAME,
             backend.readBytes(bucketName, blobId)));
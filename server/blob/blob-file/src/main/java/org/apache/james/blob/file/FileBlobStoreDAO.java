@@ -25,12 +25,15 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
 
 import jakarta.inject.Inject;
@@ -39,6 +42,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.filesystem.api.FileSystem;
@@ -103,6 +107,39 @@ public class FileBlobStoreDAO implements BlobStoreDAO {
             .subscribeOn(Schedulers.boundedElastic());
     }
 
+    @Override
+    public Mono<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return Mono.fromCallable(() -> {
+            File bucketRoot = getBucketRoot(bucketName);
+            File blob = new File(bucketRoot, blobId.asString());
+            try (FileChannel channel = FileChannel.open(blob.toPath(), StandardOpenOption.READ)) {
+                return readRange(channel, range);
+            }
+        }).onErrorResume(NoSuchFileException.class, e -> Mono.error(new ObjectNotFoundException(String.format("Cannot locate %s within %s", blobId.asString(), bucketName.asString()), e)))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private byte[] readRange(FileChannel channel, ByteRange range) throws IOException {
+        long size = channel.size();
+        if (range.getOffset() >= size) {
+            return new byte[0];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(Math.min(size, range.getEndExclusive()) - range.getOffset()));
+        long position = range.getOffset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        if (buffer.hasRemaining()) {
+            // The file was truncated while reading
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+        return buffer.array();
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
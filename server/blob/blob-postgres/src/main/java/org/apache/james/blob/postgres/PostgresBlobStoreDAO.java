@@ -41,9 +41,13 @@ import org.apache.james.backends.postgres.utils.PostgresUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
+import org.jooq.Condition;
+import org.jooq.Field;
 import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
@@ -84,6 +88,25 @@ public class PostgresBlobStoreDAO implements BlobStoreDAO {
             .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Blob " + blobId + " does not exist in bucket " + bucketName)));
     }
 
+    @Override
+    public Mono<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range) {
+        Field<byte[]> dataRange = dataRange(range);
+
+        return postgresExecutor.executeRow(dsl -> Mono.from(dsl.select(dataRange)
+                .from(TABLE_NAME)
+                .where(BUCKET_NAME.eq(bucketName.asString()))
+                .and(BLOB_ID.eq(blobId.asString()))))
+            .map(record -> record.get(dataRange))
+            .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Blob " + blobId + " does not exist in bucket " + bucketName)));
+    }
+
+    private Field<byte[]> dataRange(ByteRange range) {
+        // Postgres positions are 1-based and bounded by the int range, which is larger than the bytea size limit
+        int from = (int) Math.min(range.getOffset() + 1, Integer.MAX_VALUE);
+        int length = (int) Math.min(range.getLength(), Integer.MAX_VALUE);
+        return DSL.field("substring({0} from {1} for {2})", SQLDataType.BLOB, DATA, DSL.val(from), DSL.val(length));
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
@@ -156,20 +179,30 @@ public class PostgresBlobStoreDAO implements BlobStoreDAO {
 
     @Override
     public Flux<BlobId> listBlobs(BucketName bucketName) {
-        return Flux.defer(() -> listBlobsBatch(bucketName, Optional.empty(), PostgresUtils.QUERY_BATCH_SIZE))
+        return listBlobs(bucketName, DSL.noCondition());
+    }
+
+    @Override
+    public Flux<BlobId> listBlobs(BucketName bucketName, String prefix) {
+        return listBlobs(bucketName, BLOB_ID.startsWith(prefix));
+    }
+
+    private Flux<BlobId> listBlobs(BucketName bucketName, Condition blobIdCondition) {
+        return Flux.defer(() -> listBlobsBatch(bucketName, blobIdCondition, Optional.empty(), PostgresUtils.QUERY_BATCH_SIZE))
             .expand(blobIds -> {
                 if (blobIds.isEmpty() || blobIds.size() < PostgresUtils.QUERY_BATCH_SIZE) {
                     return Mono.empty();
                 }
-                return listBlobsBatch(bucketName, Optional.of(blobIds.getLast()), PostgresUtils.QUERY_BATCH_SIZE);
+                return listBlobsBatch(bucketName, blobIdCondition, Optional.of(blobIds.getLast()), PostgresUtils.QUERY_BATCH_SIZE);
             })
             .flatMapIterable(Function.identity());
     }
 
-    private Mono<List<BlobId>> listBlobsBatch(BucketName bucketName, Optional<BlobId> blobIdFrom, int batchSize) {
+    private Mono<List<BlobId>> listBlobsBatch(BucketName bucketName, Condition blobIdCondition, Optional<BlobId> blobIdFrom, int batchSize) {
         return postgresExecutor.executeRows(dsl -> Flux.from(dsl.select(BLOB_ID)
                 .from(TABLE_NAME)
                 .where(BUCKET_NAME.eq(bucketName.asString()))
+                .and(blobIdCondition)
                 .and(blobIdFrom.map(blobId -> BLOB_ID.greaterThan(blobId.asString())).orElseGet(DSL::noCondition))
                 .orderBy(BLOB_ID.asc())
                 .limit(batchSize)))
@@ -29,6 +29,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -37,6 +39,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.util.ReactorUtils;
@@ -67,12 +70,14 @@ import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListBucketsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 @Singleton
@@ -110,6 +115,7 @@ public class S3BlobStoreDAO implements BlobStoreDAO {
     private static final Duration FIRST_BACK_OFF = Duration.ofMillis(100);
     private static final boolean LAZY = false;
     private static final int MAX_RETRIES = 5;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
 
     private final BucketNameResolver bucketNameResolver;
     private final S3AsyncClient client;
@@ -220,19 +226,59 @@ public class S3BlobStoreDAO implements BlobStoreDAO {
                 .onErrorMap(e -> e.getCause() instanceof OutOfMemoryError, Throwable::getCause);
     }
 
+    @Override
+    public Mono<byte[]> readRange(BucketName bucketName, BlobId blobId, ByteRange range) {
+        BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
+        // An empty HTTP range can not be expressed, fetch a single byte to still check the blob existence
+        ByteRange requestedRange = ByteRange.of(range.getOffset(), Math.max(1, range.getLength()));
+
+        return getObjectBytes(resolvedBucketName, blobId, builder -> builder.range(asHttpRange(requestedRange)))
+                .map(BytesWrapper::asByteArrayUnsafe)
+                .map(bytes -> truncate(bytes, range))
+                .onErrorResume(S3Exception.class, e -> {
+                    if (e.statusCode() == RANGE_NOT_SATISFIABLE) {
+                        return Mono.just(new byte[0]);
+                    }
+                    return Mono.error(e);
+                })
+                .onErrorMap(NoSuchBucketException.class, e -> new ObjectNotFoundException("Bucket not found " + resolvedBucketName.asString(), e))
+                .onErrorMap(NoSuchKeyException.class, e -> new ObjectNotFoundException("Blob not found " + blobId.asString() + " in bucket " + resolvedBucketName.asString(), e))
+                .publishOn(Schedulers.parallel())
+                .onErrorMap(e -> e.getCause() instanceof OutOfMemoryError, Throwable::getCause);
+    }
+
+    private String asHttpRange(ByteRange range) {
+        if (range.isOpenEnded()) {
+            return "bytes=" + range.getOffset() + "-";
+        }
+        return "bytes=" + range.getOffset() + "-" + (range.getEndExclusive() - 1);
+    }
+
+    private byte[] truncate(byte[] bytes, ByteRange range) {
+        if (bytes.length > range.getLength()) {
+            return ByteRange.of(0, range.getLength()).slice(bytes);
+        }
+        return bytes;
+    }
+
     private Mono<ResponseBytes<GetObjectResponse>> getObjectBytes(BucketName bucketName, BlobId blobId) {
-        return getObjectBytesFromStore(bucketName, blobId)
+        return getObjectBytes(bucketName, blobId, UnaryOperator.identity());
+    }
+
+    private Mono<ResponseBytes<GetObjectResponse>> getObjectBytes(BucketName bucketName, BlobId blobId, UnaryOperator<GetObjectRequest.Builder> requestCustomizer) {
+        return getObjectBytesFromStore(bucketName, blobId, requestCustomizer)
                 .onErrorResume(e -> e instanceof NoSuchKeyException || e instanceof NoSuchBucketException, e -> {
                     if (fallbackNamespace.isPresent() && bucketNameResolver.isNameSpace(bucketName)) {
                         BucketName resolvedFallbackBucketName = bucketNameResolver.resolve(fallbackNamespace.get());
-                        return getObjectBytesFromStore(resolvedFallbackBucketName, blobId);
+                        return getObjectBytesFromStore(resolvedFallbackBucketName, blobId, requestCustomizer);
                     }
                     return Mono.error(e);
                 });
     }
 
-    private Mono<ResponseBytes<GetObjectResponse>> getObjectBytesFromStore(BucketName bucketName, BlobId blobId) {
+    private Mono<ResponseBytes<GetObjectResponse>> getObjectBytesFromStore(BucketName bucketName, BlobId blobId, UnaryOperator<GetObjectRequest.Builder> requestCustomizer) {
         return buildGetObjectRequestBuilder(bucketName, blobId)
+            .map(requestCustomizer)
             .flatMap(putObjectRequest -> Mono.fromFuture(() ->
                 client.getObject(putObjectRequest.build(), new MinimalCopyBytesResponseTransformer(configuration, blobId))));
     }
@@ -430,7 +476,16 @@ public class S3BlobStoreDAO implements BlobStoreDAO {
 
     @Override
     public Publisher<BlobId> listBlobs(BucketName bucketName) {
-        return Flux.from(client.listObjectsV2Paginator(builder -> builder.bucket(bucketName.asString())))
+        return listObjects(builder -> builder.bucket(bucketName.asString()));
+    }
+
+    @Override
+    public Publisher<BlobId> listBlobs(BucketName bucketName, String prefix) {
+        return listObjects(builder -> builder.bucket(bucketName.asString()).prefix(prefix));
+    }
+
+    private Flux<BlobId> listObjects(Consumer<ListObjectsV2Request.Builder> request) {
+        return Flux.from(client.listObjectsV2Paginator(request))
             .flatMapIterable(ListObjectsV2Response::contents)
             .map(S3Object::key)
             .map(blobIdFactory::parse)
@@ -21,7 +21,10 @@ package org.apache.james.server.blob.deduplication;
 
 import java.time.Instant;
 
-@FunctionalInterface
 public interface GenerationAware {
     boolean inActiveGeneration(GenerationAwareBlobId.Configuration configuration, Instant now);
+
+    long getGeneration();
+
+    int getFamily();
 }
@@ -110,7 +110,7 @@ public class GenerationAwareBlobId implements BlobId, GenerationAware {
         }
     }
 
-    public static class Factory implements BlobId.Factory {
+    public static class Factory implements GenerationAwareBlobIdFactory {
         private final Clock clock;
         private final BlobId.Factory delegate;
         private final Configuration configuration;
@@ -143,6 +143,11 @@ public class GenerationAwareBlobId implements BlobId, GenerationAware {
             return new GenerationAwareBlobId(generation, family, wrapped);
         }
 
+        @Override
+        public String generationPrefix(int family, long generation) {
+            return family + "_" + generation + "_";
+        }
+
         private GenerationAwareBlobId decorateWithoutGeneration(String id) {
             return new GenerationAwareBlobId(NO_GENERATION, NO_FAMILY, delegate.parse(id));
         }
@@ -188,13 +193,13 @@ public class GenerationAwareBlobId implements BlobId, GenerationAware {
             generation + 1 >= computeGeneration(configuration, now);
     }
 
-    @VisibleForTesting
-    long getGeneration() {
+    @Override
+    public long getGeneration() {
         return generation;
     }
 
-    @VisibleForTesting
-    int getFamily() {
+    @Override
+    public int getFamily() {
         return family;
     }
 
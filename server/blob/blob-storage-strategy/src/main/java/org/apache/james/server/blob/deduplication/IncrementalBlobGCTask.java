@@ -0,0 +1,190 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobReferenceSource;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.server.blob.deduplication.IncrementalGCAlgorithm.Context;
+import org.apache.james.task.Task;
+import org.apache.james.task.TaskExecutionDetails;
+import org.apache.james.task.TaskType;
+
+public class IncrementalBlobGCTask implements Task {
+    public static final TaskType TASK_TYPE = TaskType.of("IncrementalBlobGCTask");
+
+    public static class AdditionalInformation implements TaskExecutionDetails.AdditionalInformation {
+
+        private static AdditionalInformation from(Context context, int deletionWindowSize, double associatedProbability) {
+            Context.Snapshot snapshot = context.snapshot();
+            return new AdditionalInformation(
+                snapshot.referenceSourceCount(),
+                snapshot.blobCount(),
+                snapshot.gcedBlobCount(),
+                snapshot.errorCount(),
+                snapshot.collectedGenerationCount(),
+                snapshot.lastCollectedGeneration(),
+                associatedProbability,
+                deletionWindowSize,
+                Clock.systemUTC().instant());
+        }
+
+        private final long referenceSourceCount;
+        private final long blobCount;
+        private final long gcedBlobCount;
+        private final long errorCount;
+        private final long collectedGenerationCount;
+        private final Optional<Long> lastCollectedGeneration;
+        private final double associatedProbability;
+        private final int deletionWindowSize;
+        private final Instant timestamp;
+
+        AdditionalInformation(long referenceSourceCount,
+                              long blobCount,
+                              long gcedBlobCount,
+                              long errorCount,
+                              long collectedGenerationCount,
+                              Optional<Long> lastCollectedGeneration,
+                              double associatedProbability,
+                              int deletionWindowSize,
+                              Instant timestamp) {
+            this.referenceSourceCount = referenceSourceCount;
+            this.blobCount = blobCount;
+            this.gcedBlobCount = gcedBlobCount;
+            this.errorCount = errorCount;
+            this.collectedGenerationCount = collectedGenerationCount;
+            this.lastCollectedGeneration = lastCollectedGeneration;
+            this.associatedProbability = associatedProbability;
+            this.deletionWindowSize = deletionWindowSize;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public Instant timestamp() {
+            return timestamp;
+        }
+
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        public long getReferenceSourceCount() {
+            return referenceSourceCount;
+        }
+
+        public long getBlobCount() {
+            return blobCount;
+        }
+
+        public long getGcedBlobCount() {
+            return gcedBlobCount;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public long getCollectedGenerationCount() {
+            return collectedGenerationCount;
+        }
+
+        public Optional<Long> getLastCollectedGeneration() {
+            return lastCollectedGeneration;
+        }
+
+        public double getAssociatedProbability() {
+            return associatedProbability;
+        }
+
+        public int getDeletionWindowSize() {
+            return deletionWindowSize;
+        }
+    }
+
+    private final BlobStoreDAO blobStoreDAO;
+    private final BlobId.Factory generationAwareBlobIdFactory;
+    private final GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration;
+    private final Set<BlobReferenceSource> blobReferenceSources;
+    private final Clock clock;
+    private final BucketName bucketName;
+    private final int deletionWindowSize;
+    private final double associatedProbability;
+    private final Context context;
+
+    public IncrementalBlobGCTask(BlobStoreDAO blobStoreDAO,
+                                 BlobId.Factory generationAwareBlobIdFactory,
+                                 GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
+                                 Set<BlobReferenceSource> blobReferenceSources,
+                                 BucketName bucketName,
+                                 Clock clock,
+                                 int deletionWindowSize,
+                                 double associatedProbability) {
+        this.blobStoreDAO = blobStoreDAO;
+        this.generationAwareBlobIdFactory = generationAwareBlobIdFactory;
+        this.generationAwareBlobIdConfiguration = generationAwareBlobIdConfiguration;
+        this.blobReferenceSources = blobReferenceSources;
+        this.clock = clock;
+        this.bucketName = bucketName;
+        this.deletionWindowSize = deletionWindowSize;
+        this.associatedProbability = associatedProbability;
+        this.context = new Context();
+    }
+
+    @Override
+    public Result run() {
+        IncrementalGCAlgorithm gcAlgorithm = new IncrementalGCAlgorithm(
+            BlobReferenceAggregate.aggregate(blobReferenceSources),
+            blobStoreDAO,
+            generationAwareBlobIdFactory,
+            generationAwareBlobIdConfiguration,
+            clock);
+
+        return gcAlgorithm.gc(bucketName, deletionWindowSize, associatedProbability, context)
+            .block();
+    }
+
+    @Override
+    public TaskType type() {
+        return TASK_TYPE;
+    }
+
+    @Override
+    public Optional<TaskExecutionDetails.AdditionalInformation> details() {
+        return Optional.of(AdditionalInformation.from(context, deletionWindowSize, associatedProbability));
+    }
+
+    public BucketName getBucketName() {
+        return bucketName;
+    }
+
+    public int getDeletionWindowSize() {
+        return deletionWindowSize;
+    }
+
+    public double getAssociatedProbability() {
+        return associatedProbability;
+    }
+}
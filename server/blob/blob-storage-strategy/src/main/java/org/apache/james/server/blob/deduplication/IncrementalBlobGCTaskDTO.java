@@ -0,0 +1,95 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import java.time.Clock;
+import java.util.Set;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobReferenceSource;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.json.DTOModule;
+import org.apache.james.server.task.json.dto.TaskDTO;
+import org.apache.james.server.task.json.dto.TaskDTOModule;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class IncrementalBlobGCTaskDTO implements TaskDTO {
+
+    private final String bucketName;
+    private final int deletionWindowSize;
+    private final double associatedProbability;
+    private final String type;
+
+    public IncrementalBlobGCTaskDTO(@JsonProperty("bucketName") String bucketName,
+                                    @JsonProperty("deletionWindowSize") int deletionWindowSize,
+                                    @JsonProperty("associatedProbability") double associatedProbability,
+                                    @JsonProperty("type") String type) {
+        this.bucketName = bucketName;
+        this.deletionWindowSize = deletionWindowSize;
+        this.associatedProbability = associatedProbability;
+        this.type = type;
+    }
+
+    public static TaskDTOModule<IncrementalBlobGCTask, IncrementalBlobGCTaskDTO> module(BlobStoreDAO blobStoreDAO,
+                                                                                        BlobId.Factory generationAwareBlobIdFactory,
+                                                                                        GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
+                                                                                        Set<BlobReferenceSource> blobReferenceSources,
+                                                                                        Clock clock) {
+        return DTOModule.forDomainObject(IncrementalBlobGCTask.class)
+            .convertToDTO(IncrementalBlobGCTaskDTO.class)
+            .toDomainObjectConverter(dto ->
+                new IncrementalBlobGCTask(
+                    blobStoreDAO,
+                    generationAwareBlobIdFactory,
+                    generationAwareBlobIdConfiguration,
+                    blobReferenceSources,
+                    BucketName.of(dto.bucketName),
+                    clock,
+                    dto.deletionWindowSize,
+                    dto.associatedProbability))
+            .toDTOConverter((domain, type) ->
+                new IncrementalBlobGCTaskDTO(
+                    domain.getBucketName().asString(),
+                    domain.getDeletionWindowSize(),
+                    domain.getAssociatedProbability(),
+                    type))
+            .typeName(IncrementalBlobGCTask.TASK_TYPE.asString())
+            .withFactory(TaskDTOModule::new);
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public int getDeletionWindowSize() {
+        return deletionWindowSize;
+    }
+
+    public double getAssociatedProbability() {
+        return associatedProbability;
+    }
+}
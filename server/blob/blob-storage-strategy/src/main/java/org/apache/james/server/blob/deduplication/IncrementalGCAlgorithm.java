@@ -0,0 +1,394 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobReferenceSource;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.blob.api.PlainBlobId;
+import org.apache.james.task.Task;
+import org.apache.james.task.Task.Result;
+import org.apache.james.util.ReactorUtils;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+import com.google.common.io.FileBackedOutputStream;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Garbage collects unreferenced blobs one generation at a time, instead of scanning the whole bucket.
+ *
+ * Each run only handles the generations that became inactive since the last collected one. A Bloom filter of the
+ * references of each of these generations is built in a single pass over the reference sources, the references
+ * being spilled to disk while the pass runs. Filters are sized after the actual reference count of their generation
+ * and persisted in the {@link #STATE_BUCKET}, so that only one of them is held in memory at a time and a restarted
+ * run can reuse them. Once a generation is collected, it is recorded as a checkpoint and the next run resumes after it.
+ *
+ * A generation is only collected once: blobs dereferenced after that, as well as false positives of its filter, are
+ * left to {@link BloomFilterGCAlgorithm}, which should still be run from time to time.
+ */
+public class IncrementalGCAlgorithm {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalGCAlgorithm.class);
+    private static final Funnel<CharSequence> BLOOM_FILTER_FUNNEL = Funnels.stringFunnel(StandardCharsets.US_ASCII);
+    private static final int SPILL_THRESHOLD_IN_BYTES = 1024 * 1024;
+
+    public static final BucketName STATE_BUCKET = BucketName.of("blob-gc-state");
+    public static final Duration DEFAULT_FILTER_RETENTION = Duration.ofDays(1);
+
+    public static class Context {
+
+        public record Snapshot(long referenceSourceCount,
+                               long blobCount,
+                               long gcedBlobCount,
+                               long errorCount,
+                               long collectedGenerationCount,
+                               Optional<Long> lastCollectedGeneration) {
+        }
+
+        private final AtomicLong referenceSourceCount;
+        private final AtomicLong blobCount;
+        private final AtomicLong gcedBlobCount;
+        private final AtomicLong errorCount;
+        private final AtomicLong collectedGenerationCount;
+        private final AtomicReference<Optional<Long>> lastCollectedGeneration;
+
+        public Context() {
+            this.referenceSourceCount = new AtomicLong();
+            this.blobCount = new AtomicLong();
+            this.gcedBlobCount = new AtomicLong();
+            this.errorCount = new AtomicLong();
+            this.collectedGenerationCount = new AtomicLong();
+            this.lastCollectedGeneration = new AtomicReference<>(Optional.empty());
+        }
+
+        public void incrementReferenceSourceCount() {
+            referenceSourceCount.incrementAndGet();
+        }
+
+        public void incrementBlobCount() {
+            blobCount.incrementAndGet();
+        }
+
+        public void incrementGCedBlobCount(int count) {
+            gcedBlobCount.addAndGet(count);
+        }
+
+        public void incrementErrorCount() {
+            errorCount.incrementAndGet();
+        }
+
+        public void generationCollected(long generation) {
+            collectedGenerationCount.incrementAndGet();
+            lastCollectedGeneration.set(Optional.of(generation));
+        }
+
+        public Snapshot snapshot() {
+            return new Snapshot(referenceSourceCount.get(),
+                blobCount.get(),
+                gcedBlobCount.get(),
+                errorCount.get(),
+                collectedGenerationCount.get(),
+                lastCollectedGeneration.get());
+        }
+    }
+
+    private record GenerationFilter(String salt, BloomFilter<CharSequence> bloomFilter) {
+        boolean mightBeReferenced(BlobId blobId) {
+            return bloomFilter.mightContain(salt + blobId.asString());
+        }
+    }
+
+    private final BlobReferenceSource referenceSource;
+    private final BlobStoreDAO blobStoreDAO;
+    private final BlobId.Factory blobIdFactory;
+    private final GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration;
+    private final Duration filterRetention;
+    private final Instant now;
+
+    public IncrementalGCAlgorithm(BlobReferenceSource referenceSource,
+                                  BlobStoreDAO blobStoreDAO,
+                                  BlobId.Factory generationAwareBlobIdFactory,
+                                  GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
+                                  Clock clock) {
+        this(referenceSource, blobStoreDAO, generationAwareBlobIdFactory, generationAwareBlobIdConfiguration, clock, DEFAULT_FILTER_RETENTION);
+    }
+
+    public IncrementalGCAlgorithm(BlobReferenceSource referenceSource,
+                                  BlobStoreDAO blobStoreDAO,
+                                  BlobId.Factory generationAwareBlobIdFactory,
+                                  GenerationAwareBlobId.Configuration generationAwareBlobIdConfiguration,
+                                  Clock clock,
+                                  Duration filterRetention) {
+        this.referenceSource = referenceSource;
+        this.blobStoreDAO = blobStoreDAO;
+        this.blobIdFactory = generationAwareBlobIdFactory;
+        this.generationAwareBlobIdConfiguration = generationAwareBlobIdConfiguration;
+        this.filterRetention = filterRetention;
+        this.now = clock.instant();
+    }
+
+    public Mono<Result> gc(BucketName bucketName, int deletionWindowSize, double associatedProbability, Context context) {
+        long lastInactiveGeneration = GenerationAwareBlobId.computeGeneration(generationAwareBlobIdConfiguration, now) - 2;
+
+        return readCheckpoint(bucketName)
+            .map(lastCollectedGeneration -> lastCollectedGeneration + 1)
+            .defaultIfEmpty(lastInactiveGeneration)
+            .map(firstGeneration -> LongStream.rangeClosed(Math.max(firstGeneration, 0), lastInactiveGeneration).boxed().toList())
+            .flatMap(generations -> gc(bucketName, generations, deletionWindowSize, associatedProbability, context))
+            .onErrorResume(error -> {
+                LOGGER.error("Error when running incremental blob garbage collection", error);
+                return Mono.just(Result.PARTIAL);
+            });
+    }
+
+    private Mono<Result> gc(BucketName bucketName, List<Long> generations, int deletionWindowSize, double associatedProbability, Context context) {
+        if (generations.isEmpty()) {
+            return Mono.just(Result.COMPLETED);
+        }
+        return Flux.fromIterable(generations)
+            .filterWhen(generation -> hasFreshFilter(bucketName, generation).map(fresh -> !fresh))
+            .collectList()
+            .flatMap(generationsWithoutFilter -> buildFilters(bucketName, generationsWithoutFilter, associatedProbability, context))
+            .thenMany(Flux.fromIterable(generations)
+                .concatMap(generation -> collect(bucketName, generation, deletionWindowSize, context))
+                .takeUntil(Result.PARTIAL::equals))
+            .reduce(Task::combine)
+            .switchIfEmpty(Mono.just(Result.COMPLETED));
+    }
+
+    private Mono<Result> collect(BucketName bucketName, long generation, int deletionWindowSize, Context context) {
+        return readFilter(bucketName, generation)
+            .flatMap(filter -> listGeneration(bucketName, generation)
+                .doOnNext(blobId -> context.incrementBlobCount())
+                .filter(blobId -> !filter.mightBeReferenced(blobId))
+                .window(deletionWindowSize)
+                .flatMap(blobIdFlux -> handlePagedDeletion(bucketName, context, blobIdFlux), DEFAULT_CONCURRENCY)
+                .reduce(Task::combine)
+                .switchIfEmpty(Mono.just(Result.COMPLETED)))
+            .flatMap(result -> {
+                if (result == Result.COMPLETED) {
+                    return saveCheckpoint(bucketName, generation)
+                        .then(Mono.from(blobStoreDAO.delete(STATE_BUCKET, filterBlobId(bucketName, generation))))
+                        .then(Mono.fromRunnable(() -> context.generationCollected(generation)))
+                        .thenReturn(result);
+                }
+                return Mono.just(result);
+            });
+    }
+
+    private Flux<BlobId> listGeneration(BucketName bucketName, long generation) {
+        int family = generationAwareBlobIdConfiguration.getFamily();
+        Flux<BlobId> blobIds = Optional.of(blobIdFactory)
+            .filter(GenerationAwareBlobIdFactory.class::isInstance)
+            .map(GenerationAwareBlobIdFactory.class::cast)
+            .map(factory -> Flux.from(blobStoreDAO.listBlobs(bucketName, factory.generationPrefix(family, generation))))
+            .orElseGet(() -> Flux.from(blobStoreDAO.listBlobs(bucketName)));
+
+        return blobIds
+            .flatMap(blobId -> Mono.fromCallable(() -> blobIdFactory.parse(blobId.asString())))
+            .filter(blobId -> belongsTo(blobId, generation));
+    }
+
+    private boolean belongsTo(BlobId blobId, long generation) {
+        if (blobId instanceof GenerationAware generationAware) {
+            return generationAware.getFamily() == generationAwareBlobIdConfiguration.getFamily()
+                && generationAware.getGeneration() == generation
+                && !generationAware.inActiveGeneration(generationAwareBlobIdConfiguration, now);
+        }
+        return false;
+    }
+
+    private Mono<Result> handlePagedDeletion(BucketName bucketName, Context context, Flux<BlobId> blobIdFlux) {
+        return blobIdFlux.collectList()
+            .flatMap(orphanBlobIds -> Mono.from(blobStoreDAO.delete(bucketName, (Collection) orphanBlobIds))
+                .then(Mono.fromCallable(() -> {
+                    context.incrementGCedBlobCount(orphanBlobIds.size());
+                    return Result.COMPLETED;
+                })).onErrorResume(error -> {
+                    LOGGER.error("Error when gc orphan blob", error);
+                    context.incrementErrorCount();
+                    return Mono.just(Result.PARTIAL);
+                }));
+    }
+
+    private Mono<Void> buildFilters(BucketName bucketName, List<Long> generations, double associatedProbability, Context context) {
+        if (generations.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<Long, SpilledReferences> references = new HashMap<>();
+        generations.forEach(generation -> references.put(generation, new SpilledReferences()));
+
+        return Flux.from(referenceSource.listReferencedBlobs())
+            .publishOn(ReactorUtils.BLOCKING_CALL_WRAPPER)
+            .doOnNext(reference -> {
+                context.incrementReferenceSourceCount();
+                if (blobIdFactory.parse(reference.asString()) instanceof GenerationAware generationAware
+                    && generationAware.getFamily() == generationAwareBlobIdConfiguration.getFamily()) {
+                    Optional.ofNullable(references.get(generationAware.getGeneration()))
+                        .ifPresent(spilledReferences -> spilledReferences.add(reference));
+                }
+            })
+            .then(Flux.fromIterable(generations)
+                .concatMap(generation -> Mono.fromCallable(() -> references.get(generation).toFilter(associatedProbability))
+                    .flatMap(filter -> saveFilter(bucketName, generation, filter)))
+                .then())
+            .doFinally(any -> references.values().forEach(SpilledReferences::release));
+    }
+
+    private Mono<Boolean> hasFreshFilter(BucketName bucketName, long generation) {
+        return Mono.from(blobStoreDAO.readRange(STATE_BUCKET, filterBlobId(bucketName, generation), ByteRange.of(0, Long.BYTES)))
+            .filter(header -> header.length == Long.BYTES)
+            .map(header -> Instant.ofEpochMilli(ByteBuffer.wrap(header).getLong()))
+            .map(builtAt -> builtAt.plus(filterRetention).isAfter(now))
+            .onErrorResume(ObjectNotFoundException.class, e -> Mono.empty())
+            .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> saveFilter(BucketName bucketName, long generation, GenerationFilter filter) {
+        return Mono.fromCallable(() -> {
+                FileBackedOutputStream serializedFilter = new FileBackedOutputStream(SPILL_THRESHOLD_IN_BYTES, true);
+                try (DataOutputStream output = new DataOutputStream(serializedFilter)) {
+                    output.writeLong(now.toEpochMilli());
+                    output.writeUTF(filter.salt());
+                    filter.bloomFilter().writeTo(output);
+                }
+                return serializedFilter;
+            })
+            .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER)
+            .flatMap(serializedFilter -> overwrite(filterBlobId(bucketName, generation),
+                    blobId -> blobStoreDAO.save(STATE_BUCKET, blobId, serializedFilter.asByteSource()))
+                .doFinally(any -> reset(serializedFilter)));
+    }
+
+    private Mono<GenerationFilter> readFilter(BucketName bucketName, long generation) {
+        return Mono.fromCallable(() -> {
+                try (InputStream inputStream = blobStoreDAO.read(STATE_BUCKET, filterBlobId(bucketName, generation));
+                     DataInputStream input = new DataInputStream(inputStream)) {
+                    input.readLong();
+                    String salt = input.readUTF();
+                    return new GenerationFilter(salt, BloomFilter.readFrom(input, BLOOM_FILTER_FUNNEL));
+                }
+            })
+            .subscribeOn(ReactorUtils.BLOCKING_CALL_WRAPPER);
+    }
+
+    private Mono<Long> readCheckpoint(BucketName bucketName) {
+        return Mono.from(blobStoreDAO.readBytes(STATE_BUCKET, checkpointBlobId(bucketName)))
+            .map(bytes -> Long.parseLong(new String(bytes, StandardCharsets.UTF_8).trim()))
+            .onErrorResume(ObjectNotFoundException.class, e -> Mono.empty());
+    }
+
+    private Mono<Void> saveCheckpoint(BucketName bucketName, long generation) {
+        return overwrite(checkpointBlobId(bucketName),
+            blobId -> blobStoreDAO.save(STATE_BUCKET, blobId, String.valueOf(generation)));
+    }
+
+    // Blob stores may skip saving an already existing blob, as blob ids are expected to identify their content
+    private Mono<Void> overwrite(BlobId blobId, Function<BlobId, Publisher<Void>> save) {
+        return Mono.from(blobStoreDAO.delete(STATE_BUCKET, blobId))
+            .then(Mono.from(save.apply(blobId)));
+    }
+
+    private BlobId checkpointBlobId(BucketName bucketName) {
+        return new PlainBlobId("incremental-gc-checkpoint-" + bucketName.asString() + "-" + generationAwareBlobIdConfiguration.getFamily());
+    }
+
+    private BlobId filterBlobId(BucketName bucketName, long generation) {
+        return new PlainBlobId("incremental-gc-filter-" + bucketName.asString() + "-" + generationAwareBlobIdConfiguration.getFamily() + "-" + generation);
+    }
+
+    private static void reset(FileBackedOutputStream stream) {
+        try {
+            stream.reset();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to release spilled blob garbage collection data", e);
+        }
+    }
+
+    private static class SpilledReferences {
+        private final FileBackedOutputStream spilled;
+        private long count;
+
+        SpilledReferences() {
+            this.spilled = new FileBackedOutputStream(SPILL_THRESHOLD_IN_BYTES, true);
+            this.count = 0;
+        }
+
+        void add(BlobId reference) {
+            try {
+                spilled.write((reference.asString() + "\n").getBytes(StandardCharsets.US_ASCII));
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        GenerationFilter toFilter(double associatedProbability) {
+            String salt = UUID.randomUUID().toString();
+            BloomFilter<CharSequence> bloomFilter = BloomFilter.create(BLOOM_FILTER_FUNNEL, Math.max(count, 1), associatedProbability);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(spilled.asByteSource().openStream(), StandardCharsets.US_ASCII))) {
+                reader.lines().forEach(line -> bloomFilter.put(salt + line));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            release();
+            return new GenerationFilter(salt, bloomFilter);
+        }
+
+        void release() {
+            reset(spilled);
+        }
+    }
+}
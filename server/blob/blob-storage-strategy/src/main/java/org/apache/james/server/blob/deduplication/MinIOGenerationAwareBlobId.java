@@ -35,7 +35,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 
 public class MinIOGenerationAwareBlobId implements BlobId, GenerationAware {
-    public static class Factory implements BlobId.Factory {
+    public static class Factory implements GenerationAwareBlobIdFactory {
         public static final int NO_FAMILY = 0;
         public static final int NO_GENERATION = 0;
 
@@ -73,6 +73,11 @@ public class MinIOGenerationAwareBlobId implements BlobId, GenerationAware {
             }
         }
 
+        @Override
+        public String generationPrefix(int family, long generation) {
+            return family + "/" + generation + "/";
+        }
+
         private static String injectFoldersInBlobId(String blobIdPart) {
             int folderDepthToCreate = 2;
             if (blobIdPart.length() > folderDepthToCreate) {
@@ -126,13 +131,13 @@ public class MinIOGenerationAwareBlobId implements BlobId, GenerationAware {
             generation + 1 >= computeGeneration(configuration, now);
     }
 
-    @VisibleForTesting
-    long getGeneration() {
+    @Override
+    public long getGeneration() {
         return generation;
     }
 
-    @VisibleForTesting
-    int getFamily() {
+    @Override
+    public int getFamily() {
         return family;
     }
 
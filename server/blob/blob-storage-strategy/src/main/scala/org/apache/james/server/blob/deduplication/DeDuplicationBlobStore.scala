@@ -25,7 +25,7 @@ import com.google.common.io.{BaseEncoding, ByteSource, FileBackedOutputStream}
 import jakarta.inject.{Inject, Named}
 import org.apache.commons.io.IOUtils
 import org.apache.james.blob.api.BlobStore.BlobIdProvider
-import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName}
+import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName, ByteRange}
 import org.apache.james.server.blob.deduplication.DeDuplicationBlobStore.THREAD_SWITCH_THRESHOLD
 import org.reactivestreams.Publisher
 import reactor.core.publisher.{Flux, Mono}
@@ -177,6 +177,12 @@ class DeDuplicationBlobStore @Inject()(blobStoreDAO: BlobStoreDAO,
     blobStoreDAO.readReactive(bucketName, blobId)
   }
 
+  override def readRange(bucketName: BucketName, blobId: BlobId, range: ByteRange): Publisher[Array[Byte]] = {
+    Preconditions.checkNotNull(bucketName)
+
+    blobStoreDAO.readRange(bucketName, blobId, range)
+  }
+
   override def getDefaultBucketName: BucketName = defaultBucketName
 
   override def deleteBucket(bucketName: BucketName): Publisher[Void] = {
@@ -23,7 +23,7 @@ import com.google.common.base.Preconditions
 import com.google.common.io.ByteSource
 import jakarta.inject.{Inject, Named}
 import org.apache.james.blob.api.BlobStore.BlobIdProvider
-import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName}
+import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName, ByteRange}
 import org.reactivestreams.Publisher
 import reactor.core.publisher.Flux
 import reactor.core.scala.publisher.{SMono, tupleTwo2ScalaTuple2}
@@ -110,6 +110,12 @@ class PassThroughBlobStore @Inject()(blobStoreDAO: BlobStoreDAO,
     blobStoreDAO.readReactive(bucketName, blobId)
   }
 
+  override def readRange(bucketName: BucketName, blobId: BlobId, range: ByteRange): Publisher[Array[Byte]] = {
+    Preconditions.checkNotNull(bucketName)
+
+    blobStoreDAO.readRange(bucketName, blobId, range)
+  }
+
   override def getDefaultBucketName: BucketName = defaultBucketName
 
   override def deleteBucket(bucketName: BucketName): Publisher[Void] = {
@@ -0,0 +1,256 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.server.blob.deduplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobReferenceSource;
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreDAO;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.blob.api.PlainBlobId;
+import org.apache.james.server.blob.deduplication.IncrementalGCAlgorithm.Context;
+import org.apache.james.task.Task;
+import org.apache.james.utils.UpdatableTickingClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IncrementalGCAlgorithmContract {
+
+    PlainBlobId.Factory BLOB_ID_FACTORY = new PlainBlobId.Factory();
+    ZonedDateTime NOW = ZonedDateTime.parse("2015-10-30T16:12:00Z");
+    BucketName DEFAULT_BUCKET = BucketName.of("default");
+    GenerationAwareBlobId.Configuration GENERATION_AWARE_BLOB_ID_CONFIGURATION = GenerationAwareBlobId.Configuration.DEFAULT;
+    long INITIAL_GENERATION = GenerationAwareBlobId.computeGeneration(GENERATION_AWARE_BLOB_ID_CONFIGURATION, NOW.toInstant());
+    int DELETION_WINDOW_SIZE = 10;
+    double ASSOCIATED_PROBABILITY = 0.01;
+
+    BlobReferenceSource BLOB_REFERENCE_SOURCE = mock(BlobReferenceSource.class);
+    UpdatableTickingClock CLOCK = new UpdatableTickingClock(NOW.toInstant());
+    GenerationAwareBlobId.Factory GENERATION_AWARE_BLOB_ID_FACTORY = new GenerationAwareBlobId.Factory(CLOCK, BLOB_ID_FACTORY, GENERATION_AWARE_BLOB_ID_CONFIGURATION);
+
+    BlobStoreDAO blobStoreDAO();
+
+    @BeforeEach
+    default void setUp() {
+        CLOCK.setInstant(NOW.toInstant());
+        reset(BLOB_REFERENCE_SOURCE);
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+    }
+
+    default BlobStore blobStore() {
+        return new DeDuplicationBlobStore(blobStoreDAO(), DEFAULT_BUCKET, GENERATION_AWARE_BLOB_ID_FACTORY);
+    }
+
+    default IncrementalGCAlgorithm incrementalGCAlgorithm(BlobStoreDAO blobStoreDAO) {
+        return new IncrementalGCAlgorithm(BLOB_REFERENCE_SOURCE,
+            blobStoreDAO,
+            GENERATION_AWARE_BLOB_ID_FACTORY,
+            GENERATION_AWARE_BLOB_ID_CONFIGURATION,
+            CLOCK);
+    }
+
+    default Task.Result gc(BlobStoreDAO blobStoreDAO, Context context) {
+        return incrementalGCAlgorithm(blobStoreDAO).gc(DEFAULT_BUCKET, DELETION_WINDOW_SIZE, ASSOCIATED_PROBABILITY, context).block();
+    }
+
+    default Task.Result gc(Context context) {
+        return gc(blobStoreDAO(), context);
+    }
+
+    default BlobId saveBlob() {
+        return Mono.from(blobStore().save(DEFAULT_BUCKET, UUID.randomUUID().toString(), BlobStore.StoragePolicy.HIGH_PERFORMANCE)).block();
+    }
+
+    default void moveToGeneration(long generation) {
+        CLOCK.setInstant(Instant.ofEpochSecond(generation * GENERATION_AWARE_BLOB_ID_CONFIGURATION.getDuration().toSeconds()));
+    }
+
+    @Test
+    default void gcShouldRemoveOrphanBlobOfInactiveGeneration() {
+        BlobId blobId = saveBlob();
+        moveToGeneration(INITIAL_GENERATION + 2);
+
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot())
+            .isEqualTo(new Context.Snapshot(0, 1, 1, 0, 1, Optional.of(INITIAL_GENERATION)));
+        assertThatThrownBy(() -> blobStore().read(DEFAULT_BUCKET, blobId))
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void gcShouldNotRemoveBlobOfActiveGeneration() {
+        BlobId blobId = saveBlob();
+        moveToGeneration(INITIAL_GENERATION + 1);
+
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot().gcedBlobCount()).isZero();
+        assertThat(blobStore().read(DEFAULT_BUCKET, blobId)).isNotNull();
+    }
+
+    @Test
+    default void gcShouldNotRemoveReferencedBlob() {
+        BlobId blobId = saveBlob();
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.just(blobId));
+        moveToGeneration(INITIAL_GENERATION + 2);
+
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot())
+            .isEqualTo(new Context.Snapshot(1, 1, 0, 0, 1, Optional.of(INITIAL_GENERATION)));
+        assertThat(blobStore().read(DEFAULT_BUCKET, blobId)).isNotNull();
+    }
+
+    @Test
+    default void gcShouldOnlyRemoveOrphanBlobsWhenMixCase() {
+        List<BlobId> referencedBlobIds = IntStream.range(0, 100)
+            .mapToObj(index -> saveBlob())
+            .toList();
+        List<BlobId> orphanBlobIds = IntStream.range(0, 50)
+            .mapToObj(index -> saveBlob())
+            .toList();
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.fromIterable(referencedBlobIds));
+        moveToGeneration(INITIAL_GENERATION + 2);
+
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot().blobCount()).isEqualTo(150);
+        assertThat(context.snapshot().gcedBlobCount())
+            .isLessThanOrEqualTo(orphanBlobIds.size())
+            .isGreaterThan(0);
+        referencedBlobIds.forEach(blobId -> assertThat(blobStore().read(DEFAULT_BUCKET, blobId)).isNotNull());
+    }
+
+    @Test
+    default void gcShouldResumeAfterLastCollectedGeneration() {
+        moveToGeneration(INITIAL_GENERATION + 1);
+        gc(new Context());
+
+        BlobId blobId1 = saveBlob();
+        moveToGeneration(INITIAL_GENERATION + 2);
+        BlobId blobId2 = saveBlob();
+        moveToGeneration(INITIAL_GENERATION + 4);
+
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot())
+            .isEqualTo(new Context.Snapshot(0, 2, 2, 0, 3, Optional.of(INITIAL_GENERATION + 2)));
+        assertThatThrownBy(() -> blobStore().read(DEFAULT_BUCKET, blobId1))
+            .isInstanceOf(ObjectNotFoundException.class);
+        assertThatThrownBy(() -> blobStore().read(DEFAULT_BUCKET, blobId2))
+            .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void gcShouldNotCollectAGenerationTwice() {
+        BlobId blobId = saveBlob();
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.just(blobId));
+        moveToGeneration(INITIAL_GENERATION + 2);
+        gc(new Context());
+
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.empty());
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot())
+            .isEqualTo(new Context.Snapshot(0, 0, 0, 0, 0, Optional.empty()));
+        assertThat(blobStore().read(DEFAULT_BUCKET, blobId)).isNotNull();
+    }
+
+    @Test
+    default void gcShouldRetryGenerationAfterFailureReusingItsFilter() {
+        BlobId blobId = saveBlob();
+        moveToGeneration(INITIAL_GENERATION + 2);
+        BlobStoreDAO failingBlobStoreDAO = spy(blobStoreDAO());
+        doReturn(Mono.error(new RuntimeException("test")))
+            .when(failingBlobStoreDAO).delete(eq(DEFAULT_BUCKET), any(Collection.class));
+
+        Context failedContext = new Context();
+        assertThat(gc(failingBlobStoreDAO, failedContext)).isEqualTo(Task.Result.PARTIAL);
+        assertThat(failedContext.snapshot())
+            .isEqualTo(new Context.Snapshot(0, 1, 0, 1, 0, Optional.empty()));
+
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot())
+            .isEqualTo(new Context.Snapshot(0, 1, 1, 0, 1, Optional.of(INITIAL_GENERATION)));
+        assertThatThrownBy(() -> blobStore().read(DEFAULT_BUCKET, blobId))
+            .isInstanceOf(ObjectNotFoundException.class);
+        verify(BLOB_REFERENCE_SOURCE, times(1)).listReferencedBlobs();
+    }
+
+    @Test
+    default void gcShouldRebuildStaleFilters() {
+        BlobId blobId = saveBlob();
+        moveToGeneration(INITIAL_GENERATION + 2);
+        BlobStoreDAO failingBlobStoreDAO = spy(blobStoreDAO());
+        doReturn(Mono.error(new RuntimeException("test")))
+            .when(failingBlobStoreDAO).delete(eq(DEFAULT_BUCKET), any(Collection.class));
+        gc(failingBlobStoreDAO, new Context());
+
+        CLOCK.setInstant(CLOCK.instant().plus(IncrementalGCAlgorithm.DEFAULT_FILTER_RETENTION).plusSeconds(1));
+        when(BLOB_REFERENCE_SOURCE.listReferencedBlobs()).thenReturn(Flux.just(blobId));
+        Context context = new Context();
+        Task.Result result = gc(context);
+
+        assertThat(result).isEqualTo(Task.Result.COMPLETED);
+        assertThat(context.snapshot())
+            .isEqualTo(new Context.Snapshot(1, 1, 0, 0, 1, Optional.of(INITIAL_GENERATION)));
+        assertThat(blobStore().read(DEFAULT_BUCKET, blobId)).isNotNull();
+    }
+}